@@ -304,6 +304,34 @@ SqlNode SqlRefreshMetadata() :
     }
 }
 
+/**
+ * Parse analyze table statement.
+ * ANALYZE TABLE tblname COMPUTE STATISTICS (column1, column2, ...) [ SAMPLE numeric PERCENT ]
+ */
+SqlNode SqlAnalyzeTable() :
+{
+    SqlParserPos pos;
+    SqlIdentifier tblName;
+    SqlNodeList fieldList;
+    SqlNode percent = null;
+}
+{
+    <ANALYZE> { pos = getPos(); }
+    <TABLE>
+    tblName = CompoundIdentifier()
+    <COMPUTE>
+    <STATISTICS>
+    fieldList = ParseRequiredFieldList("Statistics")
+    [
+        <SAMPLE>
+        percent = UnsignedNumericLiteral()
+        <PERCENT>
+    ]
+    {
+        return new SqlAnalyzeTable(pos, tblName, fieldList, percent);
+    }
+}
+
 /**
 * Parses statement
 *   DESCRIBE { SCHEMA | DATABASE } name
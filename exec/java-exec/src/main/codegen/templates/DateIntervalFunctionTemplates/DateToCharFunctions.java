@@ -53,23 +53,21 @@ public class G${type}ToChar implements DrillSimpleFunc {
     @Param  VarCharHolder right;
     @Inject DrillBuf buffer;
     @Workspace org.joda.time.MutableDateTime temp;
-    @Workspace org.joda.time.format.DateTimeFormatter format;
+    @Workspace org.apache.drill.exec.expr.fn.impl.CompiledPatterns.FormatterLookup formatLookup;
     @Output VarCharHolder out;
 
     public void setup() {
         temp = new org.joda.time.MutableDateTime(0, org.joda.time.DateTimeZone.UTC);
         buffer = buffer.reallocIfNeeded(100);
-
-        // Get the desired output format and create a DateTimeFormatter
-        byte[] buf = new byte[right.end - right.start];
-        right.buffer.getBytes(right.start, buf, 0, right.end - right.start);
-        String input = new String(buf, com.google.common.base.Charsets.UTF_8);
-        format = org.joda.time.format.DateTimeFormat.forPattern(input);
+        formatLookup = new org.apache.drill.exec.expr.fn.impl.CompiledPatterns.FormatterLookup(false);
     }
 
     public void eval() {
         temp.setMillis(left.value);
 
+        // Get the desired output format, which may change for each row
+        org.joda.time.format.DateTimeFormatter format = formatLookup.get(right.start, right.end, right.buffer);
+
         // print current value in the desired format
         String str = format.print(temp);
 
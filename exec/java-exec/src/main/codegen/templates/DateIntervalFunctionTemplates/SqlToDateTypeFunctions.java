@@ -52,20 +52,11 @@ public class G${convert.from}SqlTo${convert.to} implements DrillSimpleFunc {
 
   @Param  ${convert.from}Holder left;
   @Param  VarCharHolder right;
-  @Workspace org.joda.time.format.DateTimeFormatter format;
+  @Workspace org.apache.drill.exec.expr.fn.impl.CompiledPatterns.FormatterLookup formatLookup;
   @Output ${convert.to}Holder out;
 
   public void setup() {
-    // Get the desired output format
-    String formatString = org.apache.drill.exec.expr.fn.impl.StringFunctionHelpers.getStringFromVarCharHolder(right);
-    String pattern = org.apache.drill.common.expression.fn.JodaDateValidator.toJodaFormat(formatString);
-    try {
-      format = org.joda.time.format.DateTimeFormat.forPattern(pattern);
-    } catch (IllegalArgumentException e) {
-      throw org.apache.drill.common.exceptions.UserException.functionError(e)
-        .message("Error parsing formatter %s in %s function", formatString, "sql_to_${convert.to?lower_case}")
-        .build();
-    }
+    formatLookup = new org.apache.drill.exec.expr.fn.impl.CompiledPatterns.FormatterLookup(true);
   }
 
   public void eval() {
@@ -79,6 +70,17 @@ public class G${convert.from}SqlTo${convert.to} implements DrillSimpleFunc {
     </#if>
     // Get the input
     String input = org.apache.drill.exec.expr.fn.impl.StringFunctionHelpers.getStringFromVarCharHolder(left);
+    // Get the desired output format, which may change for each row
+    org.joda.time.format.DateTimeFormatter format;
+    try {
+      format = formatLookup.get(right.start, right.end, right.buffer);
+    } catch (IllegalArgumentException e) {
+      throw org.apache.drill.common.exceptions.UserException.functionError(e)
+        .message("Error parsing formatter %s in %s function",
+            org.apache.drill.exec.expr.fn.impl.StringFunctionHelpers.getStringFromVarCharHolder(right),
+            "sql_to_${convert.to?lower_case}")
+        .build();
+    }
     try {
       <#if convert.to == "Date" || convert.to == "NullableDate">
       out.value = org.joda.time.DateMidnight.parse(input, format).withZoneRetainFields(org.joda.time.DateTimeZone.UTC).getMillis();
@@ -52,15 +52,11 @@ public class G${convert.from}To${convert.to} implements DrillSimpleFunc {
 
   @Param  ${convert.from}Holder left;
   @Param  VarCharHolder right;
-  @Workspace org.joda.time.format.DateTimeFormatter format;
+  @Workspace org.apache.drill.exec.expr.fn.impl.CompiledPatterns.FormatterLookup formatLookup;
   @Output ${convert.to}Holder out;
 
   public void setup() {
-    // Get the desired output format
-    byte[] buf = new byte[right.end - right.start];
-    right.buffer.getBytes(right.start, buf, 0, right.end - right.start);
-    String formatString = new String(buf, com.google.common.base.Charsets.UTF_8);
-    format = org.joda.time.format.DateTimeFormat.forPattern(formatString);
+    formatLookup = new org.apache.drill.exec.expr.fn.impl.CompiledPatterns.FormatterLookup(false);
   }
 
   public void eval() {
@@ -76,6 +72,8 @@ public class G${convert.from}To${convert.to} implements DrillSimpleFunc {
     byte[] buf1 = new byte[left.end - left.start];
     left.buffer.getBytes(left.start, buf1, 0, left.end - left.start);
     String input = new String(buf1, com.google.common.base.Charsets.UTF_8);
+    // Get the desired output format, which may change for each row
+    org.joda.time.format.DateTimeFormatter format = formatLookup.get(right.start, right.end, right.buffer);
 
     <#if convert.to == "Date" || convert.to == "NullableDate">
     out.value = (org.joda.time.DateMidnight.parse(input, format).withZoneRetainFields(org.joda.time.DateTimeZone.UTC)).getMillis();
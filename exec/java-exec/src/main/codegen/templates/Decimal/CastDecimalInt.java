@@ -55,8 +55,16 @@ public class Cast${type.from}${type.to} implements DrillSimpleFunc {
   }
 
   public void eval() {
-    java.math.BigDecimal bd = org.apache.drill.exec.util.DecimalUtility.getBigDecimalFromDrillBuf(in.buffer, in.start, in.end - in.start, in.scale);
-    long lval = bd.setScale(0, java.math.BigDecimal.ROUND_HALF_UP).longValue(); // round off to nearest integer
+    long lval = org.apache.drill.exec.util.DecimalUtility.LONG_OVERFLOW;
+    if (org.apache.drill.exec.util.DecimalUtility.fitsLong(in.end - in.start)) {
+      // values of up to 8 bytes are rounded on their unscaled long
+      lval = org.apache.drill.exec.util.DecimalUtility.unscaledToLong(
+          org.apache.drill.exec.util.DecimalUtility.getLongFromDrillBuf(in.buffer, in.start, in.end - in.start), in.scale);
+    }
+    if (lval == org.apache.drill.exec.util.DecimalUtility.LONG_OVERFLOW) {
+      java.math.BigDecimal bd = org.apache.drill.exec.util.DecimalUtility.getBigDecimalFromDrillBuf(in.buffer, in.start, in.end - in.start, in.scale);
+      lval = bd.setScale(0, java.math.BigDecimal.ROUND_HALF_UP).longValue(); // round off to nearest integer
+    }
     out.value = (${type.javatype}) lval;
   }
 }
@@ -67,17 +67,24 @@ public class Cast${type.from}${type.to} implements DrillSimpleFunc {
 
     out.start = 0;
     out.buffer = buffer;
-    java.math.BigDecimal bd = new java.math.BigDecimal(in.value);
+    // the values fitting a precision of up to 18 digits are scaled as longs
+    long unscaled = org.apache.drill.exec.util.DecimalUtility.longToUnscaled(in.value, precision.value, scale.value);
+    if (unscaled != org.apache.drill.exec.util.DecimalUtility.LONG_OVERFLOW) {
+      out.buffer = out.buffer.reallocIfNeeded(Long.BYTES);
+      out.end = out.start + org.apache.drill.exec.util.DecimalUtility.setLongToDrillBuf(out.buffer, out.start, unscaled);
+    } else {
+      java.math.BigDecimal bd = new java.math.BigDecimal(in.value);
 
-    org.apache.drill.exec.util.DecimalUtility.checkValueOverflow(bd, precision.value, scale.value);
+      org.apache.drill.exec.util.DecimalUtility.checkValueOverflow(bd, precision.value, scale.value);
 
-    bd = bd.setScale(out.scale, java.math.BigDecimal.ROUND_DOWN);
+      bd = bd.setScale(out.scale, java.math.BigDecimal.ROUND_DOWN);
 
-    byte[] bytes = bd.unscaledValue().toByteArray();
-    int len = bytes.length;
-    out.buffer = out.buffer.reallocIfNeeded(len);
-    out.buffer.setBytes(out.start, bytes);
-    out.end = out.start + len;
+      byte[] bytes = bd.unscaledValue().toByteArray();
+      int len = bytes.length;
+      out.buffer = out.buffer.reallocIfNeeded(len);
+      out.buffer.setBytes(out.start, bytes);
+      out.end = out.start + len;
+    }
   }
 }
 </#if> <#-- type.major -->
@@ -64,6 +64,8 @@ public class Decimal${aggrtype.className}Functions {
     @Param ${type.inputType}Holder in;
     @Inject DrillBuf buffer;
     @Workspace ObjectHolder value;
+    @Workspace BigIntHolder longValue; // the unscaled sum, while it is not kept in value
+    @Workspace BitHolder inLong;
     @Workspace IntHolder outputScale;
     @Output ${type.outputType}Holder out;
     @Workspace BigIntHolder nonNullCount;
@@ -71,6 +73,9 @@ public class Decimal${aggrtype.className}Functions {
     public void setup() {
       value = new ObjectHolder();
       value.obj = java.math.BigDecimal.ZERO;
+      longValue = new BigIntHolder();
+      inLong = new BitHolder();
+      inLong.value = 1;
       outputScale = new IntHolder();
       outputScale.value = Integer.MIN_VALUE;
       nonNullCount = new BigIntHolder();
@@ -86,14 +91,32 @@ public class Decimal${aggrtype.className}Functions {
         }
       </#if>
       nonNullCount.value = 1;
-      java.math.BigDecimal currentValue = org.apache.drill.exec.util.DecimalUtility
-          .getBigDecimalFromDrillBuf(in.buffer, in.start, in.end - in.start, in.scale);
-      value.obj = ((java.math.BigDecimal) value.obj).add(currentValue);
       if (outputScale.value == Integer.MIN_VALUE) {
         outputScale.value = in.scale;
       }
-      org.apache.drill.exec.util.DecimalUtility.checkValueOverflow((java.math.BigDecimal) value.obj,
-          org.apache.drill.exec.planner.types.DrillRelDataTypeSystem.DRILL_REL_DATATYPE_SYSTEM.getMaxNumericPrecision(), outputScale.value);
+      // the values are summed as unscaled longs until the sum overflows, then as BigDecimal
+      long sum = org.apache.drill.exec.util.DecimalUtility.LONG_OVERFLOW;
+      if (inLong.value == 1 && in.scale == outputScale.value
+          && org.apache.drill.exec.util.DecimalUtility.fitsLong(in.end - in.start)) {
+        long current = org.apache.drill.exec.util.DecimalUtility.getLongFromDrillBuf(in.buffer, in.start, in.end - in.start);
+        sum = longValue.value + current;
+        if (((longValue.value ^ sum) & (current ^ sum)) < 0) {
+          sum = org.apache.drill.exec.util.DecimalUtility.LONG_OVERFLOW;
+        }
+      }
+      if (sum != org.apache.drill.exec.util.DecimalUtility.LONG_OVERFLOW) {
+        longValue.value = sum;
+      } else {
+        if (inLong.value == 1) {
+          value.obj = java.math.BigDecimal.valueOf(longValue.value, outputScale.value);
+          inLong.value = 0;
+        }
+        java.math.BigDecimal currentValue = org.apache.drill.exec.util.DecimalUtility
+            .getBigDecimalFromDrillBuf(in.buffer, in.start, in.end - in.start, in.scale);
+        value.obj = ((java.math.BigDecimal) value.obj).add(currentValue);
+        org.apache.drill.exec.util.DecimalUtility.checkValueOverflow((java.math.BigDecimal) value.obj,
+            org.apache.drill.exec.planner.types.DrillRelDataTypeSystem.DRILL_REL_DATATYPE_SYSTEM.getMaxNumericPrecision(), outputScale.value);
+      }
       <#if type.inputType?starts_with("Nullable")>
       } // end of sout block
       </#if>
@@ -107,6 +130,9 @@ public class Decimal${aggrtype.className}Functions {
         out.scale = outputScale.value;
         out.precision =
             org.apache.drill.exec.planner.types.DrillRelDataTypeSystem.DRILL_REL_DATATYPE_SYSTEM.getMaxNumericPrecision();
+        if (inLong.value == 1) {
+          value.obj = java.math.BigDecimal.valueOf(longValue.value, outputScale.value);
+        }
         value.obj = ((java.math.BigDecimal) value.obj).setScale(out.scale, java.math.BigDecimal.ROUND_HALF_UP);
         byte[] bytes = ((java.math.BigDecimal) value.obj).unscaledValue().toByteArray();
         int len = bytes.length;
@@ -122,6 +148,8 @@ public class Decimal${aggrtype.className}Functions {
     public void reset() {
       value = new ObjectHolder();
       value.obj = java.math.BigDecimal.ZERO;
+      longValue.value = 0;
+      inLong.value = 1;
       outputScale = new IntHolder();
       outputScale.value = Integer.MIN_VALUE;
       nonNullCount.value = 0;
@@ -66,6 +66,8 @@ public static class ${type.inputType}${aggrtype.className} implements DrillAggFu
   @Param ${type.inputType}Holder in;
   @Inject DrillBuf buffer;
   @Workspace ObjectHolder value;
+  @Workspace BigIntHolder longValue; // the unscaled sum, while it is not kept in value
+  @Workspace BitHolder inLong;
   @Workspace ${type.countRunningType}Holder count;
   @Workspace IntHolder outputScale;
   @Output ${type.outputType}Holder out;
@@ -73,6 +75,9 @@ public static class ${type.inputType}${aggrtype.className} implements DrillAggFu
   public void setup() {
     value = new ObjectHolder();
     value.obj = java.math.BigDecimal.ZERO;
+    longValue = new BigIntHolder();
+    inLong = new BitHolder();
+    inLong.value = 1;
     count = new ${type.countRunningType}Holder();
     count.value = 0;
     outputScale = new IntHolder();
@@ -89,11 +94,29 @@ public static class ${type.inputType}${aggrtype.className} implements DrillAggFu
 	    }
 	  </#if>
     count.value++;
-    java.math.BigDecimal currentValue = org.apache.drill.exec.util.DecimalUtility
-        .getBigDecimalFromDrillBuf(in.buffer, in.start, in.end - in.start, in.scale);
-    value.obj = ((java.math.BigDecimal)(value.obj)).add(currentValue);
     if (outputScale.value == Integer.MIN_VALUE) {
       outputScale.value = in.scale;
+    }
+    // the values are summed as unscaled longs until the sum overflows, then as BigDecimal
+    long sum = org.apache.drill.exec.util.DecimalUtility.LONG_OVERFLOW;
+    if (inLong.value == 1 && in.scale == outputScale.value
+        && org.apache.drill.exec.util.DecimalUtility.fitsLong(in.end - in.start)) {
+      long current = org.apache.drill.exec.util.DecimalUtility.getLongFromDrillBuf(in.buffer, in.start, in.end - in.start);
+      sum = longValue.value + current;
+      if (((longValue.value ^ sum) & (current ^ sum)) < 0) {
+        sum = org.apache.drill.exec.util.DecimalUtility.LONG_OVERFLOW;
+      }
+    }
+    if (sum != org.apache.drill.exec.util.DecimalUtility.LONG_OVERFLOW) {
+      longValue.value = sum;
+    } else {
+      if (inLong.value == 1) {
+        value.obj = java.math.BigDecimal.valueOf(longValue.value, outputScale.value);
+        inLong.value = 0;
+      }
+      java.math.BigDecimal currentValue = org.apache.drill.exec.util.DecimalUtility
+          .getBigDecimalFromDrillBuf(in.buffer, in.start, in.end - in.start, in.scale);
+      value.obj = ((java.math.BigDecimal)(value.obj)).add(currentValue);
     }
 	<#if type.inputType?starts_with("Nullable")>
     } // end of sout block
@@ -106,6 +129,9 @@ public static class ${type.inputType}${aggrtype.className} implements DrillAggFu
       out.isSet = 1;
       out.start  = 0;
       out.scale = Math.max(outputScale.value, 6);
+      if (inLong.value == 1) {
+        value.obj = java.math.BigDecimal.valueOf(longValue.value, outputScale.value);
+      }
       java.math.BigDecimal average = ((java.math.BigDecimal) value.obj)
             .divide(java.math.BigDecimal.valueOf(count.value), out.scale, java.math.BigDecimal.ROUND_HALF_UP);
       out.precision = org.apache.drill.exec.planner.types.DrillRelDataTypeSystem.DRILL_REL_DATATYPE_SYSTEM.getMaxNumericPrecision();
@@ -123,6 +149,8 @@ public static class ${type.inputType}${aggrtype.className} implements DrillAggFu
   public void reset() {
     value = new ObjectHolder();
     value.obj = java.math.BigDecimal.ZERO;
+    longValue.value = 0;
+    inLong.value = 1;
     count = new ${type.countRunningType}Holder();
     count.value = 0;
     outputScale = new IntHolder();
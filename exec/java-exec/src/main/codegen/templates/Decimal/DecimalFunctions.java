@@ -151,12 +151,6 @@ public class ${type.name}Functions {
     public void eval() {
       result.start = 0;
 
-      java.math.BigDecimal leftInput =
-          org.apache.drill.exec.util.DecimalUtility
-              .getBigDecimalFromDrillBuf(left.buffer, left.start, left.end - left.start, left.scale);
-      java.math.BigDecimal rightInput =
-          org.apache.drill.exec.util.DecimalUtility
-              .getBigDecimalFromDrillBuf(right.buffer, right.start, right.end - right.start, right.scale);
       org.apache.drill.exec.planner.types.decimal.DrillBaseComputeScalePrecision typeInference =
       <#if functionName == "Subtract" || functionName == "Add">
           new org.apache.drill.exec.planner.types.decimal.DecimalScalePrecisionAddFunction(
@@ -173,23 +167,55 @@ public class ${type.name}Functions {
       result.scale = typeInference.getOutputScale();
       result.precision = typeInference.getOutputPrecision();
 
-      java.math.BigDecimal opResult =
-      <#if functionName == "Subtract" || functionName == "Add"
-          || functionName == "Multiply"|| functionName == "Divide">
-          leftInput.${functionName?lower_case}(rightInput,
-      <#elseif functionName == "Mod">
-        leftInput.remainder(rightInput,
+      // exact results of up to 18 digits are computed on the unscaled longs, else with BigDecimal
+      long longResult = org.apache.drill.exec.util.DecimalUtility.LONG_OVERFLOW;
+      <#if functionName == "Subtract" || functionName == "Add" || functionName == "Multiply">
+      if (result.precision <= org.apache.drill.exec.util.DecimalUtility.MAX_LONG_PRECISION
+          && org.apache.drill.exec.util.DecimalUtility.fitsLong(left.end - left.start)
+          && org.apache.drill.exec.util.DecimalUtility.fitsLong(right.end - right.start)) {
+        long leftLong = org.apache.drill.exec.util.DecimalUtility
+            .getLongFromDrillBuf(left.buffer, left.start, left.end - left.start);
+        long rightLong = org.apache.drill.exec.util.DecimalUtility
+            .getLongFromDrillBuf(right.buffer, right.start, right.end - right.start);
+        longResult =
+        <#if functionName == "Multiply">
+            org.apache.drill.exec.util.DecimalUtility.multiplyLongs(leftLong, left.scale, rightLong, right.scale,
+                result.scale, result.precision);
+        <#else>
+            org.apache.drill.exec.util.DecimalUtility.addLongs(leftLong, left.scale, rightLong, right.scale,
+                ${(functionName == "Subtract")?c}, result.scale, result.precision);
+        </#if>
+      }
       </#if>
-              new java.math.MathContext(result.precision, java.math.RoundingMode.HALF_UP))
-            .setScale(result.scale, java.math.BigDecimal.ROUND_HALF_UP);
-
-      org.apache.drill.exec.util.DecimalUtility.checkValueOverflow(opResult, result.precision, result.scale);
-
-      byte[] bytes = opResult.unscaledValue().toByteArray();
-      int len = bytes.length;
-      result.buffer = buffer.reallocIfNeeded(len);
-      result.buffer.setBytes(0, bytes);
-      result.end = len;
+      if (longResult != org.apache.drill.exec.util.DecimalUtility.LONG_OVERFLOW) {
+        result.buffer = buffer.reallocIfNeeded(Long.BYTES);
+        result.end = org.apache.drill.exec.util.DecimalUtility.setLongToDrillBuf(result.buffer, 0, longResult);
+      } else {
+        java.math.BigDecimal leftInput =
+            org.apache.drill.exec.util.DecimalUtility
+                .getBigDecimalFromDrillBuf(left.buffer, left.start, left.end - left.start, left.scale);
+        java.math.BigDecimal rightInput =
+            org.apache.drill.exec.util.DecimalUtility
+                .getBigDecimalFromDrillBuf(right.buffer, right.start, right.end - right.start, right.scale);
+
+        java.math.BigDecimal opResult =
+        <#if functionName == "Subtract" || functionName == "Add"
+            || functionName == "Multiply"|| functionName == "Divide">
+            leftInput.${functionName?lower_case}(rightInput,
+        <#elseif functionName == "Mod">
+          leftInput.remainder(rightInput,
+        </#if>
+                new java.math.MathContext(result.precision, java.math.RoundingMode.HALF_UP))
+              .setScale(result.scale, java.math.BigDecimal.ROUND_HALF_UP);
+
+        org.apache.drill.exec.util.DecimalUtility.checkValueOverflow(opResult, result.precision, result.scale);
+
+        byte[] bytes = opResult.unscaledValue().toByteArray();
+        int len = bytes.length;
+        result.buffer = buffer.reallocIfNeeded(len);
+        result.buffer.setBytes(0, bytes);
+        result.end = len;
+      }
     }
   }
 
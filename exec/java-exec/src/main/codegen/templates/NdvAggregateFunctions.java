@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.lang.Override;
+
+<@pp.dropOutputFile />
+
+<#-- Generates the ndv aggregate functions that estimate the number of distinct values using HyperLogLog.
+     The 0..15 ranges below must cover HyperLogLog.WORDS workspace words. -->
+
+<@pp.changeOutputFile name="/org/apache/drill/exec/expr/fn/impl/gaggr/NdvFunctions.java" />
+
+<#include "/@includes/license.ftl" />
+
+
+package org.apache.drill.exec.expr.fn.impl.gaggr;
+
+import org.apache.drill.exec.expr.DrillAggFunc;
+import org.apache.drill.exec.expr.annotations.FunctionTemplate;
+import org.apache.drill.exec.expr.annotations.FunctionTemplate.FunctionScope;
+import org.apache.drill.exec.expr.annotations.Output;
+import org.apache.drill.exec.expr.annotations.Param;
+import org.apache.drill.exec.expr.annotations.Workspace;
+import org.apache.drill.exec.expr.holders.*;
+
+/*
+ * This class is generated using freemarker and the ${.template_name} template.
+ *
+ * The HyperLogLog registers are kept in fixed-width workspace words
+ * (see org.apache.drill.exec.expr.fn.impl.HyperLogLog), so the functions work with both
+ * the streaming and the hash aggregate. Null values are not counted.
+ */
+
+@SuppressWarnings("unused")
+
+public class NdvFunctions {
+  <#list ndvAggrTypes.ndvTypes as type>
+  @FunctionTemplate(name = "ndv", scope = FunctionTemplate.FunctionScope.POINT_AGGREGATE)
+  public static class ${type.inputType}NdvFunction implements DrillAggFunc {
+
+    @Param ${type.inputType}Holder in;
+    <#list 0..15 as i>
+    @Workspace BigIntHolder w${i};
+    </#list>
+    @Output BigIntHolder out;
+
+    @Override
+    public void setup() {
+      <#list 0..15 as i>
+      w${i} = new BigIntHolder();
+      </#list>
+    }
+
+    @Override
+    public void add() {
+      <#if type.inputType?starts_with("Nullable")>
+      if (in.isSet == 1) {
+      </#if>
+      <#if type.hashKind == "bytes">
+      long hash = org.apache.drill.exec.expr.fn.impl.MurmurHash3.murmur3_64(in.start, in.end, in.buffer, 0);
+      <#elseif type.hashKind == "double">
+      long hash = org.apache.drill.exec.expr.fn.impl.MurmurHash3.murmur3_64(Double.doubleToLongBits(in.value), 0);
+      <#elseif type.hashKind == "float">
+      long hash = org.apache.drill.exec.expr.fn.impl.MurmurHash3.murmur3_64(Float.floatToIntBits(in.value), 0);
+      <#else>
+      long hash = org.apache.drill.exec.expr.fn.impl.MurmurHash3.murmur3_64(in.value, 0);
+      </#if>
+      int index = org.apache.drill.exec.expr.fn.impl.HyperLogLog.registerIndex(hash);
+      int rank = org.apache.drill.exec.expr.fn.impl.HyperLogLog.rank(hash);
+      switch (org.apache.drill.exec.expr.fn.impl.HyperLogLog.wordIndex(index)) {
+        <#list 0..15 as i>
+        case ${i}: w${i}.value = org.apache.drill.exec.expr.fn.impl.HyperLogLog.update(w${i}.value, index, rank); break;
+        </#list>
+      }
+      <#if type.inputType?starts_with("Nullable")>
+      }
+      </#if>
+    }
+
+    @Override
+    public void output() {
+      out.value = org.apache.drill.exec.expr.fn.impl.HyperLogLog.estimate(<#list 0..15 as i>w${i}.value<#if i_has_next>, </#if></#list>);
+    }
+
+    @Override
+    public void reset() {
+      <#list 0..15 as i>
+      w${i}.value = 0;
+      </#list>
+    }
+  }
+  </#list>
+}
@@ -115,6 +115,9 @@ public final class ExecConstants {
   // External Sort Runtime options
 
   public static final BooleanValidator EXTERNAL_SORT_DISABLE_MANAGED_OPTION = new BooleanValidator("exec.sort.disable_managed", null);
+  public static final String EXTERNAL_SORT_KEY_PREFIX = "exec.sort.enable_key_prefix";
+  public static final BooleanValidator EXTERNAL_SORT_KEY_PREFIX_VALIDATOR = new BooleanValidator(EXTERNAL_SORT_KEY_PREFIX,
+      new OptionDescription("Enables the comparison of records on a normalized prefix of the leading sort key, encoded once per batch, before the generated comparator in the external sort."));
 
   // Hash Join Options
   public static final String HASHJOIN_HASHTABLE_CALC_TYPE_KEY = "exec.hashjoin.hash_table_calc_type";
@@ -139,6 +142,9 @@ public final class ExecConstants {
   public static final String HASHJOIN_NUM_PARTITIONS_KEY = "exec.hashjoin.num_partitions";
   public static final LongValidator HASHJOIN_NUM_PARTITIONS_VALIDATOR = new RangeLongValidator(HASHJOIN_NUM_PARTITIONS_KEY, 1, 128,
       new OptionDescription("Sets the initial number of internal partitions for Hash Join operations. Default is 32. May reduce when memory is too small. Disables spilling if set to 1.")); // 1 means - no spilling
+  public static final String HASHJOIN_CLUSTER_PROBE_KEY = "exec.hashjoin.cluster_probe";
+  public static final BooleanValidator HASHJOIN_CLUSTER_PROBE_VALIDATOR = new BooleanValidator(HASHJOIN_CLUSTER_PROBE_KEY,
+      new OptionDescription("Probes the rows of each probe side batch of a Hash Join grouped by internal partition, so that consecutive probes use the same (smaller) hash table. Default is true."));
   public static final String HASHJOIN_MAX_MEMORY_KEY = "drill.exec.hashjoin.mem_limit";
   public static final LongValidator HASHJOIN_MAX_MEMORY_VALIDATOR = new RangeLongValidator(HASHJOIN_MAX_MEMORY_KEY, 0L, Long.MAX_VALUE,
       new OptionDescription("Enforces the maximum memory limit for the Hash Join operator (if non-zero); used for testing purposes. Default is 0 (disabled)."));
@@ -175,6 +181,15 @@ public final class ExecConstants {
   public static final String HASHAGG_USE_MEMORY_PREDICTION_KEY = "exec.hashagg.use_memory_prediction";
   public static final BooleanValidator HASHAGG_USE_MEMORY_PREDICTION_VALIDATOR = new BooleanValidator(HASHAGG_USE_MEMORY_PREDICTION_KEY,
       new OptionDescription("Enables Hash Aggregates to use memory predictions to proactively spill early. Default is true."));
+  // The 1st phase of a two phase aggregation stops accumulating groups (and instead returns them after each incoming batch)
+  // when the rows read per group created stay below this ratio, as the 2nd phase would do the same work again.
+  public static final String HASHAGG_PARTIAL_MIN_REDUCTION_KEY = "exec.hashagg.partial_min_reduction";
+  public static final DoubleValidator HASHAGG_PARTIAL_MIN_REDUCTION_VALIDATOR = new RangeDoubleValidator(HASHAGG_PARTIAL_MIN_REDUCTION_KEY, 0.0, Double.MAX_VALUE,
+      new OptionDescription("Minimum number of incoming rows per group for the 1st phase of a two phase Hash Aggregate to keep accumulating groups. Below it, the groups are returned after each incoming batch. Default is 1.5, 0 disables."));
+  // Number of incoming rows the 1st phase aggregates before comparing their reduction with the minimum above (low values - for testing)
+  public static final String HASHAGG_PARTIAL_SAMPLE_ROWS_KEY = "exec.hashagg.partial_sample_rows";
+  public static final LongValidator HASHAGG_PARTIAL_SAMPLE_ROWS_VALIDATOR = new RangeLongValidator(HASHAGG_PARTIAL_SAMPLE_ROWS_KEY, 1, Integer.MAX_VALUE,
+      new OptionDescription("Number of incoming rows the 1st phase of a two phase Hash Aggregate aggregates before deciding whether to keep accumulating groups. Default is 65536."));
 
   public static final String HASHAGG_SPILL_DIRS = "drill.exec.hashagg.spill.directories";
   public static final String HASHAGG_SPILL_FILESYSTEM = "drill.exec.hashagg.spill.fs";
@@ -182,6 +197,11 @@ public final class ExecConstants {
   public static final BooleanValidator HASHAGG_FALLBACK_ENABLED_VALIDATOR = new BooleanValidator(HASHAGG_FALLBACK_ENABLED_KEY,
       new OptionDescription("Hash Aggregates ignore memory limits when enabled (true). When disabled (false), Hash Aggregates fail when memory is set too low."));
 
+  // Streaming Aggregate
+  public static final String STREAMAGG_RUN_DETECTION_KEY = "exec.streamagg.run_detection";
+  public static final BooleanValidator STREAMAGG_RUN_DETECTION_VALIDATOR = new BooleanValidator(STREAMAGG_RUN_DETECTION_KEY,
+      new OptionDescription("Streaming Aggregates find where each group ends in a batch with a galloping search over the sorted keys, then aggregate the group's rows in a tight loop, instead of comparing the keys of every row. Default is true."));
+
   public static final String SSL_PROVIDER = "drill.exec.ssl.provider"; // valid values are "JDK", "OPENSSL" // default JDK
   public static final String SSL_PROTOCOL = "drill.exec.ssl.protocol"; // valid values are SSL, SSLV2, SSLV3, TLS, TLSV1, TLSv1.1, TLSv1.2(default)
   public static final String SSL_KEYSTORE_TYPE = "drill.exec.ssl.keyStoreType";
@@ -461,6 +481,12 @@ public final class ExecConstants {
   public static final String JSON_READ_NUMBERS_AS_DOUBLE = "store.json.read_numbers_as_double";
   public static final BooleanValidator JSON_READ_NUMBERS_AS_DOUBLE_VALIDATOR = new BooleanValidator(JSON_READ_NUMBERS_AS_DOUBLE,
       new OptionDescription("Reads numbers with or without a decimal point as DOUBLE. Prevents schema change errors."));
+  public static final String JSON_READER_SPLIT_LINE_DELIMITED = "store.json.reader.split_line_delimited";
+  public static final BooleanValidator JSON_READER_SPLIT_LINE_DELIMITED_VALIDATOR = new BooleanValidator(JSON_READER_SPLIT_LINE_DELIMITED,
+      new OptionDescription("Treats uncompressed JSON files as line-delimited (one record per line) and splits them by block so that a single file is scanned by several minor fragments. System option, applied at planning time. Default is false."));
+  public static final String JSON_READER_PROJECTION_PUSHDOWN = "store.json.reader.projection_pushdown";
+  public static final BooleanValidator JSON_READER_PROJECTION_PUSHDOWN_VALIDATOR = new BooleanValidator(JSON_READER_PROJECTION_PUSHDOWN,
+      new OptionDescription("Enables the JSON record reader to stop tokenizing a record once all projected fields are read and to copy string values into vectors without materializing Java strings. Default is false."));
 
   public static final String MONGO_ALL_TEXT_MODE = "store.mongo.all_text_mode";
   public static final OptionValidator MONGO_READER_ALL_TEXT_MODE_VALIDATOR = new BooleanValidator(MONGO_ALL_TEXT_MODE,
@@ -685,6 +711,13 @@ public final class ExecConstants {
   public static final String ENABLE_WINDOW_FUNCTIONS = "window.enable";
   public static final OptionValidator ENABLE_WINDOW_FUNCTIONS_VALIDATOR = new BooleanValidator(ENABLE_WINDOW_FUNCTIONS,
       new OptionDescription("Enable or disable window functions in Drill 1.1+"));
+  public static final String WINDOW_ENABLE_SPILL = "window.enable_spill";
+  public static final BooleanValidator WINDOW_ENABLE_SPILL_VALIDATOR = new BooleanValidator(WINDOW_ENABLE_SPILL,
+      new OptionDescription("Window operators spill the buffered batches of a large partition to disk when enabled (true). " +
+          "When disabled (false), they keep the whole partition in memory."));
+  public static final String WINDOW_MAX_MEMORY = "window.mem_limit";
+  public static final LongValidator WINDOW_MAX_MEMORY_VALIDATOR = new RangeLongValidator(WINDOW_MAX_MEMORY, 0, Integer.MAX_VALUE,
+      new OptionDescription("Window operators spill once their memory exceeds the value set, when lower than their memory limit. Default is 0 (disabled)."));
 
   public static final String DRILLBIT_CONTROL_INJECTIONS = "drill.exec.testing.controls";
   public static final OptionValidator DRILLBIT_CONTROLS_VALIDATOR = new ExecutionControls.ControlsOptionValidator(DRILLBIT_CONTROL_INJECTIONS, 1, null);
@@ -771,6 +804,18 @@ public final class ExecConstants {
   public static final LongValidator CODE_GEN_EXP_IN_METHOD_SIZE_VALIDATOR = new LongValidator(CODE_GEN_EXP_IN_METHOD_SIZE,
       new OptionDescription("Introduced in Drill 1.8. For queries with complex or multiple expressions in the query logic, this option limits the number of expressions allowed in each method to prevent Drill from generating code that exceeds the Java limit of 64K bytes. If a method approaches the 64K limit, the Java compiler returns a message stating that the code is too large to compile. If queries return such a message, reduce the value of this option at the session level. The default value for this option is 50. The value is the count of expressions allowed in a method. Expressions are added to a method until they hit the Java 64K limit, when a new inner method is created and called from the existing method. Note: This logic has not been implemented for all operators. If a query uses operators for which the logic is not implemented, reducing the setting for this option may not resolve the error. Setting this option at the system level impacts all queries and can degrade query performance."));
 
+  public static final String CODE_GEN_METHOD_SIZE_BUDGET = "exec.java.compiler.method_size_budget";
+  public static final LongValidator CODE_GEN_METHOD_SIZE_BUDGET_VALIDATOR = new RangeLongValidator(CODE_GEN_METHOD_SIZE_BUDGET, 1, Integer.MAX_VALUE,
+      new OptionDescription("Limits the estimated size of each generated method, counted in expression nodes (column reads and writes, function calls, conditions...). Along with exec.java.compiler.exp_in_method_size, expressions are moved to new methods when the method would exceed this size, to keep the generated methods below the JVM limit for JIT compilation (8000 bytes of bytecode). Very large expressions still get their own method. Default is 250."));
+
+  public static final String VECTORIZED_EVALUATION_KEY = "exec.vectorized_evaluation";
+  public static final BooleanValidator VECTORIZED_EVALUATION_VALIDATOR = new BooleanValidator(VECTORIZED_EVALUATION_KEY,
+      new OptionDescription("Project and Filter evaluate the simple expressions over INT, BIGINT, FLOAT4, FLOAT8 and BIT columns (arithmetic, comparisons, casts, boolean logic) a column at a time, in tight loops over the whole batch, instead of a row at a time through generated code. Default is true."));
+
+  public static final String CONSTANT_FOLDING_KEY = "exec.constant_folding";
+  public static final BooleanValidator CONSTANT_FOLDING_VALIDATOR = new BooleanValidator(CONSTANT_FOLDING_KEY,
+      new OptionDescription("Project and Filter evaluate the constant sub-expressions left by the planner (for example date_sub(now(), 7)) once per fragment and replace them with literals before generating code, then simplify the boolean operators and conditions over the folded constants. Random functions are never folded. Default is true."));
+
   public static final String CREATE_PREPARE_STATEMENT_TIMEOUT_MILLIS = "prepare.statement.create_timeout_ms";
   public static final OptionValidator CREATE_PREPARE_STATEMENT_TIMEOUT_MILLIS_VALIDATOR =
       new PositiveLongValidator(CREATE_PREPARE_STATEMENT_TIMEOUT_MILLIS, Integer.MAX_VALUE, null);
@@ -126,6 +126,9 @@ public class ClassCompilerSelector {
       throws CompileException, ClassNotFoundException, ClassTransformationException, IOException {
 
     byte[][] bc = getCompiler(sourceCode).getClassByteCode(className, sourceCode);
+    for (byte[] classBytes : bc) {
+      GeneratedMethodSizes.record(className.dot, classBytes);
+    }
 
     // Uncomment the following to save the generated byte codes.
     // Use the JDK javap command to view the generated code.
@@ -148,7 +151,11 @@ public class ClassCompilerSelector {
 
   public Map<String,byte[]> compile(ClassNames className, String sourceCode)
       throws CompileException, ClassNotFoundException, ClassTransformationException, IOException {
-    return getCompiler(sourceCode).compile(className, sourceCode);
+    final Map<String,byte[]> classes = getCompiler(sourceCode).compile(className, sourceCode);
+    for (Map.Entry<String,byte[]> entry : classes.entrySet()) {
+      GeneratedMethodSizes.record(entry.getKey(), entry.getValue());
+    }
+    return classes;
   }
 
   private AbstractClassCompiler getCompiler(String sourceCode) {
@@ -18,6 +18,7 @@
 package org.apache.drill.exec.compile;
 
 import java.util.List;
+import java.util.concurrent.Executors;
 
 import org.apache.drill.common.config.DrillConfig;
 import org.apache.drill.exec.exception.ClassTransformationException;
@@ -29,6 +30,11 @@ import org.apache.drill.shaded.guava.com.google.common.cache.CacheBuilder;
 import org.apache.drill.shaded.guava.com.google.common.cache.CacheLoader;
 import org.apache.drill.shaded.guava.com.google.common.cache.LoadingCache;
 import org.apache.drill.shaded.guava.com.google.common.collect.Lists;
+import org.apache.drill.shaded.guava.com.google.common.util.concurrent.Futures;
+import org.apache.drill.shaded.guava.com.google.common.util.concurrent.ListenableFuture;
+import org.apache.drill.shaded.guava.com.google.common.util.concurrent.ListeningExecutorService;
+import org.apache.drill.shaded.guava.com.google.common.util.concurrent.MoreExecutors;
+import org.apache.drill.shaded.guava.com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Global code compiler mechanism shared by all threads and operators.
@@ -120,8 +126,24 @@ public class CodeCompiler {
 
   public static final String PREFER_POJ_CONFIG = CodeCompiler.COMPILE_BASE + ".prefer_plain_java";
 
+  /**
+   * Number of threads used to generate and compile classes requested through
+   * {@link #createInstancesAsync(CodeGenerator, int)}. Zero compiles such
+   * requests on the calling thread.
+   */
+
+  public static final String ASYNC_THREADS_CONFIG = COMPILE_BASE + ".async_threads";
+
   private final CodeGenCompiler codeGenCompiler;
   private final boolean useCache;
+  private final int asyncThreads;
+
+  /**
+   * Bounded pool shared by all fragments for asynchronous compilation.
+   * Created on first use, shut down in {@link #close()}.
+   */
+
+  private ListeningExecutorService compileExecutor;
 
   // Metrics
 
@@ -146,6 +168,7 @@ public class CodeCompiler {
         .maximumSize(config.getInt(MAX_LOADING_CACHE_SIZE_CONFIG))
         .build(new Loader());
     preferPlainJava = config.getBoolean(PREFER_POJ_CONFIG);
+    asyncThreads = config.getInt(ASYNC_THREADS_CONFIG);
     logger.info(String.format("Plain java code generation preferred: %b", preferPlainJava));
   }
 
@@ -198,6 +221,53 @@ public class CodeCompiler {
     }
   }
 
+  /**
+   * Starts generating and compiling the class on the compile pool and returns
+   * a future for a single instance of it. Lets an operator overlap the
+   * compilation of one class with the generation of another, or with other
+   * setup work, instead of compiling them one after the other.
+   *
+   * @param cg code generator for the class to be instantiated. It must not
+   * be modified until the future completes.
+   * @return a future for an instance of the generated class
+   */
+
+  public <T> ListenableFuture<T> createInstanceAsync(final CodeGenerator<?> cg) {
+    final ListenableFuture<List<T>> instances = createInstancesAsync(cg, 1);
+    return Futures.transform(instances, list -> list.get(0), MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Asynchronous version of {@link #createInstances(CodeGenerator, int)}.
+   * Compilation failures are reported by the returned future as a
+   * {@link ClassTransformationException} cause.
+   *
+   * @param cg code generator for the class to be instantiated. It must not
+   * be modified until the future completes.
+   * @param count the number of instances desired.
+   * @return a future for the list of instances of the generated class
+   */
+
+  public <T> ListenableFuture<List<T>> createInstancesAsync(final CodeGenerator<?> cg, final int count) {
+    final ListeningExecutorService executor = getCompileExecutor();
+    if (executor == null) {
+      try {
+        return Futures.immediateFuture(createInstances(cg, count));
+      } catch (ClassTransformationException e) {
+        return Futures.immediateFailedFuture(e);
+      }
+    }
+    return executor.submit(() -> this.<T>createInstances(cg, count));
+  }
+
+  private synchronized ListeningExecutorService getCompileExecutor() {
+    if (compileExecutor == null && asyncThreads > 0) {
+      compileExecutor = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(asyncThreads,
+          new ThreadFactoryBuilder().setNameFormat("drill-compile-%d").setDaemon(true).build()));
+    }
+    return compileExecutor;
+  }
+
   /**
    * Loader used to create an entry in the class cache when the entry
    * does not yet exist. Here, we generate the code, compile it,
@@ -252,11 +322,25 @@ public class CodeCompiler {
     cache.invalidateAll();
   }
 
+  /**
+   * @return the number of classes compiled because they were not found in the code cache
+   */
+  @VisibleForTesting
+  public int getCacheMissCount() {
+    return cacheMissCount;
+  }
+
   /**
    * Upon close, report the effectiveness of the code cache to the log.
    */
 
   public void close() {
+    synchronized (this) {
+      if (compileExecutor != null) {
+        compileExecutor.shutdownNow();
+        compileExecutor = null;
+      }
+    }
     int hitRate = 0;
     if (classGenCount > 0) {
       hitRate = (int) Math.round((classGenCount - cacheMissCount) * 100.0 / classGenCount);
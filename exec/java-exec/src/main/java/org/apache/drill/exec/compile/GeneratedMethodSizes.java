@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.compile;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.drill.exec.metrics.DrillMetrics;
+
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * Reports the bytecode size of the methods of the generated classes, in the
+ * {@link #METHOD_SIZE_HISTOGRAM} histogram and the {@link #HUGE_METHODS_COUNTER} counter.
+ * <p>
+ * The HotSpot JIT does not compile the methods with more than 8000 bytes of bytecode
+ * (-XX:HugeMethodLimit), which then always run interpreted: see the
+ * {@link org.apache.drill.exec.ExecConstants#CODE_GEN_METHOD_SIZE_BUDGET} option,
+ * which splits the generated methods.
+ */
+public class GeneratedMethodSizes {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(GeneratedMethodSizes.class);
+
+  public static final int HUGE_METHOD_LIMIT = 8000;
+
+  static final MetricRegistry metrics = DrillMetrics.getRegistry();
+  static final String METHOD_SIZE_HISTOGRAM = MetricRegistry.name(GeneratedMethodSizes.class, "methodBytecodeSize");
+  static final String HUGE_METHODS_COUNTER = MetricRegistry.name(GeneratedMethodSizes.class, "hugeMethods");
+
+  private GeneratedMethodSizes() {
+  }
+
+  /**
+   * Records the sizes of the methods of the compiled class.
+   */
+  public static void record(String className, byte[] classBytes) {
+    final Map<String, Integer> sizes;
+    try {
+      sizes = getMethodSizes(classBytes);
+    } catch (IOException | RuntimeException e) {
+      logger.debug("Failed to read the methods of the generated class {}", className, e);
+      return;
+    }
+    for (Map.Entry<String, Integer> entry : sizes.entrySet()) {
+      metrics.histogram(METHOD_SIZE_HISTOGRAM).update(entry.getValue());
+      if (entry.getValue() > HUGE_METHOD_LIMIT) {
+        metrics.counter(HUGE_METHODS_COUNTER).inc();
+        logger.debug("Generated method {}.{} has {} bytes of bytecode, it will not be JIT compiled",
+            className, entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Reads the class file format (JVMS 4) up to the Code attributes of the methods.
+   * @return the bytecode sizes of the methods with code, by method name and descriptor
+   */
+  static Map<String, Integer> getMethodSizes(byte[] classBytes) throws IOException {
+    final DataInputStream in = new DataInputStream(new ByteArrayInputStream(classBytes));
+    in.skipBytes(8); // magic, minor and major versions
+
+    final int constantPoolCount = in.readUnsignedShort();
+    final String[] utf8Constants = new String[constantPoolCount];
+    for (int i = 1; i < constantPoolCount; i++) {
+      final int tag = in.readUnsignedByte();
+      switch (tag) {
+        case 1: // Utf8
+          utf8Constants[i] = in.readUTF();
+          break;
+        case 7: // Class
+        case 8: // String
+        case 16: // MethodType
+        case 19: // Module
+        case 20: // Package
+          in.skipBytes(2);
+          break;
+        case 15: // MethodHandle
+          in.skipBytes(3);
+          break;
+        case 3: // Integer
+        case 4: // Float
+        case 9: // Fieldref
+        case 10: // Methodref
+        case 11: // InterfaceMethodref
+        case 12: // NameAndType
+        case 17: // Dynamic
+        case 18: // InvokeDynamic
+          in.skipBytes(4);
+          break;
+        case 5: // Long
+        case 6: // Double
+          in.skipBytes(8);
+          i++; // takes two entries
+          break;
+        default:
+          throw new IOException("Unknown constant pool tag " + tag);
+      }
+    }
+
+    in.skipBytes(6); // access flags, this and super classes
+    in.skipBytes(2 * in.readUnsignedShort()); // interfaces
+    final int fieldCount = in.readUnsignedShort();
+    for (int i = 0; i < fieldCount; i++) {
+      in.skipBytes(6); // access flags, name and descriptor
+      skipAttributes(in);
+    }
+
+    final Map<String, Integer> sizes = new LinkedHashMap<>();
+    final int methodCount = in.readUnsignedShort();
+    for (int i = 0; i < methodCount; i++) {
+      in.skipBytes(2); // access flags
+      final String name = utf8Constants[in.readUnsignedShort()];
+      final String descriptor = utf8Constants[in.readUnsignedShort()];
+      final int attributeCount = in.readUnsignedShort();
+      for (int j = 0; j < attributeCount; j++) {
+        final String attributeName = utf8Constants[in.readUnsignedShort()];
+        final int length = in.readInt();
+        if ("Code".equals(attributeName)) {
+          in.skipBytes(4); // max stack and locals
+          sizes.put(name + descriptor, in.readInt());
+          in.skipBytes(length - 8);
+        } else {
+          in.skipBytes(length);
+        }
+      }
+    }
+    return sizes;
+  }
+
+  private static void skipAttributes(DataInputStream in) throws IOException {
+    final int attributeCount = in.readUnsignedShort();
+    for (int i = 0; i < attributeCount; i++) {
+      in.skipBytes(2);
+      in.skipBytes(in.readInt());
+    }
+  }
+}
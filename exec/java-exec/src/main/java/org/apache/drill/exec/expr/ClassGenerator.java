@@ -332,12 +332,14 @@ public class ClassGenerator<T>{
   }
 
   public HoldingContainer addExpr(LogicalExpression ex, BlkCreateMode mode) {
+    final int size = getExpressionSize(ex);
     if (mode == BlkCreateMode.TRUE || mode == BlkCreateMode.TRUE_IF_BOUND) {
-      rotateBlock(mode);
+      rotateBlock(mode, size);
     }
 
     for (LinkedList<SizedJBlock> b : blocks) {
       b.getLast().incCounter();
+      b.getLast().addSize(size);
     }
 
     return evaluationVisitor.addExpr(ex, this);
@@ -345,7 +347,28 @@ public class ClassGenerator<T>{
 
   public void rotateBlock() {
     // default behavior is always to create new block.
-    rotateBlock(BlkCreateMode.TRUE);
+    rotateBlock(BlkCreateMode.TRUE, 0);
+  }
+
+  /**
+   * Estimates the size of the code generated for the expression by its number of nodes: each of them (vector read
+   * or write, function call, condition...) generates a few statements.
+   */
+  private static int getExpressionSize(LogicalExpression ex) {
+    int size = 1;
+    for (LogicalExpression child : ex) {
+      size += getExpressionSize(child);
+    }
+    return size;
+  }
+
+  /**
+   * @return true if adding code of the given size to the given block makes it larger than
+   * {@link ExecConstants#CODE_GEN_METHOD_SIZE_BUDGET}, so the code must go to another method
+   */
+  private boolean exceedsSizeBudget(int blockSize, int size) {
+    return optionManager != null && blockSize > 0
+        && blockSize + size > optionManager.getOption(ExecConstants.CODE_GEN_METHOD_SIZE_BUDGET_VALIDATOR);
   }
 
   /**
@@ -413,15 +436,17 @@ public class ClassGenerator<T>{
    *
    * @param mode the {@link BlkCreateMode block create mode}
    * for the new block.
+   * @param size the size of the expression which will be added, see {@link #getExpressionSize(LogicalExpression)}
    */
 
-  private void rotateBlock(BlkCreateMode mode) {
+  private void rotateBlock(BlkCreateMode mode, int size) {
     boolean blockRotated = false;
     for (LinkedList<SizedJBlock> b : blocks) {
       if (mode == BlkCreateMode.TRUE ||
           (mode == BlkCreateMode.TRUE_IF_BOUND &&
             optionManager != null &&
-            b.getLast().getCount() > optionManager.getOption(ExecConstants.CODE_GEN_EXP_IN_METHOD_SIZE_VALIDATOR))) {
+            (b.getLast().getCount() > optionManager.getOption(ExecConstants.CODE_GEN_EXP_IN_METHOD_SIZE_VALIDATOR)
+              || exceedsSizeBudget(b.getLast().getSize(), size)))) {
         b.add(new SizedJBlock(new JBlock(true, true)));
         blockRotated = true;
       }
@@ -453,12 +478,14 @@ public class ClassGenerator<T>{
 
       int methodIndex = 0;
       int exprsInMethod = 0;
+      int sizeOfMethod = 0;
       boolean isVoidMethod = method.getReturnType() == void.class;
       for(SizedJBlock sb : blocks[i++]) {
         JBlock b = sb.getBlock();
         if(!b.isEmpty()) {
           if (optionManager != null &&
-              exprsInMethod > optionManager.getOption(ExecConstants.CODE_GEN_EXP_IN_METHOD_SIZE_VALIDATOR)) {
+              (exprsInMethod > optionManager.getOption(ExecConstants.CODE_GEN_EXP_IN_METHOD_SIZE_VALIDATOR)
+                || exceedsSizeBudget(sizeOfMethod, sb.getSize()))) {
             JMethod inner = clazz.method(JMod.PRIVATE, model._ref(method.getReturnType()), method.getMethodName() + methodIndex);
             JInvocation methodCall = JExpr.invoke(inner);
             for (CodeGeneratorArgument arg : method) {
@@ -477,10 +504,12 @@ public class ClassGenerator<T>{
             }
             outer = inner;
             exprsInMethod = 0;
+            sizeOfMethod = 0;
             ++methodIndex;
           }
           outer.body().add(b);
           exprsInMethod += sb.getCount();
+          sizeOfMethod += sb.getSize();
         }
       }
       if (innerClassField != null) {
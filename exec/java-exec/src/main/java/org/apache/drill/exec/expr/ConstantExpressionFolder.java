@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.expr;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.drill.common.expression.BooleanOperator;
+import org.apache.drill.common.expression.ExpressionStringBuilder;
+import org.apache.drill.common.expression.FunctionHolderExpression;
+import org.apache.drill.common.expression.IfExpression;
+import org.apache.drill.common.expression.IfExpression.IfCondition;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.TypedNullConstant;
+import org.apache.drill.common.expression.ValueExpressions;
+import org.apache.drill.common.expression.ValueExpressions.BooleanExpression;
+import org.apache.drill.common.expression.visitors.AbstractExprVisitor;
+import org.apache.drill.common.types.TypeProtos.DataMode;
+import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.compile.sig.ConstantExpressionIdentifier;
+import org.apache.drill.exec.expr.fn.impl.StringFunctionHelpers;
+import org.apache.drill.exec.expr.fn.interpreter.InterpreterEvaluator;
+import org.apache.drill.exec.expr.holders.BigIntHolder;
+import org.apache.drill.exec.expr.holders.BitHolder;
+import org.apache.drill.exec.expr.holders.DateHolder;
+import org.apache.drill.exec.expr.holders.Float4Holder;
+import org.apache.drill.exec.expr.holders.Float8Holder;
+import org.apache.drill.exec.expr.holders.IntHolder;
+import org.apache.drill.exec.expr.holders.IntervalDayHolder;
+import org.apache.drill.exec.expr.holders.IntervalYearHolder;
+import org.apache.drill.exec.expr.holders.TimeHolder;
+import org.apache.drill.exec.expr.holders.TimeStampHolder;
+import org.apache.drill.exec.expr.holders.ValueHolder;
+import org.apache.drill.exec.expr.holders.VarCharHolder;
+import org.apache.drill.exec.expr.holders.VarDecimalHolder;
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.ops.UdfUtilities;
+import org.apache.drill.exec.util.DecimalUtility;
+
+import org.apache.drill.shaded.guava.com.google.common.collect.Lists;
+
+/**
+ * Folds the constant sub-expressions of a materialized expression into literals, before code generation.
+ * <p>
+ * The planner already reduces the constant expressions it can represent, but leaves some of them when its constant
+ * reduction is disabled or fails. Folding them here lets the expression be simplified further (a condition over a
+ * constant, a boolean operator with a constant operand), and gives the vectorized evaluation and the code cache a
+ * simpler expression.
+ * <p>
+ * The constant sub-expressions are the ones found by {@link ConstantExpressionIdentifier}, which excludes the
+ * random and aggregate functions. They are evaluated by the {@link InterpreterEvaluator} with the fragment's
+ * {@link UdfUtilities}. The ones calling a function that depends on the query (now(), current_date, user...) are
+ * kept, and evaluated by the generated code in its setup: their literals would change the generated code at each
+ * run, so that it would never be found in the code cache. A sub-expression whose type has no literal, or whose
+ * evaluation fails (the failure is left to the execution, which may not evaluate it at all), is kept as is as well.
+ */
+public class ConstantExpressionFolder extends AbstractExprVisitor<LogicalExpression, Void, RuntimeException> {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ConstantExpressionFolder.class);
+
+  // the types of the literals
+  private static final Set<MinorType> FOLDABLE_TYPES = EnumSet.of(MinorType.INT, MinorType.BIGINT, MinorType.FLOAT4,
+      MinorType.FLOAT8, MinorType.BIT, MinorType.VARCHAR, MinorType.DATE, MinorType.TIME, MinorType.TIMESTAMP,
+      MinorType.INTERVALYEAR, MinorType.INTERVALDAY, MinorType.VARDECIMAL);
+
+  private final Set<LogicalExpression> constantBoundaries;
+  private final UdfUtilities udfUtilities;
+
+  private ConstantExpressionFolder(Set<LogicalExpression> constantBoundaries, UdfUtilities udfUtilities) {
+    this.constantBoundaries = constantBoundaries;
+    this.udfUtilities = udfUtilities;
+  }
+
+  /**
+   * Folds the constants of the materialized expression, when {@link ExecConstants#CONSTANT_FOLDING_KEY} is enabled.
+   * @return the folded expression, of the same type as the given one
+   */
+  public static LogicalExpression fold(LogicalExpression expr, FragmentContext context) {
+    if (!context.getOptions().getOption(ExecConstants.CONSTANT_FOLDING_VALIDATOR)) {
+      return expr;
+    }
+    return fold(expr, (UdfUtilities) context);
+  }
+
+  public static LogicalExpression fold(LogicalExpression expr, UdfUtilities udfUtilities) {
+    final Set<LogicalExpression> constantBoundaries = ConstantExpressionIdentifier.getConstantExpressionSet(expr);
+    if (constantBoundaries.isEmpty()) {
+      return expr;
+    }
+    return expr.accept(new ConstantExpressionFolder(constantBoundaries, udfUtilities), null);
+  }
+
+  @Override
+  public LogicalExpression visitFunctionHolderExpression(FunctionHolderExpression holder, Void value) {
+    if (constantBoundaries.contains(holder)) {
+      return evaluate(holder);
+    }
+    final List<LogicalExpression> args = Lists.newArrayList();
+    boolean changed = false;
+    for (LogicalExpression arg : holder.args) {
+      final LogicalExpression newArg = arg.accept(this, value);
+      changed |= newArg != arg;
+      args.add(newArg);
+    }
+    return changed ? holder.copy(args) : holder;
+  }
+
+  @Override
+  public LogicalExpression visitBooleanOperator(BooleanOperator op, Void value) {
+    if (constantBoundaries.contains(op)) {
+      return evaluate(op);
+    }
+    final boolean isAnd = op.getName().equals("booleanAnd");
+    final List<LogicalExpression> args = Lists.newArrayList();
+    boolean changed = false;
+    for (LogicalExpression arg : op.args) {
+      final LogicalExpression newArg = arg.accept(this, value);
+      changed |= newArg != arg;
+      if (newArg instanceof BooleanExpression) {
+        if (((BooleanExpression) newArg).getBoolean() != isAnd) {
+          // false for AND, true for OR: the result, whatever the other operands, even if null
+          if (sameType(newArg, op)) {
+            return newArg;
+          }
+        } else {
+          // true for AND, false for OR: no effect on the result
+          changed = true;
+          continue;
+        }
+      }
+      args.add(newArg);
+    }
+    if (!changed) {
+      return op;
+    }
+    if (args.size() == 1 && sameType(args.get(0), op)) {
+      return args.get(0);
+    }
+    if (args.size() < 2) {
+      // the removed operands are needed for the type of the operator
+      return op;
+    }
+    return new BooleanOperator(op.getName(), args, op.getPosition());
+  }
+
+  @Override
+  public LogicalExpression visitIfExpression(IfExpression ifExpr, Void value) {
+    if (constantBoundaries.contains(ifExpr)) {
+      return evaluate(ifExpr);
+    }
+    final LogicalExpression condition = ifExpr.ifCondition.condition.accept(this, value);
+    final LogicalExpression expression = ifExpr.ifCondition.expression.accept(this, value);
+    final LogicalExpression elseExpression = ifExpr.elseExpression.accept(this, value);
+
+    if (condition instanceof BooleanExpression) {
+      final LogicalExpression branch = ((BooleanExpression) condition).getBoolean() ? expression : elseExpression;
+      if (sameType(branch, ifExpr)) {
+        return branch;
+      }
+    }
+    if (condition == ifExpr.ifCondition.condition && expression == ifExpr.ifCondition.expression
+        && elseExpression == ifExpr.elseExpression) {
+      return ifExpr;
+    }
+    return IfExpression.newBuilder()
+        .setIfCondition(new IfCondition(condition, expression))
+        .setElse(elseExpression)
+        .setOutputType(ifExpr.getMajorType())
+        .setPosition(ifExpr.getPosition())
+        .build();
+  }
+
+  @Override
+  public LogicalExpression visitUnknown(LogicalExpression e, Void value) {
+    return e;
+  }
+
+  /**
+   * @return true if the expression calls a function whose value changes from a query to another: its literal would
+   * change the generated code at each run, defeating the code cache
+   */
+  private static boolean isQueryDependent(LogicalExpression expr) {
+    if (expr instanceof DrillFuncHolderExpr && ((DrillFuncHolderExpr) expr).getHolder().isQueryDependent()) {
+      return true;
+    }
+    for (LogicalExpression child : expr) {
+      if (isQueryDependent(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean sameType(LogicalExpression expr, LogicalExpression replaced) {
+    return expr.getMajorType().getMinorType() == replaced.getMajorType().getMinorType()
+        && expr.getMajorType().getMode() == replaced.getMajorType().getMode();
+  }
+
+  /**
+   * @return the literal of the value of the constant expression, or the expression if it cannot be folded
+   */
+  private LogicalExpression evaluate(LogicalExpression expr) {
+    final MajorType type = expr.getMajorType();
+    if (type.getMode() == DataMode.REPEATED || !FOLDABLE_TYPES.contains(type.getMinorType())) {
+      return expr;
+    }
+    if (isQueryDependent(expr)) {
+      return expr;
+    }
+    final ValueHolder output;
+    try {
+      output = InterpreterEvaluator.evaluateConstantExpr(udfUtilities, expr);
+    } catch (Exception e) {
+      logger.debug("Constant expression not folded, its evaluation failed: {}", ExpressionStringBuilder.toString(expr), e);
+      return expr;
+    }
+    if (type.getMode() == DataMode.OPTIONAL) {
+      // literals are not nullable, only the null value of an optional type can be represented
+      return TypeHelper.isNull(output) ? new TypedNullConstant(type) : expr;
+    }
+    final LogicalExpression literal = toLiteral(type, output, expr);
+    if (literal == null) {
+      logger.debug("Constant expression not folded due to return type {}: {}", type, ExpressionStringBuilder.toString(expr));
+      return expr;
+    }
+    return literal;
+  }
+
+  private static LogicalExpression toLiteral(MajorType type, ValueHolder output, LogicalExpression expr) {
+    switch (type.getMinorType()) {
+      case INT:
+        return output instanceof IntHolder ?
+            new ValueExpressions.IntExpression(((IntHolder) output).value, expr.getPosition()) : null;
+      case BIGINT:
+        return output instanceof BigIntHolder ?
+            new ValueExpressions.LongExpression(((BigIntHolder) output).value, expr.getPosition()) : null;
+      case FLOAT4:
+        return output instanceof Float4Holder ?
+            new ValueExpressions.FloatExpression(((Float4Holder) output).value, expr.getPosition()) : null;
+      case FLOAT8:
+        return output instanceof Float8Holder ?
+            new ValueExpressions.DoubleExpression(((Float8Holder) output).value, expr.getPosition()) : null;
+      case BIT:
+        return output instanceof BitHolder ?
+            new BooleanExpression(Boolean.toString(((BitHolder) output).value == 1), expr.getPosition()) : null;
+      case VARCHAR: {
+        if (!(output instanceof VarCharHolder)) {
+          return null;
+        }
+        final String value = StringFunctionHelpers.getStringFromVarCharHolder((VarCharHolder) output);
+        return new ValueExpressions.QuotedString(value, type.hasPrecision() ? type.getPrecision() : value.length(),
+            expr.getPosition());
+      }
+      case DATE:
+        return output instanceof DateHolder ?
+            new ValueExpressions.DateExpression(((DateHolder) output).value, expr.getPosition()) : null;
+      case TIME:
+        return output instanceof TimeHolder ?
+            new ValueExpressions.TimeExpression(((TimeHolder) output).value, expr.getPosition()) : null;
+      case TIMESTAMP:
+        return output instanceof TimeStampHolder ?
+            new ValueExpressions.TimeStampExpression(((TimeStampHolder) output).value, expr.getPosition()) : null;
+      case INTERVALYEAR:
+        return output instanceof IntervalYearHolder ?
+            new ValueExpressions.IntervalYearExpression(((IntervalYearHolder) output).value, expr.getPosition()) : null;
+      case INTERVALDAY: {
+        if (!(output instanceof IntervalDayHolder)) {
+          return null;
+        }
+        final IntervalDayHolder holder = (IntervalDayHolder) output;
+        return new ValueExpressions.IntervalDayExpression(holder.days, holder.milliseconds, expr.getPosition());
+      }
+      case VARDECIMAL: {
+        if (!(output instanceof VarDecimalHolder)) {
+          return null;
+        }
+        final VarDecimalHolder holder = (VarDecimalHolder) output;
+        if (holder.scale != type.getScale()) {
+          return null;
+        }
+        return new ValueExpressions.VarDecimalExpression(
+            DecimalUtility.getBigDecimalFromDrillBuf(holder.buffer, holder.start, holder.end - holder.start, holder.scale),
+            type.getPrecision(), type.getScale(), expr.getPosition());
+      }
+      default:
+        return null;
+    }
+  }
+}
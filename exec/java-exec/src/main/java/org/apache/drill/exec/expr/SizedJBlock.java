@@ -21,13 +21,14 @@ import com.sun.codemodel.JBlock;
 
 /**
  * Uses this class to keep track # of Drill Logical Expressions that are
- * put to JBlock.
+ * put to JBlock, and of their estimated size (# of expression nodes).
  *
  * JBlock is final class; we could not extend JBlock directly.
  */
 public class SizedJBlock {
   private final JBlock block;
   private int count; // # of Drill Logical Expressions added to this block
+  private int size; // # of nodes of the Drill Logical Expressions added to this block
 
   public SizedJBlock(JBlock block) {
     this.block = block;
@@ -49,4 +50,12 @@ public class SizedJBlock {
     return this.count;
   }
 
+  public void addSize(int size) {
+    this.size += size;
+  }
+
+  public int getSize() {
+    return this.size;
+  }
+
 }
@@ -45,6 +45,7 @@ import org.apache.drill.exec.expr.fn.output.OutputWidthCalculator;
 import org.apache.drill.exec.expr.holders.ListHolder;
 import org.apache.drill.exec.expr.holders.MapHolder;
 import org.apache.drill.exec.expr.holders.RepeatedMapHolder;
+import org.apache.drill.exec.ops.ContextInformation;
 import org.apache.drill.exec.ops.UdfUtilities;
 import org.apache.drill.exec.vector.complex.reader.FieldReader;
 
@@ -119,6 +120,22 @@ public abstract class DrillFuncHolder extends AbstractFuncHolder {
     return attributes.isNiladic();
   }
 
+  /**
+   * @return true if the value of the function depends on the query it is evaluated for: the niladic functions,
+   * such as now() or user, and the ones injected with the {@link ContextInformation} (query start time, time zone...)
+   */
+  public boolean isQueryDependent() {
+    if (attributes.isNiladic()) {
+      return true;
+    }
+    for (WorkspaceReference ref : attributes.getWorkspaceVars()) {
+      if (ref.isInject() && ref.getType() == ContextInformation.class) {
+        return true;
+      }
+    }
+    return false;
+  }
+
 
   public boolean isInternal() {
     return attributes.isInternal();
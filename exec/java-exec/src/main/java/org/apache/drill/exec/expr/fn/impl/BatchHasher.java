@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.expr.fn.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.drill.common.expression.FunctionHolderExpression;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.ValueExpressions;
+import org.apache.drill.common.types.TypeProtos.DataMode;
+import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.expr.ValueVectorReadExpression;
+import org.apache.drill.exec.record.TypedFieldId;
+import org.apache.drill.exec.record.VectorAccessible;
+import org.apache.drill.exec.vector.BaseDataValueVector;
+import org.apache.drill.exec.vector.BigIntVector;
+import org.apache.drill.exec.vector.BitVector;
+import org.apache.drill.exec.vector.DateVector;
+import org.apache.drill.exec.vector.Float4Vector;
+import org.apache.drill.exec.vector.Float8Vector;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.vector.NullableVector;
+import org.apache.drill.exec.vector.TimeStampVector;
+import org.apache.drill.exec.vector.TimeVector;
+import org.apache.drill.exec.vector.UInt1Vector;
+import org.apache.drill.exec.vector.UInt4Vector;
+import org.apache.drill.exec.vector.ValueVector;
+import org.apache.drill.exec.vector.VariableWidthVector;
+
+import io.netty.buffer.DrillBuf;
+
+/**
+ * Hashes the key columns of all the rows of a batch in one pass, a column at a time, instead of calling the
+ * generated hash expression for each row and each key.
+ * <p>
+ * The hash codes are the same as those of the generated code: {@link #hash32(VectorAccessible)} combines the
+ * keys as the chain of <code>hash32</code> (or <code>hash32AsDouble</code>) calls built by
+ * {@link org.apache.drill.exec.planner.physical.HashPrelUtil}, each key hashed with the hash of the previous keys
+ * as seed; {@link #hash64(VectorAccessible, int)} hashes a single key as <code>hash64AsDouble</code> with seed 0.
+ * Numeric, date / time and bit values are hashed as doubles, character and binary values as bytes, and a null
+ * key leaves the hash unchanged.
+ * <p>
+ * Only plain reads of required or nullable columns of these types are supported; the factory methods return
+ * null for any other key, and the generated code must be used. The hash arrays are reused by the next call.
+ */
+public class BatchHasher {
+
+  private final TypedFieldId[] keyIds;
+  private final int seed;
+
+  private int[] hashes32 = new int[0];
+  private long[] hashes64 = new long[0];
+  private double[] values = new double[0];
+
+  private BatchHasher(List<TypedFieldId> keyIds, int seed) {
+    this.keyIds = keyIds.toArray(new TypedFieldId[keyIds.size()]);
+    this.seed = seed;
+  }
+
+  /**
+   * @param keyExprs materialized key expressions
+   * @return a hasher of the keys, seeded with 0 as the hash tables do, or null if a key is not supported
+   */
+  public static BatchHasher create(LogicalExpression... keyExprs) {
+    final List<TypedFieldId> keyIds = new ArrayList<>();
+    for (LogicalExpression keyExpr : keyExprs) {
+      final TypedFieldId keyId = getKeyId(keyExpr);
+      if (keyId == null) {
+        return null;
+      }
+      keyIds.add(keyId);
+    }
+    return keyIds.isEmpty() ? null : new BatchHasher(keyIds, 0);
+  }
+
+  /**
+   * @param hashExpr a materialized chain of <code>hash32</code> / <code>hash32AsDouble</code> calls over columns,
+   * ending with a constant seed, such as the partitioning expression of a hash exchange
+   * @return a hasher computing the same hash codes, or null if the expression is anything else
+   */
+  public static BatchHasher createForHashExpression(LogicalExpression hashExpr) {
+    final List<TypedFieldId> keyIds = new ArrayList<>();
+    LogicalExpression expr = hashExpr;
+    while (expr instanceof FunctionHolderExpression) {
+      final FunctionHolderExpression call = (FunctionHolderExpression) expr;
+      final String name = call.getName();
+      if (!(name.equalsIgnoreCase("hash32") || name.equalsIgnoreCase("hash32AsDouble")) || call.args.size() != 2) {
+        return null;
+      }
+      final TypedFieldId keyId = getKeyId(call.args.get(0));
+      if (keyId == null) {
+        return null;
+      }
+      keyIds.add(0, keyId);
+      expr = call.args.get(1);
+    }
+    if (keyIds.isEmpty() || !(expr instanceof ValueExpressions.IntExpression)) {
+      return null;
+    }
+    return new BatchHasher(keyIds, ((ValueExpressions.IntExpression) expr).getInt());
+  }
+
+  private static TypedFieldId getKeyId(LogicalExpression expr) {
+    if (!(expr instanceof ValueVectorReadExpression)) {
+      return null;
+    }
+    final ValueVectorReadExpression readExpr = (ValueVectorReadExpression) expr;
+    final TypedFieldId fieldId = readExpr.getFieldId();
+    if (readExpr.hasReadPath() || readExpr.isSuperReader() || readExpr.getBatchRef() != null
+        || fieldId.getFieldIds().length != 1 || !isSupported(readExpr.getMajorType())) {
+      return null;
+    }
+    return fieldId;
+  }
+
+  private static boolean isSupported(MajorType type) {
+    if (type.getMode() != DataMode.REQUIRED && type.getMode() != DataMode.OPTIONAL) {
+      return false;
+    }
+    switch (type.getMinorType()) {
+      case INT:
+      case BIGINT:
+      case FLOAT4:
+      case FLOAT8:
+      case DATE:
+      case TIME:
+      case TIMESTAMP:
+      case BIT:
+      case VARCHAR:
+      case VAR16CHAR:
+      case VARBINARY:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  public int getKeyCount() {
+    return keyIds.length;
+  }
+
+  /**
+   * Hashes all the keys of all the rows of the batch.
+   * @return the 32 bit hash codes of the rows, indexed as the vectors of the batch (not through a selection vector)
+   */
+  public int[] hash32(VectorAccessible batch) {
+    final int count = getValueCount(batch);
+    if (hashes32.length < count) {
+      hashes32 = new int[count];
+    }
+    for (int i = 0; i < count; i++) {
+      hashes32[i] = seed;
+    }
+    for (TypedFieldId keyId : keyIds) {
+      final ValueVector vector = getVector(batch, keyId);
+      final UInt1Vector.Accessor bits = getBits(vector);
+      final ValueVector values = vector instanceof NullableVector ? ((NullableVector) vector).getValuesVector() : vector;
+      if (values instanceof VariableWidthVector) {
+        final UInt4Vector.Accessor offsets = ((VariableWidthVector) values).getOffsetVector().getAccessor();
+        final DrillBuf data = ((BaseDataValueVector) values).getBuffer();
+        for (int i = 0; i < count; i++) {
+          if (bits == null || bits.get(i) != 0) {
+            hashes32[i] = HashHelper.hash32(offsets.get(i), offsets.get(i + 1), data, hashes32[i]);
+          }
+        }
+      } else {
+        readValues(values, keyId.getFinalType().getMinorType(), count);
+        if (bits == null) {
+          for (int i = 0; i < count; i++) {
+            hashes32[i] = HashHelper.hash32(this.values[i], hashes32[i]);
+          }
+        } else {
+          for (int i = 0; i < count; i++) {
+            if (bits.get(i) != 0) {
+              hashes32[i] = HashHelper.hash32(this.values[i], hashes32[i]);
+            }
+          }
+        }
+      }
+    }
+    return hashes32;
+  }
+
+  /**
+   * Hashes a single key of all the rows of the batch.
+   * @param key index of the key in the key expressions
+   * @return the 64 bit hash codes of the rows, indexed as the vectors of the batch (not through a selection vector)
+   */
+  public long[] hash64(VectorAccessible batch, int key) {
+    final int count = getValueCount(batch);
+    if (hashes64.length < count) {
+      hashes64 = new long[count];
+    }
+    final ValueVector vector = getVector(batch, keyIds[key]);
+    final UInt1Vector.Accessor bits = getBits(vector);
+    final ValueVector values = vector instanceof NullableVector ? ((NullableVector) vector).getValuesVector() : vector;
+    if (values instanceof VariableWidthVector) {
+      final UInt4Vector.Accessor offsets = ((VariableWidthVector) values).getOffsetVector().getAccessor();
+      final DrillBuf data = ((BaseDataValueVector) values).getBuffer();
+      for (int i = 0; i < count; i++) {
+        hashes64[i] = bits == null || bits.get(i) != 0 ? HashHelper.hash64(offsets.get(i), offsets.get(i + 1), data, 0) : 0;
+      }
+    } else {
+      readValues(values, keyIds[key].getFinalType().getMinorType(), count);
+      if (bits == null) {
+        for (int i = 0; i < count; i++) {
+          hashes64[i] = HashHelper.hash64(this.values[i], 0);
+        }
+      } else {
+        for (int i = 0; i < count; i++) {
+          hashes64[i] = bits.get(i) != 0 ? HashHelper.hash64(this.values[i], 0) : 0;
+        }
+      }
+    }
+    return hashes64;
+  }
+
+  private int getValueCount(VectorAccessible batch) {
+    return getVector(batch, keyIds[0]).getAccessor().getValueCount();
+  }
+
+  private static ValueVector getVector(VectorAccessible batch, TypedFieldId keyId) {
+    return batch.getValueAccessorById(keyId.getIntermediateClass(), keyId.getFieldIds()).getValueVector();
+  }
+
+  private static UInt1Vector.Accessor getBits(ValueVector vector) {
+    return vector instanceof NullableVector ? ((UInt1Vector) ((NullableVector) vector).getBitsVector()).getAccessor() : null;
+  }
+
+  /**
+   * Reads the values of a fixed width key column as the doubles they are hashed as, one loop per type.
+   */
+  private void readValues(ValueVector vector, MinorType type, int count) {
+    if (values.length < count) {
+      values = new double[count];
+    }
+    switch (type) {
+      case INT: {
+        final IntVector.Accessor accessor = ((IntVector) vector).getAccessor();
+        for (int i = 0; i < count; i++) {
+          values[i] = accessor.get(i);
+        }
+        break;
+      }
+      case BIGINT: {
+        final BigIntVector.Accessor accessor = ((BigIntVector) vector).getAccessor();
+        for (int i = 0; i < count; i++) {
+          values[i] = accessor.get(i);
+        }
+        break;
+      }
+      case FLOAT4: {
+        final Float4Vector.Accessor accessor = ((Float4Vector) vector).getAccessor();
+        for (int i = 0; i < count; i++) {
+          values[i] = accessor.get(i);
+        }
+        break;
+      }
+      case FLOAT8: {
+        final Float8Vector.Accessor accessor = ((Float8Vector) vector).getAccessor();
+        for (int i = 0; i < count; i++) {
+          values[i] = accessor.get(i);
+        }
+        break;
+      }
+      case DATE: {
+        final DateVector.Accessor accessor = ((DateVector) vector).getAccessor();
+        for (int i = 0; i < count; i++) {
+          values[i] = accessor.get(i);
+        }
+        break;
+      }
+      case TIME: {
+        final TimeVector.Accessor accessor = ((TimeVector) vector).getAccessor();
+        for (int i = 0; i < count; i++) {
+          values[i] = accessor.get(i);
+        }
+        break;
+      }
+      case TIMESTAMP: {
+        final TimeStampVector.Accessor accessor = ((TimeStampVector) vector).getAccessor();
+        for (int i = 0; i < count; i++) {
+          values[i] = accessor.get(i);
+        }
+        break;
+      }
+      case BIT: {
+        final BitVector.Accessor accessor = ((BitVector) vector).getAccessor();
+        for (int i = 0; i < count; i++) {
+          values[i] = accessor.get(i);
+        }
+        break;
+      }
+      default:
+        throw new UnsupportedOperationException("Unsupported hash key type " + type);
+    }
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.expr.fn.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import org.apache.drill.common.expression.fn.JodaDateValidator;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+import org.apache.drill.shaded.guava.com.google.common.cache.Cache;
+import org.apache.drill.shaded.guava.com.google.common.cache.CacheBuilder;
+
+import io.netty.buffer.DrillBuf;
+
+/**
+ * Drillbit wide caches of the compiled regexes and date-time formatters of the functions, keyed by the pattern text,
+ * so that every fragment, and every setup after a schema change, does not compile the same patterns again.
+ * <p>
+ * Only immutable objects are cached: {@link Pattern}s and Joda {@link DateTimeFormatter}s. The objects holding a
+ * match state ({@link java.util.regex.Matcher}, {@link RegexDfa}, {@link SqlPatternMatcher}) are still created by each
+ * function instance from them.
+ * <p>
+ * A function whose pattern is not constant looks it up for each row through a {@link FormatterLookup}, which only
+ * goes to the cache when the pattern differs from the one of the previous row.
+ */
+public final class CompiledPatterns {
+
+  /**
+   * Maximum number of entries of each cache, the least recently used ones are evicted beyond.
+   */
+  public static final int MAX_CACHED_PATTERNS = 1_000;
+
+  private static final Cache<String, Pattern> PATTERNS = newCache();
+  private static final Cache<String, Pattern> CASE_INSENSITIVE_PATTERNS = newCache();
+  private static final Cache<String, DateTimeFormatter> JODA_FORMATTERS = newCache();
+  private static final Cache<String, DateTimeFormatter> SQL_FORMATTERS = newCache();
+
+  private CompiledPatterns() {
+  }
+
+  private static <V> Cache<String, V> newCache() {
+    return CacheBuilder.newBuilder()
+        .maximumSize(MAX_CACHED_PATTERNS)
+        .build();
+  }
+
+  /**
+   * @return the compiled regex
+   * @throws java.util.regex.PatternSyntaxException if the regex is invalid, as {@link Pattern#compile(String)}
+   */
+  public static Pattern getPattern(String regex) {
+    return getPattern(regex, false);
+  }
+
+  /**
+   * @return the compiled regex, with the {@link Pattern#CASE_INSENSITIVE} flag if caseInsensitive
+   * @throws java.util.regex.PatternSyntaxException if the regex is invalid, as {@link Pattern#compile(String, int)}
+   */
+  public static Pattern getPattern(String regex, boolean caseInsensitive) {
+    final Cache<String, Pattern> cache = caseInsensitive ? CASE_INSENSITIVE_PATTERNS : PATTERNS;
+    Pattern pattern = cache.getIfPresent(regex);
+    if (pattern == null) {
+      // not computed under a lock, two threads may compile the same regex, one of which is kept
+      pattern = Pattern.compile(regex, caseInsensitive ? Pattern.CASE_INSENSITIVE : 0);
+      cache.put(regex, pattern);
+    }
+    return pattern;
+  }
+
+  /**
+   * @return the formatter of the Joda pattern
+   * @throws IllegalArgumentException if the pattern is invalid, as {@link DateTimeFormat#forPattern(String)}
+   */
+  public static DateTimeFormatter getJodaFormatter(String pattern) {
+    DateTimeFormatter formatter = JODA_FORMATTERS.getIfPresent(pattern);
+    if (formatter == null) {
+      formatter = DateTimeFormat.forPattern(pattern);
+      JODA_FORMATTERS.put(pattern, formatter);
+    }
+    return formatter;
+  }
+
+  /**
+   * @return the formatter of the SQL (Postgres) format, converted by {@link JodaDateValidator#toJodaFormat(String)}
+   * @throws IllegalArgumentException if the format is invalid
+   */
+  public static DateTimeFormatter getSqlFormatter(String format) {
+    DateTimeFormatter formatter = SQL_FORMATTERS.getIfPresent(format);
+    if (formatter == null) {
+      formatter = DateTimeFormat.forPattern(JodaDateValidator.toJodaFormat(format));
+      SQL_FORMATTERS.put(format, formatter);
+    }
+    return formatter;
+  }
+
+  /**
+   * Formatter of a pattern given for each row, as a workspace variable of a function. The formatter of the previous
+   * row is reused as long as the pattern bytes do not change, so that a constant pattern costs a byte comparison per
+   * row, and the cache is only looked up when the pattern changes.
+   */
+  public static class FormatterLookup {
+    private final boolean sqlFormat;
+    private byte[] patternBytes;
+    private DateTimeFormatter formatter;
+
+    /**
+     * @param sqlFormat true for a SQL format ({@link #getSqlFormatter(String)}), false for a Joda pattern
+     */
+    public FormatterLookup(boolean sqlFormat) {
+      this.sqlFormat = sqlFormat;
+    }
+
+    /**
+     * @return the formatter of the UTF-8 pattern in the buffer between start and end
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public DateTimeFormatter get(int start, int end, DrillBuf buffer) {
+      if (formatter == null || !isPattern(start, end, buffer)) {
+        final byte[] bytes = new byte[end - start];
+        buffer.getBytes(start, bytes, 0, bytes.length);
+        final String pattern = new String(bytes, StandardCharsets.UTF_8);
+        formatter = sqlFormat ? getSqlFormatter(pattern) : getJodaFormatter(pattern);
+        patternBytes = bytes;
+      }
+      return formatter;
+    }
+
+    private boolean isPattern(int start, int end, DrillBuf buffer) {
+      if (end - start != patternBytes.length) {
+        return false;
+      }
+      for (int i = 0; i < patternBytes.length; i++) {
+        if (buffer.getByte(start + i) != patternBytes[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
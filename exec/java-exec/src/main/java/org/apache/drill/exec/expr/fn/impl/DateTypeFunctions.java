@@ -583,18 +583,17 @@ public class DateTypeFunctions {
       @Param VarCharHolder inputPattern;
       @Output BigIntHolder out;
       @Workspace org.joda.time.DateTime date;
-      @Workspace org.joda.time.format.DateTimeFormatter formatter;
+      @Workspace org.apache.drill.exec.expr.fn.impl.CompiledPatterns.FormatterLookup formatterLookup;
 
       @Override
       public void setup() {
-         String pattern = org.apache.drill.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(inputPattern.start, inputPattern.end, inputPattern.buffer);
-         formatter = org.joda.time.format.DateTimeFormat.forPattern(pattern);
+         formatterLookup = new org.apache.drill.exec.expr.fn.impl.CompiledPatterns.FormatterLookup(false);
       }
 
       @Override
       public void eval() {
           String inputDate = org.apache.drill.exec.expr.fn.impl.StringFunctionHelpers.toStringFromUTF8(inputDateValue.start, inputDateValue.end, inputDateValue.buffer);
-          date = formatter.parseDateTime(inputDate);
+          date = formatterLookup.get(inputPattern.start, inputPattern.end, inputPattern.buffer).parseDateTime(inputDate);
           out.value = date.getMillis() / 1000;
       }
     }
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.expr.fn.impl;
+
+/**
+ * HyperLogLog sketch kept in a fixed number of {@code long} words, so that it
+ * can live in fixed-width workspace holders of aggregate functions (and thus in
+ * workspace vectors of the hash aggregate).
+ * <p>
+ * The sketch has {@link #REGISTERS} registers of {@link #BITS_PER_REGISTER}
+ * bits each, packed {@link #REGISTERS_PER_WORD} per word into {@link #WORDS}
+ * words. The standard error of the estimate is about 1.04 / sqrt(128), i.e. 9%,
+ * which is adequate for planner statistics.
+ */
+public class HyperLogLog {
+
+  public static final int INDEX_BITS = 7;
+  public static final int REGISTERS = 1 << INDEX_BITS;
+  public static final int BITS_PER_REGISTER = 6;
+  public static final int REGISTERS_PER_WORD = 8;
+  public static final int WORDS = REGISTERS / REGISTERS_PER_WORD;
+
+  private static final long REGISTER_MASK = (1L << BITS_PER_REGISTER) - 1;
+  private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+  private HyperLogLog() {
+  }
+
+  /**
+   * @return the register updated by the given 64-bit hash
+   */
+  public static int registerIndex(long hash) {
+    return (int) (hash >>> (Long.SIZE - INDEX_BITS));
+  }
+
+  /**
+   * @return position of the leftmost one bit in the hash bits that are not used
+   * for the register index, counting from 1
+   */
+  public static int rank(long hash) {
+    return Long.numberOfLeadingZeros((hash << INDEX_BITS) | (1L << (INDEX_BITS - 1))) + 1;
+  }
+
+  /**
+   * @return the word that holds the given register
+   */
+  public static int wordIndex(int registerIndex) {
+    return registerIndex / REGISTERS_PER_WORD;
+  }
+
+  /**
+   * Raises the given register of the word to {@code rank} if it is lower.
+   *
+   * @param word the word holding the register
+   * @param registerIndex index of the register in the whole sketch
+   * @param rank rank of the hash being added
+   * @return updated word
+   */
+  public static long update(long word, int registerIndex, int rank) {
+    int shift = (registerIndex % REGISTERS_PER_WORD) * BITS_PER_REGISTER;
+    long current = (word >>> shift) & REGISTER_MASK;
+    if (rank > current) {
+      return (word & ~(REGISTER_MASK << shift)) | ((long) rank << shift);
+    }
+    return word;
+  }
+
+  /**
+   * Merges two words of different sketches by taking the maximum of each register.
+   */
+  public static long merge(long left, long right) {
+    long result = 0;
+    for (int i = 0; i < REGISTERS_PER_WORD; i++) {
+      int shift = i * BITS_PER_REGISTER;
+      long register = Math.max((left >>> shift) & REGISTER_MASK, (right >>> shift) & REGISTER_MASK);
+      result |= register << shift;
+    }
+    return result;
+  }
+
+  /**
+   * Estimates the number of distinct hashes added to the sketch.
+   *
+   * @param words all {@link #WORDS} words of the sketch
+   * @return cardinality estimate
+   */
+  public static long estimate(long... words) {
+    double sum = 0;
+    int zeros = 0;
+    for (long word : words) {
+      for (int i = 0; i < REGISTERS_PER_WORD; i++) {
+        int register = (int) ((word >>> (i * BITS_PER_REGISTER)) & REGISTER_MASK);
+        sum += 1.0 / (1L << register);
+        if (register == 0) {
+          zeros++;
+        }
+      }
+    }
+    double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+    if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+      // linear counting is more precise for small cardinalities
+      estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+    }
+    return Math.round(estimate);
+  }
+}
@@ -0,0 +1,642 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.expr.fn.impl;
+
+import io.netty.buffer.DrillBuf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A regular expression compiled to a DFA running directly over the UTF-8 bytes of a {@link DrillBuf}, instead of
+ * decoding them to chars for {@link java.util.regex.Matcher}. The DFA states are built lazily, when first reached.
+ * <p>
+ * Only the regular subset of the Java regex syntax is supported: literals, ., character classes (except nested ones
+ * and intersections), \d \w \s and their negations, groups, alternations, the greedy or lazy quantifiers
+ * (* + ? {n,m}), and ^ and $ at the ends of the pattern of a full match. {@link #compile} returns null for any
+ * other construct (backreferences, lookarounds, possessive quantifiers, flags, unicode classes...), which needs
+ * java.util.regex.
+ * <p>
+ * The automaton is built over the ASCII characters, so {@link #match} returns -1 for an input with non-ASCII
+ * bytes, which is then left to java.util.regex; hence the result is always the same as the one of Java.
+ * <p>
+ * For a search ({@link java.util.regex.Matcher#find()}), the automaton of an alternation of literals is the Aho-Corasick automaton
+ * of these literals.
+ */
+public class RegexDfa {
+  private static final int ASCII = 128;
+  private static final int MAX_NFA_STATES = 10_000;
+  private static final int MAX_DFA_STATES = 2_000;
+  private static final int MAX_REPEAT = 1_000;
+  private static final int UNKNOWN = -1;
+  private static final int DEAD = 0;
+  // the result of match() when the input must be matched by java.util.regex
+  public static final int NOT_SUPPORTED = -1;
+
+  // NFA: a state has a character set and one transition, or one or two empty transitions (or none, the final state)
+  private final List<boolean[]> charSets = new ArrayList<>();
+  private final List<int[]> outs = new ArrayList<>();
+  private final int nfaStart;
+  private final boolean find;
+
+  // DFA: the sets of NFA states, their transitions (UNKNOWN until computed) and whether they accept
+  private final Map<StateSet, Integer> dfaStateIndexes = new HashMap<>();
+  private final List<int[]> dfaStates = new ArrayList<>();
+  private int[] transitions = new int[0];
+  private boolean[] accepting = new boolean[0];
+  private final int dfaStart;
+  private boolean overflow;
+
+  // work arrays of the closure computation
+  private int[] stack;
+  private int[] marks;
+  private int mark;
+
+  /**
+   * @param regex a Java regex
+   * @param caseInsensitive true for {@link java.util.regex.Pattern#CASE_INSENSITIVE}
+   * @param find true to find the pattern anywhere in the input ({@link java.util.regex.Matcher#find()}), false to match the whole
+   *             input ({@link java.util.regex.Matcher#matches()})
+   * @return the DFA of the regex, or null when the regex uses a construct which is not supported
+   */
+  public static RegexDfa compile(String regex, boolean caseInsensitive, boolean find) {
+    final Node node = new Parser(regex, caseInsensitive, find).parse();
+    if (node == null) {
+      return null;
+    }
+    final RegexDfa dfa = new RegexDfa(node, find);
+    return dfa.nfaStart < 0 ? null : dfa;
+  }
+
+  private RegexDfa(Node node, boolean find) {
+    this.find = find;
+    final int finalState = addState(null, new int[0]);
+    final int start = compile(node, finalState);
+    this.nfaStart = charSets.size() > MAX_NFA_STATES ? -1 : start;
+    stack = new int[charSets.size()];
+    marks = new int[charSets.size()];
+    addDfaState(new int[0]); // DEAD
+    this.dfaStart = nfaStart < 0 ? DEAD : addDfaState(closure(new int[] {nfaStart}, 1));
+  }
+
+  /**
+   * @return 1 if the input matches, 0 if not, {@link #NOT_SUPPORTED} if the input must be matched by
+   * java.util.regex
+   */
+  public int match(int start, int end, DrillBuf drillBuf) {
+    if (overflow) {
+      return NOT_SUPPORTED;
+    }
+    int state = dfaStart;
+    if (find && accepting[state]) {
+      return 1;
+    }
+    for (int index = start; index < end; index++) {
+      final byte b = drillBuf.getByte(index);
+      if (b < 0) {
+        return NOT_SUPPORTED;
+      }
+      int next = transitions[state * ASCII + b];
+      if (next == UNKNOWN) {
+        next = computeTransition(state, b);
+        if (next == UNKNOWN) {
+          return NOT_SUPPORTED;
+        }
+      }
+      state = next;
+      if (find) {
+        if (accepting[state]) {
+          return 1;
+        }
+      } else if (state == DEAD) {
+        return 0;
+      }
+    }
+    return accepting[state] ? 1 : 0;
+  }
+
+  //--------------------------------------------------------------------------
+  // DFA
+  //--------------------------------------------------------------------------
+
+  private int computeTransition(int state, int b) {
+    final int[] nfaStates = dfaStates.get(state);
+    final int[] targets = new int[nfaStates.length + 1];
+    int count = 0;
+    for (int nfaState : nfaStates) {
+      final boolean[] charSet = charSets.get(nfaState);
+      if (charSet != null && charSet[b]) {
+        targets[count++] = outs.get(nfaState)[0];
+      }
+    }
+    if (find) {
+      targets[count++] = nfaStart;
+    }
+    final int[] closure = closure(targets, count);
+    Integer next = dfaStateIndexes.get(new StateSet(closure));
+    if (next == null) {
+      if (dfaStates.size() >= MAX_DFA_STATES) {
+        overflow = true;
+        return UNKNOWN;
+      }
+      next = addDfaState(closure);
+    }
+    transitions[state * ASCII + b] = next;
+    return next;
+  }
+
+  private int addDfaState(int[] nfaStates) {
+    final int index = dfaStates.size();
+    dfaStates.add(nfaStates);
+    dfaStateIndexes.put(new StateSet(nfaStates), index);
+    if (transitions.length < (index + 1) * ASCII) {
+      final int capacity = Math.max(index + 1, dfaStates.size() * 2);
+      final int oldLength = transitions.length;
+      transitions = Arrays.copyOf(transitions, capacity * ASCII);
+      Arrays.fill(transitions, oldLength, transitions.length, UNKNOWN);
+      accepting = Arrays.copyOf(accepting, capacity);
+    }
+    boolean accepts = false;
+    for (int nfaState : nfaStates) {
+      if (charSets.get(nfaState) == null && outs.get(nfaState).length == 0) {
+        accepts = true;
+      }
+    }
+    accepting[index] = accepts;
+    return index;
+  }
+
+  /**
+   * @return the sorted states reachable from the given ones through empty transitions
+   */
+  private int[] closure(int[] states, int count) {
+    mark++;
+    int top = 0;
+    int size = 0;
+    final int[] result = new int[charSets.size()];
+    for (int i = 0; i < count; i++) {
+      if (marks[states[i]] != mark) {
+        marks[states[i]] = mark;
+        stack[top++] = states[i];
+      }
+    }
+    while (top > 0) {
+      final int state = stack[--top];
+      if (charSets.get(state) != null) {
+        result[size++] = state;
+        continue;
+      }
+      final int[] out = outs.get(state);
+      if (out.length == 0) {
+        result[size++] = state; // the final state
+      }
+      for (int next : out) {
+        if (marks[next] != mark) {
+          marks[next] = mark;
+          stack[top++] = next;
+        }
+      }
+    }
+    final int[] closure = Arrays.copyOf(result, size);
+    Arrays.sort(closure);
+    return closure;
+  }
+
+  private static final class StateSet {
+    private final int[] states;
+    private final int hash;
+
+    StateSet(int[] states) {
+      this.states = states;
+      this.hash = Arrays.hashCode(states);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof StateSet && Arrays.equals(states, ((StateSet) obj).states);
+    }
+  }
+
+  //--------------------------------------------------------------------------
+  // NFA
+  //--------------------------------------------------------------------------
+
+  private int addState(boolean[] charSet, int[] out) {
+    charSets.add(charSet);
+    outs.add(out);
+    return charSets.size() - 1;
+  }
+
+  /**
+   * Adds the states of the node, leading to the given state.
+   * @return the first state of the node
+   */
+  private int compile(Node node, int next) {
+    if (charSets.size() > MAX_NFA_STATES) {
+      return next;
+    }
+    switch (node.type) {
+      case EMPTY:
+        return next;
+      case CHARS:
+        return addState(node.chars, new int[] {next});
+      case CONCAT: {
+        int state = next;
+        for (int i = node.children.size() - 1; i >= 0; i--) {
+          state = compile(node.children.get(i), state);
+        }
+        return state;
+      }
+      case ALTERNATION: {
+        final int[] starts = new int[node.children.size()];
+        for (int i = 0; i < starts.length; i++) {
+          starts[i] = compile(node.children.get(i), next);
+        }
+        return addState(null, starts);
+      }
+      case REPEAT: {
+        final Node child = node.children.get(0);
+        int state;
+        if (node.max < 0) {
+          final int[] loopOut = new int[] {-1, next};
+          final int loop = addState(null, loopOut);
+          loopOut[0] = compile(child, loop);
+          state = loop;
+        } else {
+          state = next;
+          for (int i = node.min; i < node.max; i++) {
+            state = addState(null, new int[] {compile(child, state), next});
+          }
+        }
+        for (int i = 0; i < node.min; i++) {
+          state = compile(child, state);
+        }
+        return state;
+      }
+      default:
+        throw new IllegalStateException(node.type.name());
+    }
+  }
+
+  private enum NodeType { EMPTY, CHARS, CONCAT, ALTERNATION, REPEAT }
+
+  private static final class Node {
+    final NodeType type;
+    final boolean[] chars;
+    final List<Node> children;
+    final int min;
+    final int max;
+
+    Node(NodeType type, boolean[] chars, List<Node> children, int min, int max) {
+      this.type = type;
+      this.chars = chars;
+      this.children = children;
+      this.min = min;
+      this.max = max;
+    }
+  }
+
+  //--------------------------------------------------------------------------
+  // Parser
+  //--------------------------------------------------------------------------
+
+  /**
+   * Recursive descent parser of the supported regex syntax; returns null for anything else.
+   */
+  private static final class Parser {
+    private final String regex;
+    private final boolean caseInsensitive;
+    private final boolean find;
+    private int pos;
+
+    Parser(String regex, boolean caseInsensitive, boolean find) {
+      this.regex = regex;
+      this.caseInsensitive = caseInsensitive;
+      this.find = find;
+    }
+
+    Node parse() {
+      final Node node = parseAlternation();
+      return pos == regex.length() ? node : null;
+    }
+
+    private Node parseAlternation() {
+      final List<Node> branches = new ArrayList<>();
+      while (true) {
+        final Node branch = parseConcat();
+        if (branch == null) {
+          return null;
+        }
+        branches.add(branch);
+        if (pos < regex.length() && regex.charAt(pos) == '|') {
+          pos++;
+        } else {
+          break;
+        }
+      }
+      return branches.size() == 1 ? branches.get(0) : new Node(NodeType.ALTERNATION, null, branches, 0, 0);
+    }
+
+    private Node parseConcat() {
+      final List<Node> items = new ArrayList<>();
+      while (pos < regex.length() && regex.charAt(pos) != '|' && regex.charAt(pos) != ')') {
+        final Node item = parseRepeat();
+        if (item == null) {
+          return null;
+        }
+        items.add(item);
+      }
+      return new Node(NodeType.CONCAT, null, items, 0, 0);
+    }
+
+    private Node parseRepeat() {
+      final Node atom = parseAtom();
+      if (atom == null || pos == regex.length()) {
+        return atom;
+      }
+      int min;
+      int max;
+      switch (regex.charAt(pos)) {
+        case '*':
+          min = 0;
+          max = -1;
+          pos++;
+          break;
+        case '+':
+          min = 1;
+          max = -1;
+          pos++;
+          break;
+        case '?':
+          min = 0;
+          max = 1;
+          pos++;
+          break;
+        case '{': {
+          final int close = regex.indexOf('}', pos);
+          if (close < 0) {
+            return null;
+          }
+          final String bounds = regex.substring(pos + 1, close);
+          final int comma = bounds.indexOf(',');
+          try {
+            if (comma < 0) {
+              min = max = Integer.parseInt(bounds);
+            } else {
+              min = Integer.parseInt(bounds.substring(0, comma));
+              max = comma == bounds.length() - 1 ? -1 : Integer.parseInt(bounds.substring(comma + 1));
+            }
+          } catch (NumberFormatException e) {
+            return null;
+          }
+          if (min < 0 || min > MAX_REPEAT || max > MAX_REPEAT || (max >= 0 && max < min)) {
+            return null;
+          }
+          pos = close + 1;
+          break;
+        }
+        default:
+          return atom;
+      }
+      if (atom.type == NodeType.EMPTY) {
+        return null; // a quantified anchor
+      }
+      if (pos < regex.length()) {
+        final char c = regex.charAt(pos);
+        if (c == '?') {
+          pos++; // lazy: the same matches
+        } else if (c == '+' || c == '*' || c == '{') {
+          return null; // possessive
+        }
+      }
+      final List<Node> children = new ArrayList<>(1);
+      children.add(atom);
+      return new Node(NodeType.REPEAT, null, children, min, max);
+    }
+
+    private Node parseAtom() {
+      final char c = regex.charAt(pos++);
+      switch (c) {
+        case '(': {
+          if (pos < regex.length() && regex.charAt(pos) == '?') {
+            if (regex.startsWith("?:", pos)) {
+              pos += 2;
+            } else {
+              return null; // lookarounds, flags, named groups, ...
+            }
+          }
+          final Node node = parseAlternation();
+          if (node == null || pos == regex.length() || regex.charAt(pos) != ')') {
+            return null;
+          }
+          pos++;
+          return node;
+        }
+        case '[':
+          return chars(parseClass());
+        case '.': {
+          final boolean[] chars = new boolean[ASCII];
+          Arrays.fill(chars, true);
+          chars['\n'] = false;
+          chars['\r'] = false;
+          return chars(chars);
+        }
+        case '\\': {
+          if (pos == regex.length()) {
+            return null;
+          }
+          final boolean[] chars = new boolean[ASCII];
+          return parseEscape(regex.charAt(pos++), chars) ? chars(chars) : null;
+        }
+        case '^':
+          return !find && pos == 1 ? new Node(NodeType.EMPTY, null, null, 0, 0) : null;
+        case '$':
+          return !find && pos == regex.length() ? new Node(NodeType.EMPTY, null, null, 0, 0) : null;
+        case '*':
+        case '+':
+        case '?':
+        case '{':
+          return null;
+        default:
+          if (c >= ASCII) {
+            return null;
+          }
+          final boolean[] chars = new boolean[ASCII];
+          chars[c] = true;
+          return chars(chars);
+      }
+    }
+
+    private boolean[] parseClass() {
+      final boolean[] chars = new boolean[ASCII];
+      boolean negate = false;
+      if (pos < regex.length() && regex.charAt(pos) == '^') {
+        negate = true;
+        pos++;
+      }
+      if (pos < regex.length() && regex.charAt(pos) == ']') {
+        return null;
+      }
+      while (pos < regex.length() && regex.charAt(pos) != ']') {
+        final char c = regex.charAt(pos++);
+        int from;
+        if (c == '[' || (c == '&' && pos < regex.length() && regex.charAt(pos) == '&')) {
+          return null; // unions and intersections
+        } else if (c == '\\') {
+          if (pos == regex.length()) {
+            return null;
+          }
+          final char escaped = regex.charAt(pos++);
+          from = literalEscape(escaped);
+          if (from < 0) {
+            if (!parseEscape(escaped, chars)) {
+              return null;
+            }
+            continue;
+          }
+        } else if (c >= ASCII) {
+          return null;
+        } else {
+          from = c;
+        }
+        // a range, unless the - ends the class
+        if (pos + 1 < regex.length() && regex.charAt(pos) == '-' && regex.charAt(pos + 1) != ']') {
+          pos++;
+          int to = regex.charAt(pos++);
+          if (to == '\\') {
+            if (pos == regex.length()) {
+              return null;
+            }
+            to = literalEscape(regex.charAt(pos++));
+          } else if (to == '[') {
+            return null;
+          }
+          if (to < 0 || to >= ASCII || to < from) {
+            return null;
+          }
+          for (int i = from; i <= to; i++) {
+            chars[i] = true;
+          }
+        } else {
+          chars[from] = true;
+        }
+      }
+      if (pos == regex.length()) {
+        return null;
+      }
+      pos++; // ]
+      if (caseInsensitive) {
+        foldCase(chars);
+      }
+      if (negate) {
+        for (int i = 0; i < ASCII; i++) {
+          chars[i] = !chars[i];
+        }
+      }
+      return chars;
+    }
+
+    /**
+     * @return the char of an escape denoting a single char, or -1
+     */
+    private static int literalEscape(char c) {
+      switch (c) {
+        case 't':
+          return '\t';
+        case 'n':
+          return '\n';
+        case 'r':
+          return '\r';
+        case 'f':
+          return '\f';
+        case 'a':
+          return '\u0007';
+        case 'e':
+          return '\u001B';
+        default:
+          // a backslash before a non alphabetic char quotes it; digits are backreferences
+          return c < ASCII && !Character.isLetterOrDigit(c) ? c : -1;
+      }
+    }
+
+    /**
+     * Adds the chars of the escape to the set.
+     * @return false when the escape is not supported
+     */
+    private static boolean parseEscape(char c, boolean[] chars) {
+      final int literal = literalEscape(c);
+      if (literal >= 0) {
+        chars[literal] = true;
+        return true;
+      }
+      final boolean[] predefined = new boolean[ASCII];
+      switch (Character.toLowerCase(c)) {
+        case 'd':
+          for (int i = '0'; i <= '9'; i++) {
+            predefined[i] = true;
+          }
+          break;
+        case 'w':
+          for (int i = 0; i < ASCII; i++) {
+            predefined[i] = Character.isLetterOrDigit(i) || i == '_';
+          }
+          break;
+        case 's':
+          predefined[' '] = predefined['\t'] = predefined['\n'] = predefined['\u000B'] = predefined['\f'] =
+              predefined['\r'] = true;
+          break;
+        default:
+          return false;
+      }
+      final boolean negate = Character.isUpperCase(c);
+      for (int i = 0; i < ASCII; i++) {
+        if (predefined[i] != negate) {
+          chars[i] = true;
+        }
+      }
+      return true;
+    }
+
+    private Node chars(boolean[] chars) {
+      if (chars == null) {
+        return null;
+      }
+      if (caseInsensitive) {
+        foldCase(chars);
+      }
+      return new Node(NodeType.CHARS, chars, null, 0, 0);
+    }
+
+    private static void foldCase(boolean[] chars) {
+      for (int i = 'a'; i <= 'z'; i++) {
+        final int upper = i - 'a' + 'A';
+        final boolean either = chars[i] || chars[upper];
+        chars[i] = either;
+        chars[upper] = either;
+      }
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.expr.fn.impl;
+
+import io.netty.buffer.DrillBuf;
+import org.apache.drill.exec.expr.fn.impl.RegexpUtil.SqlPatternType;
+
+/**
+ * Case insensitive implementation of the simple patterns (CONSTANT, STARTS_WITH, ENDS_WITH and CONTAINS) for an
+ * ASCII pattern: the ASCII letters of the input are lowered before the byte comparison, as
+ * {@link java.util.regex.Pattern#CASE_INSENSITIVE} does. As with the regex ILIKE used to be evaluated with, the
+ * wildcards do not match line terminators: inputs holding one are matched by java.util.regex.
+ */
+public final class SqlPatternCaseInsensitiveMatcher extends AbstractSqlPatternMatcher {
+  private final SqlPatternType patternType;
+  private final byte[] pattern;
+  // matches the inputs with line terminators, created when the first one is met
+  private SqlPatternMatcher lineTerminatorMatcher;
+
+  public SqlPatternCaseInsensitiveMatcher(String patternString, SqlPatternType patternType) {
+    super(patternString);
+    this.patternType = patternType;
+    this.pattern = new byte[patternLength];
+    for (int index = 0; index < patternLength; index++) {
+      pattern[index] = toLowerCase(patternByteBuffer.get(index));
+    }
+  }
+
+  /**
+   * @return true if the pattern can be matched by this class
+   */
+  public static boolean isSupported(String patternString) {
+    for (int index = 0; index < patternString.length(); index++) {
+      if (patternString.charAt(index) >= 0x80) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int match(int start, int end, DrillBuf drillBuf) {
+    if (patternType != SqlPatternType.CONSTANT && containsLineTerminator(start, end, drillBuf)) {
+      if (lineTerminatorMatcher == null) {
+        lineTerminatorMatcher = new SqlPatternComplexMatcher(toJavaPattern(), true);
+      }
+      return lineTerminatorMatcher.match(start, end, drillBuf);
+    }
+    final int length = end - start;
+    switch (patternType) {
+      case CONSTANT:
+        return length == patternLength && matchesAt(start, drillBuf) ? 1 : 0;
+      case STARTS_WITH:
+        return length >= patternLength && matchesAt(start, drillBuf) ? 1 : 0;
+      case ENDS_WITH:
+        return length >= patternLength && matchesAt(end - patternLength, drillBuf) ? 1 : 0;
+      case CONTAINS:
+        for (int index = start; index <= end - patternLength; index++) {
+          if (matchesAt(index, drillBuf)) {
+            return 1;
+          }
+        }
+        return 0;
+      default:
+        throw new IllegalStateException(patternType.name());
+    }
+  }
+
+  private boolean matchesAt(int start, DrillBuf drillBuf) {
+    for (int index = 0; index < patternLength; index++) {
+      if (pattern[index] != toLowerCase(drillBuf.getByte(start + index))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String toJavaPattern() {
+    final String literal = java.util.regex.Pattern.quote(patternString);
+    switch (patternType) {
+      case STARTS_WITH:
+        return literal + ".*";
+      case ENDS_WITH:
+        return ".*" + literal;
+      case CONTAINS:
+        return ".*" + literal + ".*";
+      default:
+        throw new IllegalStateException(patternType.name());
+    }
+  }
+
+  /**
+   * @return true if the input holds one of the line terminators of java.util.regex: \n, \r, U+0085, U+2028
+   * or U+2029
+   */
+  private static boolean containsLineTerminator(int start, int end, DrillBuf drillBuf) {
+    for (int index = start; index < end; index++) {
+      final byte b = drillBuf.getByte(index);
+      if (b == '\n' || b == '\r') {
+        return true;
+      }
+      if (b == (byte) 0xC2 && index + 1 < end && drillBuf.getByte(index + 1) == (byte) 0x85) {
+        return true;
+      }
+      if (b == (byte) 0xE2 && index + 2 < end && drillBuf.getByte(index + 1) == (byte) 0x80
+          && (drillBuf.getByte(index + 2) == (byte) 0xA8 || drillBuf.getByte(index + 2) == (byte) 0xA9)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static byte toLowerCase(byte b) {
+    return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+  }
+
+}
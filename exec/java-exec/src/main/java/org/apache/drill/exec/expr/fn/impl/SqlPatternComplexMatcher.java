@@ -18,20 +18,36 @@
 package org.apache.drill.exec.expr.fn.impl;
 
 import io.netty.buffer.DrillBuf;
-import java.util.regex.Pattern;
 import java.util.regex.Matcher;
 
+/**
+ * Matches the whole input against a Java regex. The input is matched by a {@link RegexDfa} over its bytes when the
+ * regex is simple enough, and by java.util.regex when it is not, or when the input is not ASCII.
+ */
 public class SqlPatternComplexMatcher implements SqlPatternMatcher {
   private final Matcher matcher;
   private final CharSequenceWrapper charSequenceWrapper;
+  private final RegexDfa dfa;
 
   public SqlPatternComplexMatcher(String patternString) {
+    this(patternString, false);
+  }
+
+  public SqlPatternComplexMatcher(String patternString, boolean caseInsensitive) {
     charSequenceWrapper = new CharSequenceWrapper();
-    matcher = Pattern.compile(patternString).matcher(charSequenceWrapper);
+    // looked up first, so that an invalid pattern is reported by java.util.regex
+    matcher = CompiledPatterns.getPattern(patternString, caseInsensitive).matcher(charSequenceWrapper);
+    dfa = RegexDfa.compile(patternString, caseInsensitive, false);
   }
 
   @Override
   public int match(int start, int end, DrillBuf drillBuf) {
+    if (dfa != null) {
+      final int result = dfa.match(start, end, drillBuf);
+      if (result != RegexDfa.NOT_SUPPORTED) {
+        return result;
+      }
+    }
     charSequenceWrapper.setBuffer(start, end, drillBuf);
     matcher.reset();
     return matcher.matches() ? 1 : 0;
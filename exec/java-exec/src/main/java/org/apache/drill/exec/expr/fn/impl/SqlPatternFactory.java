@@ -39,4 +39,27 @@ public class SqlPatternFactory {
 
     return null;
   }
+
+  /**
+   * @param caseInsensitive true to match the pattern as {@link java.util.regex.Pattern#CASE_INSENSITIVE} does
+   */
+  public static SqlPatternMatcher getSqlPatternMatcher(SqlPatternInfo patternInfo, boolean caseInsensitive)
+  {
+    if (!caseInsensitive) {
+      return getSqlPatternMatcher(patternInfo);
+    }
+    switch (patternInfo.getPatternType()) {
+      case STARTS_WITH:
+      case CONSTANT:
+      case ENDS_WITH:
+      case CONTAINS:
+        if (SqlPatternCaseInsensitiveMatcher.isSupported(patternInfo.getSimplePatternString())) {
+          return new SqlPatternCaseInsensitiveMatcher(patternInfo.getSimplePatternString(), patternInfo.getPatternType());
+        }
+        break;
+      default:
+        break;
+    }
+    return new SqlPatternComplexMatcher(patternInfo.getJavaPatternString(), true);
+  }
 }
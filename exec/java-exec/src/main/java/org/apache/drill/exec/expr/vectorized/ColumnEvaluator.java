@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.expr.vectorized;
+
+import java.util.Arrays;
+
+import org.apache.drill.common.types.TypeProtos.DataMode;
+import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.record.selection.SelectionVector2;
+
+/**
+ * Evaluates an expression a column at a time: the values of all the rows of a batch are computed into an array by
+ * a simple loop over the arrays of the operands' values (which the JIT can unroll and vectorize), instead of a row
+ * at a time through the generated doEval() code. Only the simple numeric functions are supported, see
+ * {@link ColumnEvaluatorBuilder}.
+ * <p>
+ * The values of the integer types (INT, BIGINT, BIT) are kept in {@link #getLongs()}, those of the floating point
+ * types (FLOAT4, FLOAT8) in {@link #getDoubles()}; results of the narrower types are narrowed after each operation,
+ * so the values are the same as the ones of the generated code. For a nullable type, {@link #getNulls()} flags the
+ * null rows (their values are undefined).
+ */
+public abstract class ColumnEvaluator {
+
+  protected final MajorType type;
+  protected final boolean nullable;
+  protected final boolean floatingPoint;
+
+  protected long[] longs;
+  protected double[] doubles;
+  protected boolean[] nulls;
+
+  protected ColumnEvaluator(MajorType type) {
+    this.type = type;
+    this.nullable = type.getMode() == DataMode.OPTIONAL;
+    this.floatingPoint = isFloatingPoint(type.getMinorType());
+  }
+
+  /**
+   * Evaluates the expression for the given rows.
+   * @param rows indexes of the rows (in the incoming vectors) to evaluate
+   * @param count number of rows to evaluate
+   */
+  public abstract void evaluate(int[] rows, int count);
+
+  public MajorType getType() {
+    return type;
+  }
+
+  public boolean isNullable() {
+    return nullable;
+  }
+
+  public long[] getLongs() {
+    return longs;
+  }
+
+  public double[] getDoubles() {
+    return doubles;
+  }
+
+  public boolean[] getNulls() {
+    return nulls;
+  }
+
+  /**
+   * Makes sure the arrays of the results can hold the given number of rows.
+   * @param count number of rows
+   */
+  protected void allocate(int count) {
+    if (floatingPoint) {
+      if (doubles == null || doubles.length < count) {
+        doubles = new double[count];
+      }
+    } else if (longs == null || longs.length < count) {
+      longs = new long[count];
+    }
+    if (nullable && (nulls == null || nulls.length < count)) {
+      nulls = new boolean[count];
+    }
+  }
+
+  /**
+   * Flags a result row as null when the row is null in any of the operands (the NULL_IF_NULL handling of the
+   * functions).
+   */
+  protected void propagateNulls(int count, ColumnEvaluator... operands) {
+    if (!nullable) {
+      return;
+    }
+    boolean first = true;
+    for (ColumnEvaluator operand : operands) {
+      if (!operand.nullable) {
+        continue;
+      }
+      final boolean[] operandNulls = operand.nulls;
+      if (first) {
+        System.arraycopy(operandNulls, 0, nulls, 0, count);
+        first = false;
+      } else {
+        for (int i = 0; i < count; i++) {
+          nulls[i] |= operandNulls[i];
+        }
+      }
+    }
+    if (first) {
+      Arrays.fill(nulls, 0, count, false);
+    }
+  }
+
+  /**
+   * Fills the indexes of the rows to evaluate.
+   * @param rows the array to fill, reallocated when too small (may be null)
+   * @param sv2 the selection vector of the incoming, or null when it has none
+   * @param start the first row (or selection vector entry)
+   * @param count the number of rows
+   * @return the filled array
+   */
+  public static int[] rowIndexes(int[] rows, SelectionVector2 sv2, int start, int count) {
+    if (rows == null || rows.length < count) {
+      rows = new int[count];
+    }
+    if (sv2 == null) {
+      for (int i = 0; i < count; i++) {
+        rows[i] = start + i;
+      }
+    } else {
+      for (int i = 0; i < count; i++) {
+        rows[i] = sv2.getIndex(start + i);
+      }
+    }
+    return rows;
+  }
+
+  public static boolean isFloatingPoint(MinorType type) {
+    return type == MinorType.FLOAT4 || type == MinorType.FLOAT8;
+  }
+
+  /**
+   * @return true if the values of the type can be evaluated a column at a time
+   */
+  public static boolean isSupported(MajorType type) {
+    switch (type.getMode()) {
+      case REQUIRED:
+      case OPTIONAL:
+        break;
+      default:
+        return false;
+    }
+    switch (type.getMinorType()) {
+      case INT:
+      case BIGINT:
+      case FLOAT4:
+      case FLOAT8:
+      case BIT:
+        return true;
+      default:
+        return false;
+    }
+  }
+}
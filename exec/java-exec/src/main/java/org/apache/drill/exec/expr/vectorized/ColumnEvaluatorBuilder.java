@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.expr.vectorized;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.drill.common.expression.BooleanOperator;
+import org.apache.drill.common.expression.FunctionHolderExpression;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.ValueExpressions.BooleanExpression;
+import org.apache.drill.common.expression.ValueExpressions.DoubleExpression;
+import org.apache.drill.common.expression.ValueExpressions.FloatExpression;
+import org.apache.drill.common.expression.ValueExpressions.IntExpression;
+import org.apache.drill.common.expression.ValueExpressions.LongExpression;
+import org.apache.drill.common.expression.ValueExpressions.QuotedString;
+import org.apache.drill.common.types.TypeProtos.DataMode;
+import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.expr.AbstractExecExprVisitor;
+import org.apache.drill.exec.expr.DrillFuncHolderExpr;
+import org.apache.drill.exec.expr.ValueVectorReadExpression;
+import org.apache.drill.exec.expr.vectorized.ColumnEvaluators.ArithmeticOp;
+import org.apache.drill.exec.expr.vectorized.ColumnEvaluators.ComparisonOp;
+import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.TypedFieldId;
+import org.apache.drill.exec.record.VectorWrapper;
+import org.apache.drill.exec.vector.ValueVector;
+
+import org.apache.drill.shaded.guava.com.google.common.collect.Lists;
+
+/**
+ * Builds the {@link ColumnEvaluator} of a materialized expression, when all of its sub-expressions are supported:
+ * the reads of INT, BIGINT, FLOAT4, FLOAT8 and BIT vectors, their constants, the add, subtract, multiply (and
+ * divide of floating point values), comparison, cast (but the rounding ones), not, isnull, isnotnull functions and
+ * the boolean and / or operators. The isnull and isnotnull functions of a column of any type, and the comparisons of
+ * a VARCHAR column with a constant are supported too. Else the expression is left to the generated code.
+ */
+public class ColumnEvaluatorBuilder extends AbstractExecExprVisitor<ColumnEvaluator, Void, RuntimeException> {
+
+  private final RecordBatch incoming;
+
+  private ColumnEvaluatorBuilder(RecordBatch incoming) {
+    this.incoming = incoming;
+  }
+
+  /**
+   * @param expr the materialized expression
+   * @param incoming the batch the expression reads its vectors from
+   * @return the evaluator of the expression, or null when the expression is not supported
+   */
+  public static ColumnEvaluator build(LogicalExpression expr, RecordBatch incoming) {
+    return expr.accept(new ColumnEvaluatorBuilder(incoming), null);
+  }
+
+  @Override
+  public ColumnEvaluator visitUnknown(LogicalExpression e, Void value) {
+    return null;
+  }
+
+  @Override
+  public ColumnEvaluator visitValueVectorReadExpression(ValueVectorReadExpression readExpr, Void value) {
+    final TypedFieldId fieldId = readExpr.getFieldId();
+    if (readExpr.hasReadPath() || readExpr.isSuperReader() || fieldId.getFieldIds().length != 1
+        || !ColumnEvaluator.isSupported(readExpr.getMajorType())) {
+      return null;
+    }
+    final VectorWrapper<?> wrapper = incoming.getValueAccessorById(fieldId.getIntermediateClass(), fieldId.getFieldIds());
+    if (wrapper == null) {
+      return null;
+    }
+    final ValueVector vector = wrapper.getValueVector();
+    if (!vector.getField().getType().equals(readExpr.getMajorType())) {
+      return null;
+    }
+    return new ColumnEvaluators.VectorRead(readExpr.getMajorType(), vector);
+  }
+
+  @Override
+  public ColumnEvaluator visitIntConstant(IntExpression intExpr, Void value) {
+    return new ColumnEvaluators.Constant(intExpr.getMajorType(), intExpr.getInt(), 0);
+  }
+
+  @Override
+  public ColumnEvaluator visitLongConstant(LongExpression longExpr, Void value) {
+    return new ColumnEvaluators.Constant(longExpr.getMajorType(), longExpr.getLong(), 0);
+  }
+
+  @Override
+  public ColumnEvaluator visitFloatConstant(FloatExpression fExpr, Void value) {
+    return new ColumnEvaluators.Constant(fExpr.getMajorType(), 0, fExpr.getFloat());
+  }
+
+  @Override
+  public ColumnEvaluator visitDoubleConstant(DoubleExpression dExpr, Void value) {
+    return new ColumnEvaluators.Constant(dExpr.getMajorType(), 0, dExpr.getDouble());
+  }
+
+  @Override
+  public ColumnEvaluator visitBooleanConstant(BooleanExpression e, Void value) {
+    return new ColumnEvaluators.Constant(e.getMajorType(), e.getBoolean() ? 1 : 0, 0);
+  }
+
+  @Override
+  public ColumnEvaluator visitBooleanOperator(BooleanOperator op, Void value) {
+    final boolean and;
+    switch (op.getName()) {
+      case "booleanAnd":
+        and = true;
+        break;
+      case "booleanOr":
+        and = false;
+        break;
+      default:
+        return null;
+    }
+    final List<ColumnEvaluator> inputs = visitArgs(op.args);
+    if (inputs == null || !supportsAll(inputs, MinorType.BIT) || !ColumnEvaluator.isSupported(op.getMajorType())) {
+      return null;
+    }
+    return new ColumnEvaluators.BooleanOperator(op.getMajorType(), inputs, and);
+  }
+
+  @Override
+  public ColumnEvaluator visitFunctionHolderExpression(FunctionHolderExpression holder, Void value) {
+    if (!(holder instanceof DrillFuncHolderExpr) || !ColumnEvaluator.isSupported(holder.getMajorType())) {
+      return null;
+    }
+    final MajorType type = holder.getMajorType();
+    final String name = ((DrillFuncHolderExpr) holder).getHolder().getRegisteredNames()[0];
+    final ColumnEvaluator nonNumeric = nonNumericFunction(name, type, holder.args);
+    if (nonNumeric != null) {
+      return nonNumeric;
+    }
+    final List<ColumnEvaluator> inputs = visitArgs(holder.args);
+    if (inputs == null) {
+      return null;
+    }
+    switch (name) {
+      case "add":
+        return arithmetic(type, ArithmeticOp.ADD, inputs);
+      case "subtract":
+        return arithmetic(type, ArithmeticOp.SUBTRACT, inputs);
+      case "multiply":
+        return arithmetic(type, ArithmeticOp.MULTIPLY, inputs);
+      case "divide":
+        // the integer division fails on a division by zero, so it is left to the generated code
+        return ColumnEvaluator.isFloatingPoint(type.getMinorType()) ? arithmetic(type, ArithmeticOp.DIVIDE, inputs) : null;
+      case "equal":
+        return comparison(type, ComparisonOp.EQUAL, inputs);
+      case "not_equal":
+        return comparison(type, ComparisonOp.NOT_EQUAL, inputs);
+      case "less_than":
+        return comparison(type, ComparisonOp.LESS_THAN, inputs);
+      case "less_than_or_equal_to":
+        return comparison(type, ComparisonOp.LESS_THAN_OR_EQUAL_TO, inputs);
+      case "greater_than":
+        return comparison(type, ComparisonOp.GREATER_THAN, inputs);
+      case "greater_than_or_equal_to":
+        return comparison(type, ComparisonOp.GREATER_THAN_OR_EQUAL_TO, inputs);
+      case "castINT":
+      case "castBIGINT":
+      case "castFLOAT4":
+      case "castFLOAT8":
+        return cast(type, inputs);
+      case "not":
+        return inputs.size() == 1 && supportsAll(inputs, MinorType.BIT) && type.getMinorType() == MinorType.BIT
+            ? new ColumnEvaluators.Not(type, inputs.get(0)) : null;
+      case "isnull":
+      case "isnotnull":
+        return inputs.size() == 1 && type.getMinorType() == MinorType.BIT
+            ? new ColumnEvaluators.IsNull(type, inputs.get(0), name.equals("isnull")) : null;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Builds the evaluators of the functions which read a vector of a type not supported otherwise: isnull and
+   * isnotnull of any column, and the comparisons of a VARCHAR column with a constant.
+   * @return the evaluator, or null when the function is not one of them
+   */
+  private ColumnEvaluator nonNumericFunction(String name, MajorType type, List<LogicalExpression> args) {
+    if (type.getMinorType() != MinorType.BIT) {
+      return null;
+    }
+    switch (name) {
+      case "isnull":
+      case "isnotnull": {
+        final ValueVector vector = args.size() == 1 ? readVector(args.get(0)) : null;
+        return vector == null ? null : new ColumnEvaluators.VectorIsNull(type, vector, name.equals("isnull"));
+      }
+      case "equal":
+        return varCharComparison(type, ComparisonOp.EQUAL, args);
+      case "not_equal":
+        return varCharComparison(type, ComparisonOp.NOT_EQUAL, args);
+      case "less_than":
+        return varCharComparison(type, ComparisonOp.LESS_THAN, args);
+      case "less_than_or_equal_to":
+        return varCharComparison(type, ComparisonOp.LESS_THAN_OR_EQUAL_TO, args);
+      case "greater_than":
+        return varCharComparison(type, ComparisonOp.GREATER_THAN, args);
+      case "greater_than_or_equal_to":
+        return varCharComparison(type, ComparisonOp.GREATER_THAN_OR_EQUAL_TO, args);
+      default:
+        return null;
+    }
+  }
+
+  private ColumnEvaluator varCharComparison(MajorType type, ComparisonOp op, List<LogicalExpression> args) {
+    if (args.size() != 2) {
+      return null;
+    }
+    ComparisonOp columnOp = op;
+    LogicalExpression column = args.get(0);
+    LogicalExpression constant = args.get(1);
+    if (column instanceof QuotedString) {
+      columnOp = op.reverse();
+      column = args.get(1);
+      constant = args.get(0);
+    }
+    if (!(constant instanceof QuotedString) || column.getMajorType().getMinorType() != MinorType.VARCHAR) {
+      return null;
+    }
+    final ValueVector vector = readVector(column);
+    if (vector == null) {
+      return null;
+    }
+    final byte[] bytes = ((QuotedString) constant).getString().getBytes(StandardCharsets.UTF_8);
+    return new ColumnEvaluators.VarCharComparison(type, columnOp, vector, bytes);
+  }
+
+  /**
+   * @return the vector read by the expression, when it is a simple read of a required or nullable top level column
+   * of the incoming, else null
+   */
+  private ValueVector readVector(LogicalExpression expr) {
+    if (!(expr instanceof ValueVectorReadExpression)) {
+      return null;
+    }
+    final ValueVectorReadExpression readExpr = (ValueVectorReadExpression) expr;
+    final TypedFieldId fieldId = readExpr.getFieldId();
+    final DataMode mode = readExpr.getMajorType().getMode();
+    if (readExpr.hasReadPath() || readExpr.isSuperReader() || fieldId.getFieldIds().length != 1
+        || (mode != DataMode.REQUIRED && mode != DataMode.OPTIONAL)) {
+      return null;
+    }
+    final VectorWrapper<?> wrapper = incoming.getValueAccessorById(fieldId.getIntermediateClass(), fieldId.getFieldIds());
+    if (wrapper == null) {
+      return null;
+    }
+    final ValueVector vector = wrapper.getValueVector();
+    return vector.getField().getType().equals(readExpr.getMajorType()) ? vector : null;
+  }
+
+  private List<ColumnEvaluator> visitArgs(List<LogicalExpression> args) {
+    final List<ColumnEvaluator> inputs = Lists.newArrayListWithCapacity(args.size());
+    for (LogicalExpression arg : args) {
+      final ColumnEvaluator input = arg.accept(this, null);
+      if (input == null) {
+        return null;
+      }
+      inputs.add(input);
+    }
+    return inputs;
+  }
+
+  private static boolean supportsAll(List<ColumnEvaluator> inputs, MinorType type) {
+    for (ColumnEvaluator input : inputs) {
+      if (input.getType().getMinorType() != type) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return true if the operands are both integer (not BIT) or both floating point values
+   */
+  private static boolean sameKind(List<ColumnEvaluator> inputs) {
+    if (inputs.size() != 2) {
+      return false;
+    }
+    final MinorType left = inputs.get(0).getType().getMinorType();
+    final MinorType right = inputs.get(1).getType().getMinorType();
+    return left != MinorType.BIT && right != MinorType.BIT
+        && ColumnEvaluator.isFloatingPoint(left) == ColumnEvaluator.isFloatingPoint(right);
+  }
+
+  private static ColumnEvaluator arithmetic(MajorType type, ArithmeticOp op, List<ColumnEvaluator> inputs) {
+    if (!sameKind(inputs) || type.getMinorType() == MinorType.BIT
+        || ColumnEvaluator.isFloatingPoint(type.getMinorType()) != inputs.get(0).floatingPoint) {
+      return null;
+    }
+    return new ColumnEvaluators.Arithmetic(type, op, inputs.get(0), inputs.get(1));
+  }
+
+  private static ColumnEvaluator comparison(MajorType type, ComparisonOp op, List<ColumnEvaluator> inputs) {
+    if (!sameKind(inputs) || type.getMinorType() != MinorType.BIT) {
+      return null;
+    }
+    return new ColumnEvaluators.Comparison(type, op, inputs.get(0), inputs.get(1));
+  }
+
+  private static ColumnEvaluator cast(MajorType type, List<ColumnEvaluator> inputs) {
+    if (inputs.size() != 1) {
+      return null;
+    }
+    final MinorType from = inputs.get(0).getType().getMinorType();
+    if (from == MinorType.BIT || type.getMinorType() == MinorType.BIT
+        || (ColumnEvaluator.isFloatingPoint(from) && !ColumnEvaluator.isFloatingPoint(type.getMinorType()))) {
+      return null;
+    }
+    return new ColumnEvaluators.Cast(type, inputs.get(0));
+  }
+}
@@ -0,0 +1,608 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.expr.vectorized;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.expr.fn.impl.ByteFunctionHelpers;
+import org.apache.drill.exec.vector.BigIntVector;
+import org.apache.drill.exec.vector.BitVector;
+import org.apache.drill.exec.vector.Float4Vector;
+import org.apache.drill.exec.vector.Float8Vector;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.vector.NullableVector;
+import org.apache.drill.exec.vector.UInt1Vector;
+import org.apache.drill.exec.vector.UInt4Vector;
+import org.apache.drill.exec.vector.ValueVector;
+import org.apache.drill.exec.vector.VarCharVector;
+
+import io.netty.buffer.DrillBuf;
+
+/**
+ * The {@link ColumnEvaluator}s of the supported expressions: the (inner) loops below mirror the code of the
+ * corresponding Drill functions (see the MathFunctionTemplates, ComparisonFunctions and CastFunctions templates).
+ */
+final class ColumnEvaluators {
+
+  private ColumnEvaluators() {
+  }
+
+  /**
+   * Reads the values of the rows from an INT, BIGINT, FLOAT4, FLOAT8 or BIT vector (required or nullable).
+   */
+  static class VectorRead extends ColumnEvaluator {
+    private final ValueVector values;
+    private final UInt1Vector bits; // null when the vector is not nullable
+
+    VectorRead(MajorType type, ValueVector vector) {
+      super(type);
+      if (vector instanceof NullableVector) {
+        this.values = ((NullableVector) vector).getValuesVector();
+        this.bits = (UInt1Vector) ((NullableVector) vector).getBitsVector();
+      } else {
+        this.values = vector;
+        this.bits = null;
+      }
+    }
+
+    @Override
+    public void evaluate(int[] rows, int count) {
+      allocate(count);
+      switch (type.getMinorType()) {
+        case INT: {
+          final IntVector.Accessor accessor = ((IntVector) values).getAccessor();
+          for (int i = 0; i < count; i++) {
+            longs[i] = accessor.get(rows[i]);
+          }
+          break;
+        }
+        case BIGINT: {
+          final BigIntVector.Accessor accessor = ((BigIntVector) values).getAccessor();
+          for (int i = 0; i < count; i++) {
+            longs[i] = accessor.get(rows[i]);
+          }
+          break;
+        }
+        case FLOAT4: {
+          final Float4Vector.Accessor accessor = ((Float4Vector) values).getAccessor();
+          for (int i = 0; i < count; i++) {
+            doubles[i] = accessor.get(rows[i]);
+          }
+          break;
+        }
+        case FLOAT8: {
+          final Float8Vector.Accessor accessor = ((Float8Vector) values).getAccessor();
+          for (int i = 0; i < count; i++) {
+            doubles[i] = accessor.get(rows[i]);
+          }
+          break;
+        }
+        case BIT: {
+          final BitVector.Accessor accessor = ((BitVector) values).getAccessor();
+          for (int i = 0; i < count; i++) {
+            longs[i] = accessor.get(rows[i]);
+          }
+          break;
+        }
+        default:
+          throw new UnsupportedOperationException(type.getMinorType().name());
+      }
+      if (bits != null) {
+        final UInt1Vector.Accessor accessor = bits.getAccessor();
+        for (int i = 0; i < count; i++) {
+          nulls[i] = accessor.get(rows[i]) == 0;
+        }
+      }
+    }
+  }
+
+  /**
+   * A constant; its values are only filled when the arrays grow.
+   */
+  static class Constant extends ColumnEvaluator {
+    private final long longValue;
+    private final double doubleValue;
+    private int filled;
+
+    Constant(MajorType type, long longValue, double doubleValue) {
+      super(type);
+      this.longValue = longValue;
+      this.doubleValue = doubleValue;
+    }
+
+    @Override
+    public void evaluate(int[] rows, int count) {
+      if (count <= filled) {
+        return;
+      }
+      allocate(count);
+      if (floatingPoint) {
+        Arrays.fill(doubles, doubleValue);
+        filled = doubles.length;
+      } else {
+        Arrays.fill(longs, longValue);
+        filled = longs.length;
+      }
+    }
+  }
+
+  enum ArithmeticOp { ADD, SUBTRACT, MULTIPLY, DIVIDE }
+
+  /**
+   * add, subtract, multiply (and divide, for the floating point types only, as the integer division by zero fails)
+   * of two operands of the same kind (integer or floating point).
+   */
+  static class Arithmetic extends ColumnEvaluator {
+    private final ArithmeticOp op;
+    private final ColumnEvaluator left;
+    private final ColumnEvaluator right;
+
+    Arithmetic(MajorType type, ArithmeticOp op, ColumnEvaluator left, ColumnEvaluator right) {
+      super(type);
+      this.op = op;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    public void evaluate(int[] rows, int count) {
+      left.evaluate(rows, count);
+      right.evaluate(rows, count);
+      allocate(count);
+      if (floatingPoint) {
+        final double[] l = left.doubles;
+        final double[] r = right.doubles;
+        switch (op) {
+          case ADD:
+            for (int i = 0; i < count; i++) {
+              doubles[i] = l[i] + r[i];
+            }
+            break;
+          case SUBTRACT:
+            for (int i = 0; i < count; i++) {
+              doubles[i] = l[i] - r[i];
+            }
+            break;
+          case MULTIPLY:
+            for (int i = 0; i < count; i++) {
+              doubles[i] = l[i] * r[i];
+            }
+            break;
+          case DIVIDE:
+            for (int i = 0; i < count; i++) {
+              doubles[i] = l[i] / r[i];
+            }
+            break;
+        }
+        if (type.getMinorType() == MinorType.FLOAT4) {
+          // the float operation rounds the same as the double one narrowed to float
+          for (int i = 0; i < count; i++) {
+            doubles[i] = (float) doubles[i];
+          }
+        }
+      } else {
+        final long[] l = left.longs;
+        final long[] r = right.longs;
+        switch (op) {
+          case ADD:
+            for (int i = 0; i < count; i++) {
+              longs[i] = l[i] + r[i];
+            }
+            break;
+          case SUBTRACT:
+            for (int i = 0; i < count; i++) {
+              longs[i] = l[i] - r[i];
+            }
+            break;
+          case MULTIPLY:
+            for (int i = 0; i < count; i++) {
+              longs[i] = l[i] * r[i];
+            }
+            break;
+          default:
+            throw new UnsupportedOperationException(op.name());
+        }
+        if (type.getMinorType() == MinorType.INT) {
+          // the int operation overflows the same as the long one narrowed to int
+          for (int i = 0; i < count; i++) {
+            longs[i] = (int) longs[i];
+          }
+        }
+      }
+      propagateNulls(count, left, right);
+    }
+  }
+
+  enum ComparisonOp {
+    EQUAL, NOT_EQUAL, LESS_THAN, LESS_THAN_OR_EQUAL_TO, GREATER_THAN, GREATER_THAN_OR_EQUAL_TO;
+
+    /**
+     * @return the operator comparing the operands in the reverse order: a op b is b op.reverse() a
+     */
+    ComparisonOp reverse() {
+      switch (this) {
+        case LESS_THAN:
+          return GREATER_THAN;
+        case LESS_THAN_OR_EQUAL_TO:
+          return GREATER_THAN_OR_EQUAL_TO;
+        case GREATER_THAN:
+          return LESS_THAN;
+        case GREATER_THAN_OR_EQUAL_TO:
+          return LESS_THAN_OR_EQUAL_TO;
+        default:
+          return this;
+      }
+    }
+  }
+
+  /**
+   * Comparison of two operands of the same kind (integer or floating point), into a BIT. For the floating point
+   * types NaN is the biggest value, and NaN == NaN.
+   */
+  static class Comparison extends ColumnEvaluator {
+    private final ComparisonOp op;
+    private final ColumnEvaluator left;
+    private final ColumnEvaluator right;
+
+    Comparison(MajorType type, ComparisonOp op, ColumnEvaluator left, ColumnEvaluator right) {
+      super(type);
+      this.op = op;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    public void evaluate(int[] rows, int count) {
+      left.evaluate(rows, count);
+      right.evaluate(rows, count);
+      allocate(count);
+      if (left.floatingPoint) {
+        compareDoubles(left.doubles, right.doubles, count);
+      } else {
+        compareLongs(left.longs, right.longs, count);
+      }
+      propagateNulls(count, left, right);
+    }
+
+    private void compareLongs(long[] l, long[] r, int count) {
+      switch (op) {
+        case EQUAL:
+          for (int i = 0; i < count; i++) {
+            longs[i] = l[i] == r[i] ? 1 : 0;
+          }
+          break;
+        case NOT_EQUAL:
+          for (int i = 0; i < count; i++) {
+            longs[i] = l[i] != r[i] ? 1 : 0;
+          }
+          break;
+        case LESS_THAN:
+          for (int i = 0; i < count; i++) {
+            longs[i] = l[i] < r[i] ? 1 : 0;
+          }
+          break;
+        case LESS_THAN_OR_EQUAL_TO:
+          for (int i = 0; i < count; i++) {
+            longs[i] = l[i] <= r[i] ? 1 : 0;
+          }
+          break;
+        case GREATER_THAN:
+          for (int i = 0; i < count; i++) {
+            longs[i] = l[i] > r[i] ? 1 : 0;
+          }
+          break;
+        case GREATER_THAN_OR_EQUAL_TO:
+          for (int i = 0; i < count; i++) {
+            longs[i] = l[i] >= r[i] ? 1 : 0;
+          }
+          break;
+      }
+    }
+
+    private void compareDoubles(double[] l, double[] r, int count) {
+      switch (op) {
+        case EQUAL:
+          for (int i = 0; i < count; i++) {
+            longs[i] = l[i] == r[i] || (Double.isNaN(l[i]) && Double.isNaN(r[i])) ? 1 : 0;
+          }
+          break;
+        case NOT_EQUAL:
+          for (int i = 0; i < count; i++) {
+            longs[i] = l[i] != r[i] && !(Double.isNaN(l[i]) && Double.isNaN(r[i])) ? 1 : 0;
+          }
+          break;
+        case LESS_THAN:
+          for (int i = 0; i < count; i++) {
+            longs[i] = !Double.isNaN(l[i]) && (Double.isNaN(r[i]) || l[i] < r[i]) ? 1 : 0;
+          }
+          break;
+        case LESS_THAN_OR_EQUAL_TO:
+          for (int i = 0; i < count; i++) {
+            longs[i] = Double.isNaN(r[i]) || (!Double.isNaN(l[i]) && l[i] <= r[i]) ? 1 : 0;
+          }
+          break;
+        case GREATER_THAN:
+          for (int i = 0; i < count; i++) {
+            longs[i] = !Double.isNaN(r[i]) && (Double.isNaN(l[i]) || l[i] > r[i]) ? 1 : 0;
+          }
+          break;
+        case GREATER_THAN_OR_EQUAL_TO:
+          for (int i = 0; i < count; i++) {
+            longs[i] = Double.isNaN(l[i]) || (!Double.isNaN(r[i]) && l[i] >= r[i]) ? 1 : 0;
+          }
+          break;
+      }
+    }
+  }
+
+  /**
+   * The casts between INT, BIGINT, FLOAT4 and FLOAT8 that do not round (from floating point to integer types the
+   * casts round, and are left to the generated code).
+   */
+  static class Cast extends ColumnEvaluator {
+    private final ColumnEvaluator input;
+
+    Cast(MajorType type, ColumnEvaluator input) {
+      super(type);
+      this.input = input;
+    }
+
+    @Override
+    public void evaluate(int[] rows, int count) {
+      input.evaluate(rows, count);
+      allocate(count);
+      final boolean toFloat4 = type.getMinorType() == MinorType.FLOAT4;
+      if (input.floatingPoint) {
+        final double[] in = input.doubles;
+        if (toFloat4) {
+          for (int i = 0; i < count; i++) {
+            doubles[i] = (float) in[i];
+          }
+        } else {
+          System.arraycopy(in, 0, doubles, 0, count);
+        }
+      } else {
+        final long[] in = input.longs;
+        if (toFloat4) {
+          for (int i = 0; i < count; i++) {
+            doubles[i] = (float) in[i];
+          }
+        } else if (floatingPoint) {
+          for (int i = 0; i < count; i++) {
+            doubles[i] = in[i];
+          }
+        } else if (type.getMinorType() == MinorType.INT) {
+          for (int i = 0; i < count; i++) {
+            longs[i] = (int) in[i];
+          }
+        } else {
+          System.arraycopy(in, 0, longs, 0, count);
+        }
+      }
+      propagateNulls(count, input);
+    }
+  }
+
+  /**
+   * The "not" of a BIT.
+   */
+  static class Not extends ColumnEvaluator {
+    private final ColumnEvaluator input;
+
+    Not(MajorType type, ColumnEvaluator input) {
+      super(type);
+      this.input = input;
+    }
+
+    @Override
+    public void evaluate(int[] rows, int count) {
+      input.evaluate(rows, count);
+      allocate(count);
+      final long[] in = input.longs;
+      for (int i = 0; i < count; i++) {
+        longs[i] = in[i] ^ 1;
+      }
+      propagateNulls(count, input);
+    }
+  }
+
+  /**
+   * "isnull" (or "isnotnull") of any supported operand, into a required BIT.
+   */
+  static class IsNull extends ColumnEvaluator {
+    private final ColumnEvaluator input;
+    private final long nullValue;
+
+    IsNull(MajorType type, ColumnEvaluator input, boolean isNull) {
+      super(type);
+      this.input = input;
+      this.nullValue = isNull ? 1 : 0;
+    }
+
+    @Override
+    public void evaluate(int[] rows, int count) {
+      input.evaluate(rows, count);
+      allocate(count);
+      if (input.nullable) {
+        final boolean[] in = input.nulls;
+        for (int i = 0; i < count; i++) {
+          longs[i] = in[i] ? nullValue : nullValue ^ 1;
+        }
+      } else {
+        Arrays.fill(longs, 0, count, nullValue ^ 1);
+      }
+    }
+  }
+
+  /**
+   * isnull (or isnotnull) of a vector of any type, read from its accessor: unlike {@link IsNull} the values of the
+   * vector are not read.
+   */
+  static class VectorIsNull extends ColumnEvaluator {
+    private final ValueVector vector;
+    private final long nullValue;
+
+    VectorIsNull(MajorType type, ValueVector vector, boolean isNull) {
+      super(type);
+      this.vector = vector;
+      this.nullValue = isNull ? 1 : 0;
+    }
+
+    @Override
+    public void evaluate(int[] rows, int count) {
+      allocate(count);
+      final ValueVector.Accessor accessor = vector.getAccessor();
+      for (int i = 0; i < count; i++) {
+        longs[i] = accessor.isNull(rows[i]) ? nullValue : nullValue ^ 1;
+      }
+      if (nullable) {
+        Arrays.fill(nulls, 0, count, false);
+      }
+    }
+  }
+
+  /**
+   * Comparison of a VARCHAR vector with a constant, into a BIT: the bytes are compared as unsigned values, as
+   * ByteFunctionHelpers.compare() does for the generated code.
+   */
+  static class VarCharComparison extends ColumnEvaluator {
+    private final ComparisonOp op;
+    private final VarCharVector values;
+    private final UInt1Vector bits; // null when the vector is not nullable
+    private final byte[] constant;
+
+    VarCharComparison(MajorType type, ComparisonOp op, ValueVector vector, byte[] constant) {
+      super(type);
+      this.op = op;
+      if (vector instanceof NullableVector) {
+        this.values = (VarCharVector) ((NullableVector) vector).getValuesVector();
+        this.bits = (UInt1Vector) ((NullableVector) vector).getBitsVector();
+      } else {
+        this.values = (VarCharVector) vector;
+        this.bits = null;
+      }
+      this.constant = constant;
+    }
+
+    @Override
+    public void evaluate(int[] rows, int count) {
+      allocate(count);
+      final UInt4Vector.Accessor offsets = values.getOffsetVector().getAccessor();
+      final DrillBuf data = values.getBuffer();
+      for (int i = 0; i < count; i++) {
+        final int row = rows[i];
+        final int cmp = ByteFunctionHelpers.compare(data, offsets.get(row), offsets.get(row + 1),
+            constant, 0, constant.length);
+        longs[i] = matches(cmp) ? 1 : 0;
+      }
+      if (bits != null) {
+        final UInt1Vector.Accessor accessor = bits.getAccessor();
+        for (int i = 0; i < count; i++) {
+          nulls[i] = accessor.get(rows[i]) == 0;
+        }
+      } else if (nullable) {
+        Arrays.fill(nulls, 0, count, false);
+      }
+    }
+
+    private boolean matches(int cmp) {
+      switch (op) {
+        case EQUAL:
+          return cmp == 0;
+        case NOT_EQUAL:
+          return cmp != 0;
+        case LESS_THAN:
+          return cmp < 0;
+        case LESS_THAN_OR_EQUAL_TO:
+          return cmp <= 0;
+        case GREATER_THAN:
+          return cmp > 0;
+        case GREATER_THAN_OR_EQUAL_TO:
+          return cmp >= 0;
+        default:
+          throw new UnsupportedOperationException(op.name());
+      }
+    }
+  }
+
+  /**
+   * "booleanAnd" (or "booleanOr") of BITs, with the SQL three valued logic: false (true) when any operand is false
+   * (true), else null when any operand is null. All the operands are evaluated, as none of the supported ones fail.
+   */
+  static class BooleanOperator extends ColumnEvaluator {
+    private final ColumnEvaluator[] inputs;
+    private final boolean and;
+    private boolean[] anyNull;
+
+    BooleanOperator(MajorType type, List<ColumnEvaluator> inputs, boolean and) {
+      super(type);
+      this.inputs = inputs.toArray(new ColumnEvaluator[inputs.size()]);
+      this.and = and;
+    }
+
+    @Override
+    public void evaluate(int[] rows, int count) {
+      allocate(count);
+      if (nullable && (anyNull == null || anyNull.length < count)) {
+        anyNull = new boolean[count];
+      }
+      // the value a null operand is taken as, so that it does not decide the result
+      final long identity = and ? 1 : 0;
+      Arrays.fill(longs, 0, count, identity);
+      if (nullable) {
+        Arrays.fill(anyNull, 0, count, false);
+      }
+      for (ColumnEvaluator input : inputs) {
+        input.evaluate(rows, count);
+        final long[] in = input.longs;
+        if (!input.nullable) {
+          if (and) {
+            for (int i = 0; i < count; i++) {
+              longs[i] &= in[i];
+            }
+          } else {
+            for (int i = 0; i < count; i++) {
+              longs[i] |= in[i];
+            }
+          }
+        } else {
+          final boolean[] inNulls = input.nulls;
+          if (and) {
+            for (int i = 0; i < count; i++) {
+              longs[i] &= inNulls[i] ? identity : in[i];
+              anyNull[i] |= inNulls[i];
+            }
+          } else {
+            for (int i = 0; i < count; i++) {
+              longs[i] |= inNulls[i] ? identity : in[i];
+              anyNull[i] |= inNulls[i];
+            }
+          }
+        }
+      }
+      if (nullable) {
+        for (int i = 0; i < count; i++) {
+          nulls[i] = anyNull[i] && longs[i] == identity;
+        }
+      }
+    }
+  }
+}
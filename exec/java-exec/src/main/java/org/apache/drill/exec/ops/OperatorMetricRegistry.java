@@ -27,9 +27,11 @@ import org.apache.drill.exec.physical.impl.mergereceiver.MergingRecordBatch;
 import org.apache.drill.exec.physical.impl.partitionsender.PartitionSenderRootExec;
 import org.apache.drill.exec.physical.impl.unnest.UnnestRecordBatch;
 import org.apache.drill.exec.physical.impl.unorderedreceiver.UnorderedReceiverBatch;
+import org.apache.drill.exec.physical.impl.window.WindowFrameRecordBatch;
 import org.apache.drill.exec.physical.impl.xsort.ExternalSortBatch;
 import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
 import org.apache.drill.exec.record.AbstractBinaryRecordBatch;
+import org.apache.drill.exec.store.easy.json.JSONRecordReader;
 import org.apache.drill.exec.store.parquet.columnreaders.ParquetRecordReader;
 
 import java.util.Arrays;
@@ -61,6 +63,8 @@ public class OperatorMetricRegistry {
     register(CoreOperatorType.LATERAL_JOIN_VALUE, AbstractBinaryRecordBatch.Metric.class);
     register(CoreOperatorType.UNNEST_VALUE, UnnestRecordBatch.Metric.class);
     register(CoreOperatorType.UNION_VALUE, AbstractBinaryRecordBatch.Metric.class);
+    register(CoreOperatorType.WINDOW_VALUE, WindowFrameRecordBatch.Metric.class);
+    register(CoreOperatorType.JSON_SUB_SCAN_VALUE, JSONRecordReader.Metric.class);
   }
 
   private static void register(final int operatorType, final Class<? extends MetricDef> metricDef) {
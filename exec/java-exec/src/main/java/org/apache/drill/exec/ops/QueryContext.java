@@ -18,6 +18,7 @@
 package org.apache.drill.exec.ops;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -76,6 +77,8 @@ public class QueryContext implements AutoCloseable, OptimizerRulesContext, Schem
   private final SchemaTreeProvider schemaTreeProvider;
   /** Stores constants and their holders by type */
   private final Map<String, Map<MinorType, ValueHolder>> constantValueHolderCache;
+  /** Time (ms) spent in each planning phase, in the order the phases ran */
+  private final Map<String, Long> planningPhaseTimes = new LinkedHashMap<>();
 
   /*
    * Flag to indicate if close has been called, after calling close the first
@@ -269,6 +272,23 @@ public class QueryContext implements AutoCloseable, OptimizerRulesContext, Schem
     return queryContextInfo;
   }
 
+  /**
+   * Adds the time spent in a planning phase; the times of a phase which runs more than once are summed up.
+   *
+   * @param phase name of the planning phase
+   * @param millis time spent in the phase
+   */
+  public void addPlanningPhaseTime(String phase, long millis) {
+    planningPhaseTimes.merge(phase, millis, Long::sum);
+  }
+
+  /**
+   * @return time (ms) spent in each planning phase, in the order the phases ran
+   */
+  public Map<String, Long> getPlanningPhaseTimes() {
+    return planningPhaseTimes;
+  }
+
   public RemoteFunctionRegistry getRemoteFunctionRegistry() {
     return drillbitContext.getRemoteFunctionRegistry();
   }
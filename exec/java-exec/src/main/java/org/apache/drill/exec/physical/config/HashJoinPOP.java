@@ -47,6 +47,7 @@ public class HashJoinPOP extends AbstractJoinPop {
 
   private final boolean isRowKeyJoin;
   private final int joinControl;
+  private final boolean antiJoin;
   @JsonProperty("subScanForRowKeyJoin")
   private SubScan subScanForRowKeyJoin;
 
@@ -57,9 +58,13 @@ public class HashJoinPOP extends AbstractJoinPop {
                      @JsonProperty("semiJoin") boolean semiJoin,
                      @JsonProperty("runtimeFilterDef") RuntimeFilterDef runtimeFilterDef,
                      @JsonProperty("isRowKeyJoin") boolean isRowKeyJoin,
-                     @JsonProperty("joinControl") int joinControl) {
+                     @JsonProperty("joinControl") int joinControl,
+                     @JsonProperty("antiJoin") boolean antiJoin) {
     super(left, right, joinType, semiJoin,null, conditions);
     Preconditions.checkArgument(joinType != null, "Join type is missing for HashJoin Pop");
+    Preconditions.checkArgument(!antiJoin || joinType == JoinRelType.LEFT && !semiJoin,
+        "Anti join must be a left join");
+    this.antiJoin = antiJoin;
     this.runtimeFilterDef = runtimeFilterDef;
     this.isRowKeyJoin = isRowKeyJoin;
     this.subScanForRowKeyJoin = null;
@@ -73,7 +78,7 @@ public class HashJoinPOP extends AbstractJoinPop {
                      RuntimeFilterDef runtimeFilterDef,
                      boolean isRowKeyJoin,
                      int joinControl){
-    this(left, right, conditions, joinType, false, runtimeFilterDef, isRowKeyJoin, joinControl);
+    this(left, right, conditions, joinType, false, runtimeFilterDef, isRowKeyJoin, joinControl, false);
   }
 
   @VisibleForTesting
@@ -96,7 +101,7 @@ public class HashJoinPOP extends AbstractJoinPop {
         Preconditions.checkArgument(children.size() == 2);
 
         HashJoinPOP newHashJoin = new HashJoinPOP(children.get(0), children.get(1), conditions, joinType, semiJoin, runtimeFilterDef,
-              isRowKeyJoin, joinControl);
+              isRowKeyJoin, joinControl, antiJoin);
         newHashJoin.setMaxAllocation(getMaxAllocation());
         newHashJoin.setSubScanForRowKeyJoin(this.getSubScanForRowKeyJoin());
         return newHashJoin;
@@ -112,6 +117,15 @@ public class HashJoinPOP extends AbstractJoinPop {
         return joinControl;
     }
 
+    /**
+     * @return true if only the probe side rows without any match on the build side are returned,
+     * with nulls for the build side columns (a left join that keeps its unmatched rows only)
+     */
+    @JsonProperty("antiJoin")
+    public boolean isAntiJoin() {
+        return antiJoin;
+    }
+
     @JsonProperty("subScanForRowKeyJoin")
     public SubScan getSubScanForRowKeyJoin() {
         return subScanForRowKeyJoin;
@@ -127,7 +141,7 @@ public class HashJoinPOP extends AbstractJoinPop {
         for (JoinCondition c : conditions) {
           flippedConditions.add(c.flip());
         }
-        return new HashJoinPOP(right, left, flippedConditions, JoinRelType.LEFT, semiJoin, runtimeFilterDef, isRowKeyJoin, joinControl);
+        return new HashJoinPOP(right, left, flippedConditions, JoinRelType.LEFT, semiJoin, runtimeFilterDef, isRowKeyJoin, joinControl, antiJoin);
       } else {
         return this;
       }
@@ -21,6 +21,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import org.apache.calcite.rex.RexWindowBound;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.ops.QueryContext;
 import org.apache.drill.common.logical.data.NamedExpression;
 import org.apache.drill.common.logical.data.Order;
 import org.apache.drill.exec.physical.base.AbstractSingle;
@@ -71,6 +73,16 @@ public class WindowPOP extends AbstractSingle {
     return UserBitShared.CoreOperatorType.WINDOW_VALUE;
   }
 
+  /**
+   * The window operator buffers the batches of a partition and spills them when they don't fit in its memory
+   * @return true unless spilling is disabled
+   * @param queryContext
+   */
+  @Override
+  public boolean isBufferedOperator(QueryContext queryContext) {
+    return queryContext == null || queryContext.getOptions().getOption(ExecConstants.WINDOW_ENABLE_SPILL_VALIDATOR);
+  }
+
   public Bound getStart() {
     return start;
   }
@@ -125,6 +137,14 @@ public class WindowPOP extends AbstractSingle {
       return offset == 0;
     }
 
+    /**
+     * @return true for a n PRECEDING bound, n rows before the current row is given by a negative offset
+     */
+    @JsonIgnore
+    public boolean isPreceding() {
+      return !unbounded && offset < 0;
+    }
+
     public long getOffset() {
       return offset;
     }
@@ -138,4 +158,15 @@ public class WindowPOP extends AbstractSingle {
   public static Bound newBound(RexWindowBound windowBound) {
     return new Bound(windowBound.isUnbounded(), windowBound.isCurrentRow() ? 0 : Long.MIN_VALUE); //TODO: Get offset to work
   }
+
+  /**
+   * @param windowBound bound of the window frame
+   * @param offset number of rows of a n PRECEDING or n FOLLOWING bound, ignored for the other bounds
+   */
+  public static Bound newBound(RexWindowBound windowBound, long offset) {
+    if (windowBound.isUnbounded() || windowBound.isCurrentRow()) {
+      return newBound(windowBound);
+    }
+    return new Bound(false, windowBound.isPreceding() ? -offset : offset);
+  }
 }
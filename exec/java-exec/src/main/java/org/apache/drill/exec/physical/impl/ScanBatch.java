@@ -58,6 +58,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * Record batch used for a particular scan. Operators against one or more
@@ -91,6 +92,10 @@ public class ScanBatch implements CloseableRecordBatch {
   private List<RecordReader> readerList = null; // needed for repeatable scanners
   private boolean isRepeatableScan = false;     // needed for repeatable scanners
 
+  // decides from the implicit column values whether a reader may return rows needed downstream
+  private Predicate<Map<String, String>> readerFilter;
+  private int skippedReaders;
+
   /**
    *
    * @param context
@@ -150,6 +155,19 @@ public class ScanBatch implements CloseableRecordBatch {
     this.isRepeatableScan = isRepeatableScan;
   }
 
+  /**
+   * Sets a filter used to skip readers before they are set up, based on the values
+   * of their implicit columns, such as the partition directories of the file. It is
+   * consulted only once the scan has returned its schema, so the schema is still
+   * provided by the first reader.
+   *
+   * @param readerFilter returns false if the reader with the given implicit column
+   *                     values is known to produce no rows needed downstream
+   */
+  public void setReaderFilter(Predicate<Map<String, String>> readerFilter) {
+    this.readerFilter = readerFilter;
+  }
+
   @Override
   public FragmentContext getContext() {
     return context;
@@ -310,19 +328,42 @@ public class ScanBatch implements CloseableRecordBatch {
   }
 
   private boolean getNextReaderIfHas() throws ExecutionSetupException {
-    if (!readers.hasNext()) {
-      return false;
-    }
-    currentReader = readers.next();
-    if (!isRepeatableScan && readers.hasNext()) {
-      readers.remove();
+    while (true) {
+      if (!readers.hasNext()) {
+        return false;
+      }
+      currentReader = readers.next();
+      if (!isRepeatableScan && readers.hasNext()) {
+        readers.remove();
+      }
+      implicitValues = implicitColumns.hasNext() ? implicitColumns.next() : null;
+      if (!canSkipReader()) {
+        break;
+      }
+      skippedReaders++;
+      logger.debug("Skipped reader with implicit columns {}, {} readers skipped so far",
+          implicitValues, skippedReaders);
+      // the reader was never set up, but may hold resources acquired when it was created
+      try {
+        currentReader.close();
+      } catch (final Exception e) {
+        logger.error("Close failed for skipped reader " + currentReader.getClass().getSimpleName(), e);
+      }
+      currentReader = null;
     }
-    implicitValues = implicitColumns.hasNext() ? implicitColumns.next() : null;
     currentReader.setup(oContext, mutator);
     currentReaderClassName = currentReader.getClass().getSimpleName();
     return true;
   }
 
+  private boolean canSkipReader() {
+    return readerFilter != null
+        && !isRepeatableScan
+        && schema != null
+        && implicitValues != null
+        && !readerFilter.test(implicitValues);
+  }
+
   private void addImplicitVectors() {
     try {
       if (!implicitColumnList.isEmpty()) {
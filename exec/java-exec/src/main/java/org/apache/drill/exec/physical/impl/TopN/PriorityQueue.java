@@ -82,5 +82,11 @@ public interface PriorityQueue {
 
   boolean isInitialized();
 
+  /**
+   * @return true if the queue holds limit records, the root of the heap ({@link #getSv4()} index 0) is then the
+   * last record of the TopN so far
+   */
+  boolean isFull();
+
   TemplateClassDefinition<PriorityQueue> TEMPLATE_DEFINITION = new TemplateClassDefinition<>(PriorityQueue.class, PriorityQueueTemplate.class);
 }
@@ -194,6 +194,11 @@ public abstract class PriorityQueueTemplate implements PriorityQueue {
     return (heapSv4 != null);
   }
 
+  @Override
+  public boolean isFull() {
+    return heapSv4 != null && limit > 0 && queueSize == limit;
+  }
+
   /**
    * Perform Heapify for the record stored at index which was added as leaf node in the array. The new record is
    * compared with the record stored at parent index. Since the new record index will flow up in the array hence the
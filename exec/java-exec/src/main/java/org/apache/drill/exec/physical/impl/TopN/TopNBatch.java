@@ -44,6 +44,7 @@ import org.apache.drill.exec.expr.fn.FunctionLookupContext;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.physical.config.TopN;
+import org.apache.drill.exec.physical.impl.filter.FilterRecordBatch;
 import org.apache.drill.exec.physical.impl.sort.RecordBatchData;
 import org.apache.drill.exec.physical.impl.sort.SortRecordBatchBuilder;
 import org.apache.drill.exec.physical.impl.svremover.Copier;
@@ -92,6 +93,7 @@ public class TopNBatch extends AbstractRecordBatch<TopN> {
   private final boolean codegenDump;
 
   private final RecordBatch incoming;
+  private final TopNThreshold threshold;
   private BatchSchema schema;
   private boolean schemaChanged = false;
   private PriorityQueue priorityQueue;
@@ -113,6 +115,11 @@ public class TopNBatch extends AbstractRecordBatch<TopN> {
     DrillConfig drillConfig = context.getConfig();
     batchPurgeThreshold = drillConfig.getInt(ExecConstants.BATCH_PURGE_THRESHOLD);
     codegenDump = drillConfig.getBoolean(CodeCompiler.ENABLE_SAVE_CODE_FOR_DEBUG_TOPN);
+    threshold = new TopNThreshold(popConfig.getOrderings().get(0));
+    // publish the threshold to the filter feeding the TopN, so rows which can't qualify are dropped there
+    if (incoming instanceof FilterRecordBatch) {
+      ((FilterRecordBatch) incoming).setTopNThreshold(threshold);
+    }
   }
 
   @Override
@@ -246,11 +253,14 @@ public class TopNBatch extends AbstractRecordBatch<TopN> {
             } else {
               this.schema = incoming.getSchema();
             }
+            threshold.bind(this.schema);
           }
           // fall through.
         case OK:
         case EMIT:
-          if (incoming.getRecordCount() == 0) {
+          // a batch whose rows all sort after the current threshold can't change the TopN
+          if (incoming.getRecordCount() == 0 || (!schemaChanged && !threshold.mayQualifyAny(incoming,
+              incomingHasSv2 ? incoming.getSelectionVector2() : null, incoming.getRecordCount()))) {
             for (VectorWrapper<?> w : incoming) {
               w.clear();
             }
@@ -286,6 +296,9 @@ public class TopNBatch extends AbstractRecordBatch<TopN> {
               countSincePurge = 0;
               batchCount = 0;
             }
+            if (priorityQueue.isFull()) {
+              threshold.update(priorityQueue.getHyperBatch(), priorityQueue.getSv4().get(0));
+            }
             success = true;
           } finally {
             if (!success) {
@@ -497,6 +510,7 @@ public class TopNBatch extends AbstractRecordBatch<TopN> {
     countSincePurge = 0;
     batchCount = 0;
     hasOutputRecords = false;
+    threshold.reset();
     releaseResource();
   }
 
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.TopN;
+
+import org.apache.calcite.rel.RelFieldCollation.Direction;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.logical.data.Order.Ordering;
+import org.apache.drill.common.types.TypeProtos.DataMode;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.record.BatchSchema;
+import org.apache.drill.exec.record.MaterializedField;
+import org.apache.drill.exec.record.TypedFieldId;
+import org.apache.drill.exec.record.VectorAccessible;
+import org.apache.drill.exec.record.VectorWrapper;
+import org.apache.drill.exec.record.selection.SelectionVector2;
+import org.apache.drill.exec.vector.BigIntVector;
+import org.apache.drill.exec.vector.DateVector;
+import org.apache.drill.exec.vector.Float4Vector;
+import org.apache.drill.exec.vector.Float8Vector;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.vector.NullableVector;
+import org.apache.drill.exec.vector.TimeStampVector;
+import org.apache.drill.exec.vector.TimeVector;
+import org.apache.drill.exec.vector.ValueVector;
+
+/**
+ * Running threshold of a TopN: the value of the leading sort key of the row at the root of the priority queue, once
+ * the queue holds limit rows. A row whose leading key sorts strictly after the threshold can't make it into the
+ * result anymore, so it can be dropped before reaching the queue: by the TopN itself, a batch at a time, and by a
+ * {@link org.apache.drill.exec.physical.impl.filter.FilterRecordBatch} feeding the TopN, a row at a time.
+ * <p>
+ * Only a leading sort key which is a column of an integer, floating point, date or time type is supported. With any
+ * other leading key the threshold is never set and no row is dropped. Rows with a NaN key are never dropped.
+ */
+public class TopNThreshold {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TopNThreshold.class);
+
+  private final SchemaPath column;
+  private final boolean descending;
+  private final boolean nullsSortHigh;
+
+  private MinorType type; // null if the leading key of the current schema isn't supported
+  private boolean set;
+  private boolean thresholdIsNull;
+  private long longValue;
+  private double doubleValue;
+
+  public TopNThreshold(Ordering leadingOrdering) {
+    this.column = leadingOrdering.getExpr() instanceof SchemaPath && ((SchemaPath) leadingOrdering.getExpr()).isSimplePath()
+        ? (SchemaPath) leadingOrdering.getExpr()
+        : null;
+    this.descending = leadingOrdering.getDirection() == Direction.DESCENDING;
+    this.nullsSortHigh = leadingOrdering.nullsSortHigh();
+  }
+
+  /**
+   * Resolves the type of the leading sort key in a new schema, and resets the threshold.
+   */
+  public void bind(BatchSchema schema) {
+    reset();
+    type = null;
+    if (column == null) {
+      return;
+    }
+    for (MaterializedField field : schema) {
+      if (field.getName().equalsIgnoreCase(column.getRootSegmentPath())) {
+        if (field.getDataMode() != DataMode.REPEATED && isSupported(field.getType().getMinorType())) {
+          type = field.getType().getMinorType();
+        }
+        break;
+      }
+    }
+  }
+
+  private static boolean isSupported(MinorType type) {
+    switch (type) {
+      case INT:
+      case BIGINT:
+      case FLOAT4:
+      case FLOAT8:
+      case DATE:
+      case TIME:
+      case TIMESTAMP:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  public void reset() {
+    set = false;
+  }
+
+  /**
+   * @return true if rows can be dropped
+   */
+  public boolean isSet() {
+    return set;
+  }
+
+  /**
+   * Sets the threshold to the leading key of a row of the priority queue.
+   * @param hyperBatch hyper batch of the priority queue
+   * @param sv4Index SV4 index of the row, in the hyper batch
+   */
+  public void update(VectorAccessible hyperBatch, int sv4Index) {
+    if (type == null) {
+      return;
+    }
+    final VectorWrapper<?> wrapper = getWrapper(hyperBatch);
+    if (wrapper == null) {
+      return;
+    }
+    final ValueVector vector = wrapper.getValueVectors()[sv4Index >>> 16];
+    final int index = sv4Index & 0xFFFF;
+    thresholdIsNull = vector.getAccessor().isNull(index);
+    if (!thresholdIsNull) {
+      if (isFloating()) {
+        doubleValue = getDouble(vector, index);
+      } else {
+        longValue = getLong(vector, index);
+      }
+    }
+    if (!set) {
+      logger.debug("TopN threshold set on {}", column);
+    }
+    set = true;
+  }
+
+  /**
+   * @return true if at least one row of the batch may be part of the result
+   */
+  public boolean mayQualifyAny(VectorAccessible batch, SelectionVector2 sv2, int recordCount) {
+    if (!set) {
+      return recordCount > 0;
+    }
+    final ValueVector vector = getVector(batch);
+    if (vector == null) {
+      return recordCount > 0;
+    }
+    for (int i = 0; i < recordCount; i++) {
+      if (mayQualify(vector, sv2 == null ? i : sv2.getIndex(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Removes from a selection vector the rows which can't be part of the result.
+   * @return number of rows left in the selection vector
+   */
+  public int filter(VectorAccessible batch, SelectionVector2 sv2, int recordCount) {
+    if (!set) {
+      return recordCount;
+    }
+    final ValueVector vector = getVector(batch);
+    if (vector == null) {
+      return recordCount;
+    }
+    int count = 0;
+    for (int i = 0; i < recordCount; i++) {
+      final char index = sv2.getIndex(i);
+      if (mayQualify(vector, index)) {
+        sv2.setIndex(count++, index);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return false if the row at index sorts strictly after the threshold
+   */
+  boolean mayQualify(ValueVector vector, int index) {
+    final boolean isNull = vector.getAccessor().isNull(index);
+    int cmp;
+    if (isNull || thresholdIsNull) {
+      if (isNull && thresholdIsNull) {
+        return true;
+      }
+      cmp = isNull == nullsSortHigh ? 1 : -1;
+    } else if (isFloating()) {
+      final double value = getDouble(vector, index);
+      if (value < doubleValue) {
+        cmp = -1;
+      } else if (value > doubleValue) {
+        cmp = 1;
+      } else {
+        // equal, or NaN
+        return true;
+      }
+    } else {
+      cmp = Long.compare(getLong(vector, index), longValue);
+    }
+    return (descending ? -cmp : cmp) <= 0;
+  }
+
+  private VectorWrapper<?> getWrapper(VectorAccessible batch) {
+    final TypedFieldId fieldId = batch.getValueVectorId(column);
+    if (fieldId == null || fieldId.getFieldIds().length != 1
+        || fieldId.getFinalType().getMinorType() != type) {
+      return null;
+    }
+    return batch.getValueAccessorById(ValueVector.class, fieldId.getFieldIds());
+  }
+
+  private ValueVector getVector(VectorAccessible batch) {
+    final VectorWrapper<?> wrapper = getWrapper(batch);
+    return wrapper == null ? null : wrapper.getValueVector();
+  }
+
+  private boolean isFloating() {
+    return type == MinorType.FLOAT4 || type == MinorType.FLOAT8;
+  }
+
+  private long getLong(ValueVector vector, int index) {
+    final ValueVector values = vector instanceof NullableVector ? ((NullableVector) vector).getValuesVector() : vector;
+    switch (type) {
+      case INT:
+        return ((IntVector) values).getAccessor().get(index);
+      case BIGINT:
+        return ((BigIntVector) values).getAccessor().get(index);
+      case DATE:
+        return ((DateVector) values).getAccessor().get(index);
+      case TIME:
+        return ((TimeVector) values).getAccessor().get(index);
+      case TIMESTAMP:
+        return ((TimeStampVector) values).getAccessor().get(index);
+      default:
+        throw new IllegalStateException("Unexpected type " + type);
+    }
+  }
+
+  private double getDouble(ValueVector vector, int index) {
+    final ValueVector values = vector instanceof NullableVector ? ((NullableVector) vector).getValuesVector() : vector;
+    switch (type) {
+      case FLOAT4:
+        return ((Float4Vector) values).getAccessor().get(index);
+      case FLOAT8:
+        return ((Float8Vector) values).getAccessor().get(index);
+      default:
+        throw new IllegalStateException("Unexpected type " + type);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "TopNThreshold[column=" + column
+        + ", type=" + type
+        + ", set=" + set
+        + ", thresholdIsNull=" + thresholdIsNull
+        + ", value=" + (isFloating() ? doubleValue : longValue)
+        + "]";
+  }
+}
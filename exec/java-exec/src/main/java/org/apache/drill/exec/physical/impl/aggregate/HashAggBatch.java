@@ -21,6 +21,8 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.apache.drill.exec.planner.physical.AggPrelBase;
 import org.apache.drill.shaded.guava.com.google.common.collect.Lists;
@@ -47,6 +49,7 @@ import org.apache.drill.exec.expr.ValueVectorWriteExpression;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.physical.config.HashAggregate;
 import org.apache.drill.exec.physical.impl.aggregate.HashAggregator.AggOutcome;
+import org.apache.drill.exec.physical.impl.common.ChainedHashTable;
 import org.apache.drill.exec.physical.impl.common.Comparator;
 import org.apache.drill.exec.physical.impl.common.HashTable;
 import org.apache.drill.exec.physical.impl.common.HashTableConfig;
@@ -423,13 +426,30 @@ public class HashAggBatch extends AbstractRecordBatch<HashAggregate> {
     cg.getBlock("resetValues")._return(JExpr.TRUE);
 
     container.buildSchema(SelectionVectorMode.NONE);
-    HashAggregator agg = context.getImplementationClass(top);
 
     HashTableConfig htConfig =
         // TODO - fix the validator on this option
         new HashTableConfig((int)context.getOptions().getOption(ExecConstants.MIN_HASH_TABLE_SIZE),
             HashTable.DEFAULT_LOAD_FACTOR, popConfig.getGroupByExprs(), null /* no probe exprs */, comparators);
 
+    // The hash tables are created once the data arrives; compile their class on the compile pool
+    // while the aggregator class is compiled here
+    final Future<?> hashTableCompilation = new ChainedHashTable(htConfig, context, oContext.getAllocator(), incoming,
+        null /* no incoming probe */, this).compileHashTableAsync(groupByOutFieldIds);
+    final HashAggregator agg;
+    try {
+      agg = context.getImplementationClass(top);
+      hashTableCompilation.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SchemaChangeException(e);
+    } catch (ExecutionException e) {
+      throw new ClassTransformationException(e.getCause());
+    } finally {
+      // no effect once compiled; otherwise stops a compilation not started yet
+      hashTableCompilation.cancel(false);
+    }
+
     agg.setup(popConfig, htConfig, context, oContext, incoming, this,
         aggrExprs,
         cgInner.getWorkspaceTypes(),
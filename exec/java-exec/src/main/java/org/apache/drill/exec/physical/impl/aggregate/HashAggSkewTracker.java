@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.aggregate;
+
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+
+/**
+ * A helper class used by {@link HashAggTemplate} to detect spilled partitions that re-partitioning does not split.
+ * <p>
+ * The distinct groups put into each partition are counted while a spilled partition is read back and re-partitioned.
+ * Rows are not counted, as the rows of a single heavy key make up only one group which never needs to spill again.
+ * When (almost) all the groups land in a single partition again, and that partition spills again, further spill cycles
+ * would make no progress. A skew is only remembered for the cycle it was found in, so a deep spill only fails when
+ * the skew persists from cycle to cycle.
+ * </p>
+ */
+class HashAggSkewTracker {
+  // a spilled partition that gets this percentage (or more) of the groups of its parent when re-partitioned is skewed
+  static final int SKEWED_PARTITION_PERCENT = 90;
+
+  private final long[] partitionGroups; // count number of groups put into each partition, of the current incoming
+  private long incomingGroups; // count number of groups put into all the partitions, of the current incoming
+  private int maxSkewPercent; // largest share (percent) of its parent's groups that a spilled partition got
+  private boolean skewDetected; // a spilled partition of the current cycle was not split by re-partitioning
+
+  HashAggSkewTracker(int numPartitions) {
+    partitionGroups = new long[numPartitions];
+  }
+
+  /**
+   * Starts counting the groups of a new incoming (the original one, or a spilled partition read back).
+   */
+  public void reset() {
+    for (int i = 0; i < partitionGroups.length; i++) {
+      partitionGroups[i] = 0;
+    }
+    incomingGroups = 0;
+  }
+
+  /**
+   * Counts a new group put into a partition.
+   * @param part the partition
+   */
+  public void addGroup(int part) {
+    partitionGroups[part]++;
+    incomingGroups++;
+  }
+
+  /**
+   * Checks the share of the groups of the current incoming that a partition, which is being spilled, got.
+   * @param part the spilled partition
+   * @param reSpill true if the current incoming is itself a spilled partition read back
+   * @return the share (percent) of the groups the partition got
+   */
+  public int checkSpilledPartition(int part, boolean reSpill) {
+    if ( incomingGroups == 0 ) { return 0; }
+    int skewPercent = (int) (partitionGroups[part] * 100 / incomingGroups);
+    maxSkewPercent = Math.max(maxSkewPercent, skewPercent);
+    if ( reSpill && skewPercent >= SKEWED_PARTITION_PERCENT ) {
+      skewDetected = true;
+    }
+    return skewPercent;
+  }
+
+  /**
+   * Forgets the skew found so far; called once the spill cycle advances.
+   */
+  public void startCycle() {
+    skewDetected = false;
+  }
+
+  public boolean isSkewDetected() {
+    return skewDetected;
+  }
+
+  public int getMaxSkewPercent() {
+    return maxSkewPercent;
+  }
+
+  public String getFailureMessage() {
+    return String.format("Hash Aggregate can not partition the group keys any further, %d%% of the groups of a " +
+      "spilled partition fell into the same partition again, cycle after cycle (the group keys hash alike). " +
+      "Consider disabling the Hash Aggregate (%s) to aggregate by sorting instead", maxSkewPercent,
+      PlannerSettings.HASHAGG.getOptionName());
+  }
+}
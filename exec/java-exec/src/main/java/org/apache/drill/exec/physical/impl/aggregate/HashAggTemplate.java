@@ -113,6 +113,13 @@ public abstract class HashAggTemplate implements HashAggregator {
   private ChainedHashTable baseHashTable;
   private boolean earlyOutput = false; // when 1st phase returns a partition due to no memory
   private int earlyPartition = 0; // which partition to return early
+  private double partialMinReduction; // 1st phase: min rows per group to keep accumulating groups (0 - always)
+  private long partialSampleRows; // 1st phase: incoming rows observed before deciding whether accumulating groups is worth it
+  private long partialFlushes = 0; // 1st phase: incoming batches after which all the groups were returned
+  private long sampledRows = 0; // 1st phase: rows aggregated while sampling the reduction
+  private long sampledGroups = 0; // 1st phase: groups created while sampling the reduction
+  private boolean flushEachBatch = false; // 1st phase with a poor reduction: return all groups after each incoming batch
+  private boolean flushingAll = false; // returning early all the partitions, one after the other
   private boolean retrySameIndex = false; // in case put failed during 1st phase - need to output early, then retry
   private boolean useMemoryPrediction = false; // whether to use memory prediction to decide when to spill
   private long estMaxBatchSize = 0; // used for adjusting #partitions and deciding when to spill
@@ -132,6 +139,8 @@ public abstract class HashAggTemplate implements HashAggregator {
   private IterOutcome outcome;
   private int numGroupedRecords = 0;
   private int currentBatchRecordCount = 0; // Performance: Avoid repeated calls to getRecordCount()
+  private boolean batchHashed = false; // the hash codes of the current batch were computed
+  private int[] batchHashCodes; // the hash codes of the current batch computed at once, or null
 
   private int lastBatchOutputCount = 0;
   private RecordBatch incoming;
@@ -157,6 +166,7 @@ public abstract class HashAggTemplate implements HashAggregator {
   private int spilledBatchesCount[]; // count number of batches spilled, in each partition
   private String spillFiles[];
   private int originalPartition = -1; // the partition a secondary reads from
+  private HashAggSkewTracker skewTracker; // detects spilled partitions that re-partitioning does not split
 
   private IndexPointer htIdxHolder; // holder for the Hashtable's internal index returned by put()
   private int numGroupByOutFields = 0; // Note: this should be <= number of group-by fields
@@ -205,12 +215,12 @@ public abstract class HashAggTemplate implements HashAggregator {
 
     @Override
     public void cleanup() {
-      this.cleanup();
+      HashAggTemplate.this.cleanup();
     }
 
     @Override
     public String getFailureMessage() {
-      return null;
+      return skewTracker.getFailureMessage();
     }
 
     @Override
@@ -220,7 +230,8 @@ public abstract class HashAggTemplate implements HashAggregator {
 
     @Override
     public boolean hasPartitionLimit() {
-      return false;
+      // Every cycle partitions on freshly mixed hash bits, so only a skewed partition may recur for ever
+      return skewTracker.isSkewDetected();
     }
   }
 
@@ -244,7 +255,9 @@ public abstract class HashAggTemplate implements HashAggregator {
     OUTPUT_BATCH_COUNT,
     AVG_OUTPUT_BATCH_BYTES,
     AVG_OUTPUT_ROW_BYTES,
-    OUTPUT_RECORD_COUNT;
+    OUTPUT_RECORD_COUNT,
+    SPILL_SKEW_PERCENT, // largest share of the groups of its parent that a spilled partition got
+    PARTIAL_FLUSHES; // 1st phase with a poor reduction: number of incoming batches after which all the groups were returned
 
     @Override
     public int metricId() {
@@ -383,6 +396,8 @@ public abstract class HashAggTemplate implements HashAggregator {
     this.useMemoryPrediction = context.getOptions().getOption(ExecConstants.HASHAGG_USE_MEMORY_PREDICTION_VALIDATOR);
     this.phase = hashAggrConfig.getAggPhase();
     canSpill = phase.hasTwo(); // single phase can not spill
+    partialMinReduction = phase.is1st() ? context.getOptions().getOption(ExecConstants.HASHAGG_PARTIAL_MIN_REDUCTION_VALIDATOR) : 0;
+    partialSampleRows = context.getOptions().getOption(ExecConstants.HASHAGG_PARTIAL_SAMPLE_ROWS_VALIDATOR);
 
     // Typically for testing - force a spill after a partition has more than so many batches
     minBatchesPerPartition = context.getOptions().getOption(ExecConstants.HASHAGG_MIN_BATCHES_PER_PARTITION_VALIDATOR);
@@ -511,6 +526,7 @@ public abstract class HashAggTemplate implements HashAggregator {
     writers = new Writer[numPartitions];
     spilledBatchesCount = new int[numPartitions];
     spillFiles = new String[numPartitions];
+    skewTracker = new HashAggSkewTracker(numPartitions);
 
     plannedBatches = numPartitions; // each partition should allocate its first batch
 
@@ -549,6 +565,7 @@ public abstract class HashAggTemplate implements HashAggregator {
     baseHashTable.updateIncoming(newIncoming, null); // after a spill - a new incoming
     this.incoming = newIncoming;
     currentBatchRecordCount = newIncoming.getRecordCount(); // first batch in this spill file
+    batchHashed = false;
     nextPartitionToReturn = 0;
     for (int i = 0; i < spilledState.getNumPartitions(); i++ ) {
       htables[i].updateIncoming(newIncoming.getContainer(), null);
@@ -565,6 +582,7 @@ public abstract class HashAggTemplate implements HashAggregator {
       spilledBatchesCount[i] = 0;
       spillFiles[i] = null;
     }
+    skewTracker.reset();
   }
 
   /**
@@ -674,6 +692,13 @@ public abstract class HashAggTemplate implements HashAggregator {
         logger.debug("Processed {} records", underlyingIndex);
       }
 
+      // 1st phase with a poor reduction: do not hold the groups, return them (all the partitions) downstream
+      if ( flushEachBatch && ! handleEmit && startFlushingAll() ) {
+        stats.setLongStat(Metric.PARTIAL_FLUSHES, ++partialFlushes);
+        outputCurrentBatch();
+        return AggOutcome.RETURN_OUTCOME;
+      }
+
       // Cleanup the previous batch since we are done processing it.
       for (VectorWrapper<?> v : incoming) {
         v.getValueVector().clear();
@@ -961,6 +986,7 @@ public abstract class HashAggTemplate implements HashAggregator {
 
   private final void resetIndex() {
     underlyingIndex = -1; // will become 0 in incIndex()
+    batchHashed = false; // a new batch
     incIndex();
   }
 
@@ -1155,6 +1181,7 @@ public abstract class HashAggTemplate implements HashAggregator {
         // If this partition was spilled - spill the rest of it and skip it
         //
         if ( isSpilled(nextPartitionToReturn) ) {
+          updateSkew(nextPartitionToReturn);
           spillAPartition(nextPartitionToReturn); // spill the rest
           HashAggSpilledPartition sp = new HashAggSpilledPartition(
             spilledState.getCycle(),
@@ -1214,7 +1241,9 @@ public abstract class HashAggTemplate implements HashAggregator {
           throw new RuntimeException(e);
         }
 
+        int prevCycle = spilledState.getCycle();
         spilledState.updateCycle(stats, sp, updater);
+        if ( spilledState.getCycle() != prevCycle ) { skewTracker.startCycle(); } // only a skew of every cycle fails
         return AggIterOutcome.AGG_RESTART;
       }
 
@@ -1275,6 +1304,9 @@ public abstract class HashAggTemplate implements HashAggregator {
         }
         outBatchIndex[earlyPartition] = 0; // reset, for next time
         earlyOutput = false; // done with early output
+        if ( flushingAll ) {
+          flushingAll = startFlushingAll(); // go on with the next partition, if any
+        }
       }
       else if ( handleEmit ) {
         // When returning the last outgoing batch (following an incoming EMIT), then replace OK with EMIT
@@ -1297,6 +1329,39 @@ public abstract class HashAggTemplate implements HashAggregator {
     return AggIterOutcome.AGG_OK;
   }
 
+  /**
+   * Start returning early the next partition holding groups, when all the groups are returned
+   * after each incoming batch.
+   * @return true if a partition was picked, false if there is no group to return
+   */
+  private boolean startFlushingAll() {
+    for (int part = 0; part < spilledState.getNumPartitions(); part++) {
+      if ( batchHolders[part].size() > 0 && batchHolders[part].get(0).getNumPendingOutput() > 0 ) {
+        earlyOutput = true;
+        earlyPartition = part;
+        flushingAll = true;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 1st phase: after sampling enough incoming rows, stop accumulating the groups if they reduce the rows too little;
+   * the 2nd phase would repeat the same work on nearly as many rows, so holding the groups only costs memory.
+   */
+  private void updatePartialReduction(boolean newGroup) {
+    sampledRows++;
+    if ( newGroup ) { sampledGroups++; }
+    if ( sampledRows == partialSampleRows ) {
+      flushEachBatch = sampledRows < partialMinReduction * sampledGroups;
+      if ( flushEachBatch ) {
+        logger.debug("1st phase reduction of {} rows into {} groups is below {}; returning the groups after each batch",
+            sampledRows, sampledGroups, partialMinReduction);
+      }
+    }
+  }
+
   @Override
   public boolean allFlushed() {
     return allFlushed;
@@ -1341,6 +1406,40 @@ public abstract class HashAggTemplate implements HashAggregator {
     return errmsg;
   }
 
+  /**
+   * Mixes the hash code with a seed specific to the spill cycle, so that every cycle partitions on new hash bits
+   * (shifting the same hash code would run out of bits after a few cycles, and then put all the rows into the same
+   * partition for ever). The first cycle uses the hash code as is.
+   * @param hashCode the hash code of the group keys
+   * @param cycle the spill cycle
+   * @return the hash code to partition the row with
+   */
+  private int cycleHashCode(int hashCode, int cycle) {
+    if ( cycle == 0 ) { return hashCode; }
+    int h = hashCode ^ (cycle * 0x9E3779B9); // the Murmur3 finalizer, seeded with the cycle
+    h ^= h >>> 16;
+    h *= 0x85EBCA6B;
+    h ^= h >>> 13;
+    h *= 0xC2B2AE35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  /**
+   * Records the share of the groups of the current incoming that a spilled partition got. When re-partitioning a
+   * spilled partition leaves (almost) all of its groups in a single partition, the keys are skewed and further spill
+   * cycles would not make progress.
+   * @param part the spilled partition
+   */
+  private void updateSkew(int part) {
+    int skewPercent = skewTracker.checkSpilledPartition(part, !spilledState.isFirstCycle());
+    stats.setLongStat(Metric.SPILL_SKEW_PERCENT, skewTracker.getMaxSkewPercent());
+    if ( !spilledState.isFirstCycle() && skewPercent >= HashAggSkewTracker.SKEWED_PARTITION_PERCENT ) {
+      logger.debug("HashAggregate: Spilled partition {} got {}% of the groups in cycle {}", part, skewPercent,
+        spilledState.getCycle());
+    }
+  }
+
   private int getTargetBatchCount() {
     return outgoing.getOutputRowCount();
   }
@@ -1357,15 +1456,17 @@ public abstract class HashAggTemplate implements HashAggregator {
     int hashCode;
     try {
       // htables[0].updateBatches();
-      hashCode = htables[0].getBuildHashCode(incomingRowIdx);
+      if ( !batchHashed ) {
+        batchHashCodes = htables[0].getBuildHashCodes(); // all the rows of the batch in one pass, if supported
+        batchHashed = true;
+      }
+      hashCode = batchHashCodes != null ? batchHashCodes[incomingRowIdx] : htables[0].getBuildHashCode(incomingRowIdx);
     } catch (SchemaChangeException e) {
       throw new UnsupportedOperationException("Unexpected schema change", e);
     }
 
-    // right shift hash code for secondary (or tertiary...) spilling
-    for (int i = 0; i < spilledState.getCycle(); i++) {
-      hashCode >>>= spilledState.getBitsInMask();
-    }
+    // re-mix the hash code for secondary (or tertiary...) spilling
+    hashCode = cycleHashCode(hashCode, spilledState.getCycle());
 
     int currentPartition = hashCode & spilledState.getPartitionMask();
     hashCode >>>= spilledState.getBitsInMask();
@@ -1408,6 +1509,7 @@ public abstract class HashAggTemplate implements HashAggregator {
     } catch (SchemaChangeException e) {
         throw new UnsupportedOperationException("Unexpected schema change", e);
     }
+    if ( putStatus != HashTable.PutStatus.KEY_PRESENT ) { skewTracker.addGroup(currentPartition); }
     long allocatedBeforeAggCol = allocator.getAllocatedMemory();
     boolean needToCheckIfSpillIsNeeded = allocatedBeforeAggCol > allocatedBeforeHTput;
 
@@ -1462,6 +1564,9 @@ public abstract class HashAggTemplate implements HashAggregator {
     if (bh.updateAggrValues(incomingRowIdx, idxWithinBatch)) {
       numGroupedRecords++;
     }
+    if ( partialMinReduction > 0 && sampledRows < partialSampleRows ) {
+      updatePartialReduction(putStatus != HashTable.PutStatus.KEY_PRESENT);
+    }
 
     // ===================================================================================
     // If the last batch just became full, or other "memory growing" events happened, then
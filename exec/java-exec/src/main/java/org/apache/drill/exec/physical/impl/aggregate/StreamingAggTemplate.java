@@ -19,6 +19,7 @@ package org.apache.drill.exec.physical.impl.aggregate;
 
 import javax.inject.Named;
 
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.ops.OperatorContext;
 import org.apache.drill.exec.record.RecordBatch;
@@ -71,6 +72,8 @@ public abstract class StreamingAggTemplate implements StreamingAggregator {
 
   private OperatorContext context;
 
+  // find where each group ends in the batch first, then add all its records (see processRemainingRunsInBatch())
+  private boolean runDetection;
 
   @Override
   public void setup(OperatorContext context, RecordBatch incoming,
@@ -79,6 +82,7 @@ public abstract class StreamingAggTemplate implements StreamingAggregator {
     this.incoming = incoming;
     this.outgoing = outgoing;
     this.maxOutputRows = outputRowCount;
+    this.runDetection = context.getFragmentContext().getOptions().getOption(ExecConstants.STREAMAGG_RUN_DETECTION_VALIDATOR);
     setupInterior(incoming, outgoing);
   }
 
@@ -364,6 +368,9 @@ public abstract class StreamingAggTemplate implements StreamingAggregator {
    * @return  Boolean indicating all records were processed
    */
   private boolean processRemainingRecordsInBatch() {
+    if (runDetection) {
+      return processRemainingRunsInBatch();
+    }
     for (; underlyingIndex < incoming.getRecordCount(); incIndex()) {
       if (EXTRA_DEBUG) {
         logger.debug("Doing loop with values underlying {}, current {}", underlyingIndex, currentIndex);
@@ -404,6 +411,67 @@ public abstract class StreamingAggTemplate implements StreamingAggregator {
     return true;
   }
 
+  /**
+   * Same as {@link #processRemainingRecordsInBatch()}, but in runs: as the incoming is sorted on the group keys, the
+   * records of a group are contiguous, so the end of the current group is found first (see {@link #findRunEnd(int, int)}),
+   * and then all its records are added in a tight loop, without comparing the keys of each record.
+   * @return  Boolean indicating all records were processed
+   */
+  private boolean processRemainingRunsInBatch() {
+    final int recordCount = incoming.getRecordCount();
+    boolean newGroup = false; // the current record is known to start a new group
+    while (underlyingIndex < recordCount) {
+      if (previousIndex != -1 && (newGroup || !isSame(previousIndex, currentIndex))) {
+        if (outputToBatch(previousIndex)) {
+          // Update the indices to set the state for processing next record in incoming batch in subsequent doWork calls.
+          previousIndex = -1;
+          return false;
+        }
+      }
+      final int runEnd = findRunEnd(underlyingIndex, recordCount);
+      addedRecordCount += runEnd - underlyingIndex;
+      for (; underlyingIndex < runEnd; underlyingIndex++) {
+        addRecord(getVectorIndex(underlyingIndex));
+      }
+      previousIndex = getVectorIndex(runEnd - 1);
+      currentIndex = runEnd < recordCount ? getVectorIndex(runEnd) : Integer.MAX_VALUE;
+      newGroup = true;
+    }
+    return true;
+  }
+
+  /**
+   * Finds the end of the group of the record at the given position, by a galloping (exponential, then binary) search
+   * over the following records: a group of n records takes about 2 log(n) key comparisons, and a group of a single
+   * record just one.
+   * @param start position (in the incoming) of the first record of the group
+   * @param recordCount number of records in the incoming
+   * @return position of the first record after the group (or the record count)
+   */
+  private int findRunEnd(int start, int recordCount) {
+    final int first = getVectorIndex(start);
+    int inGroup = start; // the last position known to be in the group
+    int step = 1;
+    int outGroup = start + step; // a position known to be after the group
+    while (outGroup < recordCount && isSame(first, getVectorIndex(outGroup))) {
+      inGroup = outGroup;
+      step <<= 1;
+      outGroup = start + step;
+    }
+    if (outGroup > recordCount) {
+      outGroup = recordCount;
+    }
+    while (outGroup - inGroup > 1) {
+      final int middle = (inGroup + outGroup) >>> 1;
+      if (isSame(first, getVectorIndex(middle))) {
+        inGroup = middle;
+      } else {
+        outGroup = middle;
+      }
+    }
+    return outGroup;
+  }
+
   private final void incIndex() {
     underlyingIndex++;
     if (underlyingIndex >= incoming.getRecordCount()) {
@@ -19,6 +19,7 @@ package org.apache.drill.exec.physical.impl.common;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Future;
 
 import org.apache.drill.common.expression.ErrorCollector;
 import org.apache.drill.common.expression.ErrorCollectorImpl;
@@ -39,6 +40,7 @@ import org.apache.drill.exec.expr.TypeHelper;
 import org.apache.drill.exec.expr.ValueVectorReadExpression;
 import org.apache.drill.exec.expr.ValueVectorWriteExpression;
 import org.apache.drill.exec.expr.fn.FunctionGenerationHelper;
+import org.apache.drill.exec.expr.fn.impl.BatchHasher;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.physical.impl.join.JoinUtils;
@@ -139,6 +141,50 @@ public class ChainedHashTable {
 
   public HashTable createAndSetupHashTable(TypedFieldId[] outKeyFieldIds) throws ClassTransformationException,
       IOException, SchemaChangeException {
+    LogicalExpression[] keyExprsBuild = new LogicalExpression[htConfig.getKeyExprsBuild().size()];
+    LogicalExpression[] keyExprsProbe = null;
+    boolean isProbe = (htConfig.getKeyExprsProbe() != null);
+    if (isProbe) {
+      keyExprsProbe = new LogicalExpression[htConfig.getKeyExprsProbe().size()];
+    }
+    VectorContainer htContainerOrig = new VectorContainer(); // original ht container from which others may be cloned
+    CodeGenerator<HashTable> top = generateHashTable(outKeyFieldIds, keyExprsBuild, keyExprsProbe, htContainerOrig);
+    ClassGenerator<HashTable> cgInner = top.getRoot().getInnerGenerator("BatchHolder");
+
+    HashTable ht = context.getImplementationClass(top);
+    ht.setup(htConfig, allocator, incomingBuild.getContainer(), incomingProbe, outgoing, htContainerOrig, context, cgInner);
+    ht.setBatchHashers(BatchHasher.create(keyExprsBuild), isProbe ? BatchHasher.create(keyExprsProbe) : null);
+
+    return ht;
+  }
+
+  /**
+   * Starts compiling the hash table class on the compile pool, so that the hash tables later created by
+   * {@link #createAndSetupHashTable(TypedFieldId[])} find it in the code cache. Lets the operator compile its other
+   * classes meanwhile.
+   *
+   * @return future completing once the class is compiled, to be cancelled if the operator setup fails before
+   */
+  public Future<?> compileHashTableAsync(TypedFieldId[] outKeyFieldIds) throws SchemaChangeException {
+    LogicalExpression[] keyExprsBuild = new LogicalExpression[htConfig.getKeyExprsBuild().size()];
+    LogicalExpression[] keyExprsProbe = htConfig.getKeyExprsProbe() == null ?
+        null : new LogicalExpression[htConfig.getKeyExprsProbe().size()];
+    VectorContainer htContainerOrig = new VectorContainer();
+    try {
+      // the instance is not used, its members need not be injected
+      return context.getCompiler().createInstanceAsync(
+          generateHashTable(outKeyFieldIds, keyExprsBuild, keyExprsProbe, htContainerOrig));
+    } finally {
+      htContainerOrig.clear();
+    }
+  }
+
+  /**
+   * Generates the hash table class, filling the materialized key expressions (no probe expressions when the
+   * given array is null) and the key vectors of the original hash table container.
+   */
+  private CodeGenerator<HashTable> generateHashTable(TypedFieldId[] outKeyFieldIds, LogicalExpression[] keyExprsBuild,
+      LogicalExpression[] keyExprsProbe, VectorContainer htContainerOrig) throws SchemaChangeException {
     CodeGenerator<HashTable> top = CodeGenerator.get(HashTable.TEMPLATE_DEFINITION, context.getOptions());
     top.plainJavaCapable(true);
     // Uncomment out this line to debug the generated code.
@@ -149,15 +195,9 @@ public class ChainedHashTable {
     ClassGenerator<HashTable> cg = top.getRoot();
     ClassGenerator<HashTable> cgInner = cg.getInnerGenerator("BatchHolder");
 
-    LogicalExpression[] keyExprsBuild = new LogicalExpression[htConfig.getKeyExprsBuild().size()];
-    LogicalExpression[] keyExprsProbe = null;
-    boolean isProbe = (htConfig.getKeyExprsProbe() != null);
-    if (isProbe) {
-      keyExprsProbe = new LogicalExpression[htConfig.getKeyExprsProbe().size()];
-    }
+    boolean isProbe = (keyExprsProbe != null);
 
     ErrorCollector collector = new ErrorCollectorImpl();
-    VectorContainer htContainerOrig = new VectorContainer(); // original ht container from which others may be cloned
     TypedFieldId[] htKeyFieldIds = new TypedFieldId[htConfig.getKeyExprsBuild().size()];
 
     int i = 0;
@@ -227,10 +267,7 @@ public class ChainedHashTable {
     setupGetHash(cg /* use top level code generator for getHash */, GetHashIncomingBuildMapping, incomingBuild, keyExprsBuild, false);
     setupGetHash(cg /* use top level code generator for getHash */, GetHashIncomingProbeMapping, incomingProbe, keyExprsProbe, true);
 
-    HashTable ht = context.getImplementationClass(top);
-    ht.setup(htConfig, allocator, incomingBuild.getContainer(), incomingProbe, outgoing, htContainerOrig, context, cgInner);
-
-    return ht;
+    return top;
   }
 
   private void setupIsKeyMatchInternal(ClassGenerator<HashTable> cg, MappingSet incomingMapping, MappingSet htableMapping,
@@ -297,8 +297,9 @@ public class HashPartition implements HashJoinMemoryCalculator.PartitionStat {
     currHVVector.allocateNew(recordCount /* recordsPerBatch */);
     try {
       // For every record in the build batch, hash the key columns and keep the result
+      final int[] hashCodes = getBuildHashCodes();
       for (int ind = 0; ind < recordCount; ind++) {
-        int hashCode = getBuildHashCode(ind);
+        int hashCode = hashCodes != null ? hashCodes[ind] : getBuildHashCode(ind);
         currHVVector.getMutator().set(ind, hashCode);   // store the hash value in the new HV column
       }
     } catch(SchemaChangeException sce) {}
@@ -412,6 +413,12 @@ public class HashPartition implements HashJoinMemoryCalculator.PartitionStat {
   public int getProbeHashCode(int ind) throws SchemaChangeException {
     return hashTable.getProbeHashCode(ind);
   }
+  public int[] getBuildHashCodes() {
+    return hashTable.getBuildHashCodes();
+  }
+  public int[] getProbeHashCodes() {
+    return hashTable.getProbeHashCodes();
+  }
   public ArrayList<VectorContainer> getContainers() {
     return containers;
   }
@@ -21,6 +21,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.drill.exec.compile.TemplateClassDefinition;
 import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.expr.ClassGenerator;
+import org.apache.drill.exec.expr.fn.impl.BatchHasher;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.record.RecordBatch;
@@ -87,6 +88,27 @@ public interface HashTable {
    */
   int getProbeHashCode(int incomingRowIdx) throws SchemaChangeException;
 
+  /**
+   * Sets the hashers computing the hash codes of whole build and probe side batches.
+   * @param buildHasher hasher of the build side keys, null if they need the generated code
+   * @param probeHasher hasher of the probe side keys, null if they need the generated code
+   */
+  void setBatchHashers(BatchHasher buildHasher, BatchHasher probeHasher);
+
+  /**
+   * Computes the hash codes of all the records of the build side batch in one pass.
+   * @return the hash codes, as {@link #getBuildHashCode(int)} would return them, indexed as the records of the
+   * batch; or null when the keys are not supported by a {@link BatchHasher}. The array is reused by the next call.
+   */
+  int[] getBuildHashCodes();
+
+  /**
+   * Computes the hash codes of all the records of the probe side batch in one pass.
+   * @return the hash codes, as {@link #getProbeHashCode(int)} would return them, indexed as the records of the
+   * batch; or null when the keys are not supported by a {@link BatchHasher}. The array is reused by the next call.
+   */
+  int[] getProbeHashCodes();
+
   PutStatus put(int incomingRowIdx, IndexPointer htIdxHolder, int hashCode, int batchSize) throws SchemaChangeException, RetryAfterSpillException;
 
   /**
@@ -33,6 +33,7 @@ import org.apache.drill.exec.compile.sig.RuntimeOverridden;
 import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.expr.TypeHelper;
+import org.apache.drill.exec.expr.fn.impl.BatchHasher;
 import org.apache.drill.exec.memory.AllocationManager;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.physical.impl.join.HashJoinMemoryCalculator;
@@ -98,6 +99,10 @@ public abstract class HashTableTemplate implements HashTable {
   // The incoming probe side record batch (may be null)
   private RecordBatch incomingProbe;
 
+  // Hashers of whole build and probe side batches (null when the keys need the generated getHashBuild/getHashProbe)
+  private BatchHasher buildHasher;
+  private BatchHasher probeHasher;
+
   // The outgoing record batch
   private RecordBatch outgoing;
 
@@ -638,6 +643,22 @@ public abstract class HashTableTemplate implements HashTable {
     return getHashProbe(incomingRowIdx, 0);
   }
 
+  @Override
+  public void setBatchHashers(BatchHasher buildHasher, BatchHasher probeHasher) {
+    this.buildHasher = buildHasher;
+    this.probeHasher = probeHasher;
+  }
+
+  @Override
+  public int[] getBuildHashCodes() {
+    return buildHasher == null ? null : buildHasher.hash32(incomingBuild);
+  }
+
+  @Override
+  public int[] getProbeHashCodes() {
+    return probeHasher == null || incomingProbe == null ? null : probeHasher.hash32(incomingProbe);
+  }
+
   /** put() uses the hash code (from gethashCode() above) to insert the key(s) from the incoming
    * row into the hash table. The code selects the bucket in the startIndices, then the keys are
    * placed into the chained list - by storing the key values into a batch, and updating its
@@ -23,14 +23,20 @@ import java.util.List;
 import org.apache.drill.common.expression.ErrorCollector;
 import org.apache.drill.common.expression.ErrorCollectorImpl;
 import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.exception.ClassTransformationException;
 import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.expr.ClassGenerator;
 import org.apache.drill.exec.expr.CodeGenerator;
+import org.apache.drill.exec.expr.ConstantExpressionFolder;
 import org.apache.drill.exec.expr.ExpressionTreeMaterializer;
+import org.apache.drill.exec.expr.vectorized.ColumnEvaluator;
+import org.apache.drill.exec.expr.vectorized.ColumnEvaluatorBuilder;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.physical.config.Filter;
+import org.apache.drill.exec.physical.impl.TopN.TopNThreshold;
 import org.apache.drill.exec.record.AbstractSingleRecordBatch;
 import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
 import org.apache.drill.exec.record.RecordBatch;
@@ -49,11 +55,19 @@ public class FilterRecordBatch extends AbstractSingleRecordBatch<Filter> {
   private SelectionVector2 sv2;
   private SelectionVector4 sv4;
   private Filterer filter;
+  private TopNThreshold topNThreshold;
 
   public FilterRecordBatch(Filter pop, RecordBatch incoming, FragmentContext context) throws OutOfMemoryException {
     super(pop, context, incoming);
   }
 
+  /**
+   * Sets the running threshold of the TopN consuming this filter. Rows which sort after it are filtered out too.
+   */
+  public void setTopNThreshold(TopNThreshold topNThreshold) {
+    this.topNThreshold = topNThreshold;
+  }
+
   @Override
   public FragmentContext getContext() {
     return context;
@@ -83,10 +97,31 @@ public class FilterRecordBatch extends AbstractSingleRecordBatch<Filter> {
     } catch (SchemaChangeException e) {
       throw new UnsupportedOperationException(e);
     }
+    if (canApplyThreshold()) {
+      sv2.setRecordCount(topNThreshold.filter(container, sv2, sv2.getCount()));
+    }
 
     return getFinalOutcome(false);
   }
 
+  /**
+   * The TopN threshold trims the SV2 the filter produces, so it only applies when the
+   * incoming is filtered into an SV2, that is when the incoming has no or a two byte
+   * selection vector.
+   */
+  private boolean canApplyThreshold() {
+    if (topNThreshold == null || !topNThreshold.isSet() || sv2 == null) {
+      return false;
+    }
+    switch (incoming.getSchema().getSelectionVectorMode()) {
+      case NONE:
+      case TWO_BYTE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   @Override
   public void close() {
     if (sv2 != null) {
@@ -123,7 +158,8 @@ public class FilterRecordBatch extends AbstractSingleRecordBatch<Filter> {
          *
          */
       default:
-        throw new UnsupportedOperationException();
+        throw new UnsupportedOperationException(String.format("Filter does not support a %s incoming batch",
+            incoming.getSchema().getSelectionVectorMode()));
     }
 
     if (container.isSchemaChanged()) {
@@ -138,10 +174,11 @@ public class FilterRecordBatch extends AbstractSingleRecordBatch<Filter> {
     final List<TransferPair> transfers = Lists.newArrayList();
     final ClassGenerator<Filterer> cg = CodeGenerator.getRoot(Filterer.TEMPLATE_DEFINITION4, context.getOptions());
 
-    final LogicalExpression expr = ExpressionTreeMaterializer.materialize(popConfig.getExpr(), incoming, collector, context.getFunctionRegistry());
+    final LogicalExpression materializedExpr = ExpressionTreeMaterializer.materialize(popConfig.getExpr(), incoming, collector, context.getFunctionRegistry());
     if (collector.hasErrors()) {
       throw new SchemaChangeException(String.format("Failure while trying to materialize incoming schema.  Errors:\n %s.", collector.toErrorString()));
     }
+    final LogicalExpression expr = ConstantExpressionFolder.fold(materializedExpr, context);
 
     cg.addExpr(new ReturnValueExpression(expr), ClassGenerator.BlkCreateMode.FALSE);
 
@@ -175,21 +212,31 @@ public class FilterRecordBatch extends AbstractSingleRecordBatch<Filter> {
     // cg.getCodeGenerator().plainJavaCapable(true);
     // cg.getCodeGenerator().saveCodeForDebugging(true);
 
-    final LogicalExpression expr = ExpressionTreeMaterializer.materialize(popConfig.getExpr(), incoming, collector,
+    final LogicalExpression materializedExpr = ExpressionTreeMaterializer.materialize(popConfig.getExpr(), incoming, collector,
             context.getFunctionRegistry(), false, unionTypeEnabled);
     if (collector.hasErrors()) {
       throw new SchemaChangeException(String.format("Failure while trying to materialize incoming schema.  Errors:\n %s.", collector.toErrorString()));
     }
-
-    cg.addExpr(new ReturnValueExpression(expr), ClassGenerator.BlkCreateMode.FALSE);
+    final LogicalExpression expr = ConstantExpressionFolder.fold(materializedExpr, context);
 
     for (final VectorWrapper<?> v : incoming) {
       final TransferPair pair = v.getValueVector().makeTransferPair(container.addOrGet(v.getField(), callBack));
       transfers.add(pair);
     }
+    final TransferPair[] tx = transfers.toArray(new TransferPair[transfers.size()]);
+
+    // Simple conditions are evaluated a column at a time, without generating code
+    final ColumnEvaluator condition = context.getOptions().getOption(ExecConstants.VECTORIZED_EVALUATION_VALIDATOR)
+        ? ColumnEvaluatorBuilder.build(expr, incoming) : null;
+    if (condition != null && condition.getType().getMinorType() == MinorType.BIT) {
+      final Filterer filter = new VectorizedFilterer(condition);
+      filter.setup(context, incoming, this, tx);
+      return filter;
+    }
+
+    cg.addExpr(new ReturnValueExpression(expr), ClassGenerator.BlkCreateMode.FALSE);
 
     try {
-      final TransferPair[] tx = transfers.toArray(new TransferPair[transfers.size()]);
       CodeGenerator<Filterer> codeGen = cg.getCodeGenerator();
       codeGen.plainJavaCapable(true);
       final Filterer filter = context.getImplementationClass(codeGen);
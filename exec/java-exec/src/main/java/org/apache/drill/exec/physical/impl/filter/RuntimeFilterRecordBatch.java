@@ -25,9 +25,12 @@ import org.apache.drill.common.expression.SchemaPath;
 import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.expr.ValueVectorReadExpression;
+import org.apache.drill.exec.expr.fn.impl.BatchHasher;
+import org.apache.drill.exec.expr.fn.impl.HashHelper;
 import org.apache.drill.exec.expr.fn.impl.ValueVectorHashHelper;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.physical.config.RuntimeFilterPOP;
+import org.apache.drill.exec.physical.impl.ScanBatch;
 import org.apache.drill.exec.record.AbstractSingleRecordBatch;
 import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
 import org.apache.drill.exec.record.RecordBatch;
@@ -39,6 +42,10 @@ import org.apache.drill.exec.work.filter.BloomFilter;
 import org.apache.drill.exec.work.filter.RuntimeFilterSink;
 import org.apache.drill.exec.work.filter.RuntimeFilterWritable;
 
+import io.netty.buffer.DrillBuf;
+import org.apache.drill.shaded.guava.com.google.common.annotations.VisibleForTesting;
+
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.HashMap;
@@ -55,16 +62,22 @@ public class RuntimeFilterRecordBatch extends AbstractSingleRecordBatch<RuntimeF
   private SelectionVector2 sv2;
 
   private ValueVectorHashHelper.Hash64 hash64;
+  // hashes the filtered fields a batch at a time, null when a field needs the generated hash64
+  private BatchHasher batchHasher;
   private Map<String, Integer> field2id = new HashMap<>();
   private List<String> toFilterFields;
   private List<BloomFilter> bloomFilters;
   private RuntimeFilterWritable current;
   private RuntimeFilterWritable previous;
   private int originalRecordCount;
+  private DrillBuf implicitValueBuffer;
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(RuntimeFilterRecordBatch.class);
 
   public RuntimeFilterRecordBatch(RuntimeFilterPOP pop, RecordBatch incoming, FragmentContext context) throws OutOfMemoryException {
     super(pop, context, incoming);
+    if (incoming instanceof ScanBatch) {
+      ((ScanBatch) incoming).setReaderFilter(this::mayContainMatches);
+    }
   }
 
   @Override
@@ -120,6 +133,7 @@ public class RuntimeFilterRecordBatch extends AbstractSingleRecordBatch<RuntimeF
     // reset the output container and hash64
     container.clear();
     hash64 = null;
+    batchHasher = null;
 
     switch (incoming.getSchema().getSelectionVectorMode()) {
       case NONE:
@@ -160,18 +174,7 @@ public class RuntimeFilterRecordBatch extends AbstractSingleRecordBatch<RuntimeF
     if (!runtimeFilterSink.containOne()) {
       return;
     }
-    if (runtimeFilterSink.hasFreshOne()) {
-      RuntimeFilterWritable freshRuntimeFilterWritable = runtimeFilterSink.fetchLatestDuplicatedAggregatedOne();
-      if (current == null) {
-        current = freshRuntimeFilterWritable;
-        previous = freshRuntimeFilterWritable;
-      } else {
-        previous = current;
-        current = freshRuntimeFilterWritable;
-        previous.close();
-      }
-      bloomFilters = current.unwrap();
-    }
+    refreshRuntimeFilter(runtimeFilterSink);
     // Check if HashHelper is initialized or not
     if (hash64 == null) {
       ValueVectorHashHelper hashHelper = new ValueVectorHashHelper(incoming, context);
@@ -189,14 +192,85 @@ public class RuntimeFilterRecordBatch extends AbstractSingleRecordBatch<RuntimeF
           ValueVectorReadExpression toHashFieldExp = new ValueVectorReadExpression(typedFieldId);
           hashFieldExps.add(toHashFieldExp);
         }
-        hash64 = hashHelper.getHash64(hashFieldExps.toArray(new LogicalExpression[hashFieldExps.size()]),
-          typedFieldIds.toArray(new TypedFieldId[typedFieldIds.size()]));
+        LogicalExpression[] hashFieldExpArray = hashFieldExps.toArray(new LogicalExpression[hashFieldExps.size()]);
+        batchHasher = BatchHasher.create(hashFieldExpArray);
+        hash64 = hashHelper.getHash64(hashFieldExpArray, typedFieldIds.toArray(new TypedFieldId[typedFieldIds.size()]));
       } catch (Exception e) {
         throw UserException.internalError(e).build(logger);
       }
     }
   }
 
+  /**
+   * Takes the latest aggregated RuntimeFilter if a fresh one was received. The first one is
+   * taken as soon as the sink contains it, the sink counts it as fresh only a bit later.
+   */
+  private void refreshRuntimeFilter(RuntimeFilterSink runtimeFilterSink) {
+    if (current == null || runtimeFilterSink.hasFreshOne()) {
+      RuntimeFilterWritable freshRuntimeFilterWritable = runtimeFilterSink.fetchLatestDuplicatedAggregatedOne();
+      if (current == null) {
+        current = freshRuntimeFilterWritable;
+        previous = freshRuntimeFilterWritable;
+      } else {
+        previous = current;
+        current = freshRuntimeFilterWritable;
+        previous.close();
+      }
+      bloomFilters = current.unwrap();
+    }
+  }
+
+  /**
+   * Reader filter of the underlying scan. Implicit columns, such as the partition
+   * directories, have a single value per reader, so a reader can be skipped
+   * entirely if the value of a filtered implicit column is not in the bloom filter.
+   * <p>
+   * Only a RuntimeFilter produced by a HashJoin of this fragment is used: it was
+   * built from the whole build side. A RuntimeFilter routed by the Foreman is
+   * aggregated as the build side fragments report it, skipping readers with it
+   * could lose rows.
+   *
+   * @param implicitValues values of the implicit columns of a reader
+   * @return false if no row of the reader can pass the RuntimeFilter
+   */
+  @VisibleForTesting
+  boolean mayContainMatches(Map<String, String> implicitValues) {
+    final RuntimeFilterSink runtimeFilterSink = context.getRuntimeFilterSink();
+    if (!runtimeFilterSink.containOne()) {
+      return true;
+    }
+    refreshRuntimeFilter(runtimeFilterSink);
+    if (current == null || !current.isLocal()) {
+      return true;
+    }
+    List<String> probeFields = current.getRuntimeFilterBDef().getProbeFieldsList();
+    for (int i = 0; i < probeFields.size(); i++) {
+      String probeField = probeFields.get(i);
+      if (!implicitValues.containsKey(probeField)) {
+        continue;
+      }
+      String value = implicitValues.get(probeField);
+      // null join keys never match
+      if (value == null || !bloomFilters.get(i).find(hashImplicitValue(value))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Hashes an implicit column value the same way the build side hashes a VARCHAR join key.
+   */
+  private long hashImplicitValue(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (implicitValueBuffer == null) {
+      implicitValueBuffer = oContext.getManagedBuffer(Math.max(bytes.length, 64));
+    }
+    implicitValueBuffer = implicitValueBuffer.reallocIfNeeded(bytes.length);
+    implicitValueBuffer.setBytes(0, bytes);
+    return HashHelper.hash64(0, bytes.length, implicitValueBuffer, 0);
+  }
+
   /**
    * If RuntimeFilter is available then applies the filter condition on the incoming batch records and creates an SV2
    * to store indexes which passes the filter condition. In case when RuntimeFilter is not available it just pass
@@ -224,6 +298,10 @@ public class RuntimeFilterRecordBatch extends AbstractSingleRecordBatch<RuntimeF
     BitSet bitSet = new BitSet(originalRecordCount);
     for (int i = 0; i < toFilterFields.size(); i++) {
       BloomFilter bloomFilter = bloomFilters.get(i);
+      if (batchHasher != null) {
+        computeBitSet(batchHasher.hash64(incoming, i), bloomFilter, bitSet);
+        continue;
+      }
       String fieldName = toFilterFields.get(i);
       computeBitSet(field2id.get(fieldName), bloomFilter, bitSet);
     }
@@ -257,6 +335,12 @@ public class RuntimeFilterRecordBatch extends AbstractSingleRecordBatch<RuntimeF
     }
   }
 
+  private void computeBitSet(long[] hashCodes, BloomFilter bloomFilter, BitSet bitSet) {
+    for (int rowIndex = 0; rowIndex < originalRecordCount; rowIndex++) {
+      bitSet.set(rowIndex, bloomFilter.find(hashCodes[rowIndex]));
+    }
+  }
+
   @Override
   public void dump() {
     logger.error("RuntimeFilterRecordBatch[container={}, selectionVector={}, toFilterFields={}, "
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.filter;
+
+import org.apache.drill.exec.exception.OutOfMemoryException;
+import org.apache.drill.exec.exception.SchemaChangeException;
+import org.apache.drill.exec.expr.vectorized.ColumnEvaluator;
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
+import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.TransferPair;
+import org.apache.drill.exec.record.selection.SelectionVector2;
+
+/**
+ * A {@link Filterer} (same as {@link FilterTemplate2}) evaluating its condition a column at a time with a
+ * {@link ColumnEvaluator}, instead of through generated code; a null condition filters the row out.
+ */
+public class VectorizedFilterer implements Filterer {
+  private final ColumnEvaluator condition;
+  private SelectionVector2 outgoingSelectionVector;
+  private SelectionVector2 incomingSelectionVector;
+  private SelectionVectorMode svMode;
+  private TransferPair[] transfers;
+  private int[] rows;
+
+  public VectorizedFilterer(ColumnEvaluator condition) {
+    this.condition = condition;
+  }
+
+  @Override
+  public void setup(FragmentContext context, RecordBatch incoming, RecordBatch outgoing, TransferPair[] transfers) throws SchemaChangeException {
+    this.transfers = transfers;
+    this.outgoingSelectionVector = outgoing.getSelectionVector2();
+    this.svMode = incoming.getSchema().getSelectionVectorMode();
+
+    switch(svMode){
+    case NONE:
+      break;
+    case TWO_BYTE:
+      this.incomingSelectionVector = incoming.getSelectionVector2();
+      break;
+    default:
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  @Override
+  public void filterBatch(int recordCount) throws SchemaChangeException {
+    if (recordCount == 0) {
+      outgoingSelectionVector.setRecordCount(0);
+      return;
+    }
+    if (! outgoingSelectionVector.allocateNewSafe(recordCount)) {
+      throw new OutOfMemoryException("Unable to allocate filter batch");
+    }
+    // Set the actual recordCount in outgoing selection vector to help SVRemover copy the entire
+    // batch if possible at once rather than row-by-row
+    outgoingSelectionVector.setBatchActualRecordCount(svMode == SelectionVectorMode.TWO_BYTE
+        ? incomingSelectionVector.getBatchActualRecordCount() : recordCount);
+
+    rows = ColumnEvaluator.rowIndexes(rows, incomingSelectionVector, 0, recordCount);
+    condition.evaluate(rows, recordCount);
+    final long[] values = condition.getLongs();
+    final boolean[] nulls = condition.isNullable() ? condition.getNulls() : null;
+    int svIndex = 0;
+    for (int i = 0; i < recordCount; i++) {
+      if (values[i] == 1 && (nulls == null || !nulls[i])) {
+        outgoingSelectionVector.setIndex(svIndex, (char) rows[i]);
+        svIndex++;
+      }
+    }
+    outgoingSelectionVector.setRecordCount(svIndex);
+
+    for (TransferPair t : transfers) {
+      t.transfer();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "VectorizedFilterer[outgoingSelectionVector=" + outgoingSelectionVector
+        + ", incomingSelectionVector=" + incomingSelectionVector
+        + ", svMode=" + svMode
+        + "]";
+  }
+}
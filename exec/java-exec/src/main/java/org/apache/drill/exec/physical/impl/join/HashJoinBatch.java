@@ -22,6 +22,8 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.apache.drill.shaded.guava.com.google.common.base.Preconditions;
 import org.apache.drill.shaded.guava.com.google.common.collect.Lists;
@@ -123,6 +125,8 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP> implem
   // Join type, INNER, LEFT, RIGHT or OUTER
   private final JoinRelType joinType;
   private boolean semiJoin;
+  private boolean antiJoin; // a left join returning only the probe rows without a match
+  private boolean clusterProbe; // probe the rows of a batch grouped by partition
   private boolean joinIsLeftOrFull;
   private boolean joinIsRightOrFull;
   private boolean skipHashTableBuild; // when outer side is empty, and the join is inner or left (see DRILL-6755)
@@ -208,6 +212,7 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP> implem
   private boolean enableRuntimeFilter;
   private RuntimeFilterReporter runtimeFilterReporter;
   private ValueVectorHashHelper.Hash64 hash64;
+  private List<Integer> bloomFilterBuildFieldIds = new ArrayList<>(); // build side field id hashed into each bloom filter
 
   /**
    * This holds information about the spilled partitions for the build and probe side.
@@ -341,20 +346,34 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP> implem
         probeSchema = left.getSchema();
       }
 
-      if (rightUpstream == OK_NEW_SCHEMA) {
-        buildSchema = right.getSchema();
-        // position of the new "column" for keeping the hash values (after the real columns)
-        rightHVColPosition = right.getContainer().getNumberOfColumns();
-        // In special cases, when the probe side is empty, and inner/left join - no need for Hash Table
-        skipHashTableBuild = leftUpstream == IterOutcome.NONE && ! joinIsRightOrFull;
-        // We only need the hash tables if we have data on the build side.
-        setupHashTable();
-      }
-
+      Future<?> hashTableCompilation = null;
       try {
+        if (rightUpstream == OK_NEW_SCHEMA) {
+          buildSchema = right.getSchema();
+          // position of the new "column" for keeping the hash values (after the real columns)
+          rightHVColPosition = right.getContainer().getNumberOfColumns();
+          // In special cases, when the probe side is empty, and inner/left join - no need for Hash Table
+          skipHashTableBuild = leftUpstream == IterOutcome.NONE && ! joinIsRightOrFull;
+          // We only need the hash tables if we have data on the build side.
+          hashTableCompilation = setupHashTable();
+        }
+
         hashJoinProbe = setupHashJoinProbe();
+        if (hashTableCompilation != null) {
+          hashTableCompilation.get();
+        }
       } catch (IOException | ClassTransformationException e) {
         throw new SchemaChangeException(e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SchemaChangeException(e);
+      } catch (ExecutionException e) {
+        throw new SchemaChangeException(e.getCause());
+      } finally {
+        if (hashTableCompilation != null) {
+          // no effect once compiled; otherwise stops a compilation not started yet
+          hashTableCompilation.cancel(false);
+        }
       }
     }
 
@@ -487,7 +506,7 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP> implem
       final double hashTableDoublingFactor = context.getOptions().getDouble(ExecConstants.HASHJOIN_HASH_DOUBLE_FACTOR_KEY);
       final String hashTableCalculatorType = context.getOptions().getString(ExecConstants.HASHJOIN_HASHTABLE_CALC_TYPE_KEY);
 
-      return new HashJoinMemoryCalculatorImpl(safetyFactor, fragmentationFactor, hashTableDoublingFactor, hashTableCalculatorType, semiJoin);
+      return new HashJoinMemoryCalculatorImpl(safetyFactor, fragmentationFactor, hashTableDoublingFactor, hashTableCalculatorType, semiJoin || antiJoin);
     } else {
       return new HashJoinMechanicalMemoryCalculator(maxBatchesInMemory);
     }
@@ -688,11 +707,17 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP> implem
   private void killAndDrainLeftUpstream() { killAndDrainUpstream(probeBatch, leftUpstream, true); }
   private void killAndDrainRightUpstream() { killAndDrainUpstream(buildBatch, rightUpstream, false); }
 
-  private void setupHashTable() throws SchemaChangeException {
+  /**
+   * Creates the base hash table, and starts compiling its class on the compile pool while the other classes of the
+   * join are compiled.
+   *
+   * @return future completing once the hash table class is compiled, or null if no hash table is needed
+   */
+  private Future<?> setupHashTable() throws SchemaChangeException {
     final List<Comparator> comparators = Lists.newArrayListWithExpectedSize(conditions.size());
     conditions.forEach(cond->comparators.add(JoinUtils.checkAndReturnSupportedJoinComparator(cond)));
 
-    if ( skipHashTableBuild ) { return; }
+    if ( skipHashTableBuild ) { return null; }
 
     // Setup the hash table configuration object
     List<NamedExpression> leftExpr = new ArrayList<>(conditions.size());
@@ -719,9 +744,16 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP> implem
     // Create the chained hash table
     baseHashTable =
       new ChainedHashTable(htConfig, context, allocator, buildBatch, probeBatch, null);
-    if (enableRuntimeFilter) {
-      setupHash64(htConfig);
+    final Future<?> hashTableCompilation = baseHashTable.compileHashTableAsync(null);
+    try {
+      if (enableRuntimeFilter) {
+        setupHash64(htConfig);
+      }
+    } catch (SchemaChangeException | RuntimeException e) {
+      hashTableCompilation.cancel(false);
+      throw e;
     }
+    return hashTableCompilation;
   }
 
   private void setupHash64(HashTableConfig htConfig) throws SchemaChangeException {
@@ -757,6 +789,29 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP> implem
       enableRuntimeFilter = false;
       return;
     }
+    // The generated hash64 code selects the key to hash by its build side field id, so map each
+    // bloom filter's probe field to the build side field of the same join condition.
+    bloomFilterBuildFieldIds.clear();
+    RuntimeFilterDef runtimeFilterDef = popConfig.getRuntimeFilterDef();
+    if (runtimeFilterDef != null) {
+      for (BloomFilterDef bloomFilterDef : runtimeFilterDef.getBloomFilterDefs()) {
+        int buildFieldId = -1;
+        for (int k = 0; k < conditions.size(); k++) {
+          LogicalExpression probeExpr = conditions.get(k).getLeft();
+          if (probeExpr instanceof SchemaPath
+              && ((SchemaPath) probeExpr).getRootSegmentPath().equalsIgnoreCase(bloomFilterDef.getProbeField())) {
+            buildFieldId = buildSideTypeFieldIds[k].getFieldIds()[0];
+            break;
+          }
+        }
+        if (buildFieldId < 0) {
+          logger.info("Join condition of probe field {} not found, runtime filter was disabled", bloomFilterDef.getProbeField());
+          enableRuntimeFilter = false;
+          return;
+        }
+        bloomFilterBuildFieldIds.add(buildFieldId);
+      }
+    }
     ValueVectorHashHelper hashHelper = new ValueVectorHashHelper(buildBatch, context);
     try {
       hash64 = hashHelper.getHash64(keyExprsBuild, buildSideTypeFieldIds);
@@ -787,7 +842,7 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP> implem
     baseHashTable.updateIncoming(buildBatch, probeBatch); // in case we process the spilled files
     // Recreate the partitions every time build is initialized
     for (int part = 0; part < numPartitions; part++ ) {
-      partitions[part] = new HashPartition(context, allocator, baseHashTable, buildBatch, probeBatch, semiJoin,
+      partitions[part] = new HashPartition(context, allocator, baseHashTable, buildBatch, probeBatch, semiJoin || antiJoin,
         RECORDS_PER_BATCH, spillSet, part, spilledState.getCycle(), numPartitions);
     }
 
@@ -992,19 +1047,21 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP> implem
         //create runtime filter
         if (spilledState.isFirstCycle() && enableRuntimeFilter) {
           //create runtime filter and send out async
-          int condFieldIndex = 0;
-          for (BloomFilter bloomFilter : bloomFilters) {
+          for (int filterIndex = 0; filterIndex < bloomFilters.size(); filterIndex++) {
+            BloomFilter bloomFilter = bloomFilters.get(filterIndex);
+            int buildFieldId = bloomFilterBuildFieldIds.get(filterIndex);
             for (int ind = 0; ind < currentRecordCount; ind++) {
-              long hashCode = hash64.hash64Code(ind, 0, condFieldIndex);
+              long hashCode = hash64.hash64Code(ind, 0, buildFieldId);
               bloomFilter.insert(hashCode);
             }
-            condFieldIndex++;
           }
         }
 
         // For every record in the build batch, hash the key columns and keep the result
+        final int[] hashCodes = spilledState.isFirstCycle() ? partitions[0].getBuildHashCodes() : null;
         for (int ind = 0; ind < currentRecordCount; ind++) {
-          int hashCode = spilledState.isFirstCycle() ? partitions[0].getBuildHashCode(ind)
+          int hashCode = hashCodes != null ? hashCodes[ind]
+            : spilledState.isFirstCycle() ? partitions[0].getBuildHashCode(ind)
             : read_right_HV_vector.getAccessor().get(ind); // get the hash value from the HV column
           int currPart = hashCode & spilledState.getPartitionMask();
           hashCode >>>= spilledState.getBitsInMask();
@@ -1151,6 +1208,13 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP> implem
 
   }
 
+  /**
+   * @return true if the rows of each probe batch are to be probed grouped by partition
+   */
+  public boolean isProbeClustered() {
+    return clusterProbe;
+  }
+
   // (After the inner side was read whole) - Has that inner partition spilled
   public boolean isSpilledInner(int part) {
     if ( spilledInners == null ) { return false; } // empty inner
@@ -1175,6 +1239,7 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP> implem
     this.probeBatch = left;
     joinType = popConfig.getJoinType();
     semiJoin = popConfig.isSemiJoin();
+    antiJoin = popConfig.isAntiJoin();
     joinIsLeftOrFull  = joinType == JoinRelType.LEFT  || joinType == JoinRelType.FULL;
     joinIsRightOrFull = joinType == JoinRelType.RIGHT || joinType == JoinRelType.FULL;
     conditions = popConfig.getConditions();
@@ -1206,6 +1271,7 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP> implem
     }
 
     numPartitions = BaseAllocator.nextPowerOfTwo(numPartitions); // in case not a power of 2
+    clusterProbe = context.getOptions().getOption(ExecConstants.HASHJOIN_CLUSTER_PROBE_VALIDATOR);
 
     final long memLimit = context.getOptions().getOption(ExecConstants.HASHJOIN_MAX_MEMORY_VALIDATOR);
 
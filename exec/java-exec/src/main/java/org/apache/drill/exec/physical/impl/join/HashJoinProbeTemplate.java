@@ -18,6 +18,7 @@
 package org.apache.drill.exec.physical.impl.join;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.drill.exec.exception.SchemaChangeException;
@@ -91,6 +92,16 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
   private int numberOfBuildSideColumns;
   private int targetOutputRecords;
   private boolean semiJoin;
+  private boolean antiJoin;
+
+  // When the probe is clustered, the rows of the current probe batch are probed grouped by partition, so
+  // that consecutive probes hit the same (smaller, hence more likely cached) partition hash table
+  private boolean clusterProbe;
+  private boolean clustered; // the current probe batch was clustered
+  private int[] probeOrder; // row indexes of the current probe batch, ordered by partition
+  private int[] probeHashCodes; // hash codes of the rows of the current probe batch, by row index
+  private int[] batchHashCodes; // hash codes of the rows of the current probe batch computed at once, or null
+  private int[] partitionStarts; // used to cluster the rows (counting sort on the partition)
 
   @Override
   public void setTargetOutputCount(int targetOutputRecords) {
@@ -138,6 +149,9 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
     partitionMask = numPartitions - 1; // e.g. 32 --> 0x1F
     bitsInMask = Integer.bitCount(partitionMask); // e.g. 0x1F -> 5
     joinControl = new JoinControl(((HashJoinPOP)outgoingJoinBatch.getPopConfig()).getJoinControl());
+    antiJoin = ((HashJoinPOP)outgoingJoinBatch.getPopConfig()).isAntiJoin();
+    clusterProbe = outgoing.isProbeClustered() && numPartitions > 1;
+    partitionStarts = clusterProbe ? new int[numPartitions + 1] : null;
 
     probeState = ProbeState.PROBE_PROJECT;
     this.recordsToProcess = 0;
@@ -165,6 +179,43 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
         read_left_HV_vector = (IntVector) probeBatch.getContainer().getLast();
       }
     }
+
+    try {
+      clusterProbeBatch();
+    } catch (SchemaChangeException e) {
+      throw new UnsupportedOperationException(e);
+    }
+  }
+
+  /**
+   * Orders the rows of the current probe batch by partition (a counting sort on the partition bits of their hash
+   * codes), keeping the hash codes to avoid computing them again while probing.
+   * @throws SchemaChangeException
+   */
+  private void clusterProbeBatch() throws SchemaChangeException {
+    // the hash codes of the whole batch at once, when its keys are supported by the batch hasher
+    batchHashCodes = cycleNum == 0 && !buildSideIsEmpty && recordsToProcess > 0 ? partitions[0].getProbeHashCodes() : null;
+    clustered = clusterProbe && !buildSideIsEmpty && recordsToProcess > 0;
+    if ( !clustered ) { return; }
+    if ( probeOrder == null || probeOrder.length < recordsToProcess ) {
+      probeOrder = new int[recordsToProcess];
+      probeHashCodes = new int[recordsToProcess];
+    }
+    Arrays.fill(partitionStarts, 0);
+    for (int row = 0; row < recordsToProcess; row++) {
+      int hashCode = batchHashCodes != null ? batchHashCodes[row]
+        : ( cycleNum == 0 ) ?
+        partitions[0].getProbeHashCode(row)
+        : read_left_HV_vector.getAccessor().get(row);
+      probeHashCodes[row] = hashCode;
+      partitionStarts[(hashCode & partitionMask) + 1]++;
+    }
+    for (int part = 0; part < numPartitions; part++) {
+      partitionStarts[part + 1] += partitionStarts[part];
+    }
+    for (int row = 0; row < recordsToProcess; row++) {
+      probeOrder[partitionStarts[probeHashCodes[row] & partitionMask]++] = row;
+    }
   }
 
   /**
@@ -281,16 +332,21 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
             if ( cycleNum > 0 ) {
               read_left_HV_vector = (IntVector) probeBatch.getContainer().getLast(); // Needed ?
             }
+            clusterProbeBatch();
         }
       }
 
+      // the probe side row to process
+      final int probeRow = clustered ? probeOrder[recordsProcessed] : recordsProcessed;
       int probeIndex = -1;
       // Check if we need to drain the next row in the probe side
       if (getNextRecord) {
         if ( !buildSideIsEmpty ) {
-          int hashCode = ( cycleNum == 0 ) ?
-            partitions[0].getProbeHashCode(recordsProcessed)
-            : read_left_HV_vector.getAccessor().get(recordsProcessed);
+          int hashCode = clustered ? probeHashCodes[probeRow] :
+            batchHashCodes != null ? batchHashCodes[probeRow] :
+            ( cycleNum == 0 ) ?
+            partitions[0].getProbeHashCode(probeRow)
+            : read_left_HV_vector.getAccessor().get(probeRow);
           int currBuildPart = hashCode & partitionMask;
           hashCode >>>= bitsInMask;
 
@@ -302,13 +358,13 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
           if ( outgoingJoinBatch.isSpilledInner(currBuildPart) ) {
             // add this row to its outer partition (may cause a spill, when the batch is full)
 
-            currPartition.appendOuterRow(hashCode, recordsProcessed);
+            currPartition.appendOuterRow(hashCode, probeRow);
 
             recordsProcessed++; // done with this outer record
             continue; // on to the next outer record
           }
 
-          probeIndex = currPartition.probeForKey(recordsProcessed, hashCode);
+          probeIndex = currPartition.probeForKey(probeRow, hashCode);
 
         }
 
@@ -316,12 +372,22 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
           if ( probeIndex != -1 ) {
             // output the probe side only
             outputRecords =
-              outputRow(null, 0, probeBatch.getContainer(), recordsProcessed);
+              outputRow(null, 0, probeBatch.getContainer(), probeRow);
           }
           recordsProcessed++;
           continue; // no build-side duplicates, go on to the next probe-side row
         }
 
+        if ( antiJoin ) {
+          if ( probeIndex == -1 ) {
+            // output the probe side only (the build side would be all nulls)
+            outputRecords =
+              outputRow(null, 0, probeBatch.getContainer(), probeRow);
+          }
+          recordsProcessed++;
+          continue; // a single match drops the probe-side row, go on to the next one
+        }
+
         if (probeIndex != -1) {
 
           /* The current probe record has a key that matches. Get the index
@@ -342,7 +408,7 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
 
           outputRecords =
             outputRow(currPartition.getContainers(), currentCompositeIdx,
-              probeBatch.getContainer(), recordsProcessed);
+              probeBatch.getContainer(), probeRow);
 
           /* Projected single row from the build side with matching key but there
            * may be more rows with the same key. Check if that's the case as long as
@@ -370,7 +436,7 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
           if (joinType == JoinRelType.LEFT || joinType == JoinRelType.FULL) {
 
             outputRecords = // output only the probe side (the build side would be all nulls)
-              outputRow(null, 0, probeBatch.getContainer(), recordsProcessed);
+              outputRow(null, 0, probeBatch.getContainer(), probeRow);
           }
           recordsProcessed++;
         }
@@ -381,7 +447,7 @@ public abstract class HashJoinProbeTemplate implements HashJoinProbe {
 
         outputRecords =
           outputRow(currPartition.getContainers(), currentCompositeIdx,
-            probeBatch.getContainer(), recordsProcessed);
+            probeBatch.getContainer(), probeRow);
 
         currentCompositeIdx = currPartition.getNextIndex(currentCompositeIdx);
 
@@ -147,6 +147,23 @@ public class JoinUtils {
     return checkCartesianJoin(relNode, new LinkedList<>(), new LinkedList<>(), new LinkedList<>());
   }
 
+  /**
+   * Counts the joins in the given relational expression tree.
+   *
+   * @param relNode {@link RelNode} instance to be inspected
+   * @return number of {@link Join} nodes in the tree
+   */
+  public static int countJoins(RelNode relNode) {
+    if (relNode instanceof RelSubset) {
+      return countJoins(Util.first(((RelSubset) relNode).getBest(), ((RelSubset) relNode).getOriginal()));
+    }
+    int count = relNode instanceof Join ? 1 : 0;
+    for (RelNode input : relNode.getInputs()) {
+      count += countJoins(input);
+    }
+    return count;
+  }
+
   /**
    * Checks if implicit cast is allowed between the two input types of the join condition. Currently we allow
    * implicit casts in join condition only between numeric types and varchar/varbinary types.
@@ -19,10 +19,8 @@ package org.apache.drill.exec.physical.impl.mergereceiver;
 
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
-import java.util.PriorityQueue;
 import java.util.ArrayList;
 
 import org.apache.calcite.rel.RelFieldCollation.Direction;
@@ -47,6 +45,7 @@ import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.ops.MetricDef;
 import org.apache.drill.exec.physical.MinorFragmentEndpoint;
 import org.apache.drill.exec.physical.config.MergingReceiverPOP;
+import org.apache.drill.exec.physical.impl.sort.LoserTree;
 import org.apache.drill.exec.proto.BitControl.FinishedReceiver;
 import org.apache.drill.exec.proto.BitData;
 import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
@@ -110,7 +109,7 @@ public class MergingRecordBatch extends AbstractRecordBatch<MergingReceiverPOP>
   private int senderCount = 0;
   private RawFragmentBatch[] incomingBatches;
   private int[] batchOffsets;
-  private PriorityQueue <Node> pqueue;
+  private LoserTree tree;
   private RawFragmentBatch[] tempBatchHolder;
   private long[] inputCounts;
   private long[] outputCounts;
@@ -359,21 +358,16 @@ public class MergingRecordBatch extends AbstractRecordBatch<MergingReceiverPOP>
         return IterOutcome.STOP;
       }
 
-      // allocate the priority queue with the generated comparator
-      this.pqueue = new PriorityQueue<>(fragProviders.length, new Comparator<Node>() {
-        @Override
-        public int compare(final Node node1, final Node node2) {
-          final int leftIndex = (node1.batchId << 16) + node1.valueIndex;
-          final int rightIndex = (node2.batchId << 16) + node2.valueIndex;
-          try {
-            return merger.doEval(leftIndex, rightIndex);
-          } catch (SchemaChangeException e) {
-            throw new UnsupportedOperationException(e);
-          }
+      // allocate the tournament tree with the generated comparator
+      this.tree = new LoserTree(senderCount, (leftIndex, rightIndex) -> {
+        try {
+          return merger.doEval(leftIndex, rightIndex);
+        } catch (SchemaChangeException e) {
+          throw new UnsupportedOperationException(e);
         }
       });
 
-      // populate the priority queue with initial values
+      // populate the tree with initial values
       for (int b = 0; b < senderCount; ++b) {
         while (batchLoaders[b] != null && batchLoaders[b].getRecordCount() == 0) {
           try {
@@ -393,35 +387,35 @@ public class MergingRecordBatch extends AbstractRecordBatch<MergingReceiverPOP>
             return IterOutcome.STOP;
           }
         }
-        if (batchLoaders[b] != null) {
-          pqueue.add(new Node(b, 0));
-        }
+        tree.set(b, batchLoaders[b] != null ? b << 16 : LoserTree.EXHAUSTED);
       }
+      tree.build();
 
       hasRun = true;
       // finished lazy initialization
     }
 
     while (outgoingBatchHasSpace) {
-      // poll next value from pq and copy to outgoing batch
-      final Node node = pqueue.poll();
-      if (node == null) {
+      // take the smallest value from the tree and copy it to outgoing batch
+      if (tree.isEmpty()) {
         break;
       }
-      outgoingBatchHasSpace = copyRecordToOutgoingBatch(node);
+      final int batchId = tree.getWinner();
+      final int valueIndex = tree.getWinnerIndex() & 0xFFFF;
+      outgoingBatchHasSpace = copyRecordToOutgoingBatch(batchId, valueIndex);
 
-      if (node.valueIndex == batchLoaders[node.batchId].getRecordCount() - 1) {
+      if (valueIndex == batchLoaders[batchId].getRecordCount() - 1) {
         // reached the end of an incoming record batch
         RawFragmentBatch nextBatch;
         try {
-          nextBatch = getNext(node.batchId);
+          nextBatch = getNext(batchId);
 
           while (nextBatch != null && nextBatch.getHeader().getDef().getRecordCount() == 0) {
-            nextBatch = getNext(node.batchId);
+            nextBatch = getNext(batchId);
           }
 
-          assert nextBatch != null || inputCounts[node.batchId] == outputCounts[node.batchId]
-              : String.format("Stream %d input count: %d output count %d", node.batchId, inputCounts[node.batchId], outputCounts[node.batchId]);
+          assert nextBatch != null || inputCounts[batchId] == outputCounts[batchId]
+              : String.format("Stream %d input count: %d output count %d", batchId, inputCounts[batchId], outputCounts[batchId]);
           if (nextBatch == null && !context.getExecutorState().shouldContinue()) {
             return IterOutcome.STOP;
           }
@@ -430,10 +424,11 @@ public class MergingRecordBatch extends AbstractRecordBatch<MergingReceiverPOP>
           return IterOutcome.STOP;
         }
 
-        incomingBatches[node.batchId] = nextBatch;
+        incomingBatches[batchId] = nextBatch;
 
         if (nextBatch == null) {
           // batch is empty
+          tree.replaceWinner(LoserTree.EXHAUSTED);
           boolean allBatchesEmpty = true;
 
           for (final RawFragmentBatch batch : incomingBatches) {
@@ -449,32 +444,28 @@ public class MergingRecordBatch extends AbstractRecordBatch<MergingReceiverPOP>
             break;
           }
 
-          // this batch is empty; since the pqueue no longer references this batch, it will be
+          // this batch is empty; since the tree marked this sender as exhausted, it will be
           // ignored in subsequent iterations.
           continue;
         }
 
-        final UserBitShared.RecordBatchDef rbd = incomingBatches[node.batchId].getHeader().getDef();
+        final UserBitShared.RecordBatchDef rbd = incomingBatches[batchId].getHeader().getDef();
         try {
-          batchLoaders[node.batchId].load(rbd, incomingBatches[node.batchId].getBody());
+          batchLoaders[batchId].load(rbd, incomingBatches[batchId].getBody());
           // TODO:  Clean:  DRILL-2933:  That load(...) no longer throws
           // SchemaChangeException, so check/clean catch clause below.
         } catch(final SchemaChangeException ex) {
           context.getExecutorState().fail(ex);
           return IterOutcome.STOP;
         }
-        incomingBatches[node.batchId].release();
-        batchOffsets[node.batchId] = 0;
+        incomingBatches[batchId].release();
+        batchOffsets[batchId] = 0;
 
-        // add front value from batch[x] to priority queue
-        if (batchLoaders[node.batchId].getRecordCount() != 0) {
-          node.valueIndex = 0;
-          pqueue.add(node);
-        }
+        // replay front value from batch[x] in the tree
+        tree.replaceWinner(batchLoaders[batchId].getRecordCount() != 0 ? batchId << 16 : LoserTree.EXHAUSTED);
 
       } else {
-        node.valueIndex++;
-        pqueue.add(node);
+        tree.replaceWinner((batchId << 16) + valueIndex + 1);
       }
 
     }
@@ -484,7 +475,7 @@ public class MergingRecordBatch extends AbstractRecordBatch<MergingReceiverPOP>
       vw.getValueVector().getMutator().setValueCount(outgoingPosition);
     }
 
-    if (pqueue.isEmpty()) {
+    if (tree.isEmpty()) {
       state = BatchState.DONE;
     }
 
@@ -785,14 +776,15 @@ public class MergingRecordBatch extends AbstractRecordBatch<MergingReceiverPOP>
    * Copy the record referenced by the supplied node to the next output position.
    * Side Effect: increments outgoing position if successful
    *
-   * @param node Reference to the next record to copy from the incoming batches
+   * @param batchId incoming batch of the next record to copy
+   * @param valueIndex index of the next record to copy in its incoming batch
    */
-  private boolean copyRecordToOutgoingBatch(final Node node) {
+  private boolean copyRecordToOutgoingBatch(final int batchId, final int valueIndex) {
     assert outgoingPosition < OUTGOING_BATCH_SIZE
         : String.format("Outgoing position %d must be less than bath size %d", outgoingPosition, OUTGOING_BATCH_SIZE);
-    assert ++outputCounts[node.batchId] <= inputCounts[node.batchId]
-        : String.format("Stream %d input count: %d output count %d", node.batchId, inputCounts[node.batchId], outputCounts[node.batchId]);
-    final int inIndex = (node.batchId << 16) + node.valueIndex;
+    assert ++outputCounts[batchId] <= inputCounts[batchId]
+        : String.format("Stream %d input count: %d output count %d", batchId, inputCounts[batchId], outputCounts[batchId]);
+    final int inIndex = (batchId << 16) + valueIndex;
     try {
       merger.doCopy(inIndex, outgoingPosition);
     } catch (SchemaChangeException e) {
@@ -805,19 +797,6 @@ public class MergingRecordBatch extends AbstractRecordBatch<MergingReceiverPOP>
     return true;
   }
 
-  /**
-   * A Node contains a reference to a single value in a specific incoming batch.  It is used
-   * as a wrapper for the priority queue.
-   */
-  public class Node {
-    public int batchId;      // incoming batch
-    public int valueIndex;   // value within the batch
-    Node(final int batchId, final int valueIndex) {
-      this.batchId = batchId;
-      this.valueIndex = valueIndex;
-    }
-  }
-
   @Override
   public void close() {
     outgoingContainer.clear();
@@ -33,6 +33,7 @@ import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.expr.ClassGenerator;
 import org.apache.drill.exec.expr.CodeGenerator;
 import org.apache.drill.exec.expr.ExpressionTreeMaterializer;
+import org.apache.drill.exec.expr.fn.impl.BatchHasher;
 import org.apache.drill.exec.ops.AccountingDataTunnel;
 import org.apache.drill.exec.ops.ExchangeFragmentContext;
 import org.apache.drill.exec.ops.MetricDef;
@@ -283,7 +284,8 @@ public class PartitionSenderRootExec extends BaseRootExec {
             cgInner, startIndex, endIndex);
         }
 
-        partitioner = new PartitionerDecorator(subPartitioners, stats, context);
+        partitioner = new PartitionerDecorator(subPartitioners, stats, context,
+            BatchHasher.createForHashExpression(materializedExpr));
         for (int index = 0; index < terminations.size(); index++) {
           partitioner.getOutgoingBatches(terminations.buffer[index]).terminate();
         }
@@ -43,7 +43,14 @@ public interface Partitioner {
              ClassGenerator<?> cg,
              int start, int count) throws SchemaChangeException;
 
-  void partitionBatch(RecordBatch incoming) throws IOException;
+  /**
+   * Copies the records of the incoming batch to the outgoing batches of their partitions.
+   * @param incoming the batch to partition
+   * @param hashCodes the partitioning hash codes of the records, indexed as the vectors of the incoming batch,
+   * when they were computed for the whole batch; null to evaluate the partitioning expression for each record
+   * @throws IOException
+   */
+  void partitionBatch(RecordBatch incoming, int[] hashCodes) throws IOException;
   void flushOutgoingBatches(boolean isLastBatch, boolean schemaChanged) throws IOException;
   void initialize();
   void clear();
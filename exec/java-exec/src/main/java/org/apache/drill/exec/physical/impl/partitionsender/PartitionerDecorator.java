@@ -28,6 +28,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.LockSupport;
 
+import org.apache.drill.exec.expr.fn.impl.BatchHasher;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.ops.OperatorStats;
 import org.apache.drill.exec.record.RecordBatch;
@@ -57,15 +58,19 @@ public final class PartitionerDecorator {
   private final FragmentContext context;
   private final Thread thread;
   private final boolean enableParallelTaskExecution;
+  // computes the partitioning hash codes once per batch for all the partitioners, null to evaluate them in each
+  private final BatchHasher hasher;
 
-  PartitionerDecorator(List<Partitioner> partitioners, OperatorStats stats, FragmentContext context) {
-    this(partitioners, stats, context, partitioners.size() > 1);
+  PartitionerDecorator(List<Partitioner> partitioners, OperatorStats stats, FragmentContext context, BatchHasher hasher) {
+    this(partitioners, stats, context, hasher, partitioners.size() > 1);
   }
 
-  PartitionerDecorator(List<Partitioner> partitioners, OperatorStats stats, FragmentContext context, boolean enableParallelTaskExecution) {
+  PartitionerDecorator(List<Partitioner> partitioners, OperatorStats stats, FragmentContext context, BatchHasher hasher,
+                       boolean enableParallelTaskExecution) {
     this.partitioners = partitioners;
     this.stats = stats;
     this.context = context;
+    this.hasher = hasher;
     this.enableParallelTaskExecution = enableParallelTaskExecution;
     executor =  enableParallelTaskExecution ?  context.getExecutor() : MoreExecutors.newDirectExecutorService();
     thread = Thread.currentThread();
@@ -78,7 +83,8 @@ public final class PartitionerDecorator {
    * @throws ExecutionException
    */
   public void partitionBatch(final RecordBatch incoming) throws ExecutionException {
-    executeMethodLogic(new PartitionBatchHandlingClass(incoming));
+    final int[] hashCodes = hasher == null ? null : hasher.hash32(incoming);
+    executeMethodLogic(new PartitionBatchHandlingClass(incoming, hashCodes));
   }
 
   /**
@@ -255,14 +261,16 @@ public final class PartitionerDecorator {
   private static class PartitionBatchHandlingClass implements GeneralExecuteIface {
 
     private final RecordBatch incoming;
+    private final int[] hashCodes;
 
-    PartitionBatchHandlingClass(RecordBatch incoming) {
+    PartitionBatchHandlingClass(RecordBatch incoming, int[] hashCodes) {
       this.incoming = incoming;
+      this.hashCodes = hashCodes;
     }
 
     @Override
     public void execute(Partitioner part) throws IOException {
-      part.partitionBatch(incoming);
+      part.partitionBatch(incoming, hashCodes);
     }
   }
 
@@ -68,6 +68,7 @@ public abstract class PartitionerTemplate implements Partitioner {
   protected FragmentContext context;
   private int start;
   private int end;
+  private int destinationCount;
   private List<OutgoingRecordBatch> outgoingBatches = Lists.newArrayList();
 
   private int outgoingRecordBatchSize = DEFAULT_RECORD_BATCH_SIZE;
@@ -100,6 +101,7 @@ public abstract class PartitionerTemplate implements Partitioner {
     this.cg = cg;
     this.start = start;
     this.end = end;
+    this.destinationCount = popConfig.getDestinations().size();
     doSetup(context, incoming, null);
 
     // Half the outgoing record batch size if the number of senders exceeds 1000 to reduce the total amount of memory
@@ -188,28 +190,28 @@ public abstract class PartitionerTemplate implements Partitioner {
   }
 
   @Override
-  public void partitionBatch(RecordBatch incoming) throws IOException {
+  public void partitionBatch(RecordBatch incoming, int[] hashCodes) throws IOException {
     SelectionVectorMode svMode = incoming.getSchema().getSelectionVectorMode();
 
     // Keeping the for loop inside the case to avoid case evaluation for each record.
     switch(svMode) {
       case NONE:
         for (int recordId = 0; recordId < incoming.getRecordCount(); ++recordId) {
-          doCopy(recordId);
+          doCopy(recordId, hashCodes);
         }
         break;
 
       case TWO_BYTE:
         for (int recordId = 0; recordId < incoming.getRecordCount(); ++recordId) {
           int svIndex = sv2.getIndex(recordId);
-          doCopy(svIndex);
+          doCopy(svIndex, hashCodes);
         }
         break;
 
       case FOUR_BYTE:
         for (int recordId = 0; recordId < incoming.getRecordCount(); ++recordId) {
           int svIndex = sv4.get(recordId);
-          doCopy(svIndex);
+          doCopy(svIndex, hashCodes);
         }
         break;
 
@@ -221,14 +223,20 @@ public abstract class PartitionerTemplate implements Partitioner {
   /**
    * Helper method to copy data based on partition
    * @param svIndex
+   * @param hashCodes precomputed hash codes of the batch, or null
    * @throws IOException
    */
-  private void doCopy(int svIndex) throws IOException {
+  private void doCopy(int svIndex, int[] hashCodes) throws IOException {
     int index;
-    try {
-      index = doEval(svIndex);
-    } catch (SchemaChangeException e) {
-      throw new UnsupportedOperationException(e);
+    if (hashCodes != null) {
+      // same bucket as the generated doEval()
+      index = Math.abs(hashCodes[svIndex] % destinationCount);
+    } else {
+      try {
+        index = doEval(svIndex);
+      } catch (SchemaChangeException e) {
+        throw new UnsupportedOperationException(e);
+      }
     }
     if ( index >= start && index < end) {
       OutgoingRecordBatch outgoingBatch = outgoingBatches.get(index - start);
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.project;
+
+import org.apache.drill.exec.record.selection.SelectionVector2;
+import org.apache.drill.exec.vector.ValueVector;
+
+/**
+ * An output column of the Project copying an incoming column which cannot be transferred (the incoming has a
+ * selection vector, or the column is projected more than once), instead of the generated {@link Projector}. As
+ * the {@link VectorizedProjection}s, it reads the incoming vector before the projector transfers it.
+ */
+class ColumnCopy {
+  private final ValueVector input;
+  private final ValueVector output;
+
+  ColumnCopy(ValueVector input, ValueVector output) {
+    this.input = input;
+    this.output = output;
+  }
+
+  /**
+   * Copies the rows of the incoming into the first rows of the output vector.
+   * @param sv2 the selection vector of the incoming, or null when it has none
+   * @param startIndex the first row (or selection vector entry) to copy
+   * @param recordCount the number of rows to copy
+   */
+  void project(SelectionVector2 sv2, int startIndex, int recordCount) {
+    if (sv2 == null) {
+      for (int i = 0; i < recordCount; i++) {
+        output.copyEntry(i, input, startIndex + i);
+      }
+    } else {
+      for (int i = 0; i < recordCount; i++) {
+        output.copyEntry(i, input, sv2.getIndex(startIndex + i));
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ColumnCopy[output=" + output.getField() + "]";
+  }
+}
@@ -44,10 +44,13 @@ import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.expr.ClassGenerator;
 import org.apache.drill.exec.expr.ClassGenerator.HoldingContainer;
 import org.apache.drill.exec.expr.CodeGenerator;
+import org.apache.drill.exec.expr.ConstantExpressionFolder;
 import org.apache.drill.exec.expr.DrillFuncHolderExpr;
 import org.apache.drill.exec.expr.ExpressionTreeMaterializer;
 import org.apache.drill.exec.expr.ValueVectorReadExpression;
 import org.apache.drill.exec.expr.ValueVectorWriteExpression;
+import org.apache.drill.exec.expr.vectorized.ColumnEvaluator;
+import org.apache.drill.exec.expr.vectorized.ColumnEvaluatorBuilder;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.physical.config.Project;
 import org.apache.drill.exec.planner.StarColumnHelper;
@@ -60,6 +63,7 @@ import org.apache.drill.exec.record.TransferPair;
 import org.apache.drill.exec.record.TypedFieldId;
 import org.apache.drill.exec.record.VectorContainer;
 import org.apache.drill.exec.record.VectorWrapper;
+import org.apache.drill.exec.record.selection.SelectionVector2;
 import org.apache.drill.exec.store.ColumnExplorer;
 import org.apache.drill.exec.util.record.RecordBatchStats;
 import org.apache.drill.exec.util.record.RecordBatchStats.RecordBatchIOType;
@@ -85,6 +89,8 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
   private boolean hasRemainder = false;
   private int remainderIndex = 0;
   private int recordCount;
+  private List<VectorizedProjection> vectorizedProjections = Lists.newArrayList();
+  private List<ColumnCopy> columnCopies = Lists.newArrayList();
 
   private ProjectMemoryManager memoryManager;
 
@@ -229,6 +235,7 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
       return IterOutcome.OUT_OF_MEMORY;
     }
     long projectStartTime = System.currentTimeMillis();
+    doVectorizedProjections(0, Math.min(maxOuputRecordCount, incomingRecordCount));
     final int outputRecords = projector.projectRecords(this.incoming,0, maxOuputRecordCount, 0);
     long projectEndTime = System.currentTimeMillis();
     logger.trace("doWork(): projection: records {}, time {} ms", outputRecords, (projectEndTime - projectStartTime));
@@ -260,6 +267,27 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
     return getFinalOutcome(hasRemainder);
   }
 
+  /**
+   * Evaluates the columns projected a column at a time, and copies the copied ones. They read the incoming vectors,
+   * so this is done before the projector transfers them to the outgoing batch.
+   */
+  private void doVectorizedProjections(int startIndex, int recordCount) {
+    if (vectorizedProjections.isEmpty() && columnCopies.isEmpty()) {
+      return;
+    }
+    SelectionVector2 sv2 = null;
+    if (incoming.getSchema().getSelectionVectorMode() == SelectionVectorMode.TWO_BYTE) {
+      sv2 = incoming.getSelectionVector2();
+      startIndex = 0; // same as the projector
+    }
+    for (final VectorizedProjection projection : vectorizedProjections) {
+      projection.project(sv2, startIndex, recordCount);
+    }
+    for (final ColumnCopy copy : columnCopies) {
+      copy.project(sv2, startIndex, recordCount);
+    }
+  }
+
   private void handleRemainder() {
     final int remainingRecordCount = incoming.getRecordCount() - remainderIndex;
     assert this.memoryManager.incomingBatch == incoming;
@@ -274,6 +302,7 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
                  remainingRecordCount, recordsToProcess, remainderIndex, incoming, this);
 
     long projectStartTime = System.currentTimeMillis();
+    doVectorizedProjections(remainderIndex, recordsToProcess);
     final int projRecords = projector.projectRecords(this.incoming, remainderIndex, recordsToProcess, 0);
     long projectEndTime = System.currentTimeMillis();
 
@@ -375,6 +404,9 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
       }
     }
     this.allocationVectors = Lists.newArrayList();
+    this.vectorizedProjections = Lists.newArrayList();
+    this.columnCopies = Lists.newArrayList();
+    final boolean vectorizedEvaluation = context.getOptions().getOption(ExecConstants.VECTORIZED_EVALUATION_VALIDATOR);
 
     if (complexWriters != null) {
       container.clear();
@@ -398,6 +430,8 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
     //cg.getCodeGenerator().saveCodeForDebugging(true);
 
     final IntHashSet transferFieldIds = new IntHashSet();
+    // false while no expression was added to the generated projector
+    boolean generated = false;
 
     final boolean isAnyWildcard = isAnyWildcard(exprs);
 
@@ -464,6 +498,7 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
               final ValueVectorWriteExpression write = new ValueVectorWriteExpression(fid, expr, true);
               memoryManager.addNewField(vv, write);
               final HoldingContainer hc = cg.addExpr(write, ClassGenerator.BlkCreateMode.TRUE_IF_BOUND);
+              generated = true;
             }
           }
           continue;
@@ -491,12 +526,13 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
         }
       }
 
-      final LogicalExpression expr = ExpressionTreeMaterializer.materialize(namedExpression.getExpr(), incomingBatch,
+      final LogicalExpression materializedExpr = ExpressionTreeMaterializer.materialize(namedExpression.getExpr(), incomingBatch,
           collector, context.getFunctionRegistry(), true, unionTypeEnabled);
-      final MaterializedField outputField = MaterializedField.create(outputName, expr.getMajorType());
+      final MaterializedField outputField = MaterializedField.create(outputName, materializedExpr.getMajorType());
       if (collector.hasErrors()) {
         throw new SchemaChangeException(String.format("Failure while trying to materialize incoming schema.  Errors:\n %s.", collector.toErrorString()));
       }
+      final LogicalExpression expr = ConstantExpressionFolder.fold(materializedExpr, context);
 
       // add value vector to transfer if direct reference and this is allowed, otherwise, add to evaluation stack.
       if (expr instanceof ValueVectorReadExpression && incomingBatch.getSchema().getSelectionVectorMode() == SelectionVectorMode.NONE
@@ -530,6 +566,7 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
         // The reference name will be passed to ComplexWriter, used as the name of the output vector from the writer.
         ((DrillFuncHolderExpr) expr).getFieldReference(namedExpression.getRef());
         cg.addExpr(expr, ClassGenerator.BlkCreateMode.TRUE_IF_BOUND);
+        generated = true;
         if (complexFieldReferencesList == null) {
           complexFieldReferencesList = Lists.newArrayList();
         } else {
@@ -546,7 +583,17 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
         final TypedFieldId fid = container.getValueVectorId(SchemaPath.getSimplePath(outputField.getName()));
         final boolean useSetSafe = !(ouputVector instanceof FixedWidthVector);
         final ValueVectorWriteExpression write = new ValueVectorWriteExpression(fid, expr, useSetSafe);
-        final HoldingContainer hc = cg.addExpr(write, ClassGenerator.BlkCreateMode.TRUE_IF_BOUND);
+        final ColumnEvaluator evaluator = vectorizedEvaluation && !(expr instanceof ValueVectorReadExpression)
+            ? ColumnEvaluatorBuilder.build(expr, incomingBatch) : null;
+        final ValueVector copiedVector = vectorizedEvaluation ? getCopiedVector(expr, incomingBatch, ouputVector) : null;
+        if (evaluator != null) {
+          vectorizedProjections.add(new VectorizedProjection(evaluator, ouputVector));
+        } else if (copiedVector != null) {
+          columnCopies.add(new ColumnCopy(copiedVector, ouputVector));
+        } else {
+          cg.addExpr(write, ClassGenerator.BlkCreateMode.TRUE_IF_BOUND);
+          generated = true;
+        }
         memoryManager.addNewField(ouputVector, write);
 
         // We cannot do multiple transfers from the same vector. However we still need to instantiate the output vector.
@@ -567,7 +614,8 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
       codeGen.plainJavaCapable(true);
       // Uncomment out this line to debug the generated code.
       //codeGen.saveCodeForDebugging(true);
-      this.projector = context.getImplementationClass(codeGen);
+      // Without any expression left to evaluate, the precompiled projector only transfers the columns
+      this.projector = generated ? context.getImplementationClass(codeGen) : new TransferProjector();
       projector.setup(context, incomingBatch, this, transfers);
     } catch (ClassTransformationException | IOException e) {
       throw new SchemaChangeException("Failure while attempting to load generated class", e);
@@ -578,6 +626,45 @@ public class ProjectRecordBatch extends AbstractSingleRecordBatch<Project> {
                   (setupNewSchemaEndTime - setupNewSchemaStartTime), this, incomingBatch);
   }
 
+  /**
+   * @return the incoming vector read by the expression when its values can be copied as they are into the output
+   * vector, else null
+   */
+  private ValueVector getCopiedVector(LogicalExpression expr, RecordBatch incomingBatch, ValueVector outputVector) {
+    if (!(expr instanceof ValueVectorReadExpression)) {
+      return null;
+    }
+    final ValueVectorReadExpression vectorRead = (ValueVectorReadExpression) expr;
+    final TypedFieldId id = vectorRead.getFieldId();
+    if (vectorRead.hasReadPath() || vectorRead.isSuperReader() || id.getFieldIds().length != 1) {
+      return null;
+    }
+    switch (vectorRead.getMajorType().getMode()) {
+      case REQUIRED:
+      case OPTIONAL:
+        break;
+      default:
+        return null;
+    }
+    switch (vectorRead.getMajorType().getMinorType()) {
+      case MAP:
+      case LIST:
+      case UNION:
+      case NULL:
+      case LATE:
+        return null;
+      default:
+        break;
+    }
+    final VectorWrapper<?> wrapper = incomingBatch.getValueAccessorById(id.getIntermediateClass(), id.getFieldIds());
+    if (wrapper == null) {
+      return null;
+    }
+    final ValueVector vvIn = wrapper.getValueVector();
+    return vvIn.getClass() == outputVector.getClass()
+        && vvIn.getField().getType().equals(outputVector.getField().getType()) ? vvIn : null;
+  }
+
   @Override
   protected boolean setupNewSchema() throws SchemaChangeException {
     setupNewSchemaFromInput(this.incoming);
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.project;
+
+import org.apache.drill.exec.expr.vectorized.ColumnEvaluator;
+import org.apache.drill.exec.record.selection.SelectionVector2;
+import org.apache.drill.exec.vector.BigIntVector;
+import org.apache.drill.exec.vector.BitVector;
+import org.apache.drill.exec.vector.Float4Vector;
+import org.apache.drill.exec.vector.Float8Vector;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.vector.NullableBigIntVector;
+import org.apache.drill.exec.vector.NullableBitVector;
+import org.apache.drill.exec.vector.NullableFloat4Vector;
+import org.apache.drill.exec.vector.NullableFloat8Vector;
+import org.apache.drill.exec.vector.NullableIntVector;
+import org.apache.drill.exec.vector.ValueVector;
+
+/**
+ * An output column of the Project evaluated a column at a time by a {@link ColumnEvaluator}, instead of by the
+ * generated {@link Projector}. The output vector is allocated (and its value count set) with the other evaluated
+ * columns; the null rows are left unset, as the allocation clears the bits.
+ */
+class VectorizedProjection {
+  private final ColumnEvaluator evaluator;
+  private final ValueVector output;
+  private int[] rows;
+
+  VectorizedProjection(ColumnEvaluator evaluator, ValueVector output) {
+    this.evaluator = evaluator;
+    this.output = output;
+  }
+
+  /**
+   * Evaluates the rows of the incoming into the first rows of the output vector.
+   * @param sv2 the selection vector of the incoming, or null when it has none
+   * @param startIndex the first row (or selection vector entry) to evaluate
+   * @param recordCount the number of rows to evaluate
+   */
+  void project(SelectionVector2 sv2, int startIndex, int recordCount) {
+    rows = ColumnEvaluator.rowIndexes(rows, sv2, startIndex, recordCount);
+    evaluator.evaluate(rows, recordCount);
+    final long[] longs = evaluator.getLongs();
+    final double[] doubles = evaluator.getDoubles();
+    final boolean[] nulls = evaluator.getNulls();
+    switch (evaluator.getType().getMinorType()) {
+      case INT:
+        if (evaluator.isNullable()) {
+          final NullableIntVector.Mutator mutator = ((NullableIntVector) output).getMutator();
+          for (int i = 0; i < recordCount; i++) {
+            if (!nulls[i]) {
+              mutator.set(i, (int) longs[i]);
+            }
+          }
+        } else {
+          final IntVector.Mutator mutator = ((IntVector) output).getMutator();
+          for (int i = 0; i < recordCount; i++) {
+            mutator.set(i, (int) longs[i]);
+          }
+        }
+        break;
+      case BIGINT:
+        if (evaluator.isNullable()) {
+          final NullableBigIntVector.Mutator mutator = ((NullableBigIntVector) output).getMutator();
+          for (int i = 0; i < recordCount; i++) {
+            if (!nulls[i]) {
+              mutator.set(i, longs[i]);
+            }
+          }
+        } else {
+          final BigIntVector.Mutator mutator = ((BigIntVector) output).getMutator();
+          for (int i = 0; i < recordCount; i++) {
+            mutator.set(i, longs[i]);
+          }
+        }
+        break;
+      case FLOAT4:
+        if (evaluator.isNullable()) {
+          final NullableFloat4Vector.Mutator mutator = ((NullableFloat4Vector) output).getMutator();
+          for (int i = 0; i < recordCount; i++) {
+            if (!nulls[i]) {
+              mutator.set(i, (float) doubles[i]);
+            }
+          }
+        } else {
+          final Float4Vector.Mutator mutator = ((Float4Vector) output).getMutator();
+          for (int i = 0; i < recordCount; i++) {
+            mutator.set(i, (float) doubles[i]);
+          }
+        }
+        break;
+      case FLOAT8:
+        if (evaluator.isNullable()) {
+          final NullableFloat8Vector.Mutator mutator = ((NullableFloat8Vector) output).getMutator();
+          for (int i = 0; i < recordCount; i++) {
+            if (!nulls[i]) {
+              mutator.set(i, doubles[i]);
+            }
+          }
+        } else {
+          final Float8Vector.Mutator mutator = ((Float8Vector) output).getMutator();
+          for (int i = 0; i < recordCount; i++) {
+            mutator.set(i, doubles[i]);
+          }
+        }
+        break;
+      case BIT:
+        if (evaluator.isNullable()) {
+          final NullableBitVector.Mutator mutator = ((NullableBitVector) output).getMutator();
+          for (int i = 0; i < recordCount; i++) {
+            if (!nulls[i]) {
+              mutator.set(i, (int) longs[i]);
+            }
+          }
+        } else {
+          final BitVector.Mutator mutator = ((BitVector) output).getMutator();
+          for (int i = 0; i < recordCount; i++) {
+            mutator.set(i, (int) longs[i]);
+          }
+        }
+        break;
+      default:
+        throw new UnsupportedOperationException(evaluator.getType().getMinorType().name());
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "VectorizedProjection[output=" + output.getField() + "]";
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.sort;
+
+/**
+ * Tournament tree of losers, merging sorted sources. Each source exposes its current record as an int index (in
+ * practice an SV4 style compound index: batch in the upper 16 bits, record in the lower 16 bits), and the tree
+ * returns the source of the smallest current record.
+ * <p>
+ * Each internal node keeps the loser of the match played there, the overall winner is kept apart. When the winner
+ * moves to its next record only the matches on its path to the root are replayed, against the stored losers: that's
+ * exactly log2(n) comparisons per merged record, where a binary heap needs up to twice as many to sift down, and
+ * the path is known upfront so no comparison is spent choosing between children.
+ * <p>
+ * Ties are broken on the source number, which keeps the merge stable.
+ */
+public class LoserTree {
+
+  /**
+   * Current index of a source with no more records. Exhausted sources lose every match.
+   */
+  public static final int EXHAUSTED = -1;
+
+  /**
+   * Compares the records at two indexes.
+   */
+  public interface IndexComparator {
+    int compare(int leftIndex, int rightIndex);
+  }
+
+  private final IndexComparator comparator;
+  private final int sourceCount;
+  // tree[0] is the winner, tree[1 .. sourceCount - 1] the losers of the internal nodes; the leaves of the sources
+  // are the implicit nodes sourceCount .. 2 * sourceCount - 1
+  private final int[] tree;
+  private final int[] indexes;
+
+  public LoserTree(int sourceCount, IndexComparator comparator) {
+    if (sourceCount < 1) {
+      throw new IllegalArgumentException("A merge needs at least one source, got " + sourceCount);
+    }
+    this.sourceCount = sourceCount;
+    this.comparator = comparator;
+    this.tree = new int[sourceCount];
+    this.indexes = new int[sourceCount];
+  }
+
+  /**
+   * Sets the first record of a source, before {@link #build()}.
+   * @param source source number
+   * @param index index of its first record, or {@link #EXHAUSTED} if it is empty
+   */
+  public void set(int source, int index) {
+    indexes[source] = index;
+  }
+
+  /**
+   * Plays the initial tournament, n - 1 comparisons.
+   */
+  public void build() {
+    final int[] winners = new int[2 * sourceCount];
+    for (int source = 0; source < sourceCount; source++) {
+      winners[sourceCount + source] = source;
+    }
+    for (int node = sourceCount - 1; node > 0; node--) {
+      final int left = winners[2 * node];
+      final int right = winners[2 * node + 1];
+      if (beats(left, right)) {
+        winners[node] = left;
+        tree[node] = right;
+      } else {
+        winners[node] = right;
+        tree[node] = left;
+      }
+    }
+    tree[0] = sourceCount == 1 ? 0 : winners[1];
+  }
+
+  /**
+   * @return true if all the sources are exhausted
+   */
+  public boolean isEmpty() {
+    return indexes[tree[0]] == EXHAUSTED;
+  }
+
+  /**
+   * @return source of the smallest current record
+   */
+  public int getWinner() {
+    return tree[0];
+  }
+
+  /**
+   * @return index of the smallest current record
+   */
+  public int getWinnerIndex() {
+    return indexes[tree[0]];
+  }
+
+  /**
+   * Moves the winner to its next record and replays its path to the root.
+   * @param index index of the next record of the winner, or {@link #EXHAUSTED}
+   */
+  public void replaceWinner(int index) {
+    int winner = tree[0];
+    indexes[winner] = index;
+    for (int node = (sourceCount + winner) >>> 1; node > 0; node >>>= 1) {
+      final int loser = tree[node];
+      if (beats(loser, winner)) {
+        tree[node] = winner;
+        winner = loser;
+      }
+    }
+    tree[0] = winner;
+  }
+
+  private boolean beats(int source1, int source2) {
+    final int index1 = indexes[source1];
+    final int index2 = indexes[source2];
+    if (index1 == EXHAUSTED) {
+      return false;
+    } else if (index2 == EXHAUSTED) {
+      return true;
+    }
+    final int cmp = comparator.compare(index1, index2);
+    return cmp < 0 || (cmp == 0 && source1 < source2);
+  }
+}
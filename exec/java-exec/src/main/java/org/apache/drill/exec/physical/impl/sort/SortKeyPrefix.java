@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.sort;
+
+import org.apache.calcite.rel.RelFieldCollation.Direction;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.logical.data.Order.Ordering;
+import org.apache.drill.common.types.TypeProtos.DataMode;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.record.TypedFieldId;
+import org.apache.drill.exec.record.VectorAccessible;
+import org.apache.drill.exec.record.VectorWrapper;
+import org.apache.drill.exec.vector.BaseDataValueVector;
+import org.apache.drill.exec.vector.BigIntVector;
+import org.apache.drill.exec.vector.DateVector;
+import org.apache.drill.exec.vector.Float4Vector;
+import org.apache.drill.exec.vector.Float8Vector;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.vector.NullableVector;
+import org.apache.drill.exec.vector.TimeStampVector;
+import org.apache.drill.exec.vector.TimeVector;
+import org.apache.drill.exec.vector.ValueVector;
+import org.apache.drill.exec.vector.VariableWidthVector;
+
+import io.netty.buffer.DrillBuf;
+
+/**
+ * Normalized prefix of the leading sort key. The key of a record is encoded once into a long such that comparing
+ * two prefixes with {@link Long#compare(long, long)} orders them like the sort does: nulls first or last, ascending
+ * or descending. Prefixes are not exact: a 64 bit key loses its lowest bit and a string keeps its first 8 bytes only,
+ * so records with equal prefixes still have to be compared with the full comparator, but records with different
+ * prefixes never do.
+ * <p>
+ * Supported leading keys are columns of type INT, BIGINT, FLOAT4, FLOAT8, DATE, TIME, TIMESTAMP, VARCHAR and
+ * VARBINARY. Floating point keys follow the comparison functions: NaN is the largest value and -0.0 equals 0.0;
+ * strings are compared as unsigned bytes.
+ */
+public class SortKeyPrefix {
+
+  private final SchemaPath column;
+  private final MinorType type;
+  private final boolean descending;
+  private final boolean nullsSortHigh;
+
+  // vectors of the key column, one per batch of a hyper batch
+  private ValueVector[] vectors;
+
+  private SortKeyPrefix(SchemaPath column, MinorType type, Ordering ordering) {
+    this.column = column;
+    this.type = type;
+    this.descending = ordering.getDirection() == Direction.DESCENDING;
+    this.nullsSortHigh = ordering.nullsSortHigh();
+  }
+
+  /**
+   * @param ordering leading ordering of the sort
+   * @param batch batch with the schema of the sorted records
+   * @return the prefix of the leading sort key, or null if the key can't be encoded
+   */
+  public static SortKeyPrefix create(Ordering ordering, VectorAccessible batch) {
+    if (!(ordering.getExpr() instanceof SchemaPath) || !((SchemaPath) ordering.getExpr()).isSimplePath()) {
+      return null;
+    }
+    final SchemaPath column = (SchemaPath) ordering.getExpr();
+    final TypedFieldId fieldId = batch.getValueVectorId(column);
+    if (fieldId == null || fieldId.getFieldIds().length != 1
+        || fieldId.getFinalType().getMode() == DataMode.REPEATED) {
+      return null;
+    }
+    final MinorType type = fieldId.getFinalType().getMinorType();
+    switch (type) {
+      case INT:
+      case BIGINT:
+      case FLOAT4:
+      case FLOAT8:
+      case DATE:
+      case TIME:
+      case TIMESTAMP:
+      case VARCHAR:
+      case VARBINARY:
+        return new SortKeyPrefix(column, type, ordering);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Resolves the key column in a batch, a single batch or a hyper batch.
+   */
+  public void bind(VectorAccessible batch) {
+    final TypedFieldId fieldId = batch.getValueVectorId(column);
+    final VectorWrapper<?> wrapper = batch.getValueAccessorById(ValueVector.class, fieldId.getFieldIds());
+    vectors = wrapper.isHyper() ? wrapper.getValueVectors() : new ValueVector[] {wrapper.getValueVector()};
+  }
+
+  /**
+   * @param batchIndex batch of the record, 0 for a single batch
+   * @param recordIndex index of the record in its batch
+   * @return the prefix of the key of a record
+   */
+  public long getPrefix(int batchIndex, int recordIndex) {
+    final ValueVector vector = vectors[batchIndex];
+    long prefix;
+    if (vector.getAccessor().isNull(recordIndex)) {
+      prefix = nullsSortHigh ? -1L : 0L;
+    } else {
+      final ValueVector values = vector instanceof NullableVector ? ((NullableVector) vector).getValuesVector() : vector;
+      // one bit is kept to put nulls before or after all the values
+      prefix = encode(values, recordIndex) >>> 1;
+      if (!nullsSortHigh) {
+        prefix |= Long.MIN_VALUE;
+      }
+    }
+    if (descending) {
+      prefix = ~prefix;
+    }
+    // from unsigned to signed order
+    return prefix ^ Long.MIN_VALUE;
+  }
+
+  /**
+   * @return the key, encoded so that unsigned order is ascending order
+   */
+  private long encode(ValueVector values, int index) {
+    switch (type) {
+      case INT:
+        return encodeInt(((IntVector) values).getAccessor().get(index));
+      case TIME:
+        return encodeInt(((TimeVector) values).getAccessor().get(index));
+      case BIGINT:
+        return ((BigIntVector) values).getAccessor().get(index) ^ Long.MIN_VALUE;
+      case DATE:
+        return ((DateVector) values).getAccessor().get(index) ^ Long.MIN_VALUE;
+      case TIMESTAMP:
+        return ((TimeStampVector) values).getAccessor().get(index) ^ Long.MIN_VALUE;
+      case FLOAT4:
+        return encodeDouble(((Float4Vector) values).getAccessor().get(index));
+      case FLOAT8:
+        return encodeDouble(((Float8Vector) values).getAccessor().get(index));
+      case VARCHAR:
+      case VARBINARY:
+        return encodeBytes((VariableWidthVector) values, index);
+      default:
+        throw new IllegalStateException("Unexpected type " + type);
+    }
+  }
+
+  private static long encodeInt(int value) {
+    return ((value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL) << 32;
+  }
+
+  static long encodeDouble(double value) {
+    if (Double.isNaN(value)) {
+      return -1L;
+    }
+    // -0.0 == 0.0
+    final long bits = Double.doubleToRawLongBits(value == 0.0 ? 0.0 : value);
+    return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+  }
+
+  private static long encodeBytes(VariableWidthVector values, int index) {
+    final int start = values.getOffsetVector().getAccessor().get(index);
+    final int end = values.getOffsetVector().getAccessor().get(index + 1);
+    final DrillBuf data = ((BaseDataValueVector) values).getBuffer();
+    final int length = Math.min(end - start, 8);
+    long prefix = 0;
+    for (int i = 0; i < length; i++) {
+      prefix |= (data.getByte(start + i) & 0xFFL) << (56 - 8 * i);
+    }
+    return prefix;
+  }
+
+  @Override
+  public String toString() {
+    return "SortKeyPrefix[column=" + column
+        + ", type=" + type
+        + ", descending=" + descending
+        + ", nullsSortHigh=" + nullsSortHigh
+        + "]";
+  }
+}
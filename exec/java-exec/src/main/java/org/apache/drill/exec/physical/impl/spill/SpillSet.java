@@ -40,6 +40,7 @@ import org.apache.drill.exec.physical.base.PhysicalOperator;
 import org.apache.drill.exec.physical.config.HashAggregate;
 import org.apache.drill.exec.physical.config.HashJoinPOP;
 import org.apache.drill.exec.physical.config.Sort;
+import org.apache.drill.exec.physical.config.WindowPOP;
 import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
 import org.apache.drill.exec.proto.helper.QueryIdHelper;
 import org.apache.hadoop.conf.Configuration;
@@ -437,6 +438,10 @@ public class SpillSet {
       operName = "HashJoin";
       spillFs = config.getString(ExecConstants.HASHJOIN_SPILL_FILESYSTEM);
       dirList = config.getStringList(ExecConstants.HASHJOIN_SPILL_DIRS);
+    } else if (popConfig instanceof WindowPOP) {
+      operName = "Window";
+      spillFs = config.getString(ExecConstants.SPILL_FILESYSTEM);
+      dirList = config.getStringList(ExecConstants.SPILL_DIRS);
     } else {
         // just use the common ones
         operName = "Unknown";
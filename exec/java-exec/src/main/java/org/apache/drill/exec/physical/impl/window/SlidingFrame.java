@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.window;
+
+/**
+ * Aggregate of a sliding frame: ROWS BETWEEN n PRECEDING AND CURRENT ROW. Rows are added one at a time in
+ * partition order, and the rows that fall out of the frame are removed as it slides, so each row costs O(1)
+ * (amortized) instead of O(n):
+ * <ul>
+ * <li>SUM, $SUM0, COUNT and AVG keep the values of the rows in the frame and subtract the value leaving the
+ * frame. Floating point sums are compensated, and non finite values are counted apart, so removing a value
+ * doesn't accumulate errors or leave a NaN behind.</li>
+ * <li>MIN and MAX keep a monotonic deque of the rows that can still become the minimum (maximum) of the
+ * frame.</li>
+ * </ul>
+ * Integral values are held as longs, floating point values as the raw bits of a double.
+ */
+public class SlidingFrame {
+
+  public enum Kind {
+    SUM,
+    SUM0,
+    COUNT,
+    AVG,
+    MIN,
+    MAX
+  }
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final Kind kind;
+  private final boolean floating;
+  private final long frameLength; // number of rows in a full frame
+
+  // circular buffer: the rows of the frame for SUM, $SUM0, COUNT and AVG, the deque for MIN and MAX
+  private long[] values = new long[INITIAL_CAPACITY];
+  private long[] positions = new long[INITIAL_CAPACITY];
+  private boolean[] nulls = new boolean[INITIAL_CAPACITY];
+  private int head;
+  private int size;
+
+  private long position; // position in the partition of the next row
+
+  private long count; // non null values in the frame
+  private long longSum;
+  private double doubleSum;
+  private double compensation;
+  private long nanCount;
+  private long positiveInfinityCount;
+  private long negativeInfinityCount;
+
+  /**
+   * @param kind aggregate function
+   * @param floating true if the values are floating point numbers
+   * @param numPreceding n of n PRECEDING
+   */
+  public SlidingFrame(Kind kind, boolean floating, long numPreceding) {
+    this.kind = kind;
+    this.floating = floating;
+    this.frameLength = numPreceding == Long.MAX_VALUE ? Long.MAX_VALUE : numPreceding + 1;
+  }
+
+  /**
+   * Starts a new partition.
+   */
+  public void reset() {
+    head = 0;
+    size = 0;
+    position = 0;
+    count = 0;
+    longSum = 0;
+    doubleSum = 0;
+    compensation = 0;
+    nanCount = 0;
+    positiveInfinityCount = 0;
+    negativeInfinityCount = 0;
+  }
+
+  public void addNull() {
+    add(true, 0);
+  }
+
+  public void add(long value) {
+    assert !floating;
+    add(false, value);
+  }
+
+  public void add(double value) {
+    assert floating;
+    add(false, Double.doubleToRawLongBits(value));
+  }
+
+  private void add(boolean isNull, long value) {
+    if (kind == Kind.MIN || kind == Kind.MAX) {
+      addToDeque(isNull, value);
+    } else {
+      addToSum(isNull, value);
+    }
+    position++;
+  }
+
+  private void addToSum(boolean isNull, long value) {
+    if (size == frameLength) {
+      // the first row of the frame slides out
+      if (!nulls[head]) {
+        aggregate(values[head], -1);
+      }
+      pollFirst();
+    }
+    addLast(position, isNull, value);
+    if (!isNull) {
+      aggregate(value, 1);
+    }
+  }
+
+  private void aggregate(long value, int sign) {
+    count += sign;
+    if (!floating) {
+      longSum += sign * value;
+      return;
+    }
+    final double d = Double.longBitsToDouble(value);
+    if (Double.isNaN(d)) {
+      nanCount += sign;
+    } else if (d == Double.POSITIVE_INFINITY) {
+      positiveInfinityCount += sign;
+    } else if (d == Double.NEGATIVE_INFINITY) {
+      negativeInfinityCount += sign;
+    } else {
+      // Neumaier summation
+      final double x = sign * d;
+      final double t = doubleSum + x;
+      if (Math.abs(doubleSum) >= Math.abs(x)) {
+        compensation += (doubleSum - t) + x;
+      } else {
+        compensation += (x - t) + doubleSum;
+      }
+      doubleSum = t;
+    }
+  }
+
+  private void addToDeque(boolean isNull, long value) {
+    // drop the rows that are no longer in the frame of the row being added
+    while (size > 0 && position - positions[head] >= frameLength) {
+      pollFirst();
+    }
+    if (isNull) {
+      return;
+    }
+    // drop the rows that can't be the minimum (maximum) anymore, the row being added is in all their frames
+    while (size > 0 && !precedes(values[last()], value)) {
+      size--;
+    }
+    addLast(position, false, value);
+  }
+
+  /**
+   * @return true if v1 has to stay in front of v2 in the deque
+   */
+  private boolean precedes(long v1, long v2) {
+    final int cmp = floating
+        ? Double.compare(Double.longBitsToDouble(v1), Double.longBitsToDouble(v2))
+        : Long.compare(v1, v2);
+    return kind == Kind.MIN ? cmp < 0 : cmp > 0;
+  }
+
+  private int last() {
+    return (head + size - 1) & (values.length - 1);
+  }
+
+  private void pollFirst() {
+    head = (head + 1) & (values.length - 1);
+    size--;
+  }
+
+  private void addLast(long rowPosition, boolean isNull, long value) {
+    if (size == values.length) {
+      grow();
+    }
+    final int index = (head + size) & (values.length - 1);
+    values[index] = value;
+    positions[index] = rowPosition;
+    nulls[index] = isNull;
+    size++;
+  }
+
+  private void grow() {
+    final int capacity = values.length << 1;
+    final long[] newValues = new long[capacity];
+    final long[] newPositions = new long[capacity];
+    final boolean[] newNulls = new boolean[capacity];
+    for (int i = 0; i < size; i++) {
+      final int index = (head + i) & (values.length - 1);
+      newValues[i] = values[index];
+      newPositions[i] = positions[index];
+      newNulls[i] = nulls[index];
+    }
+    values = newValues;
+    positions = newPositions;
+    nulls = newNulls;
+    head = 0;
+  }
+
+  /**
+   * @return true if the aggregate of the current frame is null
+   */
+  public boolean isNull() {
+    switch (kind) {
+      case SUM:
+      case AVG:
+        return count == 0;
+      case MIN:
+      case MAX:
+        return size == 0;
+      default:
+        return false;
+    }
+  }
+
+  public long getLong() {
+    switch (kind) {
+      case COUNT:
+        return count;
+      case SUM:
+      case SUM0:
+        return floating ? (long) getDoubleSum() : longSum;
+      case AVG:
+        return (long) getDouble();
+      default:
+        return size == 0 ? 0 : (floating ? (long) Double.longBitsToDouble(values[head]) : values[head]);
+    }
+  }
+
+  public double getDouble() {
+    switch (kind) {
+      case COUNT:
+        return count;
+      case SUM:
+      case SUM0:
+        return floating ? getDoubleSum() : longSum;
+      case AVG:
+        return count == 0 ? 0 : (floating ? getDoubleSum() : longSum) / count;
+      default:
+        return size == 0 ? 0 : (floating ? Double.longBitsToDouble(values[head]) : values[head]);
+    }
+  }
+
+  private double getDoubleSum() {
+    if (nanCount > 0 || (positiveInfinityCount > 0 && negativeInfinityCount > 0)) {
+      return Double.NaN;
+    } else if (positiveInfinityCount > 0) {
+      return Double.POSITIVE_INFINITY;
+    } else if (negativeInfinityCount > 0) {
+      return Double.NEGATIVE_INFINITY;
+    }
+    return doubleSum + compensation;
+  }
+
+  @Override
+  public String toString() {
+    return "SlidingFrame[kind=" + kind
+        + ", floating=" + floating
+        + ", frameLength=" + frameLength
+        + ", size=" + size
+        + ", position=" + position
+        + "]";
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.window;
+
+import org.apache.drill.common.exceptions.DrillException;
+import org.apache.drill.exec.exception.SchemaChangeException;
+import org.apache.drill.exec.ops.OperatorContext;
+import org.apache.drill.exec.physical.config.WindowPOP;
+import org.apache.drill.exec.record.VectorAccessible;
+import org.apache.drill.exec.record.VectorContainer;
+
+import java.util.List;
+
+/**
+ * WindowFramer for the aggregates over a sliding frame: ROWS BETWEEN n PRECEDING AND CURRENT ROW.
+ * <br>Each row slides the frame of every {@link WindowFunction.SlidingAggregate} by one row, so the rows of the
+ * frame are never aggregated again. Only the first batch is read: the rows that are still in the frame are kept
+ * by the aggregates. Partition boundaries are found with the generated comparisons of another framer.
+ */
+public class SlidingRowsFramer implements WindowFramer {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(SlidingRowsFramer.class);
+
+  private final WindowFramer comparator; // generated framer, used for isSamePartition() and isPeer()
+  private final List<WindowFunction.SlidingAggregate> functions;
+
+  private VectorContainer container;
+  private List<WindowDataBatch> batches;
+  private int outputCount; // number of rows in currently/last processed batch
+
+  private boolean partitionPending; // true if the last partition of the previous batch continues in the current batch
+
+  public SlidingRowsFramer(final WindowFramer comparator, final List<WindowFunction.SlidingAggregate> functions) {
+    this.comparator = comparator;
+    this.functions = functions;
+  }
+
+  @Override
+  public void setup(final List<WindowDataBatch> batches, final VectorContainer container, final OperatorContext oContext,
+                    final boolean requireFullPartition, final WindowPOP popConfig) throws SchemaChangeException {
+    this.container = container;
+    this.batches = batches;
+    outputCount = 0;
+    partitionPending = false;
+  }
+
+  /**
+   * processes all rows of the first batch.
+   */
+  @Override
+  public void doWork() throws DrillException {
+    final WindowDataBatch current = batches.get(0);
+    outputCount = current.getRecordCount();
+
+    for (WindowFunction.SlidingAggregate function : functions) {
+      function.setup(current, container);
+    }
+
+    int row = 0;
+    while (row < outputCount) {
+      if (!partitionPending) {
+        for (WindowFunction.SlidingAggregate function : functions) {
+          function.reset();
+        }
+      }
+      partitionPending = false;
+
+      final int partitionEnd = findPartitionEnd(current, row);
+      logger.trace("processing rows {} to {} of {}", row, partitionEnd, outputCount);
+      for (; row < partitionEnd; row++) {
+        for (WindowFunction.SlidingAggregate function : functions) {
+          function.evaluate(row, row);
+        }
+      }
+    }
+
+    // the last partition continues in the next batch if the next batch starts with it
+    partitionPending = batches.size() > 1 && isSamePartition(outputCount - 1, current, 0, batches.get(1));
+  }
+
+  /**
+   * @return index of the first row of the batch, after start, that belongs to another partition
+   */
+  private int findPartitionEnd(final WindowDataBatch current, final int start) throws SchemaChangeException {
+    int row = start + 1;
+    while (row < outputCount && isSamePartition(start, current, row, current)) {
+      row++;
+    }
+    return row;
+  }
+
+  @Override
+  public int getOutputCount() {
+    return outputCount;
+  }
+
+  @Override
+  public void cleanup() {
+  }
+
+  @Override
+  public boolean isSamePartition(final int b1Index, final VectorAccessible b1, final int b2Index, final VectorAccessible b2)
+      throws SchemaChangeException {
+    return comparator.isSamePartition(b1Index, b1, b2Index, b2);
+  }
+
+  @Override
+  public boolean isPeer(final int b1Index, final VectorAccessible b1, final int b2Index, final VectorAccessible b2)
+      throws SchemaChangeException {
+    return comparator.isPeer(b1Index, b1, b2Index, b2);
+  }
+
+  @Override
+  public String toString() {
+    return "SlidingRowsFramer[outputCount=" + outputCount
+        + ", partitionPending=" + partitionPending
+        + ", functions=" + functions.size()
+        + "]";
+  }
+}
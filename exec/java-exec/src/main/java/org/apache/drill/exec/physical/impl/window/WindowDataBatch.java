@@ -38,6 +38,11 @@ public class WindowDataBatch implements VectorAccessible {
   private final OperatorContext oContext;
   private final VectorContainer container;
   private final int recordCount;
+  private final long dataSize;
+
+  private WindowSpiller spiller; // set while the batch is spilled to disk
+  private String spillFile;
+  private boolean inMemory = true; // false when the batch is spilled and wasn't read back
 
   public WindowDataBatch(final VectorAccessible batch, final OperatorContext oContext) {
     this.oContext = oContext;
@@ -45,6 +50,7 @@ public class WindowDataBatch implements VectorAccessible {
 
     List<ValueVector> vectors = Lists.newArrayList();
 
+    long size = 0;
     for (VectorWrapper<?> v : batch) {
       if (v.isHyper()) {
         throw new UnsupportedOperationException("Record batch data can't be created based on a hyper batch.");
@@ -52,7 +58,9 @@ public class WindowDataBatch implements VectorAccessible {
       TransferPair tp = v.getValueVector().getTransferPair(oContext.getAllocator());
       tp.transfer();
       vectors.add(tp.getTo());
+      size += tp.getTo().getAllocatedSize();
     }
+    dataSize = size;
 
     container = new VectorContainer(oContext);
     container.addCollection(vectors);
@@ -65,6 +73,7 @@ public class WindowDataBatch implements VectorAccessible {
   }
 
   public VectorContainer getContainer() {
+    ensureInMemory();
     return container;
   }
 
@@ -73,8 +82,71 @@ public class WindowDataBatch implements VectorAccessible {
     return recordCount;
   }
 
+  /**
+   * @return memory used by the batch when it is held in memory
+   */
+  public long getDataSize() {
+    return dataSize;
+  }
+
+  public boolean isSpilled() {
+    return spiller != null;
+  }
+
+  public boolean isInMemory() {
+    return inMemory;
+  }
+
+  /**
+   * Called by the spiller once the batch was written to disk. The vectors are kept as empty shells, so code
+   * generated against this batch still sees the same vectors once they are read back.
+   */
+  void spilled(WindowSpiller spiller, String spillFile) {
+    this.spiller = spiller;
+    this.spillFile = spillFile;
+    container.zeroVectors();
+    inMemory = false;
+  }
+
+  String getSpillFile() {
+    return spillFile;
+  }
+
+  /**
+   * @return the container of the batch, without reading the batch back if it is spilled
+   */
+  VectorContainer getVectors() {
+    return container;
+  }
+
+  /**
+   * Called by the spiller when the data read back from the spill file was transferred into this batch, or
+   * released again.
+   */
+  void setInMemory(boolean inMemory) {
+    this.inMemory = inMemory;
+  }
+
+  /**
+   * Reads the batch back and keeps it in memory until it is cleared, the spill file is deleted.
+   */
+  public void unspill() {
+    if (spiller != null) {
+      spiller.unspill(this);
+      spiller = null;
+      spillFile = null;
+    }
+  }
+
+  private void ensureInMemory() {
+    if (!inMemory) {
+      spiller.reload(this);
+    }
+  }
+
   @Override
   public VectorWrapper<?> getValueAccessorById(Class<?> clazz, int... fieldIds) {
+    ensureInMemory();
     return container.getValueAccessorById(clazz, fieldIds);
   }
 
@@ -90,6 +162,7 @@ public class WindowDataBatch implements VectorAccessible {
 
   @Override
   public Iterator<VectorWrapper<?>> iterator() {
+    ensureInMemory();
     return container.iterator();
   }
 
@@ -104,11 +177,17 @@ public class WindowDataBatch implements VectorAccessible {
   }
 
   public void clear() {
+    if (spiller != null) {
+      spiller.delete(this);
+      spiller = null;
+      spillFile = null;
+    }
     container.clear();
   }
 
   @Override
   public String toString() {
-    return "WindowDataBatch[container=" + container + ", recordCount=" + recordCount + "]";
+    return "WindowDataBatch[container=" + container + ", recordCount=" + recordCount
+        + ", spillFile=" + spillFile + ", inMemory=" + inMemory + "]";
   }
 }
@@ -27,6 +27,7 @@ import org.apache.drill.common.exceptions.DrillException;
 import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.common.expression.FunctionCall;
 import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.common.logical.data.NamedExpression;
 import org.apache.drill.common.logical.data.Order;
 import org.apache.drill.exec.compile.TemplateClassDefinition;
@@ -40,6 +41,7 @@ import org.apache.drill.exec.expr.CodeGenerator;
 import org.apache.drill.exec.expr.ExpressionTreeMaterializer;
 import org.apache.drill.exec.expr.fn.FunctionGenerationHelper;
 import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.ops.MetricDef;
 import org.apache.drill.exec.physical.config.WindowPOP;
 import org.apache.drill.exec.record.AbstractRecordBatch;
 import org.apache.drill.exec.record.BatchSchema;
@@ -54,11 +56,29 @@ import org.apache.drill.exec.vector.ValueVector;
 
 /**
  * support for OVER(PARTITION BY expression1,expression2,... [ORDER BY expressionA, expressionB,...])
- *
+ * <p>
+ * Incoming batches are buffered until the window functions can process the first one. When spilling is
+ * enabled and the buffered batches of a large partition exceed the memory limit, the batches between the
+ * first and the last one are spilled with a {@link WindowSpiller}. Frames that only need the current peer
+ * rows keep streaming from memory, spilled batches are only read back, one at a time, by the frames that
+ * need the whole partition.
  */
 public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(WindowFrameRecordBatch.class);
 
+  public enum Metric implements MetricDef {
+    SPILL_COUNT,            // number of times the operator spilled to disk
+    SPILLED_BATCHES,        // number of batches written to disk
+    RELOADED_BATCHES,       // number of times a spilled batch was read back
+    PEAK_BATCHES_IN_MEMORY, // maximum number of batches buffered, spilled or not
+    SPILL_MB;               // number of MB of data spilled to disk
+
+    @Override
+    public int metricId() {
+      return ordinal();
+    }
+  }
+
   private final RecordBatch incoming;
   private List<WindowDataBatch> batches;
 
@@ -71,10 +91,27 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
 
   private boolean shouldStop; // true if we received an early termination request
 
+  private final boolean spillEnabled;
+  private final long memoryLimit;
+  private long maxBatchSize; // largest batch buffered so far
+  private int peakBatches;
+  private WindowSpiller spiller; // created on first spill
+
   public WindowFrameRecordBatch(WindowPOP popConfig, FragmentContext context, RecordBatch incoming) throws OutOfMemoryException {
     super(popConfig, context);
     this.incoming = incoming;
     batches = Lists.newArrayList();
+
+    spillEnabled = context.getOptions().getOption(ExecConstants.WINDOW_ENABLE_SPILL_VALIDATOR);
+    long limit = oContext.getAllocator().getLimit();
+    // Optional configured spill threshold, typically used only for testing. Unlike the allocator limit, it is
+    // not enforced: a partition that can't be spilled enough keeps its batches in memory.
+    long configLimit = context.getOptions().getOption(ExecConstants.WINDOW_MAX_MEMORY_VALIDATOR);
+    if (configLimit > 0) {
+      logger.debug("Memory limit was changed to {}", configLimit);
+      limit = Math.min(limit, configLimit);
+    }
+    memoryLimit = limit;
   }
 
   /**
@@ -128,7 +165,7 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
           }
         case OK:
           if (incoming.getRecordCount() > 0) {
-            batches.add(new WindowDataBatch(incoming, oContext));
+            addBatch(new WindowDataBatch(incoming, oContext));
           }
           break;
         default:
@@ -163,6 +200,9 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
     final WindowDataBatch current = batches.get(0);
     final int recordCount = current.getRecordCount();
 
+    // the framers expect the first batch to stay in memory while they read the next ones
+    current.unspill();
+
     logger.trace("WindowFramer.doWork() START, num batches {}, current batch has {} rows", batches.size(), recordCount);
 
     // allocate outgoing vectors
@@ -174,6 +214,10 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
       framer.doWork();
     }
 
+    if (spiller != null) {
+      spiller.release();
+    }
+
     // transfer "non aggregated" vectors
     for (VectorWrapper<?> vw : current) {
       ValueVector v = container.addOrGet(vw.getField());
@@ -193,6 +237,53 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
     logger.trace("doWork() END");
   }
 
+  private void addBatch(WindowDataBatch batch) {
+    batches.add(batch);
+    maxBatchSize = Math.max(maxBatchSize, batch.getDataSize());
+    if (batches.size() > peakBatches) {
+      peakBatches = batches.size();
+      stats.setLongStat(Metric.PEAK_BATCHES_IN_MEMORY, peakBatches);
+    }
+    if (spillEnabled) {
+      spillIfNeeded();
+    }
+  }
+
+  /**
+   * Spills buffered batches when the operator gets close to its memory limit. The first batch, processed next,
+   * and the last batch, needed to detect the end of the partition and of the frame, stay in memory. Batches are
+   * spilled starting from the end, so the batches processed soonest are the last ones to go to disk.
+   */
+  private void spillIfNeeded() {
+    // keep room for the next incoming batch and for a spilled batch read back by the framers
+    final long reserve = 2 * maxBatchSize;
+    if (batches.size() < 3 || oContext.getAllocator().getAllocatedMemory() + reserve <= memoryLimit) {
+      return;
+    }
+
+    if (spiller == null) {
+      spiller = new WindowSpiller(context, popConfig, oContext.getAllocator(), stats);
+    }
+    spiller.release();
+
+    boolean started = false;
+    for (int i = batches.size() - 2; i > 0 && oContext.getAllocator().getAllocatedMemory() + reserve > memoryLimit; i--) {
+      final WindowDataBatch batch = batches.get(i);
+      if (batch.isSpilled()) {
+        continue;
+      }
+      if (!started) {
+        spiller.startSpill();
+        started = true;
+      }
+      spiller.spill(batch);
+    }
+    if (started) {
+      logger.debug("Spilled window batches, {} batches buffered, {} bytes allocated", batches.size(),
+          oContext.getAllocator().getAllocatedMemory());
+    }
+  }
+
   /**
    * @return true when all window functions are ready to process the current batch (it's the first batch currently
    * held in memory)
@@ -251,7 +342,7 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
     }
 
     if (incoming.getRecordCount() > 0) {
-      batches.add(new WindowDataBatch(incoming, oContext));
+      addBatch(new WindowDataBatch(incoming, oContext));
     }
   }
 
@@ -266,6 +357,7 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
 
     boolean useDefaultFrame = false; // at least one window function uses the DefaultFrameTemplate
     boolean useCustomFrame = false; // at least one window function uses the CustomFrameTemplate
+    final List<WindowFunction.SlidingAggregate> slidingFunctions = Lists.newArrayList(); // evaluated by SlidingRowsFramer
 
     hasOrderBy = popConfig.getOrderings().size() > 0;
 
@@ -283,12 +375,14 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
       }
 
       final FunctionCall call = (FunctionCall) ne.getExpr();
-      final WindowFunction winfun = WindowFunction.fromExpression(call);
+      final WindowFunction winfun = WindowFunction.fromExpression(call, popConfig);
       if (winfun.materialize(ne, container, context.getFunctionRegistry())) {
         functions.add(winfun);
         requireFullPartition |= winfun.requiresFullPartition(popConfig);
 
-        if (winfun.supportsCustomFrames()) {
+        if (winfun instanceof WindowFunction.SlidingAggregate) {
+          slidingFunctions.add((WindowFunction.SlidingAggregate) winfun);
+        } else if (winfun.supportsCustomFrames()) {
           useCustomFrame = true;
         } else {
           useDefaultFrame = true;
@@ -312,6 +406,7 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
     // count how many framers we need
     int numFramers = useDefaultFrame ? 1 : 0;
     numFramers += useCustomFrame ? 1 : 0;
+    numFramers += slidingFunctions.isEmpty() ? 0 : 1;
     assert numFramers > 0 : "No framer was needed!";
 
     framers = new WindowFramer[numFramers];
@@ -325,6 +420,14 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
     if (useCustomFrame) {
       framers[index] = generateFramer(keyExprs, orderExprs, functions, true);
       framers[index].setup(batches, container, oContext, requireFullPartition, popConfig);
+      index++;
+    }
+
+    if (!slidingFunctions.isEmpty()) {
+      // the sliding aggregates don't generate code, but still need the generated partition comparisons
+      final WindowFramer comparator = index > 0 ? framers[0] : generateFramer(keyExprs, orderExprs, functions, false);
+      framers[index] = new SlidingRowsFramer(comparator, slidingFunctions);
+      framers[index].setup(batches, container, oContext, requireFullPartition, popConfig);
     }
   }
 
@@ -409,6 +512,11 @@ public class WindowFrameRecordBatch extends AbstractRecordBatch<WindowPOP> {
       }
       batches = null;
     }
+
+    if (spiller != null) {
+      spiller.close();
+      spiller = null;
+    }
   }
 
   @Override
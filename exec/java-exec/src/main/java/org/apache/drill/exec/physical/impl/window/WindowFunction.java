@@ -39,7 +39,17 @@ import org.apache.drill.exec.expr.fn.FunctionLookupContext;
 import org.apache.drill.exec.physical.config.WindowPOP;
 import org.apache.drill.exec.record.MaterializedField;
 import org.apache.drill.exec.record.TypedFieldId;
+import org.apache.drill.exec.record.VectorAccessible;
 import org.apache.drill.exec.record.VectorContainer;
+import org.apache.drill.exec.vector.BigIntVector;
+import org.apache.drill.exec.vector.Float4Vector;
+import org.apache.drill.exec.vector.Float8Vector;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.vector.NullableBigIntVector;
+import org.apache.drill.exec.vector.NullableFloat4Vector;
+import org.apache.drill.exec.vector.NullableFloat8Vector;
+import org.apache.drill.exec.vector.NullableIntVector;
+import org.apache.drill.exec.vector.ValueVector;
 
 public abstract class WindowFunction {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(WindowFunction.class);
@@ -64,7 +74,7 @@ public abstract class WindowFunction {
     this.type = type;
   }
 
-  static WindowFunction fromExpression(final FunctionCall call) {
+  static WindowFunction fromExpression(final FunctionCall call, final WindowPOP pop) {
     final String name = call.getName();
     Type type;
     try {
@@ -73,6 +83,18 @@ public abstract class WindowFunction {
       type = Type.AGGREGATE;
     }
 
+    // only the functions supporting the FRAME clause are affected by a sliding frame
+    if (SlidingAggregate.isSlidingFrame(pop)
+        && (type == Type.AGGREGATE || type == Type.FIRST_VALUE || type == Type.LAST_VALUE)) {
+      final SlidingFrame.Kind kind = SlidingAggregate.getKind(name);
+      if (kind == null) {
+        throw UserException.unsupportedError()
+          .message("Function %s is not supported with a ROWS BETWEEN n PRECEDING AND CURRENT ROW frame", name)
+          .build(logger);
+      }
+      return new SlidingAggregate(kind, -pop.getStart().getOffset());
+    }
+
     switch (type) {
       case AGGREGATE:
         return new WindowAggregate();
@@ -557,4 +579,239 @@ public abstract class WindowFunction {
       return true;
     }
   }
+
+  /**
+   * Aggregate over a sliding frame: ROWS BETWEEN n PRECEDING AND CURRENT ROW. Instead of generated code, the
+   * aggregate is maintained incrementally by a {@link SlidingFrame} as the {@link SlidingRowsFramer} moves
+   * through the partition. Supports SUM, $SUM0, COUNT, AVG, MIN and MAX of INT, BIGINT, FLOAT4 and FLOAT8
+   * columns, and COUNT of any column.
+   */
+  static class SlidingAggregate extends WindowFunction {
+
+    private final SlidingFrame.Kind kind;
+    private final long numPreceding;
+
+    private TypedFieldId inputId; // null when the argument is a constant, as in count(1)
+    private TypeProtos.MajorType inputType;
+    private TypedFieldId outputId;
+    private TypeProtos.MajorType outputType;
+    private SlidingFrame frame;
+
+    private ValueVector input;
+    private ValueVector output;
+
+    SlidingAggregate(final SlidingFrame.Kind kind, final long numPreceding) {
+      super(Type.AGGREGATE);
+      this.kind = kind;
+      this.numPreceding = numPreceding;
+    }
+
+    /**
+     * @return true for a ROWS BETWEEN n PRECEDING AND CURRENT ROW frame, including 0 PRECEDING: its start bound has
+     * the offset of CURRENT ROW, and is the frame of the current row alone
+     */
+    static boolean isSlidingFrame(final WindowPOP pop) {
+      final WindowPOP.Bound start = pop.getStart();
+      return pop.isFrameUnitsRows() && !start.isUnbounded() && start.getOffset() <= 0 && pop.getEnd().isCurrent();
+    }
+
+    /**
+     * @return kind of the aggregate function, or null if it can't be evaluated over a sliding frame
+     */
+    static SlidingFrame.Kind getKind(final String name) {
+      switch (name.toLowerCase()) {
+        case "sum":
+          return SlidingFrame.Kind.SUM;
+        case "$sum0":
+          return SlidingFrame.Kind.SUM0;
+        case "count":
+          return SlidingFrame.Kind.COUNT;
+        case "avg":
+          return SlidingFrame.Kind.AVG;
+        case "min":
+          return SlidingFrame.Kind.MIN;
+        case "max":
+          return SlidingFrame.Kind.MAX;
+        default:
+          return null;
+      }
+    }
+
+    private static boolean isNumeric(final TypeProtos.MinorType type) {
+      switch (type) {
+        case INT:
+        case BIGINT:
+        case FLOAT4:
+        case FLOAT8:
+          return true;
+        default:
+          return false;
+      }
+    }
+
+    @Override
+    boolean materialize(final NamedExpression ne, final VectorContainer batch, final FunctionLookupContext registry)
+        throws SchemaChangeException {
+      final FunctionCall call = (FunctionCall) ne.getExpr();
+      final LogicalExpression aggregate = ExpressionTreeMaterializer.materializeAndCheckErrors(call, batch, registry);
+      if (aggregate == null) {
+        return false;
+      }
+      final LogicalExpression argument = ExpressionTreeMaterializer.materializeAndCheckErrors(call.args.get(0), batch, registry);
+
+      if (argument instanceof ValueVectorReadExpression) {
+        inputId = ((ValueVectorReadExpression) argument).getFieldId();
+        inputType = argument.getMajorType();
+      } else if (kind != SlidingFrame.Kind.COUNT) {
+        throw UserException.unsupportedError()
+          .message("Function %s only supports a column argument with a ROWS BETWEEN n PRECEDING AND CURRENT ROW frame",
+            call.getName())
+          .build(logger);
+      }
+      outputType = aggregate.getMajorType();
+      if ((inputId != null && kind != SlidingFrame.Kind.COUNT && !isNumeric(inputType.getMinorType()))
+          || !isNumeric(outputType.getMinorType())) {
+        throw UserException.unsupportedError()
+          .message("Function %s of type %s is not supported with a ROWS BETWEEN n PRECEDING AND CURRENT ROW frame",
+            call.getName(), inputId != null ? inputType.getMinorType() : outputType.getMinorType())
+          .build(logger);
+      }
+
+      final MaterializedField output = MaterializedField.create(ne.getRef().getAsNamePart().getName(), outputType);
+      batch.addOrGet(output).allocateNew();
+      outputId = batch.getValueVectorId(ne.getRef());
+
+      final boolean floating = kind != SlidingFrame.Kind.COUNT && inputId != null
+        && (inputType.getMinorType() == TypeProtos.MinorType.FLOAT4 || inputType.getMinorType() == TypeProtos.MinorType.FLOAT8);
+      frame = new SlidingFrame(kind, floating, numPreceding);
+      return true;
+    }
+
+    /**
+     * Starts a new partition.
+     */
+    void reset() {
+      frame.reset();
+    }
+
+    /**
+     * Called once per batch, before processing its rows.
+     * @param incoming batch we will read from
+     * @param outgoing batch we will be writing to
+     */
+    void setup(final VectorAccessible incoming, final VectorAccessible outgoing) {
+      input = inputId == null ? null : incoming.getValueAccessorById(ValueVector.class, inputId.getFieldIds()).getValueVector();
+      output = outgoing.getValueAccessorById(ValueVector.class, outputId.getFieldIds()).getValueVector();
+    }
+
+    /**
+     * Slides the frame to the row at index, and writes the aggregate of the frame at outIndex.
+     */
+    void evaluate(final int index, final int outIndex) {
+      if (input == null) {
+        frame.add(1L);
+      } else if (input.getAccessor().isNull(index)) {
+        frame.addNull();
+      } else if (kind == SlidingFrame.Kind.COUNT) {
+        frame.add(1L);
+      } else {
+        addValue(index);
+      }
+      writeValue(outIndex);
+    }
+
+    private void addValue(final int index) {
+      final boolean nullable = inputType.getMode() == TypeProtos.DataMode.OPTIONAL;
+      switch (inputType.getMinorType()) {
+        case INT:
+          frame.add((long) (nullable ? ((NullableIntVector) input).getAccessor().get(index)
+            : ((IntVector) input).getAccessor().get(index)));
+          break;
+        case BIGINT:
+          frame.add(nullable ? ((NullableBigIntVector) input).getAccessor().get(index)
+            : ((BigIntVector) input).getAccessor().get(index));
+          break;
+        case FLOAT4:
+          frame.add((double) (nullable ? ((NullableFloat4Vector) input).getAccessor().get(index)
+            : ((Float4Vector) input).getAccessor().get(index)));
+          break;
+        case FLOAT8:
+          frame.add(nullable ? ((NullableFloat8Vector) input).getAccessor().get(index)
+            : ((Float8Vector) input).getAccessor().get(index));
+          break;
+        default:
+          throw new UnsupportedOperationException("Unsupported type " + inputType.getMinorType());
+      }
+    }
+
+    private void writeValue(final int outIndex) {
+      final boolean nullable = outputType.getMode() == TypeProtos.DataMode.OPTIONAL;
+      if (nullable && frame.isNull()) {
+        switch (outputType.getMinorType()) {
+          case INT:
+            ((NullableIntVector) output).getMutator().setNull(outIndex);
+            break;
+          case BIGINT:
+            ((NullableBigIntVector) output).getMutator().setNull(outIndex);
+            break;
+          case FLOAT4:
+            ((NullableFloat4Vector) output).getMutator().setNull(outIndex);
+            break;
+          default:
+            ((NullableFloat8Vector) output).getMutator().setNull(outIndex);
+        }
+        return;
+      }
+      switch (outputType.getMinorType()) {
+        case INT:
+          if (nullable) {
+            ((NullableIntVector) output).getMutator().setSafe(outIndex, (int) frame.getLong());
+          } else {
+            ((IntVector) output).getMutator().setSafe(outIndex, (int) frame.getLong());
+          }
+          break;
+        case BIGINT:
+          if (nullable) {
+            ((NullableBigIntVector) output).getMutator().setSafe(outIndex, frame.getLong());
+          } else {
+            ((BigIntVector) output).getMutator().setSafe(outIndex, frame.getLong());
+          }
+          break;
+        case FLOAT4:
+          if (nullable) {
+            ((NullableFloat4Vector) output).getMutator().setSafe(outIndex, (float) frame.getDouble());
+          } else {
+            ((Float4Vector) output).getMutator().setSafe(outIndex, (float) frame.getDouble());
+          }
+          break;
+        default:
+          if (nullable) {
+            ((NullableFloat8Vector) output).getMutator().setSafe(outIndex, frame.getDouble());
+          } else {
+            ((Float8Vector) output).getMutator().setSafe(outIndex, frame.getDouble());
+          }
+      }
+    }
+
+    @Override
+    void generateCode(final ClassGenerator<WindowFramer> cg) {
+      // evaluated by SlidingRowsFramer
+    }
+
+    @Override
+    public boolean requiresFullPartition(final WindowPOP pop) {
+      return false;
+    }
+
+    @Override
+    public boolean canDoWork(int numBatchesAvailable, WindowPOP pop, boolean frameEndReached, boolean partitionEndReached) {
+      // the frame only contains the current and preceding rows
+      return true;
+    }
+
+    @Override
+    boolean supportsCustomFrames() {
+      return true;
+    }
+  }
 }
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.window;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.drill.common.exceptions.UserException;
+import org.apache.drill.exec.cache.VectorSerializer;
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.ops.OperatorStats;
+import org.apache.drill.exec.physical.config.WindowPOP;
+import org.apache.drill.exec.physical.impl.spill.SpillSet;
+import org.apache.drill.exec.record.TransferPair;
+import org.apache.drill.exec.record.VectorContainer;
+import org.apache.drill.exec.record.VectorWrapper;
+
+/**
+ * Spills the batches buffered by the window operator when a partition doesn't fit in memory.
+ * <p>
+ * Each spilled batch is written to its own file and keeps its vectors as empty shells. A spilled
+ * batch is read back transparently the first time a framer accesses its vectors. At most one spilled
+ * batch is read back at a time: framers only walk the buffered batches in order, so reading the next
+ * spilled batch releases the previous one, which stays on disk until the batch is cleared.
+ */
+class WindowSpiller implements AutoCloseable {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(WindowSpiller.class);
+
+  private final SpillSet spillSet;
+  private final BufferAllocator allocator;
+  private final OperatorStats stats;
+
+  private WindowDataBatch reloaded; // spilled batch currently read back in memory
+
+  private int spillCount;
+  private int spilledBatches;
+  private int reloadedBatches;
+
+  WindowSpiller(FragmentContext context, WindowPOP popConfig, BufferAllocator allocator, OperatorStats stats) {
+    this.spillSet = new SpillSet(context, popConfig);
+    this.allocator = allocator;
+    this.stats = stats;
+  }
+
+  /**
+   * Marks the start of a spill, batches are then written one by one with {@link #spill(WindowDataBatch)}.
+   */
+  void startSpill() {
+    spillCount++;
+    stats.setLongStat(WindowFrameRecordBatch.Metric.SPILL_COUNT, spillCount);
+  }
+
+  void spill(WindowDataBatch batch) {
+    assert batch.isInMemory() && !batch.isSpilled();
+    final String path = spillSet.getNextSpillFile();
+    try {
+      VectorSerializer.Writer writer = spillSet.writer(path);
+      try {
+        writer.write(batch.getVectors());
+      } finally {
+        spillSet.close(writer);
+      }
+      logger.trace("Spilled {} records to {} in {} us", batch.getRecordCount(), path, writer.time(TimeUnit.MICROSECONDS));
+    } catch (IOException e) {
+      throw UserException.dataWriteError(e)
+          .message("Window operator failed to spill a batch to %s", path)
+          .build(logger);
+    }
+    batch.spilled(this, path);
+    spilledBatches++;
+    stats.setLongStat(WindowFrameRecordBatch.Metric.SPILLED_BATCHES, spilledBatches);
+    stats.setLongStat(WindowFrameRecordBatch.Metric.SPILL_MB, spillSet.getWriteBytes() / 1024 / 1024);
+  }
+
+  /**
+   * Reads a spilled batch back in memory, releasing the batch read back previously.
+   */
+  void reload(WindowDataBatch batch) {
+    release();
+    read(batch);
+    reloaded = batch;
+    reloadedBatches++;
+    stats.setLongStat(WindowFrameRecordBatch.Metric.RELOADED_BATCHES, reloadedBatches);
+  }
+
+  /**
+   * Reads a spilled batch back and deletes its spill file, the batch then stays in memory.
+   */
+  void unspill(WindowDataBatch batch) {
+    if (reloaded == batch) {
+      reloaded = null;
+    } else if (!batch.isInMemory()) {
+      read(batch);
+    }
+    delete(batch);
+  }
+
+  /**
+   * Releases the memory of the spilled batch read back, if any. Its data is still available on disk.
+   */
+  void release() {
+    if (reloaded != null) {
+      reloaded.getVectors().zeroVectors();
+      reloaded.setInMemory(false);
+      reloaded = null;
+    }
+  }
+
+  void delete(WindowDataBatch batch) {
+    if (reloaded == batch) {
+      reloaded = null;
+    }
+    try {
+      spillSet.delete(batch.getSpillFile());
+    } catch (IOException e) {
+      // a leftover file is removed with the spill directory when the operator is closed
+      logger.warn("Unable to delete spill file {}", batch.getSpillFile(), e);
+    }
+  }
+
+  private void read(WindowDataBatch batch) {
+    final String path = batch.getSpillFile();
+    try (InputStream inputStream = spillSet.openForInput(path)) {
+      VectorContainer c = VectorSerializer.reader(allocator, inputStream).read();
+      spillSet.tallyReadBytes(spillSet.getPosition(inputStream));
+
+      // transfer into the vectors of the batch so code bound to them keeps working
+      batch.setInMemory(true);
+      Iterator<VectorWrapper<?>> wrapperIterator = c.iterator();
+      for (VectorWrapper<?> w : batch.getVectors()) {
+        TransferPair pair = wrapperIterator.next().getValueVector().makeTransferPair(w.getValueVector());
+        pair.transfer();
+      }
+      batch.getVectors().setRecordCount(c.getRecordCount());
+      c.zeroVectors();
+    } catch (IOException e) {
+      batch.getVectors().zeroVectors();
+      batch.setInMemory(false);
+      throw UserException.dataReadError(e)
+          .message("Window operator failed to read spilled batch from %s", path)
+          .build(logger);
+    }
+  }
+
+  @Override
+  public void close() {
+    reloaded = null;
+    spillSet.close();
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.drill.exec.physical.impl.xsort;
 import org.apache.drill.exec.compile.TemplateClassDefinition;
 import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.physical.impl.sort.SortKeyPrefix;
 import org.apache.drill.exec.record.VectorAccessible;
 import org.apache.drill.exec.record.selection.SelectionVector2;
 
@@ -27,6 +28,12 @@ public interface SingleBatchSorter {
   public void setup(FragmentContext context, SelectionVector2 vector2, VectorAccessible incoming) throws SchemaChangeException;
   public void sort(SelectionVector2 vector2) throws SchemaChangeException;
 
+  /**
+   * Sets the normalized prefix of the leading sort key, used to compare records before the generated comparator.
+   * Must be called before {@link #setup(FragmentContext, SelectionVector2, VectorAccessible)}, null to disable.
+   */
+  public void setKeyPrefix(SortKeyPrefix keyPrefix);
+
   public static TemplateClassDefinition<SingleBatchSorter> TEMPLATE_DEFINITION =
       new TemplateClassDefinition<SingleBatchSorter>(SingleBatchSorter.class, SingleBatchSorterTemplate.class);
 }
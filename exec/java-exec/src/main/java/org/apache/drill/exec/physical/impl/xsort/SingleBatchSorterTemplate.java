@@ -23,6 +23,7 @@ import javax.inject.Named;
 
 import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.physical.impl.sort.SortKeyPrefix;
 import org.apache.drill.exec.record.RecordBatch;
 import org.apache.drill.exec.record.VectorAccessible;
 import org.apache.drill.exec.record.selection.SelectionVector2;
@@ -36,6 +37,14 @@ public abstract class SingleBatchSorterTemplate implements SingleBatchSorter, In
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(SingleBatchSorterTemplate.class);
 
   private SelectionVector2 vector2;
+  private SortKeyPrefix keyPrefix;
+  // key prefix of the record at each position of vector2, swapped along with it
+  private long[] prefixes;
+
+  @Override
+  public void setKeyPrefix(SortKeyPrefix keyPrefix) {
+    this.keyPrefix = keyPrefix;
+  }
 
   @Override
   public void setup(FragmentContext context, SelectionVector2 vector2, VectorAccessible incoming) throws SchemaChangeException{
@@ -46,6 +55,16 @@ public abstract class SingleBatchSorterTemplate implements SingleBatchSorter, In
     } catch (IllegalStateException e) {
       throw new SchemaChangeException(e);
     }
+    if (keyPrefix != null) {
+      final int count = vector2.getCount();
+      if (prefixes == null || prefixes.length < count) {
+        prefixes = new long[count];
+      }
+      keyPrefix.bind(incoming);
+      for (int i = 0; i < count; i++) {
+        prefixes[i] = keyPrefix.getPrefix(0, vector2.getIndex(i));
+      }
+    }
   }
 
   @Override
@@ -63,10 +82,21 @@ public abstract class SingleBatchSorterTemplate implements SingleBatchSorter, In
     char tmp = vector2.getIndex(sv0);
     vector2.setIndex(sv0, vector2.getIndex(sv1));
     vector2.setIndex(sv1, tmp);
+    if (keyPrefix != null) {
+      long prefix = prefixes[sv0];
+      prefixes[sv0] = prefixes[sv1];
+      prefixes[sv1] = prefix;
+    }
   }
 
   @Override
   public int compare(int leftIndex, int rightIndex) {
+    if (keyPrefix != null) {
+      int cmp = Long.compare(prefixes[leftIndex], prefixes[rightIndex]);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
     char sv1 = vector2.getIndex(leftIndex);
     char sv2 = vector2.getIndex(rightIndex);
     try {
@@ -86,6 +116,6 @@ public abstract class SingleBatchSorterTemplate implements SingleBatchSorter, In
 
   @Override
   public String toString() {
-    return "SinglebatchSorterTemplate[vector2=" + vector2 + "]";
+    return "SinglebatchSorterTemplate[vector2=" + vector2 + ", keyPrefix=" + keyPrefix + "]";
   }
 }
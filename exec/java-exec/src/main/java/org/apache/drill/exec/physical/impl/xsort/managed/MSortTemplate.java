@@ -25,6 +25,7 @@ import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.memory.BaseAllocator;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.physical.impl.sort.SortKeyPrefix;
 import org.apache.drill.exec.record.RecordBatch;
 import org.apache.drill.exec.record.VectorContainer;
 import org.apache.drill.exec.record.selection.SelectionVector4;
@@ -40,6 +41,10 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
 
   private SelectionVector4 vector4;
   private SelectionVector4 aux;
+  private SortKeyPrefix keyPrefix;
+  // key prefix of the record at each position of vector4 (aux), moved along with it
+  private DrillBuf prefixes;
+  private DrillBuf auxPrefixes;
   @SuppressWarnings("unused")
   private long compares;
 
@@ -56,6 +61,11 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
    */
   private int desiredRecordBatchCount;
 
+  @Override
+  public void setKeyPrefix(SortKeyPrefix keyPrefix) {
+    this.keyPrefix = keyPrefix;
+  }
+
   @Override
   public void setup(final FragmentContext context, final BufferAllocator allocator, final SelectionVector4 vector4,
                     final VectorContainer hyperBatch, int outputBatchSize, int desiredBatchSize) throws SchemaChangeException{
@@ -92,6 +102,16 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
     desiredRecordBatchCount = Math.min(outputBatchSize, desiredBatchSize);
     desiredRecordBatchCount = Math.min(desiredRecordBatchCount, totalCount);
     aux = new SelectionVector4(drillBuf, totalCount, desiredRecordBatchCount);
+
+    if (keyPrefix != null) {
+      prefixes = allocator.buffer(8 * totalCount);
+      auxPrefixes = allocator.buffer(8 * totalCount);
+      keyPrefix.bind(hyperBatch);
+      for (int i = 0; i < totalCount; i++) {
+        final int compoundIndex = this.vector4.get(i);
+        prefixes.setLong(8 * i, keyPrefix.getPrefix(compoundIndex >>> 16, compoundIndex & 0xFFFF));
+      }
+    }
   }
 
   /**
@@ -109,6 +129,13 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
     return BaseAllocator.nextPowerOfTwo(recordCount * 4);
   }
 
+  /**
+   * Same as {@link #memoryNeeded(int)}, with the two buffers of key prefixes if they are used.
+   */
+  public static long memoryNeeded(final int recordCount, final boolean keyPrefix) {
+    return memoryNeeded(recordCount) + (keyPrefix ? 2 * BaseAllocator.nextPowerOfTwo(recordCount * 8) : 0);
+  }
+
   /**
    * Given two regions within the selection vector 4 (a left and a right), merge
    * the two regions to produce a combined output region in the auxiliary
@@ -126,21 +153,28 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
     int o = outStart;
     while (l < rightStart && r < rightEnd) {
       if (compare(l, r) <= 0) {
-        aux.set(o++, vector4.get(l++));
+        moveToAux(l++, o++);
       } else {
-        aux.set(o++, vector4.get(r++));
+        moveToAux(r++, o++);
       }
     }
     while (l < rightStart) {
-      aux.set(o++, vector4.get(l++));
+      moveToAux(l++, o++);
     }
     while (r < rightEnd) {
-      aux.set(o++, vector4.get(r++));
+      moveToAux(r++, o++);
     }
     assert o == outStart + (rightEnd - leftStart);
     return o;
   }
 
+  private void moveToAux(final int index, final int auxIndex) {
+    aux.set(auxIndex, vector4.get(index));
+    if (prefixes != null) {
+      auxPrefixes.setLong(8 * auxIndex, prefixes.getLong(8 * index));
+    }
+  }
+
   @Override
   public SelectionVector4 getSV4() {
     return vector4;
@@ -191,14 +225,20 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
       vector4.clear();
       vector4 = tmp.createNewWrapperCurrent(desiredRecordBatchCount);
       tmp.clear();
+      if (prefixes != null) {
+        final DrillBuf tmpPrefixes = auxPrefixes;
+        auxPrefixes = prefixes;
+        prefixes = tmpPrefixes;
+      }
       runStarts = newRunStarts;
     }
     aux.clear();
+    releasePrefixes();
   }
 
   private void copyRun(final int start, final int end) {
     for (int i = start; i < end; i++) {
-      aux.set(i, vector4.get(i));
+      moveToAux(i, i);
     }
   }
 
@@ -207,10 +247,21 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
     final int tmp = vector4.get(sv0);
     vector4.set(sv0, vector4.get(sv1));
     vector4.set(sv1, tmp);
+    if (prefixes != null) {
+      final long prefix = prefixes.getLong(8 * sv0);
+      prefixes.setLong(8 * sv0, prefixes.getLong(8 * sv1));
+      prefixes.setLong(8 * sv1, prefix);
+    }
   }
 
   @Override
   public int compare(final int leftIndex, final int rightIndex) {
+    if (prefixes != null) {
+      final int cmp = Long.compare(prefixes.getLong(8 * leftIndex), prefixes.getLong(8 * rightIndex));
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
     final int sv1 = vector4.get(leftIndex);
     final int sv2 = vector4.get(rightIndex);
     compares++;
@@ -231,6 +282,18 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
       aux.clear();
       aux = null;
     }
+    releasePrefixes();
+  }
+
+  private void releasePrefixes() {
+    if (prefixes != null) {
+      prefixes.release();
+      prefixes = null;
+    }
+    if (auxPrefixes != null) {
+      auxPrefixes.release();
+      auxPrefixes = null;
+    }
   }
 
   public abstract void doSetup(@Named("context") FragmentContext context,
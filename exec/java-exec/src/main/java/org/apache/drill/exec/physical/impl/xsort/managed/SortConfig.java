@@ -72,6 +72,12 @@ public class SortConfig {
 
   private final int mSortBatchSize;
 
+  /**
+   * Compare records on a normalized prefix of the leading sort key first.
+   */
+
+  private final boolean keyPrefix;
+
   public SortConfig(DrillConfig config, OptionManager options) {
     // Optional configured memory limit, typically used only for testing.
 
@@ -126,15 +132,17 @@ public class SortConfig {
       mSortBatchSize = Character.MAX_VALUE;
     }
 
+    keyPrefix = options.getOption(ExecConstants.EXTERNAL_SORT_KEY_PREFIX_VALIDATOR);
+
     logConfig();
   }
 
   private void logConfig() {
     logger.debug("Config: " +
                  "spill file size = {}, spill batch size = {}, " +
-                 "merge batch size = {}, mSort batch size = {}",
+                 "merge batch size = {}, mSort batch size = {}, key prefix = {}",
                   spillFileSize, spillBatchSize,
-                  mergeBatchSize, mSortBatchSize);
+                  mergeBatchSize, mSortBatchSize, keyPrefix);
   }
 
   @Override
@@ -143,6 +151,7 @@ public class SortConfig {
         + ", spillBatchSize=" + spillBatchSize
         + ", mergeBatchSize=" + mergeBatchSize
         + ", mSortBatchSize=" + mSortBatchSize
+        + ", keyPrefix=" + keyPrefix
         + "]";
   }
 
@@ -153,4 +162,5 @@ public class SortConfig {
   public int mergeBatchSize() { return mergeBatchSize; }
   public int getBufferedBatchLimit() { return bufferedBatchLimit; }
   public int getMSortBatchSize() { return mSortBatchSize; }
+  public boolean useKeyPrefix() { return keyPrefix; }
 }
@@ -473,7 +473,7 @@ public class SortImpl {
 
     // Do we have enough memory for MSorter (the in-memory sorter)?
 
-    if (! memManager.hasMemoryMergeCapacity(allocator.getAllocatedMemory(), MSortTemplate.memoryNeeded(metrics.getInputRowCount()))) {
+    if (! memManager.hasMemoryMergeCapacity(allocator.getAllocatedMemory(), MSortTemplate.memoryNeeded(metrics.getInputRowCount(), config.useKeyPrefix()))) {
       return false; }
 
     // Make sure we don't exceed the maximum number of batches SV4 can address.
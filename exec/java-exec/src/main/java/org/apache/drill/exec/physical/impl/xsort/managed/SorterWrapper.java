@@ -18,10 +18,13 @@
 package org.apache.drill.exec.physical.impl.xsort.managed;
 
 import org.apache.drill.common.exceptions.UserException;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.expr.ClassGenerator;
 import org.apache.drill.exec.expr.CodeGenerator;
 import org.apache.drill.exec.ops.OperatorContext;
+import org.apache.drill.exec.physical.config.Sort;
+import org.apache.drill.exec.physical.impl.sort.SortKeyPrefix;
 import org.apache.drill.exec.physical.impl.xsort.SingleBatchSorter;
 import org.apache.drill.exec.record.VectorAccessible;
 import org.apache.drill.exec.record.VectorContainer;
@@ -84,6 +87,11 @@ public class SorterWrapper extends BaseSortWrapper {
 //    cg.saveCodeForDebugging(true);
 
     generateComparisons(g, batch, logger);
-    return getInstance(cg, logger);
+    SingleBatchSorter sorter = getInstance(cg, logger);
+    if (context.getFragmentContext().getOptions().getOption(ExecConstants.EXTERNAL_SORT_KEY_PREFIX_VALIDATOR)) {
+      Sort popConfig = context.getOperatorDefn();
+      sorter.setKeyPrefix(SortKeyPrefix.create(popConfig.getOrderings().get(0), batch));
+    }
+    return sorter;
   }
 }
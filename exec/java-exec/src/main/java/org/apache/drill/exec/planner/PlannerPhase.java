@@ -64,6 +64,7 @@ import org.apache.drill.exec.planner.physical.LateralJoinPrule;
 import org.apache.drill.exec.planner.physical.DirectScanPrule;
 import org.apache.drill.exec.planner.physical.FilterPrule;
 import org.apache.drill.exec.planner.physical.HashAggPrule;
+import org.apache.drill.exec.planner.physical.HashAntiJoinPrule;
 import org.apache.drill.exec.planner.physical.HashJoinPrule;
 import org.apache.drill.exec.planner.physical.LimitPrule;
 import org.apache.drill.exec.planner.physical.LimitExchangeTransposeRule;
@@ -530,11 +531,17 @@ public enum PlannerPhase {
       if (ps.isSemiJoinEnabled()) {
         ruleList.add(HashJoinPrule.SEMI_DIST_INSTANCE);
       }
+      if (ps.isAntiJoinEnabled()) {
+        ruleList.add(HashAntiJoinPrule.DIST_INSTANCE);
+      }
       if(ps.isBroadcastJoinEnabled()){
         ruleList.add(HashJoinPrule.BROADCAST_INSTANCE);
         if (ps.isSemiJoinEnabled()) {
           ruleList.add(HashJoinPrule.SEMI_BROADCAST_INSTANCE);
         }
+        if (ps.isAntiJoinEnabled()) {
+          ruleList.add(HashAntiJoinPrule.BROADCAST_INSTANCE);
+        }
       }
     }
 
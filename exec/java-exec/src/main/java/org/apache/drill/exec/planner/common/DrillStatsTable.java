@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.apache.calcite.plan.volcano.RelSubset;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Filter;
+import org.apache.calcite.rel.core.Project;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.drill.exec.planner.logical.DrillTable;
+import org.apache.drill.exec.planner.physical.PrelUtil;
+import org.apache.drill.exec.store.dfs.DrillFileSystem;
+import org.apache.drill.exec.store.dfs.FileSystemPlugin;
+import org.apache.drill.exec.store.dfs.FormatSelection;
+import org.apache.drill.exec.util.ImpersonationUtil;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+
+/**
+ * Table statistics collected by {@code ANALYZE TABLE ... COMPUTE STATISTICS}.
+ * <p>
+ * The statistics are computed by a regular query that aggregates the table with
+ * {@code COUNT} and the HyperLogLog based {@code NDV} function, and are written
+ * as a single JSON record into a new subdirectory of the {@link #STATS_DIRECTORY}
+ * directory of the table. Each run writes its own subdirectory, named so that the
+ * latest run sorts last, and the statistics are read from the latest subdirectory
+ * holding a complete record. The statistics of a previous run thus stay in use until
+ * a later run succeeds; ANALYZE TABLE then drops them.
+ * The record holds the total row count, and the non-null count and the number of
+ * distinct values of each analyzed column. When the statistics were computed on
+ * a sample of the table, the record also holds the sample fraction and the number
+ * of values of each column seen exactly once, and the counts are scaled here.
+ */
+public class DrillStatsTable {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DrillStatsTable.class);
+
+  /**
+   * Directory of the table holding its statistics. Starts with a dot,
+   * so it is ignored when the table itself is read.
+   */
+  public static final String STATS_DIRECTORY = ".stats.drill";
+
+  public static final String ROW_COUNT = "rowcount";
+  public static final String SAMPLE_FRACTION = "sample_fraction";
+  public static final String NON_NULL_COUNT_PREFIX = "nonnullcount$";
+  public static final String NDV_PREFIX = "ndv$";
+  public static final String SINGLETON_COUNT_PREFIX = "singletons$";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper()
+      .configure(JsonParser.Feature.ALLOW_NON_NUMERIC_NUMBERS, true);
+
+  private final double rowCount;
+  private final Map<String, ColumnStatistics> columns = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+  /**
+   * Statistics of a single column.
+   */
+  public static class ColumnStatistics {
+    private final double ndv;
+    private final double nullCount;
+
+    public ColumnStatistics(double ndv, double nullCount) {
+      this.ndv = ndv;
+      this.nullCount = nullCount;
+    }
+
+    public double getNdv() {
+      return ndv;
+    }
+
+    public double getNullCount() {
+      return nullCount;
+    }
+
+    @Override
+    public String toString() {
+      return "ColumnStatistics[ndv=" + ndv + ", nullCount=" + nullCount + "]";
+    }
+  }
+
+  private DrillStatsTable(double rowCount) {
+    this.rowCount = rowCount;
+  }
+
+  public double getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * @return statistics of the given column or null if it was not analyzed
+   */
+  public ColumnStatistics getColumn(String name) {
+    return columns.get(name);
+  }
+
+  @Override
+  public String toString() {
+    return "DrillStatsTable[rowCount=" + rowCount + ", columns=" + columns + "]";
+  }
+
+  /**
+   * Builds the statistics from the record written by ANALYZE TABLE.
+   * Counts gathered on a sample are scaled up to the whole table, the number of
+   * distinct values as estimated by {@link #estimateNdv(double, double, double, double)}.
+   *
+   * @return statistics or null if the record does not hold a row count
+   */
+  public static DrillStatsTable fromRecord(JsonNode record) {
+    JsonNode rowCountNode = record.get(ROW_COUNT);
+    if (rowCountNode == null || !rowCountNode.isNumber()) {
+      return null;
+    }
+    JsonNode fractionNode = record.get(SAMPLE_FRACTION);
+    double fraction = fractionNode != null && fractionNode.isNumber() ? fractionNode.asDouble() : 1.0;
+    if (fraction <= 0 || fraction > 1) {
+      fraction = 1.0;
+    }
+    double sampleRows = rowCountNode.asDouble();
+    DrillStatsTable stats = new DrillStatsTable(sampleRows / fraction);
+
+    Iterator<Map.Entry<String, JsonNode>> fields = record.fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      if (!field.getKey().startsWith(NDV_PREFIX) || !field.getValue().isNumber()) {
+        continue;
+      }
+      String column = field.getKey().substring(NDV_PREFIX.length());
+      JsonNode nonNullNode = record.get(NON_NULL_COUNT_PREFIX + column);
+      double sampleNonNull = nonNullNode != null && nonNullNode.isNumber() ? nonNullNode.asDouble() : sampleRows;
+      double sampleNdv = Math.min(field.getValue().asDouble(), sampleNonNull);
+
+      double nonNull = sampleNonNull / fraction;
+      JsonNode singletonNode = record.get(SINGLETON_COUNT_PREFIX + column);
+      double singletons = singletonNode != null && singletonNode.isNumber() ? singletonNode.asDouble() : -1;
+      double ndv = estimateNdv(sampleNdv, sampleNonNull, nonNull, singletons);
+      stats.columns.put(column, new ColumnStatistics(Math.max(1, ndv), Math.max(0, stats.rowCount - nonNull)));
+    }
+    return stats;
+  }
+
+  /**
+   * Estimates the number of distinct values of a column from a sample with the Duj1
+   * estimator of Haas et al.: {@code D = n * d / (n - f1 + f1 * n / N)}, for {@code d}
+   * distinct values among the {@code n} values of the sample, {@code f1} of them seen
+   * exactly once, and {@code N} values in the table. When every sampled value repeats
+   * the estimate stays at {@code d}, when every one is unique it grows to {@code N}.
+   * Statistics written without the singleton count scale {@code d} like the rows.
+   *
+   * @param sampleNdv number of distinct values in the sample
+   * @param sampleNonNull number of non-null values in the sample
+   * @param nonNull number of non-null values in the table
+   * @param singletons number of values seen exactly once in the sample, negative if unknown
+   * @return estimated number of distinct values in the table
+   */
+  static double estimateNdv(double sampleNdv, double sampleNonNull, double nonNull, double singletons) {
+    if (sampleNonNull <= 0 || nonNull <= sampleNonNull) {
+      return sampleNdv;
+    }
+    if (singletons < 0) {
+      return sampleNdv * nonNull / sampleNonNull;
+    }
+    double f1 = Math.min(singletons, sampleNdv);
+    double ndv = sampleNonNull * sampleNdv / (sampleNonNull - f1 + f1 * sampleNonNull / nonNull);
+    return Math.min(Math.max(ndv, sampleNdv), sampleNdv + nonNull - sampleNonNull);
+  }
+
+  /**
+   * Reads the statistics of a file system table.
+   *
+   * @return statistics or null if the table was not analyzed or its statistics cannot be read
+   */
+  public static DrillStatsTable read(DrillTable table) {
+    if (!(table.getSelection() instanceof FormatSelection) || !(table.getPlugin() instanceof FileSystemPlugin)) {
+      return null;
+    }
+    FormatSelection selection = (FormatSelection) table.getSelection();
+    FileSystemPlugin plugin = (FileSystemPlugin) table.getPlugin();
+    Path statsDir = new Path(selection.getSelection().selectionRoot, STATS_DIRECTORY);
+    try {
+      DrillFileSystem fs = ImpersonationUtil.createFileSystem(
+          ImpersonationUtil.resolveUserName(table.getUserName()),
+          plugin.getFormatPlugin(selection.getFormat()).getFsConf());
+      for (Path version : getVersions(fs, statsDir)) {
+        DrillStatsTable stats = readVersion(fs, version);
+        if (stats != null) {
+          logger.debug("Read statistics of {}: {}", selection.getSelection().selectionRoot, stats);
+          return stats;
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Failed to read statistics from {}", statsDir, e);
+    }
+    return null;
+  }
+
+  /**
+   * @return name of the subdirectory of {@link #STATS_DIRECTORY} for a new ANALYZE TABLE run,
+   * sorting after the ones of the previous runs; the random suffix keeps runs started
+   * within the same millisecond apart
+   */
+  public static String newVersion() {
+    return String.format("%013d_%s", System.currentTimeMillis(), UUID.randomUUID());
+  }
+
+  /**
+   * Deletes the statistics of the runs before the latest complete one. The incomplete later
+   * runs, which may still be writing, are kept.
+   */
+  public static void deleteObsoleteVersions(DrillFileSystem fs, Path statsDir) throws IOException {
+    boolean obsolete = false;
+    for (Path version : getVersions(fs, statsDir)) {
+      if (obsolete) {
+        fs.delete(version, true);
+      } else {
+        obsolete = readVersion(fs, version) != null;
+      }
+    }
+  }
+
+  /**
+   * @return subdirectories of the statistics directory, latest first
+   */
+  private static List<Path> getVersions(DrillFileSystem fs, Path statsDir) throws IOException {
+    List<Path> versions = new ArrayList<>();
+    if (!fs.exists(statsDir)) {
+      return versions;
+    }
+    for (FileStatus status : fs.listStatus(statsDir)) {
+      if (status.isDirectory()) {
+        versions.add(status.getPath());
+      }
+    }
+    versions.sort(Comparator.comparing(Path::getName).reversed());
+    return versions;
+  }
+
+  /**
+   * @return statistics written by a run, or null if the run did not complete
+   */
+  private static DrillStatsTable readVersion(DrillFileSystem fs, Path version) throws IOException {
+    for (FileStatus status : fs.listStatus(version)) {
+      if (!status.isFile() || !status.getPath().getName().endsWith(".json")) {
+        continue;
+      }
+      try (InputStream in = fs.open(status.getPath())) {
+        MappingIterator<JsonNode> records = MAPPER.readerFor(JsonNode.class).readValues(in);
+        while (records.hasNext()) {
+          DrillStatsTable stats = fromRecord(records.next());
+          if (stats != null) {
+            return stats;
+          }
+        }
+      } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+        // a record still being written
+        logger.debug("Incomplete statistics in {}", status.getPath(), e);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Finds the statistics of the table column a field of the given relational
+   * expression comes from. Fields are traced through projections that pass the
+   * field on unchanged and through filters down to a scan of an analyzed table.
+   *
+   * @return column statistics or null if the column cannot be traced or was not analyzed
+   */
+  public static ColumnStatistics getColumnStatistics(RelNode rel, int field) {
+    while (true) {
+      if (rel instanceof RelSubset) {
+        RelSubset subset = (RelSubset) rel;
+        if (subset.getBest() != null) {
+          rel = subset.getBest();
+        } else {
+          List<RelNode> rels = subset.getRelList();
+          rel = rels.isEmpty() ? null : rels.get(0);
+        }
+      } else if (rel instanceof Filter) {
+        rel = ((Filter) rel).getInput();
+      } else if (rel instanceof Project) {
+        RexNode expr = ((Project) rel).getProjects().get(field);
+        if (!(expr instanceof RexInputRef)) {
+          return null;
+        }
+        field = ((RexInputRef) expr).getIndex();
+        rel = ((Project) rel).getInput();
+      } else if (rel instanceof DrillScanRelBase) {
+        DrillStatsTable stats = getStatsTable((DrillScanRelBase) rel);
+        return stats == null ? null : stats.getColumn(rel.getRowType().getFieldNames().get(field));
+      } else {
+        return null;
+      }
+      if (rel == null) {
+        return null;
+      }
+    }
+  }
+
+  /**
+   * @return statistics of the table read by the scan, or null if there are none
+   * or the use of statistics is disabled
+   */
+  public static DrillStatsTable getStatsTable(DrillScanRelBase scan) {
+    if (!PrelUtil.getPlannerSettings(scan.getCluster().getPlanner()).isStatisticsEnabled()) {
+      return null;
+    }
+    return scan.getDrillTable().getStatsTable();
+  }
+}
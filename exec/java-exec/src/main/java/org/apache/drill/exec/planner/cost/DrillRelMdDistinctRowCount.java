@@ -26,6 +26,8 @@ import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.util.BuiltInMethod;
 import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.drill.exec.planner.common.DrillStatsTable;
+import org.apache.drill.exec.planner.common.DrillStatsTable.ColumnStatistics;
 import org.apache.drill.exec.planner.logical.DrillScanRel;
 
 public class DrillRelMdDistinctRowCount extends RelMdDistinctRowCount {
@@ -58,7 +60,41 @@ public class DrillRelMdDistinctRowCount extends RelMdDistinctRowCount {
 
   public Double getDistinctRowCount(DrillScanRel scan, RelMetadataQuery mq,
       ImmutableBitSet groupKey, RexNode predicate) {
+    Double distinctRowCount = getDistinctRowCountFromStats(scan, mq, groupKey, predicate);
+    if (distinctRowCount != null) {
+      return distinctRowCount;
+    }
     // Consistent with the estimation of Aggregate row count in RelMdRowCount : distinctRowCount = rowCount * 10%.
     return scan.estimateRowCount(mq) * 0.1;
   }
+
+  /**
+   * Estimates the number of distinct values of the group key as the product of the
+   * numbers of distinct values of its columns, bounded by the row count.
+   *
+   * @return distinct row count or null if any column of the key was not analyzed
+   */
+  private Double getDistinctRowCountFromStats(DrillScanRel scan, RelMetadataQuery mq,
+      ImmutableBitSet groupKey, RexNode predicate) {
+    DrillStatsTable stats = DrillStatsTable.getStatsTable(scan);
+    if (stats == null || groupKey.isEmpty()) {
+      return null;
+    }
+    double rowCount = mq.getRowCount(scan);
+    double distinctRowCount = 1;
+    for (int field : groupKey) {
+      ColumnStatistics column = stats.getColumn(scan.getRowType().getFieldNames().get(field));
+      if (column == null) {
+        return null;
+      }
+      distinctRowCount *= column.getNdv();
+    }
+    if (predicate != null) {
+      Double selectivity = mq.getSelectivity(scan, predicate);
+      if (selectivity != null) {
+        rowCount *= selectivity;
+      }
+    }
+    return Math.max(1.0, Math.min(distinctRowCount, rowCount));
+  }
 }
@@ -17,20 +17,32 @@
  */
 package org.apache.drill.exec.planner.cost;
 
+import java.io.IOException;
+
 import org.apache.calcite.rel.SingleRel;
 import org.apache.calcite.rel.core.Aggregate;
 import org.apache.calcite.rel.core.Filter;
 import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rel.core.Project;
 import org.apache.calcite.rel.core.Sort;
 import org.apache.calcite.rel.core.Union;
 import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMdUtil;
 import org.apache.calcite.rel.metadata.RelMdRowCount;
 import org.apache.calcite.rel.metadata.RelMetadataProvider;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.util.BuiltInMethod;
 import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.drill.exec.physical.base.GroupScan;
+import org.apache.drill.exec.physical.base.ScanStats;
 import org.apache.drill.exec.planner.common.DrillLimitRelBase;
+import org.apache.drill.exec.planner.common.DrillScanRelBase;
+import org.apache.drill.exec.planner.common.DrillStatsTable;
+import org.apache.drill.exec.planner.common.DrillStatsTable.ColumnStatistics;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.planner.physical.PrelUtil;
 
 public class DrillRelMdRowCount extends RelMdRowCount {
   private static final DrillRelMdRowCount INSTANCE = new DrillRelMdRowCount();
@@ -79,6 +91,89 @@ public class DrillRelMdRowCount extends RelMdRowCount {
 
   @Override
   public Double getRowCount(Join rel, RelMetadataQuery mq) {
+    Double rowCount = getEquiJoinRowCountFromStats(rel, mq);
+    return rowCount != null ? rowCount : rel.estimateRowCount(mq);
+  }
+
+  /**
+   * Uses the row count of the analyzed table unless the group scan knows the exact row count.
+   * When the scan reads only a part of the table (partition pruning or a filter pushed into
+   * the scan), the row count is scaled by the fraction of the table it reads.
+   */
+  public Double getRowCount(DrillScanRelBase rel, RelMetadataQuery mq) {
+    DrillStatsTable stats = DrillStatsTable.getStatsTable(rel);
+    if (stats != null) {
+      PlannerSettings settings = PrelUtil.getPlannerSettings(rel.getCluster().getPlanner());
+      ScanStats scanStats = rel.getGroupScan().getScanStats(settings);
+      if (!scanStats.getGroupScanProperty().hasExactRowCount()) {
+        Double fraction = getSelectedFraction(rel, scanStats, settings);
+        if (fraction != null) {
+          return Math.max(stats.getRowCount() * fraction, 1.0);
+        }
+      }
+    }
     return rel.estimateRowCount(mq);
   }
+
+  /**
+   * Compares the bytes read by the scan with the bytes of the whole table, or their row count
+   * estimates when the group scans do not report their size.
+   *
+   * @return fraction of the table read by the scan, or null if it is not known
+   */
+  private static Double getSelectedFraction(DrillScanRelBase rel, ScanStats scanStats, PlannerSettings settings) {
+    GroupScan tableScan;
+    try {
+      tableScan = rel.getDrillTable().getGroupScan();
+    } catch (IOException e) {
+      return null;
+    }
+    if (tableScan == rel.getGroupScan()) {
+      return 1.0;
+    }
+    ScanStats tableStats = tableScan.getScanStats(settings);
+    if (tableStats.getDiskCost() > 0 && scanStats.getDiskCost() > 0) {
+      return Math.min(scanStats.getDiskCost() / tableStats.getDiskCost(), 1.0);
+    }
+    if (tableStats.getRecordCount() > 0) {
+      return Math.min(scanStats.getRecordCount() / tableStats.getRecordCount(), 1.0);
+    }
+    return null;
+  }
+
+  /**
+   * Estimates the row count of an inner equi-join whose keys all come from analyzed
+   * columns as {@code |L| * |R| / max(ndv(l), ndv(r))} for each pair of keys,
+   * scaled by the selectivity of the non-equi part of the condition.
+   *
+   * @return row count or null if any key has no statistics
+   */
+  private Double getEquiJoinRowCountFromStats(Join rel, RelMetadataQuery mq) {
+    if (rel.getJoinType() != JoinRelType.INNER) {
+      return null;
+    }
+    JoinInfo info = rel.analyzeCondition();
+    if (info.leftKeys.isEmpty()) {
+      return null;
+    }
+    Double leftRowCount = mq.getRowCount(rel.getLeft());
+    Double rightRowCount = mq.getRowCount(rel.getRight());
+    if (leftRowCount == null || rightRowCount == null) {
+      return null;
+    }
+    double rowCount = leftRowCount * rightRowCount;
+    for (int i = 0; i < info.leftKeys.size(); i++) {
+      ColumnStatistics leftStats = DrillStatsTable.getColumnStatistics(rel.getLeft(), info.leftKeys.get(i));
+      ColumnStatistics rightStats = DrillStatsTable.getColumnStatistics(rel.getRight(), info.rightKeys.get(i));
+      if (leftStats == null || rightStats == null) {
+        return null;
+      }
+      // a filtered input can not have more distinct values than rows
+      double leftNdv = Math.min(leftStats.getNdv(), Math.max(leftRowCount, 1));
+      double rightNdv = Math.min(rightStats.getNdv(), Math.max(rightRowCount, 1));
+      rowCount /= Math.max(leftNdv, rightNdv);
+    }
+    rowCount *= RelMdUtil.guessSelectivity(info.getRemaining(rel.getCluster().getRexBuilder()));
+    return Math.max(rowCount, 1.0);
+  }
 }
@@ -17,6 +17,7 @@
  */
 package org.apache.drill.exec.planner.cost;
 
+import org.apache.calcite.plan.RelOptUtil;
 import org.apache.calcite.plan.volcano.RelSubset;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
@@ -24,10 +25,17 @@ import org.apache.calcite.rel.metadata.RelMdSelectivity;
 import org.apache.calcite.rel.metadata.RelMdUtil;
 import org.apache.calcite.rel.metadata.RelMetadataProvider;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
 import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.util.BuiltInMethod;
 import org.apache.drill.exec.physical.base.DbGroupScan;
 import org.apache.drill.exec.physical.base.GroupScan;
+import org.apache.drill.exec.planner.common.DrillScanRelBase;
+import org.apache.drill.exec.planner.common.DrillStatsTable;
+import org.apache.drill.exec.planner.common.DrillStatsTable.ColumnStatistics;
 import org.apache.drill.exec.planner.logical.DrillScanRel;
 import org.apache.drill.exec.planner.physical.PlannerSettings;
 import org.apache.drill.exec.planner.physical.PrelUtil;
@@ -84,7 +92,57 @@ public class DrillRelMdSelectivity extends RelMdSelectivity {
           return Math.min(1.0, filterRows / totalRows);
         }
       }
+      DrillStatsTable stats = DrillStatsTable.getStatsTable((DrillScanRelBase) rel);
+      if (stats != null && predicate != null) {
+        return getSelectivityFromStats(rel, stats, predicate);
+      }
     }
     return super.getSelectivity(rel, RelMetadataQuery.instance(), predicate);
   }
+
+  /**
+   * Estimates the selectivity of the conjunctions of the predicate using the column
+   * statistics of the analyzed table: {@code col = literal} selects {@code 1/ndv}
+   * of the rows and {@code IS [NOT] NULL} the share of null values. Other conditions
+   * and columns without statistics fall back to the default guess.
+   */
+  private Double getSelectivityFromStats(RelNode rel, DrillStatsTable stats, RexNode predicate) {
+    double selectivity = 1.0;
+    for (RexNode conjunct : RelOptUtil.conjunctions(predicate)) {
+      Double conjunctSelectivity = null;
+      if (conjunct instanceof RexCall) {
+        List<RexNode> operands = ((RexCall) conjunct).getOperands();
+        switch (conjunct.getKind()) {
+          case EQUALS:
+            if (operands.get(1) instanceof RexLiteral) {
+              ColumnStatistics column = getColumn(rel, stats, operands.get(0));
+              conjunctSelectivity = column == null ? null : 1.0 / column.getNdv();
+            } else if (operands.get(0) instanceof RexLiteral) {
+              ColumnStatistics column = getColumn(rel, stats, operands.get(1));
+              conjunctSelectivity = column == null ? null : 1.0 / column.getNdv();
+            }
+            break;
+          case IS_NULL:
+          case IS_NOT_NULL:
+            ColumnStatistics column = getColumn(rel, stats, operands.get(0));
+            if (column != null && stats.getRowCount() > 0) {
+              double nullFraction = Math.min(1.0, column.getNullCount() / stats.getRowCount());
+              conjunctSelectivity = conjunct.getKind() == SqlKind.IS_NULL ? nullFraction : 1.0 - nullFraction;
+            }
+            break;
+          default:
+            break;
+        }
+      }
+      selectivity *= conjunctSelectivity != null ? conjunctSelectivity : RelMdUtil.guessSelectivity(conjunct);
+    }
+    return selectivity;
+  }
+
+  private ColumnStatistics getColumn(RelNode rel, DrillStatsTable stats, RexNode node) {
+    if (!(node instanceof RexInputRef)) {
+      return null;
+    }
+    return stats.getColumn(rel.getRowType().getFieldNames().get(((RexInputRef) node).getIndex()));
+  }
 }
@@ -32,6 +32,7 @@ import org.apache.drill.common.JSONOptions;
 import org.apache.drill.common.logical.StoragePluginConfig;
 import org.apache.drill.exec.physical.base.SchemalessScan;
 import org.apache.drill.exec.physical.base.GroupScan;
+import org.apache.drill.exec.planner.common.DrillStatsTable;
 import org.apache.drill.exec.server.options.SessionOptionManager;
 import org.apache.drill.exec.store.StoragePlugin;
 import org.apache.drill.exec.store.dfs.FileSelection;
@@ -47,6 +48,8 @@ public abstract class DrillTable implements Table {
   private final String userName;
   private GroupScan scan;
   private SessionOptionManager options;
+  private DrillStatsTable statsTable;
+  private boolean statsTableLoaded;
 
   /**
    * Creates a DrillTable instance for a @{code TableType#Table} table.
@@ -106,6 +109,20 @@ public abstract class DrillTable implements Table {
     return scan;
   }
 
+  /**
+   * Returns statistics collected for this table by ANALYZE TABLE.
+   * They are read once per table instance.
+   *
+   * @return table statistics or null if the table was not analyzed
+   */
+  public DrillStatsTable getStatsTable() {
+    if (!statsTableLoaded) {
+      statsTable = DrillStatsTable.read(this);
+      statsTableLoaded = true;
+    }
+    return statsTable;
+  }
+
   public StoragePluginConfig getStorageEngineConfig() {
     return storageEngineConfig;
   }
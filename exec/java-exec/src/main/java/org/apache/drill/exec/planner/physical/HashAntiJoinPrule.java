@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.physical;
+
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelOptRuleOperand;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.InvalidRelException;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.util.trace.CalciteTrace;
+import org.apache.drill.exec.planner.common.JoinControl;
+import org.apache.drill.exec.planner.logical.DrillFilterRel;
+import org.apache.drill.exec.planner.logical.DrillJoin;
+import org.apache.drill.exec.planner.logical.DrillJoinRel;
+import org.apache.drill.exec.planner.logical.RelOptHelper;
+import org.slf4j.Logger;
+
+/**
+ * Plans a left join whose rows are kept only when the build side did not match, the shape <code>NOT EXISTS</code>
+ * is decorrelated into:
+ * <pre>
+ * Filter(IS NULL($i))
+ *   Join(LEFT, equi-condition)
+ *     left
+ *     right, with $i a column which is never null
+ * </pre>
+ * as an anti hash join, which drops a probe row at its first match instead of joining it with all the matching
+ * build rows to filter them afterwards. The output keeps the row type of the join, the build side columns are null.
+ */
+public class HashAntiJoinPrule extends JoinPruleBase {
+  public static final RelOptRule DIST_INSTANCE = new HashAntiJoinPrule("Prel.HashAntiJoinDistPrule",
+      RelOptHelper.any(DrillFilterRel.class, DrillJoinRel.class), true);
+  public static final RelOptRule BROADCAST_INSTANCE = new HashAntiJoinPrule("Prel.HashAntiJoinBroadcastPrule",
+      RelOptHelper.any(DrillFilterRel.class, DrillJoinRel.class), false);
+
+  protected static final Logger tracer = CalciteTrace.getPlannerTracer();
+
+  private final boolean isDist;
+
+  private HashAntiJoinPrule(String name, RelOptRuleOperand operand, boolean isDist) {
+    super(operand, name);
+    this.isDist = isDist;
+  }
+
+  @Override
+  public boolean matches(RelOptRuleCall call) {
+    PlannerSettings settings = PrelUtil.getPlannerSettings(call.getPlanner());
+    if (!settings.isHashJoinEnabled() || !settings.isAntiJoinEnabled()) {
+      return false;
+    }
+    final DrillFilterRel filter = call.rel(0);
+    final DrillJoinRel join = call.rel(1);
+    return join.getJoinType() == JoinRelType.LEFT
+        && JoinInfo.of(join.getLeft(), join.getRight(), join.getCondition()).isEqui()
+        && isNoMatchCondition(filter.getCondition(), join);
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    PlannerSettings settings = PrelUtil.getPlannerSettings(call.getPlanner());
+    final DrillJoin join = call.rel(1);
+    final RelNode left = join.getLeft();
+    final RelNode right = join.getRight();
+
+    if (!checkPreconditions(join, left, right, settings)) {
+      return;
+    }
+
+    try {
+      if (isDist) {
+        createDistBothPlan(call, join, PhysicalJoinType.HASH_JOIN,
+            left, right, null /* left collation */, null /* right collation */, settings.isHashSingleKey(), false);
+      } else if (checkBroadcastConditions(call.getPlanner(), join, left, right)) {
+        createBroadcastPlan(call, join, join.getCondition(), PhysicalJoinType.HASH_JOIN,
+            left, right, null /* left collation */, null /* right collation */, false);
+      }
+    } catch (InvalidRelException e) {
+      tracer.warn(e.toString());
+    }
+  }
+
+  @Override
+  protected HashJoinPrel createHashJoinPrel(DrillJoin join, RelTraitSet traitSet, RelNode left, RelNode right,
+      RexNode condition, boolean semiJoin) throws InvalidRelException {
+    return new HashJoinPrel(join.getCluster(), traitSet, left, right, condition, join.getJoinType(),
+        false /* no swap */, null /* no runtime filter */, false, JoinControl.DEFAULT, false, true /* anti join */);
+  }
+
+  /**
+   * @return true if the condition is <code>IS NULL</code> (or <code>NOT(IS NOT NULL)</code>) of a build side column
+   * which is not nullable, so that it holds exactly for the rows without a match
+   */
+  private static boolean isNoMatchCondition(RexNode condition, DrillJoinRel join) {
+    RexNode operand;
+    if (condition.isA(SqlKind.IS_NULL)) {
+      operand = ((RexCall) condition).getOperands().get(0);
+    } else if (condition.isA(SqlKind.NOT) && ((RexCall) condition).getOperands().get(0).isA(SqlKind.IS_NOT_NULL)) {
+      operand = ((RexCall) ((RexCall) condition).getOperands().get(0)).getOperands().get(0);
+    } else {
+      return false;
+    }
+    if (!(operand instanceof RexInputRef)) {
+      return false;
+    }
+    final int leftCount = join.getLeft().getRowType().getFieldCount();
+    final int index = ((RexInputRef) operand).getIndex() - leftCount;
+    return index >= 0 && !join.getRight().getRowType().getFieldList().get(index).getType().isNullable();
+  }
+}
@@ -53,6 +53,7 @@ public class HashJoinPrel  extends JoinPrel {
   private RuntimeFilterDef runtimeFilterDef;
   protected boolean isRowKeyJoin = false;
   private int joinControl;
+  private final boolean isAntiJoin;
 
   public HashJoinPrel(RelOptCluster cluster, RelTraitSet traits, RelNode left, RelNode right, RexNode condition,
                       JoinRelType joinType, boolean semiJoin) throws InvalidRelException {
@@ -68,12 +69,23 @@ public class HashJoinPrel  extends JoinPrel {
   public HashJoinPrel(RelOptCluster cluster, RelTraitSet traits, RelNode left, RelNode right, RexNode condition,
       JoinRelType joinType, boolean swapped, RuntimeFilterDef runtimeFilterDef,
       boolean isRowKeyJoin, int joinControl, boolean semiJoin) throws InvalidRelException {
+    this(cluster, traits, left, right, condition, joinType, swapped, runtimeFilterDef, isRowKeyJoin, joinControl, semiJoin, false);
+  }
+
+  public HashJoinPrel(RelOptCluster cluster, RelTraitSet traits, RelNode left, RelNode right, RexNode condition,
+      JoinRelType joinType, boolean swapped, RuntimeFilterDef runtimeFilterDef,
+      boolean isRowKeyJoin, int joinControl, boolean semiJoin, boolean antiJoin) throws InvalidRelException {
     super(cluster, traits, left, right, condition, joinType, semiJoin);
     Preconditions.checkArgument(isSemiJoin && !swapped || swapped && !isSemiJoin || (!swapped && !isSemiJoin));
     if (isSemiJoin) {
       Preconditions.checkArgument(!swapped, "swapping of inputs is not allowed for semi-joins");
       Preconditions.checkArgument(validateTraits(traitSet, left, right));
     }
+    if (antiJoin) {
+      Preconditions.checkArgument(joinType == JoinRelType.LEFT && !swapped && !isSemiJoin,
+          "anti-join must be an unswapped left join");
+    }
+    this.isAntiJoin = antiJoin;
     this.swapped = swapped;
     this.isRowKeyJoin = isRowKeyJoin;
     joincategory = JoinUtils.getJoinCategory(left, right, condition, leftKeys, rightKeys, filterNulls);
@@ -108,7 +120,7 @@ public class HashJoinPrel  extends JoinPrel {
   public Join copy(RelTraitSet traitSet, RexNode conditionExpr, RelNode left, RelNode right, JoinRelType joinType, boolean semiJoinDone) {
     try {
       return new HashJoinPrel(this.getCluster(), traitSet, left, right, conditionExpr, joinType, this.swapped, this.runtimeFilterDef,
-          this.isRowKeyJoin, this.joinControl, this.isSemiJoin);
+          this.isRowKeyJoin, this.joinControl, this.isSemiJoin, this.isAntiJoin);
     }catch (InvalidRelException e) {
       throw new AssertionError(e);
     }
@@ -165,7 +177,8 @@ public class HashJoinPrel  extends JoinPrel {
     buildJoinConditions(conditions, leftFields, rightFields, leftKeys, rightKeys);
 
     RuntimeFilterDef runtimeFilterDef = this.getRuntimeFilterDef();
-    HashJoinPOP hjoin = new HashJoinPOP(leftPop, rightPop, conditions, jtype, isSemiJoin, runtimeFilterDef, isRowKeyJoin, htControl);
+    HashJoinPOP hjoin = new HashJoinPOP(leftPop, rightPop, conditions, jtype, isSemiJoin, runtimeFilterDef, isRowKeyJoin, htControl,
+        isAntiJoin);
     return creator.addMetadata(this, hjoin);
   }
 
@@ -189,8 +202,13 @@ public class HashJoinPrel  extends JoinPrel {
     return this.isRowKeyJoin;
   }
 
+  public boolean isAntiJoin() {
+    return this.isAntiJoin;
+  }
+
   @Override
   public RelWriter explainTerms(RelWriter pw) {
-    return super.explainTerms(pw).item("semi-join: ", isSemiJoin);
+    return super.explainTerms(pw).item("semi-join: ", isSemiJoin)
+        .itemIf("anti-join: ", true, isAntiJoin);
   }
 }
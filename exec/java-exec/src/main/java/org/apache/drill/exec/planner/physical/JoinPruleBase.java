@@ -84,6 +84,15 @@ public abstract class JoinPruleBase extends Prule {
     return false;
   }
 
+  /**
+   * Creates the physical hash join for the given join, rules producing a particular flavor of hash join
+   * override this.
+   */
+  protected HashJoinPrel createHashJoinPrel(DrillJoin join, RelTraitSet traitSet, RelNode left, RelNode right,
+      RexNode condition, boolean semiJoin) throws InvalidRelException {
+    return new HashJoinPrel(join.getCluster(), traitSet, left, right, condition, join.getJoinType(), semiJoin);
+  }
+
   protected void createRangePartitionRightPlan(RelOptRuleCall call, RowKeyJoinRel join,
     PhysicalJoinType physicalJoinType, boolean implementAsRowKeyJoin, RelNode left, RelNode right,
     RelCollation collationLeft, RelCollation collationRight) throws InvalidRelException {
@@ -200,9 +209,7 @@ public abstract class JoinPruleBase extends Prule {
 
     if (physicalJoinType == PhysicalJoinType.HASH_JOIN) {
       final RelTraitSet traitSet = PrelUtil.removeCollation(traitsLeft, call);
-      newJoin = new HashJoinPrel(join.getCluster(), traitSet,
-                                 convertedLeft, convertedRight, join.getCondition(),
-                                 join.getJoinType(), isSemiJoin);
+      newJoin = createHashJoinPrel(join, traitSet, convertedLeft, convertedRight, join.getCondition(), isSemiJoin);
 
     } else if (physicalJoinType == PhysicalJoinType.MERGE_JOIN) {
       newJoin = new MergeJoinPrel(join.getCluster(), traitsLeft,
@@ -264,8 +271,7 @@ public abstract class JoinPruleBase extends Prule {
             DrillDistributionTrait toDist = rel.getTraitSet().getTrait(DrillDistributionTraitDef.INSTANCE);
             RelTraitSet newTraitsLeft = newTraitSet(Prel.DRILL_PHYSICAL, toDist);
             RelNode newLeft = convert(left, newTraitsLeft);
-            return new HashJoinPrel(join.getCluster(), newTraitsLeft, newLeft, convertedRight, joinCondition,
-                                         join.getJoinType(), semiJoin);
+            return createHashJoinPrel(join, newTraitsLeft, newLeft, convertedRight, joinCondition, semiJoin);
 
           }
 
@@ -291,8 +297,7 @@ public abstract class JoinPruleBase extends Prule {
             convertedRight, joinCondition, join.getJoinType()));
       } else if (physicalJoinType == PhysicalJoinType.HASH_JOIN) {
         final RelTraitSet traitSet = PrelUtil.removeCollation(convertedLeft.getTraitSet(), call);
-        call.transformTo(new HashJoinPrel(join.getCluster(), traitSet, convertedLeft,
-            convertedRight, joinCondition, join.getJoinType(), semiJoin));
+        call.transformTo(createHashJoinPrel(join, traitSet, convertedLeft, convertedRight, joinCondition, semiJoin));
       } else if (physicalJoinType == PhysicalJoinType.NESTEDLOOP_JOIN) {
         call.transformTo(new NestedLoopJoinPrel(join.getCluster(), convertedLeft.getTraitSet(), convertedLeft,
             convertedRight, joinCondition, join.getJoinType()));
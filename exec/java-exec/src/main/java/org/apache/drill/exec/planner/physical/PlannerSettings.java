@@ -54,6 +54,8 @@ public class PlannerSettings implements Context{
 
   public static final OptionValidator CONSTANT_FOLDING = new BooleanValidator("planner.enable_constant_folding",
       new OptionDescription("If one side of a filter condition is a constant expression, constant folding evaluates the expression in the planning phase and replaces the expression with the constant value. For example, Drill can rewrite WHERE age + 5 < 42 as WHERE age < 37."));
+  public static final OptionValidator COMMON_SUBEXPRESSION_ELIMINATION = new BooleanValidator("planner.enable_common_subexpression_elimination",
+      new OptionDescription("When a Project and the Filter below it call the same function with the same arguments, the call is evaluated once, by a Project below the Filter, and both operators read its result."));
   public static final OptionValidator EXCHANGE = new BooleanValidator("planner.disable_exchanges",
       new OptionDescription("Toggles the state of hashing to a random exchange."));
   public static final OptionValidator HASHAGG = new BooleanValidator("planner.enable_hashagg",
@@ -62,10 +64,14 @@ public class PlannerSettings implements Context{
       new OptionDescription("Sort-based operation. Writes to disk."));
   public static final OptionValidator TOPN = new BooleanValidator("planner.enable_topn",
       new OptionDescription("Generates the topN plan for queries with the ORDER BY and LIMIT clauses."));
+  public static final OptionValidator TOPN_MAX_MEMORY = new PositiveLongValidator("planner.memory.topn_max_memory", Long.MAX_VALUE,
+      new OptionDescription("Estimated size, in bytes, of the rows kept by a TopN above which the planner uses a sort and a limit instead, since the sort can spill to disk. The size is estimated from the limit, the number of columns and planner.memory.average_field_width."));
   public static final OptionValidator HASHJOIN = new BooleanValidator("planner.enable_hashjoin",
       new OptionDescription("Enable the memory hungry hash join. Drill assumes that a query will have adequate memory to complete and tries to use the fastest operations possible to complete the planned inner, left, right, or full outer joins using a hash table. Does not write to disk. Disabling hash join allows Drill to manage arbitrarily large data in a small memory footprint."));
   public static final OptionValidator SEMIJOIN = new BooleanValidator("planner.enable_semijoin",
           new OptionDescription("Enable the semi join optimization. Planner removes the distinct processing below the hash join and sets the semi join flag in hash join."));
+  public static final OptionValidator ANTIJOIN = new BooleanValidator("planner.enable_antijoin",
+      new OptionDescription("Enable the anti join optimization. A left hash join filtered on a missing match (NOT EXISTS) is planned as an anti join that returns the probe rows without a match."));
   public static final OptionValidator MERGEJOIN = new BooleanValidator("planner.enable_mergejoin",
       new OptionDescription("Sort-based operation. A merge join is used for inner join, left and right outer joins. Inputs to the merge join must be sorted. It reads the sorted input streams from both sides and finds matching rows. Writes to disk."));
   public static final OptionValidator NESTEDLOOPJOIN = new BooleanValidator("planner.enable_nestedloopjoin",
@@ -209,6 +215,10 @@ public class PlannerSettings implements Context{
    */
   public static final BooleanValidator JOIN_OPTIMIZATION = new BooleanValidator("planner.enable_join_optimization",
       new OptionDescription("Enables join ordering optimization."));
+  public static final RangeLongValidator EXHAUSTIVE_JOIN_SEARCH_THRESHOLD = new RangeLongValidator("planner.join.exhaustive_search_threshold", 0, 1000,
+      new OptionDescription("Maximum number of joins in a query for which the cost based planner considers all join orders when planner.enable_hep_opt is disabled. Queries with more joins are ordered by the heuristic join planner."));
+  public static final RangeLongValidator PHASE_TIME_BUDGET = new RangeLongValidator("planner.phase_time_budget_ms", 0, Long.MAX_VALUE,
+      new OptionDescription("Maximum time in milliseconds spent in a single cost based planning phase. When it is exceeded, the cheapest plan found so far is used. 0 disables the limit."));
   // for testing purpose
   public static final String FORCE_2PHASE_AGGR_KEY = "planner.force_2phase_aggr";
   public static final BooleanValidator FORCE_2PHASE_AGGR = new BooleanValidator(FORCE_2PHASE_AGGR_KEY,
@@ -274,6 +284,10 @@ public class PlannerSettings implements Context{
     return options.getOption(CONSTANT_FOLDING.getOptionName()).bool_val;
   }
 
+  public boolean isCommonSubexpressionEliminationEnabled() {
+    return options.getOption(COMMON_SUBEXPRESSION_ELIMINATION.getOptionName()).bool_val;
+  }
+
   public boolean isStreamAggEnabled() {
     return options.getOption(STREAMAGG.getOptionName()).bool_val;
   }
@@ -286,6 +300,10 @@ public class PlannerSettings implements Context{
     return options.getOption(SEMIJOIN.getOptionName()).bool_val;
   }
 
+  public boolean isAntiJoinEnabled() {
+    return options.getOption(ANTIJOIN.getOptionName()).bool_val;
+  }
+
   public boolean isMergeJoinEnabled() {
     return options.getOption(MERGEJOIN.getOptionName()).bool_val;
   }
@@ -324,6 +342,10 @@ public class PlannerSettings implements Context{
     return options.getOption(HASH_JOIN_SWAP_MARGIN_FACTOR.getOptionName()).float_val / 100d;
   }
 
+  public long getTopNMaxMemory() {
+    return options.getOption(TOPN_MAX_MEMORY.getOptionName()).num_val;
+  }
+
   public long getBroadcastThreshold() {
     return options.getOption(BROADCAST_THRESHOLD.getOptionName()).num_val;
   }
@@ -402,6 +424,14 @@ public class PlannerSettings implements Context{
     return options.getOption(JOIN_OPTIMIZATION);
   }
 
+  public long getExhaustiveJoinSearchThreshold() {
+    return options.getOption(EXHAUSTIVE_JOIN_SEARCH_THRESHOLD);
+  }
+
+  public long getPhaseTimeBudget() {
+    return options.getOption(PHASE_TIME_BUDGET);
+  }
+
   public boolean isUnnestLateralEnabled() {
     return options.getOption(ENABLE_UNNEST_LATERAL);
   }
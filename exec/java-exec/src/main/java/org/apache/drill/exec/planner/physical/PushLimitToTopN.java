@@ -17,6 +17,7 @@
  */
 package org.apache.drill.exec.planner.physical;
 
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.planner.logical.RelOptHelper;
 import org.apache.calcite.plan.RelOptRule;
 import org.apache.calcite.plan.RelOptRuleCall;
@@ -32,7 +33,8 @@ public class PushLimitToTopN  extends Prule{
 
   @Override
   public boolean matches(RelOptRuleCall call) {
-    boolean topNEnabled = PrelUtil.getPlannerSettings(call.getPlanner()).getOptions().getOption(PlannerSettings.TOPN.getOptionName()).bool_val;
+    final PlannerSettings settings = PrelUtil.getPlannerSettings(call.getPlanner());
+    boolean topNEnabled = settings.getOptions().getOption(PlannerSettings.TOPN.getOptionName()).bool_val;
 
     if (!topNEnabled) {
       return false;
@@ -41,21 +43,31 @@ public class PushLimitToTopN  extends Prule{
       // We should use the sort and limit operator in this case.
       // This also fixes DRILL-6474
       final LimitPrel limit = call.rel(0);
-      return limit.getFetch() != null;
+      if (limit.getFetch() == null) {
+        return false;
+      }
+      // TopN keeps all the rows of the limit in memory, a sort spills them to disk when they don't fit
+      final SortPrel sort = call.rel(2);
+      final long averageFieldWidth = settings.getOptions().getOption(ExecConstants.AVERAGE_FIELD_WIDTH_KEY).num_val;
+      final double estimatedSize = (double) getLimit(limit) * sort.getRowType().getFieldCount() * averageFieldWidth;
+      return estimatedSize <= settings.getTopNMaxMemory();
     }
   }
 
+  private static int getLimit(LimitPrel limit) {
+    // First offset to include into results (inclusive). Null implies it is starting from offset 0
+    int offset = limit.getOffset() != null ? Math.max(0, RexLiteral.intValue(limit.getOffset())) : 0;
+    int fetch = Math.max(0, RexLiteral.intValue(limit.getFetch()));
+    return offset + fetch;
+  }
+
   @Override
   public void onMatch(RelOptRuleCall call) {
     final LimitPrel limit = call.rel(0);
     final SingleMergeExchangePrel smex = call.rel(1);
     final SortPrel sort = call.rel(2);
 
-    // First offset to include into results (inclusive). Null implies it is starting from offset 0
-    int offset = limit.getOffset() != null ? Math.max(0, RexLiteral.intValue(limit.getOffset())) : 0;
-    int fetch = Math.max(0, RexLiteral.intValue(limit.getFetch()));
-
-    final TopNPrel topN = new TopNPrel(limit.getCluster(), sort.getTraitSet(), sort.getInput(), offset + fetch, sort.getCollation());
+    final TopNPrel topN = new TopNPrel(limit.getCluster(), sort.getTraitSet(), sort.getInput(), getLimit(limit), sort.getCollation());
     final LimitPrel newLimit = new LimitPrel(limit.getCluster(), limit.getTraitSet(),
         new SingleMergeExchangePrel(smex.getCluster(), smex.getTraitSet(), topN, sort.getCollation()),
         limit.getOffset(), limit.getFetch());
@@ -19,6 +19,7 @@ package org.apache.drill.exec.planner.physical;
 
 import org.apache.drill.shaded.guava.com.google.common.collect.Lists;
 
+import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.common.expression.ExpressionPosition;
 import org.apache.drill.common.expression.FieldReference;
 import org.apache.drill.common.expression.FunctionCall;
@@ -41,7 +42,10 @@ import org.apache.calcite.rel.RelFieldCollation;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rex.RexInputRef;
 import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexWindowBound;
 import org.apache.calcite.util.BitSets;
 
 import java.io.IOException;
@@ -53,6 +57,8 @@ import java.util.List;
 import static org.apache.drill.shaded.guava.com.google.common.base.Preconditions.checkState;
 
 public class WindowPrel extends DrillWindowRelBase implements Prel {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(WindowPrel.class);
+
   public WindowPrel(RelOptCluster cluster,
                     RelTraitSet traits,
                     RelNode child,
@@ -105,13 +111,38 @@ public class WindowPrel extends DrillWindowRelBase implements Prel {
         aggs,
         orderings,
         window.isRows,
-        WindowPOP.newBound(window.lowerBound),
-        WindowPOP.newBound(window.upperBound));
+        WindowPOP.newBound(window.lowerBound, getBoundOffset(window.lowerBound, childFields.size())),
+        WindowPOP.newBound(window.upperBound, getBoundOffset(window.upperBound, childFields.size())));
 
     creator.addMetadata(this, windowPOP);
     return windowPOP;
   }
 
+  /**
+   * @return number of rows of a n PRECEDING or n FOLLOWING bound, 0 for the other bounds
+   * @throws UserException if the number of rows of the bound is not a constant
+   */
+  private long getBoundOffset(RexWindowBound bound, int fieldCount) {
+    if (bound.isUnbounded() || bound.isCurrentRow()) {
+      return 0;
+    }
+    RexNode offset = bound.getOffset();
+    if (offset instanceof RexInputRef) {
+      // the offset is one of the constants of the window
+      int constantIndex = ((RexInputRef) offset).getIndex() - fieldCount;
+      offset = constantIndex >= 0 && constantIndex < constants.size() ? constants.get(constantIndex) : null;
+    }
+    if (offset instanceof RexLiteral) {
+      Long rows = ((RexLiteral) offset).getValueAs(Long.class);
+      if (rows != null) {
+        return rows;
+      }
+    }
+    throw UserException.unsupportedError()
+        .message("Window frame bound %s must have a constant number of rows", bound)
+        .build(logger);
+  }
+
   protected LogicalExpression toDrill(AggregateCall call, List<String> fn) {
     DrillParseContext context = new DrillParseContext(PrelUtil.getSettings(getCluster()));
 
@@ -41,6 +41,7 @@ import org.apache.calcite.rel.type.RelDataTypeField;
 import org.apache.calcite.rel.type.RelRecordType;
 import org.apache.calcite.rex.RexInputRef;
 import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
 import org.apache.calcite.sql.SqlAggFunction;
 
 import java.util.List;
@@ -163,11 +164,23 @@ public class WindowPrule extends Prule {
         );
       }
 
+      // The offsets of n PRECEDING / n FOLLOWING bounds point at the constants as well
+      final int shift = constantShiftIndex;
+      final RexShuttle shiftConstants = new RexShuttle() {
+        @Override
+        public RexNode visitInputRef(RexInputRef inputRef) {
+          if (inputRef.getIndex() >= startConstantsIndex) {
+            return new RexInputRef(inputRef.getIndex() + shift, inputRef.getType());
+          }
+          return inputRef;
+        }
+      };
+
       windowBase = new Window.Group(
           windowBase.keys,
           windowBase.isRows,
-          windowBase.lowerBound,
-          windowBase.upperBound,
+          windowBase.lowerBound.accept(shiftConstants),
+          windowBase.upperBound.accept(shiftConstants),
           windowBase.orderKeys,
           newWinAggCalls
       );
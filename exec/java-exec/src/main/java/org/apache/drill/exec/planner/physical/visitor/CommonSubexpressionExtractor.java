@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.physical.visitor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlFunction;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.drill.exec.expr.fn.FunctionImplementationRegistry;
+import org.apache.drill.exec.planner.StarColumnHelper;
+import org.apache.drill.exec.planner.physical.FilterPrel;
+import org.apache.drill.exec.planner.physical.Prel;
+import org.apache.drill.exec.planner.physical.ProjectPrel;
+
+import org.apache.drill.shaded.guava.com.google.common.collect.Lists;
+
+/**
+ * Visit Prel tree. Find the ProjectPrel nodes over a FilterPrel which call a function with the same arguments as
+ * the filter condition (for instance <code>select regexp_replace(a, ...) ... where regexp_replace(a, ...) ...</code>),
+ * and evaluate such calls once, in a new ProjectPrel below the FilterPrel:
+ * <pre>
+ * Project(f($0), $1)                   Project($2, $1)
+ *   Filter(f($0) = 'x')        =>        Filter($2 = 'x')
+ *     input                                Project($0, $1, f($0))
+ *                                            input
+ * </pre>
+ * The filter, then the project, read the result of the call instead of evaluating it again. Only the calls the
+ * filter evaluates for every row are moved, as the new project evaluates them for every row. Within one operator
+ * the repeated expressions are already evaluated once by the generated code.
+ */
+public class CommonSubexpressionExtractor extends BasePrelVisitor<Prel, Void, RuntimeException> {
+
+  private static final String SHARED_FIELD_PREFIX = "$cse";
+
+  private final FunctionImplementationRegistry funcReg;
+
+  public static Prel extractCommonSubexpressions(Prel prel, FunctionImplementationRegistry funcReg) {
+    return prel.accept(new CommonSubexpressionExtractor(funcReg), null);
+  }
+
+  private CommonSubexpressionExtractor(FunctionImplementationRegistry funcReg) {
+    this.funcReg = funcReg;
+  }
+
+  @Override
+  public Prel visitPrel(Prel prel, Void value) throws RuntimeException {
+    List<RelNode> children = Lists.newArrayList();
+    for (Prel child : prel) {
+      child = child.accept(this, value);
+      children.add(child);
+    }
+    return (Prel) prel.copy(prel.getTraitSet(), children);
+  }
+
+  @Override
+  public Prel visitProject(ProjectPrel prel, Void value) throws RuntimeException {
+    final ProjectPrel project = (ProjectPrel) visitPrel(prel, value);
+    if (!(project.getInput() instanceof FilterPrel)) {
+      return project;
+    }
+    final FilterPrel filter = (FilterPrel) project.getInput();
+    final RelNode input = filter.getInput();
+    if (StarColumnHelper.containsStarColumn(input.getRowType())) {
+      return project;
+    }
+
+    // the calls of the filter condition, then those of them the project calls too
+    final Map<String, RexNode> filterCalls = new LinkedHashMap<>();
+    collectCalls(filter.getCondition(), filterCalls);
+    final Map<String, RexNode> sharedCalls = new LinkedHashMap<>();
+    for (RexNode expr : project.getProjects()) {
+      collectSharedCalls(expr, filterCalls, sharedCalls);
+    }
+    if (sharedCalls.isEmpty()) {
+      return project;
+    }
+
+    // the project below the filter: the fields of the input, then the shared calls
+    final RexBuilder rexBuilder = project.getCluster().getRexBuilder();
+    final List<RexNode> exprs = Lists.newArrayList();
+    final List<RelDataType> types = Lists.newArrayList();
+    final List<String> names = Lists.newArrayList();
+    for (RelDataTypeField field : input.getRowType().getFieldList()) {
+      exprs.add(rexBuilder.makeInputRef(field.getType(), field.getIndex()));
+      types.add(field.getType());
+      names.add(field.getName());
+    }
+    final Map<String, RexNode> sharedRefs = new LinkedHashMap<>();
+    for (Map.Entry<String, RexNode> sharedCall : sharedCalls.entrySet()) {
+      final RexNode call = sharedCall.getValue();
+      sharedRefs.put(sharedCall.getKey(), rexBuilder.makeInputRef(call.getType(), exprs.size()));
+      exprs.add(call);
+      types.add(call.getType());
+      names.add(uniqueName(names));
+    }
+    final RelDataType rowType = project.getCluster().getTypeFactory().createStructType(types, names);
+    final ProjectPrel sharedProject = new ProjectPrel(project.getCluster(), input.getTraitSet(), input, exprs, rowType);
+
+    final RexShuttle replacer = new RexShuttle() {
+      @Override
+      public RexNode visitCall(RexCall call) {
+        final RexNode ref = sharedRefs.get(call.toString());
+        return ref != null ? ref : super.visitCall(call);
+      }
+    };
+    final FilterPrel newFilter = (FilterPrel) filter.copy(filter.getTraitSet(), sharedProject,
+        filter.getCondition().accept(replacer));
+    final List<RexNode> newExprs = Lists.newArrayList();
+    for (RexNode expr : project.getProjects()) {
+      newExprs.add(expr.accept(replacer));
+    }
+    return (Prel) project.copy(project.getTraitSet(), newFilter, newExprs, project.getRowType());
+  }
+
+  /**
+   * Collects the calls the filter evaluates for every row. AND, OR and CASE evaluate their first operand only for
+   * every row; a call in another operand may be guarded by it, for instance
+   * <code>s like '2%' and to_date(s, 'yyyy-MM-dd') > ...</code>, and could fail if evaluated for all the rows.
+   */
+  private void collectCalls(RexNode expr, Map<String, RexNode> calls) {
+    if (!(expr instanceof RexCall)) {
+      return;
+    }
+    final RexCall call = (RexCall) expr;
+    if (isSharable(call)) {
+      calls.put(call.toString(), call);
+    }
+    final List<RexNode> operands = call.getOperands();
+    final int evaluatedOperands = isConditional(call) ? Math.min(1, operands.size()) : operands.size();
+    for (RexNode operand : operands.subList(0, evaluatedOperands)) {
+      collectCalls(operand, calls);
+    }
+  }
+
+  /**
+   * @return true if the call evaluates its operands after the first one only for some rows
+   */
+  private static boolean isConditional(RexCall call) {
+    switch (call.getKind()) {
+      case AND:
+      case OR:
+      case CASE:
+      case COALESCE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Collects the outermost calls of the expression which are among the calls of the filter.
+   */
+  private void collectSharedCalls(RexNode expr, Map<String, RexNode> filterCalls, Map<String, RexNode> sharedCalls) {
+    if (!(expr instanceof RexCall)) {
+      return;
+    }
+    final String digest = expr.toString();
+    final RexNode filterCall = filterCalls.get(digest);
+    if (filterCall != null && filterCall.getType().equals(expr.getType())) {
+      sharedCalls.put(digest, expr);
+      return;
+    }
+    for (RexNode operand : ((RexCall) expr).getOperands()) {
+      collectSharedCalls(operand, filterCalls, sharedCalls);
+    }
+  }
+
+  /**
+   * @return true for a deterministic function call (not an operator, such as =, + or a cast, which are cheap to
+   * evaluate again) over the input fields, not returning a complex type
+   */
+  private boolean isSharable(RexCall call) {
+    if (!(call.getOperator() instanceof SqlFunction) || call.getKind() == SqlKind.CAST) {
+      return false;
+    }
+    final String name = call.getOperator().getName();
+    if (name.equalsIgnoreCase("item") || name.equalsIgnoreCase("flatten") || funcReg.isFunctionComplexOutput(name)) {
+      return false;
+    }
+    return RexUtil.isDeterministic(call) && onlyFieldsAndLiterals(call);
+  }
+
+  private static boolean onlyFieldsAndLiterals(RexNode expr) {
+    if (expr instanceof RexInputRef || expr instanceof RexLiteral) {
+      return true;
+    }
+    if (!(expr instanceof RexCall) || ((RexCall) expr).getOperator().isDynamicFunction()) {
+      return false;
+    }
+    for (RexNode operand : ((RexCall) expr).getOperands()) {
+      if (!onlyFieldsAndLiterals(operand)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String uniqueName(List<String> names) {
+    int i = 0;
+    while (names.contains(SHARED_FIELD_PREFIX + i)) {
+      i++;
+    }
+    return SHARED_FIELD_PREFIX + i;
+  }
+}
@@ -151,6 +151,11 @@ public class RuntimeFilterVisitor extends BasePrelVisitor<Prel, Void, RuntimeExc
         //Collect NDV from the Metadata
         RelDataType scanRowType = scanPrel.getRowType();
         RelDataTypeField field = scanRowType.getField(leftFieldName, true, true);
+        //The scan side filter hashes the scanned value, so skip keys whose type changed on the way up to the join.
+        RelDataTypeField leftField = left.getRowType().getFieldList().get(leftKey);
+        if (field.getType().getSqlTypeName() != leftField.getType().getSqlTypeName()) {
+          continue;
+        }
         int index = field.getIndex();
         Double ndv = metadataQuery.getDistinctRowCount(scanPrel, ImmutableBitSet.of(index), null);
         if (ndv == null) {
@@ -35,6 +35,7 @@ import org.apache.drill.exec.planner.sql.handlers.SetOptionHandler;
 import org.apache.drill.exec.planner.sql.handlers.SqlHandlerConfig;
 import org.apache.drill.exec.planner.sql.parser.DrillSqlCall;
 import org.apache.drill.exec.planner.sql.parser.DrillSqlDescribeTable;
+import org.apache.drill.exec.planner.sql.parser.SqlAnalyzeTable;
 import org.apache.drill.exec.planner.sql.parser.SqlCreateTable;
 import org.apache.drill.exec.testing.ControlsInjector;
 import org.apache.drill.exec.testing.ControlsInjectorFactory;
@@ -128,7 +129,7 @@ public class DrillSqlWorker {
         break;
       }
     case OTHER:
-      if(sqlNode instanceof SqlCreateTable) {
+      if(sqlNode instanceof SqlCreateTable || sqlNode instanceof SqlAnalyzeTable) {
         handler = ((DrillSqlCall)sqlNode).getSqlHandler(config, textPlan);
         break;
       }
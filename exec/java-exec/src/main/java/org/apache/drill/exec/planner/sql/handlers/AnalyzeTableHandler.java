@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.sql.handlers;
+
+import static org.apache.drill.exec.planner.sql.SchemaUtilites.findSchema;
+
+import java.util.List;
+
+import org.apache.calcite.schema.SchemaPlus;
+import org.apache.calcite.schema.Table;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.physical.PhysicalPlan;
+import org.apache.drill.exec.planner.common.DrillStatsTable;
+import org.apache.drill.exec.planner.logical.DrillTable;
+import org.apache.drill.exec.planner.sql.DirectPlan;
+import org.apache.drill.exec.planner.sql.SchemaUtilites;
+import org.apache.drill.exec.planner.sql.parser.SqlAnalyzeTable;
+import org.apache.drill.exec.planner.sql.parser.SqlCreateTable;
+import org.apache.drill.exec.store.AbstractSchema;
+import org.apache.drill.exec.store.dfs.DrillFileSystem;
+import org.apache.drill.exec.store.dfs.FileSystemPlugin;
+import org.apache.drill.exec.store.dfs.FormatSelection;
+import org.apache.drill.exec.util.ImpersonationUtil;
+import org.apache.drill.exec.util.Pointer;
+import org.apache.drill.exec.work.foreman.ForemanSetupException;
+import org.apache.hadoop.fs.Path;
+
+import org.apache.drill.shaded.guava.com.google.common.collect.ImmutableList;
+
+/**
+ * Handles {@code ANALYZE TABLE ... COMPUTE STATISTICS}. The statistics are computed by
+ * an aggregate query over the table which is written as JSON by CTAS into a new
+ * subdirectory of the {@link DrillStatsTable#STATS_DIRECTORY} directory of the table.
+ */
+public class AnalyzeTableHandler extends DefaultSqlHandler {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(AnalyzeTableHandler.class);
+
+  public AnalyzeTableHandler(SqlHandlerConfig config, Pointer<String> textPlan) {
+    super(config, textPlan);
+  }
+
+  private PhysicalPlan direct(boolean outcome, String message, Object... values) {
+    return DirectPlan.createDirectPlan(context, outcome, String.format(message, values));
+  }
+
+  private PhysicalPlan notSupported(String tbl) {
+    return direct(false, "Table %s does not support statistics collection. " +
+        "Support is currently limited to directory-based tables in writable workspaces.", tbl);
+  }
+
+  @Override
+  public PhysicalPlan getPlan(SqlNode sqlNode) throws ForemanSetupException {
+    final SqlAnalyzeTable analyzeTable = unwrap(sqlNode, SqlAnalyzeTable.class);
+
+    try {
+      final SchemaPlus schema = findSchema(config.getConverter().getDefaultSchema(),
+          analyzeTable.getSchemaPath());
+
+      if (schema == null) {
+        return direct(false, "Storage plugin or workspace does not exist [%s]",
+            SchemaUtilites.SCHEMA_PATH_JOINER.join(analyzeTable.getSchemaPath()));
+      }
+
+      final String tableName = analyzeTable.getName();
+      final Table table = schema.getTable(tableName);
+
+      if (table == null) {
+        return direct(false, "Table %s does not exist.", tableName);
+      }
+
+      if (!(table instanceof DrillTable)) {
+        return notSupported(tableName);
+      }
+
+      final DrillTable drillTable = (DrillTable) table;
+      final Object selection = drillTable.getSelection();
+      if (!(selection instanceof FormatSelection) || !(drillTable.getPlugin() instanceof FileSystemPlugin)) {
+        return notSupported(tableName);
+      }
+
+      final AbstractSchema drillSchema = SchemaUtilites.unwrapAsDrillSchemaInstance(schema);
+      if (!drillSchema.isMutable()) {
+        return notSupported(tableName);
+      }
+
+      final double fraction = analyzeTable.getSampleFraction();
+      if (fraction <= 0 || fraction > 1) {
+        return direct(false, "Sample percent must be in the range (0, 100], got %s.", fraction * 100);
+      }
+
+      final List<String> columns = analyzeTable.getFieldNames();
+      if (columns.isEmpty()) {
+        return direct(false, "At least one column must be given to compute statistics for.");
+      }
+
+      final FormatSelection formatSelection = (FormatSelection) selection;
+      final FileSystemPlugin plugin = (FileSystemPlugin) drillTable.getPlugin();
+      final DrillFileSystem fs = ImpersonationUtil.createFileSystem(context.getQueryUserName(),
+          plugin.getFormatPlugin(formatSelection.getFormat()).getFsConf());
+
+      final Path selectionRoot = new Path(formatSelection.getSelection().selectionRoot);
+      if (!fs.getFileStatus(selectionRoot).isDirectory()) {
+        return notSupported(tableName);
+      }
+
+      // the statistics are written into a new directory, the ones of the last complete run stay in use
+      // until this run succeeds, the earlier ones are dropped
+      final Path statsDir = new Path(selectionRoot, DrillStatsTable.STATS_DIRECTORY);
+      DrillStatsTable.deleteObsoleteVersions(fs, statsDir);
+
+      final SqlNode statsQuery = config.getConverter().parse(
+          buildStatsQuery(drillSchema.getSchemaPath(), tableName, columns, fraction));
+
+      final List<String> statsTableName = ImmutableList.<String>builder()
+          .addAll(drillSchema.getSchemaPath())
+          .add(tableName + Path.SEPARATOR + DrillStatsTable.STATS_DIRECTORY + Path.SEPARATOR + DrillStatsTable.newVersion())
+          .build();
+
+      final SqlCreateTable createStats = new SqlCreateTable(SqlParserPos.ZERO,
+          new SqlIdentifier(statsTableName, SqlParserPos.ZERO),
+          SqlNodeList.EMPTY,
+          SqlNodeList.EMPTY,
+          statsQuery,
+          SqlLiteral.createBoolean(false, SqlParserPos.ZERO),
+          SqlLiteral.createBoolean(false, SqlParserPos.ZERO));
+
+      // the statistics reader only understands JSON
+      context.getOptions().setLocalOption(ExecConstants.OUTPUT_FORMAT_OPTION, "json");
+
+      return new CreateTableHandler(config, textPlan).getPlan(createStats);
+    } catch (Exception e) {
+      logger.error("Failed to compute statistics for table '{}'", analyzeTable.getName(), e);
+      return DirectPlan.createDirectPlan(context, false, String.format("Error: %s", e.getMessage()));
+    }
+  }
+
+  /**
+   * Builds the query computing the row count and the non-null count and the number
+   * of distinct values of each column, over a random sample of rows if requested.
+   * A sample also counts the values of each column seen exactly once, which the
+   * number of distinct values of the whole table is estimated from. These counts
+   * come from samples of their own, drawn at the same rate.
+   */
+  private static String buildStatsQuery(List<String> schemaPath, String tableName, List<String> columns,
+                                        double fraction) {
+    final String table = tableReference(schemaPath, tableName);
+    StringBuilder sql = new StringBuilder("SELECT COUNT(*) AS ")
+        .append(quote(DrillStatsTable.ROW_COUNT))
+        .append(", CAST(").append(fraction).append(" AS DOUBLE) AS ")
+        .append(quote(DrillStatsTable.SAMPLE_FRACTION));
+    for (String column : columns) {
+      sql.append(", COUNT(").append(quote(column)).append(") AS ")
+          .append(quote(DrillStatsTable.NON_NULL_COUNT_PREFIX + column));
+      sql.append(", NDV(").append(quote(column)).append(") AS ")
+          .append(quote(DrillStatsTable.NDV_PREFIX + column));
+    }
+    sql.append(" FROM ").append(table);
+    if (fraction >= 1) {
+      return sql.toString();
+    }
+    sql.append(" WHERE RANDOM() < ").append(fraction);
+
+    StringBuilder sampled = new StringBuilder("SELECT * FROM (").append(sql).append(") AS ").append(quote("counts"));
+    for (int i = 0; i < columns.size(); i++) {
+      final String column = quote(columns.get(i));
+      sampled.append(", (SELECT COUNT(*) AS ")
+          .append(quote(DrillStatsTable.SINGLETON_COUNT_PREFIX + columns.get(i)))
+          .append(" FROM (SELECT ").append(column).append(" FROM ").append(table)
+          .append(" WHERE RANDOM() < ").append(fraction).append(" AND ").append(column).append(" IS NOT NULL")
+          .append(" GROUP BY ").append(column).append(" HAVING COUNT(*) = 1) AS ").append(quote("values" + i))
+          .append(") AS ").append(quote("singletons" + i));
+    }
+    return sampled.toString();
+  }
+
+  private static String tableReference(List<String> schemaPath, String tableName) {
+    StringBuilder table = new StringBuilder();
+    for (String name : schemaPath) {
+      table.append(quote(name)).append('.');
+    }
+    return table.append(quote(tableName)).toString();
+  }
+
+  private static String quote(String identifier) {
+    return '`' + identifier.replace("`", "``") + '`';
+  }
+}
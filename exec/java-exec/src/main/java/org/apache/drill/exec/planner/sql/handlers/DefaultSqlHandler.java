@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.databind.ser.PropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
@@ -65,6 +66,7 @@ import org.apache.drill.common.logical.PlanProperties.Generator.ResultMode;
 import org.apache.drill.common.logical.PlanProperties.PlanPropertiesBuilder;
 import org.apache.drill.common.logical.PlanProperties.PlanType;
 import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.metrics.DrillMetrics;
 import org.apache.drill.exec.ops.QueryContext;
 import org.apache.drill.exec.physical.PhysicalPlan;
 import org.apache.drill.exec.physical.base.AbstractPhysicalVisitor;
@@ -86,6 +88,7 @@ import org.apache.drill.exec.planner.physical.PlannerSettings;
 import org.apache.drill.exec.planner.physical.Prel;
 import org.apache.drill.exec.planner.physical.explain.PrelSequencer;
 import org.apache.drill.exec.planner.physical.visitor.AdjustOperatorsSchemaVisitor;
+import org.apache.drill.exec.planner.physical.visitor.CommonSubexpressionExtractor;
 import org.apache.drill.exec.planner.physical.visitor.ComplexToJsonPrelVisitor;
 import org.apache.drill.exec.planner.physical.visitor.ExcessiveExchangeIdentifier;
 import org.apache.drill.exec.planner.physical.visitor.FinalColumnReorderer;
@@ -113,6 +116,10 @@ import org.apache.drill.shaded.guava.com.google.common.collect.Lists;
 
 public class DefaultSqlHandler extends AbstractSqlHandler {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DefaultSqlHandler.class);
+  private static final MetricRegistry PHASE_METRICS = DrillMetrics.getRegistry();
+  // the time of each planning phase is recorded in the query profile, and aggregated over all the queries
+  // in a timer named drill.planner.phase.<planner type>.<phase>
+  private static final String PHASE_TIMER_PREFIX = "drill.planner.phase";
 
   // protected final QueryContext context;
   private final Pointer<String> textPlan;
@@ -239,7 +246,7 @@ public class DefaultSqlHandler extends AbstractSqlHandler {
       final RelTraitSet logicalTraits = pruned.getTraitSet().plus(DrillRel.DRILL_LOGICAL);
 
       final RelNode convertedRelNode;
-      if (!context.getPlannerSettings().isHepOptEnabled()) {
+      if (!context.getPlannerSettings().isHepOptEnabled() && !isHeuristicJoinPlanningRequired(pruned)) {
         // hep is disabled, use volcano
         convertedRelNode = transform(PlannerType.VOLCANO, PlannerPhase.LOGICAL_PRUNE_AND_JOIN, pruned, logicalTraits);
 
@@ -339,6 +346,20 @@ public class DefaultSqlHandler extends AbstractSqlHandler {
 
   }
 
+  /**
+   * Volcano join permutation rules enumerate all join orders, which does not scale to queries
+   * with many joins. Such queries are planned with the heuristic join planner even if HEP
+   * optimization is disabled.
+   */
+  private boolean isHeuristicJoinPlanningRequired(RelNode relNode) {
+    final int joinCount = JoinUtils.countJoins(relNode);
+    if (joinCount > context.getPlannerSettings().getExhaustiveJoinSearchThreshold()) {
+      logger.debug("Query has {} joins, using heuristic join planning.", joinCount);
+      return true;
+    }
+    return false;
+  }
+
   /**
    * Transform RelNode to a new RelNode without changing any traits. Also will log the outcome.
    *
@@ -428,13 +449,34 @@ public class DefaultSqlHandler extends AbstractSqlHandler {
       Preconditions.checkArgument(planner instanceof VolcanoPlanner,
           "Cluster is expected to be constructed using VolcanoPlanner. Was actually of type %s.", planner.getClass()
               .getName());
-      output = program.run(planner, input, toTraits,
-          ImmutableList.of(), ImmutableList.of());
+      final long timeBudget = context.getPlannerSettings().getPhaseTimeBudget();
+      final PlanningTimeBudget budget = timeBudget > 0
+          ? PlanningTimeBudget.register((VolcanoPlanner) planner, timeBudget)
+          : null;
+      try {
+        output = program.run(planner, input, toTraits,
+            ImmutableList.of(), ImmutableList.of());
+      } catch (RuntimeException e) {
+        if (!PlanningTimeBudget.isBudgetExceeded(e)) {
+          throw e;
+        }
+        logger.warn("{} exceeded the planning time budget of {} ms, using the cheapest plan found so far.",
+            phase.description, timeBudget);
+        output = PlanningTimeBudget.getCheapestPlan(planner.getRoot());
+      } finally {
+        if (budget != null) {
+          budget.close();
+        }
+      }
 
       break;
     }
     }
 
+    context.addPlanningPhaseTime(plannerType.name() + ":" + phase.description, watch.elapsed(TimeUnit.MILLISECONDS));
+    PHASE_METRICS.timer(MetricRegistry.name(PHASE_TIMER_PREFIX, plannerType.name(), phase.name()))
+        .update(watch.elapsed(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+
     if (log) {
       log(plannerType, phase, output, logger, watch);
     }
@@ -550,6 +592,15 @@ public class DefaultSqlHandler extends AbstractSqlHandler {
     phyRelNode = phyRelNode.accept(
         new RewriteProjectToFlatten(config.getConverter().getTypeFactory(), context.getDrillOperatorTable()), null);
 
+    /*
+     * 2.4) Function calls both in a Filter condition and in the Project above it are evaluated once, by a Project
+     * below the Filter
+     */
+    if (context.getPlannerSettings().isCommonSubexpressionEliminationEnabled()) {
+      phyRelNode = CommonSubexpressionExtractor.extractCommonSubexpressions(phyRelNode,
+          context.getPlannerSettings().functionImplementationRegistry);
+    }
+
     /*
      * 3.)
      * Since our operators work via names rather than indices, we have to make to reorder any
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.sql.handlers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.calcite.plan.RelOptListener;
+import org.apache.calcite.plan.volcano.RelSubset;
+import org.apache.calcite.plan.volcano.VolcanoPlanner;
+import org.apache.calcite.rel.RelNode;
+
+/**
+ * Limits the time spent by the {@link VolcanoPlanner} in a single planning phase.
+ * <p>
+ * The planner fires rules until none are left, which may take a very long time
+ * for queries with many joins. Once the budget is exhausted and the planner has
+ * found a complete plan, the next rule attempt is aborted with
+ * {@link BudgetExceededException}, and the cheapest plan found so far is taken
+ * with {@link #getCheapestPlan(RelNode)}.
+ * <p>
+ * Calcite does not allow to remove a listener, so the listener is deactivated
+ * with {@link #close()} when the phase is over.
+ */
+class PlanningTimeBudget implements RelOptListener {
+
+  private final VolcanoPlanner planner;
+  private final long deadline;
+  private boolean active = true;
+
+  private PlanningTimeBudget(VolcanoPlanner planner, long budgetMillis) {
+    this.planner = planner;
+    this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+  }
+
+  /**
+   * Creates a budget starting now and registers it in the planner.
+   */
+  static PlanningTimeBudget register(VolcanoPlanner planner, long budgetMillis) {
+    PlanningTimeBudget budget = new PlanningTimeBudget(planner, budgetMillis);
+    planner.addListener(budget);
+    return budget;
+  }
+
+  void close() {
+    active = false;
+  }
+
+  /**
+   * @return true if the given exception, or one of its causes, was thrown
+   * because the budget was exhausted
+   */
+  static boolean isBudgetExceeded(Throwable e) {
+    for (Throwable t = e; t != null; t = t.getCause()) {
+      if (t instanceof BudgetExceededException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Builds the cheapest plan of the given root subset by replacing every subset
+   * with its best expression.
+   */
+  static RelNode getCheapestPlan(RelNode rel) {
+    if (rel instanceof RelSubset) {
+      rel = ((RelSubset) rel).getBest();
+    }
+    List<RelNode> inputs = new ArrayList<>();
+    boolean changed = false;
+    for (RelNode input : rel.getInputs()) {
+      RelNode cheapestInput = getCheapestPlan(input);
+      changed |= cheapestInput != input;
+      inputs.add(cheapestInput);
+    }
+    return changed ? rel.copy(rel.getTraitSet(), inputs) : rel;
+  }
+
+  @Override
+  public void ruleAttempted(RuleAttemptedEvent event) {
+    if (!active || !event.isBefore() || System.nanoTime() < deadline) {
+      return;
+    }
+    // keep planning until there is a plan to fall back to
+    RelNode root = planner.getRoot();
+    if (root instanceof RelSubset && ((RelSubset) root).getBest() != null) {
+      active = false;
+      throw new BudgetExceededException();
+    }
+  }
+
+  @Override
+  public void relEquivalenceFound(RelEquivalenceEvent event) {
+  }
+
+  @Override
+  public void ruleProductionSucceeded(RuleProductionEvent event) {
+  }
+
+  @Override
+  public void relDiscarded(RelDiscardedEvent event) {
+  }
+
+  @Override
+  public void relChosen(RelChosenEvent event) {
+  }
+
+  /**
+   * Aborts the rule match loop of the planner.
+   */
+  static class BudgetExceededException extends RuntimeException {
+    BudgetExceededException() {
+      super("Planning time budget exceeded", null, false, false);
+    }
+  }
+}
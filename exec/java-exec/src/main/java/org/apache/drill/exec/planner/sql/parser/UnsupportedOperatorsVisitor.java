@@ -50,6 +50,7 @@ public class UnsupportedOperatorsVisitor extends SqlShuttle {
   private static List<String> disabledType = Lists.newArrayList();
   private static List<String> disabledOperators = Lists.newArrayList();
   private static List<String> dirExplorers = Lists.newArrayList();
+  private static List<String> slidingFrameFunctions = Lists.newArrayList("SUM", "COUNT", "AVG", "MIN", "MAX");
 
   static {
     disabledType.add(SqlTypeName.TINYINT.name());
@@ -135,6 +136,17 @@ public class UnsupportedOperatorsVisitor extends SqlShuttle {
 
             // DRILL-3596: we only allow (<column-name>) or (<column-name>, 1)
             final String functionName = function.getOperator().getName().toUpperCase();
+
+            // sliding frames are only evaluated for aggregates that can be maintained incrementally
+            if (over.getOperandList().get(1) instanceof SqlWindow
+                && isSlidingFrame((SqlWindow) over.getOperandList().get(1))
+                && !slidingFrameFunctions.contains(functionName)) {
+              unsupportedOperatorCollector.setException(SqlUnsupportedException.ExceptionType.FUNCTION,
+                  "Function " + functionName + " is not supported with a ROWS BETWEEN n PRECEDING AND CURRENT ROW frame, " +
+                  "only " + slidingFrameFunctions + " are supported");
+              throw new UnsupportedOperationException();
+            }
+
             if ("LEAD".equals(functionName) || "LAG".equals(functionName)) {
               boolean supported = true;
               if (function.operandCount() > 2) {
@@ -203,6 +215,12 @@ public class UnsupportedOperatorsVisitor extends SqlShuttle {
         isSupported = true;
       }
 
+      // ROWS BETWEEN <n> PRECEDING AND CURRENT ROW
+      // is supported with and without the ORDER BY clause, for SUM, COUNT, AVG, MIN and MAX
+      if (isSlidingFrame(window)) {
+        isSupported = true;
+      }
+
       // RANGE BETWEEN CURRENT ROW AND CURRENT ROW
       // is supported with and without an ORDER BY clause
       if (!window.isRows() &&
@@ -388,6 +406,18 @@ public class UnsupportedOperatorsVisitor extends SqlShuttle {
     }
   }
 
+  /**
+   * @return true for a ROWS BETWEEN n PRECEDING AND CURRENT ROW frame
+   */
+  private static boolean isSlidingFrame(SqlWindow window) {
+    final SqlNode lowerBound = window.getLowerBound();
+    final SqlNode upperBound = window.getUpperBound();
+    return window.isRows()
+        && lowerBound != null
+        && lowerBound.getKind() == SqlKind.PRECEDING
+        && (upperBound == null || SqlWindow.isCurrentRow(upperBound));
+  }
+
   private boolean checkDirExplorers(SqlNode sqlNode) {
     final ExprFinder dirExplorersFinder = new ExprFinder(DirExplorersCondition);
     sqlNode.accept(dirExplorersFinder);
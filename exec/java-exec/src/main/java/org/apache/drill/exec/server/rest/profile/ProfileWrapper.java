@@ -22,6 +22,7 @@ import static com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -38,6 +39,7 @@ import org.apache.drill.exec.server.options.OptionList;
 import org.apache.drill.exec.server.options.OptionValue;
 import org.apache.drill.exec.server.rest.WebServer;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.drill.shaded.guava.com.google.common.base.CaseFormat;
 import org.apache.drill.shaded.guava.com.google.common.collect.Maps;
@@ -58,6 +60,7 @@ public class ProfileWrapper {
   private final HashMap<String, Long> majorFragmentTallyMap;
   private final long majorFragmentTallyTotal;
   private final OptionList options;
+  private final Map<String, Long> planningPhases;
   private final boolean onlyImpersonationEnabled;
   private Map<String, String> physicalOperatorMap;
 
@@ -126,6 +129,16 @@ public class ProfileWrapper {
     }
     this.options = options;
 
+    Map<String, Long> planningPhases = new LinkedHashMap<>();
+    if (profile.hasPlanningPhasesJson()) {
+      try {
+        planningPhases = mapper.readValue(profile.getPlanningPhasesJson(), new TypeReference<LinkedHashMap<String, Long>>() {});
+      } catch (Exception e) {
+        logger.error("Unable to deserialize planning phase times", e);
+      }
+    }
+    this.planningPhases = planningPhases;
+
     this.onlyImpersonationEnabled = WebServer.isImpersonationOnlyEnabled(drillConfig);
   }
 
@@ -321,6 +334,13 @@ public class ProfileWrapper {
     return map;
   }
 
+  /**
+   * @return time (ms) spent in each planning phase, in the order the phases ran
+   */
+  public Map<String, Long> getPlanningPhases() {
+    return planningPhases;
+  }
+
   /**
    * @return true if impersonation is enabled without authentication,
    *         is needed to indicated if user name should be included when re-running the query
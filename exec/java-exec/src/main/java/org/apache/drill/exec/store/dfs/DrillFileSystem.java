@@ -790,6 +790,13 @@ public class DrillFileSystem extends FileSystem implements OpenFileTracker {
       return open(path);
     }
   }
+
+  /**
+   * @return true if the file is stored in a compression container inferred from its extension
+   */
+  public boolean isCompressed(Path path) {
+    return codecFactory.getCodec(path) != null;
+  }
   @Override
   public void fileOpened(Path path, DrillFSDataInputStream fsDataInputStream) {
     openedFiles.put(fsDataInputStream, new DebugStackTrace(path, Thread.currentThread().getStackTrace()));
@@ -64,9 +64,24 @@ public class JSONFormatPlugin extends EasyFormatPlugin<JSONFormatConfig> {
                                       FileWork fileWork,
                                       List<SchemaPath> columns,
                                       String userName) {
+    if (isBlockSplittable()) {
+      return new JSONRecordReader(context, fileWork, dfs, columns);
+    }
     return new JSONRecordReader(context, fileWork.getPath(), dfs, columns);
   }
 
+  /**
+   * JSON files can be split by block only when every record is on its own line,
+   * which the user declares through the {@code splitLineDelimited} property of the format,
+   * or for every JSON format through {@link ExecConstants#JSON_READER_SPLIT_LINE_DELIMITED}.
+   * Each split then resynchronizes at the first line break after its start.
+   */
+  @Override
+  public boolean isBlockSplittable() {
+    return getConfig().isSplitLineDelimited()
+        || getContext().getOptionManager().getOption(ExecConstants.JSON_READER_SPLIT_LINE_DELIMITED_VALIDATOR);
+  }
+
   @Override
   public RecordWriter getRecordWriter(FragmentContext context, EasyWriter writer) throws IOException {
     Map<String, String> options = new HashMap<>();
@@ -97,6 +112,12 @@ public class JSONFormatPlugin extends EasyFormatPlugin<JSONFormatConfig> {
     public List<String> extensions = ImmutableList.of("json");
     private static final List<String> DEFAULT_EXTS = ImmutableList.of("json");
 
+    /**
+     * Whether every record of the files is on its own line, so that they can be read in block splits.
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public boolean splitLineDelimited = false;
+
     @JsonInclude(JsonInclude.Include.NON_DEFAULT)
     public List<String> getExtensions() {
       if (extensions == null) {
@@ -106,11 +127,16 @@ public class JSONFormatPlugin extends EasyFormatPlugin<JSONFormatConfig> {
       return extensions;
     }
 
+    public boolean isSplitLineDelimited() {
+      return splitLineDelimited;
+    }
+
     @Override
     public int hashCode() {
       final int prime = 31;
       int result = 1;
       result = prime * result + ((extensions == null) ? 0 : extensions.hashCode());
+      result = prime * result + (splitLineDelimited ? 1231 : 1237);
       return result;
     }
 
@@ -126,6 +152,9 @@ public class JSONFormatPlugin extends EasyFormatPlugin<JSONFormatConfig> {
         return false;
       }
       JSONFormatConfig other = (JSONFormatConfig) obj;
+      if (splitLineDelimited != other.splitLineDelimited) {
+        return false;
+      }
       if (extensions == null) {
         if (other.extensions != null) {
           return false;
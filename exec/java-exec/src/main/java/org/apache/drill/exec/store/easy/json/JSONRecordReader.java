@@ -27,12 +27,15 @@ import org.apache.drill.common.expression.SchemaPath;
 import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.ops.MetricDef;
 import org.apache.drill.exec.ops.OperatorContext;
 import org.apache.drill.exec.physical.impl.OutputMutator;
 import org.apache.drill.exec.store.AbstractRecordReader;
 import org.apache.drill.exec.store.dfs.DrillFileSystem;
+import org.apache.drill.exec.store.dfs.easy.FileWork;
 import org.apache.drill.exec.store.easy.json.JsonProcessor.ReadState;
 import org.apache.drill.exec.store.easy.json.reader.CountingJsonReader;
+import org.apache.drill.exec.store.easy.json.reader.LineDelimitedSplitInputStream;
 import org.apache.drill.exec.vector.BaseValueVector;
 import org.apache.drill.exec.vector.complex.fn.JsonReader;
 import org.apache.drill.exec.vector.complex.impl.VectorContainerWriter;
@@ -48,10 +51,21 @@ public class JSONRecordReader extends AbstractRecordReader {
 
   public static final long DEFAULT_ROWS_PER_BATCH = BaseValueVector.INITIAL_VALUE_ALLOCATION;
 
+  public enum Metric implements MetricDef {
+    SKIPPED_MAPS; // Number of maps whose unprojected fields were skipped with projection pushdown
+
+    @Override
+    public int metricId() {
+      return ordinal();
+    }
+  }
+
   private VectorContainerWriter writer;
 
   // Data we're consuming
   private Path hadoopPath;
+  private long splitStart;
+  private long splitLength = -1;
   private JsonNode embeddedContent;
   private InputStream stream;
   private final DrillFileSystem fileSystem;
@@ -59,10 +73,12 @@ public class JSONRecordReader extends AbstractRecordReader {
   private int recordCount;
   private long runningRecordCount = 0;
   private final FragmentContext fragmentContext;
+  private OperatorContext operatorContext;
   private final boolean enableAllTextMode;
   private final boolean enableNanInf;
   private final boolean readNumbersAsDouble;
   private final boolean unionEnabled;
+  private final boolean projectionPushdown;
   private long parseErrorCount;
   private final boolean skipMalformedJSONRecords;
   private final boolean printSkippedMalformedJSONRecordLineNumber;
@@ -81,6 +97,22 @@ public class JSONRecordReader extends AbstractRecordReader {
     this(fragmentContext, inputPath, null, fileSystem, columns);
   }
 
+  /**
+   * Create a JSON Record Reader that reads the records of a single file split.
+   * Records are assumed to be line-delimited when the split does not cover the whole file.
+   * @param fragmentContext
+   * @param fileWork  file path and byte range of the split
+   * @param fileSystem
+   * @param columns  pathnames of columns/subfields to read
+   * @throws OutOfMemoryException
+   */
+  public JSONRecordReader(final FragmentContext fragmentContext, final FileWork fileWork, final DrillFileSystem fileSystem,
+      final List<SchemaPath> columns) throws OutOfMemoryException {
+    this(fragmentContext, fileWork.getPath(), null, fileSystem, columns);
+    this.splitStart = fileWork.getStart();
+    this.splitLength = fileWork.getLength();
+  }
+
   /**
    * Create a new JSON Record Reader that uses a in memory materialized JSON stream.
    * @param fragmentContext
@@ -117,6 +149,7 @@ public class JSONRecordReader extends AbstractRecordReader {
     this.enableNanInf = fragmentContext.getOptions().getOption(ExecConstants.JSON_READER_NAN_INF_NUMBERS_VALIDATOR);
     this.readNumbersAsDouble = embeddedContent == null && fragmentContext.getOptions().getOption(ExecConstants.JSON_READ_NUMBERS_AS_DOUBLE_VALIDATOR);
     this.unionEnabled = embeddedContent == null && fragmentContext.getOptions().getBoolean(ExecConstants.ENABLE_UNION_TYPE_KEY);
+    this.projectionPushdown = fragmentContext.getOptions().getOption(ExecConstants.JSON_READER_PROJECTION_PUSHDOWN_VALIDATOR);
     this.skipMalformedJSONRecords = fragmentContext.getOptions().getOption(ExecConstants.JSON_SKIP_MALFORMED_RECORDS_VALIDATOR);
     this.printSkippedMalformedJSONRecordLineNumber = fragmentContext.getOptions().getOption(ExecConstants.JSON_READER_PRINT_INVALID_RECORDS_LINE_NOS_FLAG_VALIDATOR);
     setColumns(columns);
@@ -126,6 +159,7 @@ public class JSONRecordReader extends AbstractRecordReader {
   public String toString() {
     return super.toString()
         + "[hadoopPath = " + hadoopPath
+        + ", splitStart = " + splitStart
         + ", currentRecord=" + currentRecordNumberInFile()
         + ", jsonReader=" + jsonReader
         + ", recordCount = " + recordCount
@@ -135,9 +169,14 @@ public class JSONRecordReader extends AbstractRecordReader {
 
   @Override
   public void setup(final OperatorContext context, final OutputMutator output) throws ExecutionSetupException {
+    this.operatorContext = context;
     try{
       if (hadoopPath != null) {
-        this.stream = fileSystem.openPossiblyCompressedStream(hadoopPath);
+        if (isPartialSplit()) {
+          this.stream = new LineDelimitedSplitInputStream(fileSystem.open(hadoopPath), splitStart, splitLength);
+        } else {
+          this.stream = fileSystem.openPossiblyCompressedStream(hadoopPath);
+        }
       }
 
       this.writer = new VectorContainerWriter(output, unionEnabled);
@@ -150,6 +189,7 @@ public class JSONRecordReader extends AbstractRecordReader {
             .skipOuterList(true)
             .readNumbersAsDouble(readNumbersAsDouble)
             .enableNanInf(enableNanInf)
+            .projectionPushdown(projectionPushdown)
             .build();
       }
       setupParser();
@@ -158,6 +198,16 @@ public class JSONRecordReader extends AbstractRecordReader {
     }
   }
 
+  /**
+   * @return true if the reader was given a split which does not cover the whole file
+   */
+  private boolean isPartialSplit() throws IOException {
+    if (splitLength < 0 || fileSystem.isCompressed(hadoopPath)) {
+      return false;
+    }
+    return splitStart > 0 || splitLength < fileSystem.getFileStatus(hadoopPath).getLen();
+  }
+
   @Override
   protected List<SchemaPath> getDefaultColumnsToRead() {
     return ImmutableList.of();
@@ -250,6 +300,9 @@ public class JSONRecordReader extends AbstractRecordReader {
 
   @Override
   public void close() throws Exception {
+    if (operatorContext != null && jsonReader instanceof JsonReader) {
+      operatorContext.getStats().addLongStat(Metric.SKIPPED_MAPS, ((JsonReader) jsonReader).getSkippedMapCount());
+    }
     if(stream != null) {
       stream.close();
     }
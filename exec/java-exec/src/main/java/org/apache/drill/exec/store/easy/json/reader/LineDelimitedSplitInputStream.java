@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.easy.json.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.hadoop.fs.Seekable;
+
+import org.apache.drill.shaded.guava.com.google.common.base.Preconditions;
+
+/**
+ * Restricts a seekable stream to the records of a single block split of a
+ * line-delimited file, so that several readers can scan one file in parallel.
+ * <p>
+ * A split owns every line that starts inside {@code [start, start + length)}.
+ * A split that does not begin at the start of the file resynchronizes by
+ * skipping the partial line in front of it, and every split reads past its end
+ * to complete its last line. The line that starts exactly at {@code start}
+ * belongs to this split, since the byte before it is a line break.
+ * <p>
+ * A whole-file split ({@code start = 0, length = file length}) returns the
+ * complete content, so the stream is also safe to use for unsplit files.
+ */
+public class LineDelimitedSplitInputStream extends InputStream {
+
+  private static final int LINE_BREAK = '\n';
+
+  private final InputStream in;
+  private final long end;
+  private long pos;
+  private boolean atLineStart = true;
+  private boolean finished;
+
+  public LineDelimitedSplitInputStream(InputStream in, long start, long length) throws IOException {
+    Preconditions.checkArgument(in instanceof Seekable, "Split input requires a seekable stream");
+    Preconditions.checkArgument(start >= 0 && length >= 0, "Invalid split [%s, %s]", start, length);
+    this.in = in;
+    this.end = start + length;
+    if (start == 0) {
+      pos = 0;
+    } else {
+      ((Seekable) in).seek(start - 1);
+      pos = start - 1;
+      skipPartialLine();
+    }
+  }
+
+  /**
+   * Moves the position right after the next line break or to the end of the stream.
+   */
+  private void skipPartialLine() throws IOException {
+    int b;
+    while ((b = in.read()) != -1) {
+      pos++;
+      if (b == LINE_BREAK) {
+        return;
+      }
+    }
+    finished = true;
+  }
+
+  /**
+   * @return true if the position is at the start of a line owned by a following split
+   */
+  private boolean reachedEnd() {
+    return finished || (atLineStart && pos >= end);
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (reachedEnd()) {
+      finished = true;
+      return -1;
+    }
+    int b = in.read();
+    if (b == -1) {
+      finished = true;
+      return -1;
+    }
+    pos++;
+    atLineStart = b == LINE_BREAK;
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (reachedEnd()) {
+      finished = true;
+      return -1;
+    }
+    int n = in.read(b, off, len);
+    if (n <= 0) {
+      finished = true;
+      return -1;
+    }
+    // The split ends after the first line break located at or after end - 1
+    long firstCandidate = end - 1 - pos;
+    // compared as a long: more than 2 GB of the split may be left
+    int first = firstCandidate >= n ? n : (int) Math.max(0, firstCandidate);
+    for (int i = first; i < n; i++) {
+      if (b[off + i] == LINE_BREAK) {
+        n = i + 1;
+        finished = true;
+        break;
+      }
+    }
+    pos += n;
+    atLineStart = b[off + n - 1] == LINE_BREAK;
+    return n;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
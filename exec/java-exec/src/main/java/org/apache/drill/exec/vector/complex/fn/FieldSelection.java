@@ -43,6 +43,12 @@ public class FieldSelection {
   private final Map<String, FieldSelection> childrenInsensitive;
   private ValidityMode mode;
 
+  /**
+   * Position of this node among the children of its parent, or -1 for a root or shared node.
+   * Lets readers track which projected fields of a record were already seen without allocating.
+   */
+  private int ordinal = -1;
+
   private FieldSelection(){
     this(new HashMap<String, FieldSelection>(), ValidityMode.CHECK_CHILDREN);
   }
@@ -52,6 +58,10 @@ public class FieldSelection {
     if (children != null) {
       childrenInsensitive = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
       childrenInsensitive.putAll(children);
+      int i = 0;
+      for (FieldSelection child : childrenInsensitive.values()) {
+        child.ordinal = i++;
+      }
     } else {
       childrenInsensitive = null;
     }
@@ -76,7 +86,9 @@ public class FieldSelection {
     }else{
       Map<String, FieldSelection> newMap = Maps.newHashMap();
       for(Entry<String, FieldSelection> e : children.entrySet()){
-        newMap.put(e.getKey(), e.getValue().fixNodes());
+        FieldSelection child = e.getValue().fixNodes();
+        // leaves get their own node so that each of them can carry an ordinal
+        newMap.put(e.getKey(), child == ALL_VALID ? new FieldSelection(null, ValidityMode.ALWAYS_VALID) : child);
       }
       return new FieldSelection(newMap, mode);
     }
@@ -118,6 +130,22 @@ public class FieldSelection {
     return mode == ValidityMode.ALWAYS_VALID;
   }
 
+  /**
+   * Returns the number of distinct projected children of this node, or -1 when
+   * this node does not restrict its children (all or none of them are valid).
+   */
+  public int getChildCount() {
+    return mode == ValidityMode.CHECK_CHILDREN ? childrenInsensitive.size() : -1;
+  }
+
+  /**
+   * Returns the position of this node among the projected children of its parent,
+   * or -1 if this node is not a projected child.
+   */
+  public int getOrdinal() {
+    return ordinal;
+  }
+
   public FieldSelection getChild(String name){
     switch(mode){
     case ALWAYS_VALID:
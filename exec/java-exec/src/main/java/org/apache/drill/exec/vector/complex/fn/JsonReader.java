@@ -53,6 +53,18 @@ public class JsonReader extends BaseJsonProcessor {
   private final boolean extended = true;
   private final boolean readNumbersAsDouble;
 
+  /**
+   * Whether the reader stops tokenizing a map once all of its projected fields were
+   * read and copies string values into vectors without building Java strings.
+   */
+  private final boolean projectionPushdown;
+
+  /**
+   * Number of maps whose remaining fields were skipped with projection pushdown,
+   * reported as a metric of the JSON scan.
+   */
+  private long skippedMapCount;
+
   /**
    * Collection for tracking empty array writers during reading
    * and storing them for initializing empty arrays
@@ -84,6 +96,7 @@ public class JsonReader extends BaseJsonProcessor {
     listOutput = builder.listOutput;
     currentFieldName = builder.currentFieldName;
     readNumbersAsDouble = builder.readNumbersAsDouble;
+    projectionPushdown = builder.projectionPushdown;
   }
 
   public static class Builder {
@@ -97,7 +110,7 @@ public class JsonReader extends BaseJsonProcessor {
     private  boolean skipOuterList;
     private  boolean allTextMode;
     private  boolean enableNanInf;
-
+    private  boolean projectionPushdown;
 
     public Builder(DrillBuf managedBuf) {
       this.managedBuf = managedBuf;
@@ -130,6 +143,11 @@ public class JsonReader extends BaseJsonProcessor {
       return this;
     }
 
+    public Builder projectionPushdown(boolean projectionPushdown) {
+      this.projectionPushdown = projectionPushdown;
+      return this;
+    }
+
     public Builder defaultSchemaPathColumns() {
       this.columns = GroupScan.ALL_COLUMNS;
       return this;
@@ -307,6 +325,43 @@ public class JsonReader extends BaseJsonProcessor {
     }
   }
 
+  /**
+   * Creates the tracker for projected fields of a map with the given selection,
+   * or returns -1 when early skipping of the remaining fields is not possible.
+   * Bit {@code i} of the tracker is set while the child with ordinal {@code i} is unread.
+   */
+  private long initProjectedFields(FieldSelection selection) {
+    if (!projectionPushdown) {
+      return -1;
+    }
+    int count = selection.getChildCount();
+    if (count <= 0 || count >= Long.SIZE) {
+      return -1;
+    }
+    return (1L << count) - 1;
+  }
+
+  /**
+   * Consumes the remaining fields of the current map up to and including its
+   * END_OBJECT token. Values are skipped without being decoded.
+   */
+  private void skipRemainingFields() throws IOException {
+    boolean skipped = false;
+    while (true) {
+      JsonToken t = parser.nextToken();
+      if (t == null || t == JsonToken.NOT_AVAILABLE || t == JsonToken.END_OBJECT) {
+        if (skipped) {
+          skippedMapCount++;
+        }
+        return;
+      }
+      skipped = true;
+      if (t == JsonToken.START_OBJECT || t == JsonToken.START_ARRAY) {
+        parser.skipChildren();
+      }
+    }
+  }
+
   private void consumeEntireNextValue() throws IOException {
     switch (parser.nextToken()) {
     case START_ARRAY:
@@ -334,8 +389,13 @@ public class JsonReader extends BaseJsonProcessor {
       boolean moveForward) throws IOException {
     //
     map.start();
+    long unreadFields = initProjectedFields(selection);
     try {
       outside: while (true) {
+        if (unreadFields == 0) {
+          skipRemainingFields();
+          return;
+        }
 
         JsonToken t;
         if (moveForward) {
@@ -358,6 +418,9 @@ public class JsonReader extends BaseJsonProcessor {
           consumeEntireNextValue();
           continue outside;
         }
+        if (unreadFields > 0) {
+          unreadFields &= ~(1L << childSelection.getOrdinal());
+        }
 
         switch (parser.nextToken()) {
         case START_ARRAY:
@@ -413,7 +476,12 @@ public class JsonReader extends BaseJsonProcessor {
       boolean moveForward) throws IOException {
     //
     map.start();
+    long unreadFields = initProjectedFields(selection);
     outside: while (true) {
+      if (unreadFields == 0) {
+        skipRemainingFields();
+        break outside;
+      }
 
       JsonToken t;
 
@@ -437,6 +505,9 @@ public class JsonReader extends BaseJsonProcessor {
         consumeEntireNextValue();
         continue outside;
       }
+      if (unreadFields > 0) {
+        unreadFields &= ~(1L << childSelection.getOrdinal());
+      }
 
       switch (parser.nextToken()) {
       case START_ARRAY:
@@ -509,16 +580,29 @@ public class JsonReader extends BaseJsonProcessor {
 
   private void handleString(JsonParser parser, MapWriter writer,
       String fieldName) throws IOException {
-    writer.varChar(fieldName).writeVarChar(0,
-        workingBuffer.prepareVarCharHolder(parser.getText()),
-        workingBuffer.getBuf());
+    writer.varChar(fieldName).writeVarChar(0, prepareText(parser), workingBuffer.getBuf());
   }
 
   private void handleString(JsonParser parser, ListWriter writer)
       throws IOException {
-    writer.varChar().writeVarChar(0,
-        workingBuffer.prepareVarCharHolder(parser.getText()),
-        workingBuffer.getBuf());
+    writer.varChar().writeVarChar(0, prepareText(parser), workingBuffer.getBuf());
+  }
+
+  /**
+   * Copies the text of the current token into the working buffer.
+   * With projection pushdown the characters are taken from the parser's own
+   * buffer, so no intermediate {@link String} is created.
+   *
+   * @return length of the UTF-8 encoded value in the working buffer
+   */
+  private int prepareText(JsonParser parser) throws IOException {
+    if (projectionPushdown) {
+      char[] chars = parser.getTextCharacters();
+      if (chars != null) {
+        return workingBuffer.prepareVarCharHolder(chars, parser.getTextOffset(), parser.getTextLength());
+      }
+    }
+    return workingBuffer.prepareVarCharHolder(parser.getText());
   }
 
   private void writeData(ListWriter list) throws IOException {
@@ -632,4 +716,12 @@ public class JsonReader extends BaseJsonProcessor {
     return workingBuffer.getBuf();
   }
 
+  /**
+   * Returns the number of maps read so far whose fields after the last projected
+   * one were skipped without being decoded, 0 without projection pushdown.
+   */
+  public long getSkippedMapCount() {
+    return skippedMapCount;
+  }
+
 }
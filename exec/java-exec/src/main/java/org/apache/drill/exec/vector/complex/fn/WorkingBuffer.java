@@ -55,6 +55,41 @@ class WorkingBuffer {
     return b.length;
   }
 
+  /**
+   * Encodes the given characters as UTF-8 directly into the working buffer
+   * without creating an intermediate {@link String} or byte array.
+   *
+   * @return number of bytes written, starting from index 0
+   */
+  public int prepareVarCharHolder(char[] chars, int offset, int length) {
+    ensure(length * 3);
+    int pos = 0;
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      char c = chars[i];
+      if (c < 0x80) {
+        workBuf.setByte(pos++, c);
+      } else if (c < 0x800) {
+        workBuf.setByte(pos++, 0xC0 | (c >> 6));
+        workBuf.setByte(pos++, 0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+        int cp = Character.toCodePoint(c, chars[++i]);
+        workBuf.setByte(pos++, 0xF0 | (cp >> 18));
+        workBuf.setByte(pos++, 0x80 | ((cp >> 12) & 0x3F));
+        workBuf.setByte(pos++, 0x80 | ((cp >> 6) & 0x3F));
+        workBuf.setByte(pos++, 0x80 | (cp & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        // unpaired surrogate, encode the replacement character as String.getBytes() does
+        workBuf.setByte(pos++, '?');
+      } else {
+        workBuf.setByte(pos++, 0xE0 | (c >> 12));
+        workBuf.setByte(pos++, 0x80 | ((c >> 6) & 0x3F));
+        workBuf.setByte(pos++, 0x80 | (c & 0x3F));
+      }
+    }
+    return pos;
+  }
+
   public void prepareBinary(byte[] b, VarBinaryHolder h) throws IOException {
     ensure(b.length);
     workBuf.setBytes(0, b);
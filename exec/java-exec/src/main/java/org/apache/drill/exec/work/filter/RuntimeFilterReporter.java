@@ -66,7 +66,7 @@ public class RuntimeFilterReporter {
       .setHjOpId(hashJoinOpId)
       .addAllBloomFilterSizeInBytes(bloomFilterSizeInBytes)
       .build();
-    RuntimeFilterWritable runtimeFilterWritable = new RuntimeFilterWritable(runtimeFilterB, data);
+    RuntimeFilterWritable runtimeFilterWritable = new RuntimeFilterWritable(runtimeFilterB, !sendToForeman, data);
 
     if (sendToForeman) {
       CoordinationProtos.DrillbitEndpoint foremanEndpoint = context.getForemanEndpoint();
@@ -38,8 +38,16 @@ public class RuntimeFilterWritable implements AutoCloseables.Closeable{
 
   private String identifier;
 
+  // built from the whole build side by a HashJoin of the fragment that consumes it
+  private boolean local;
+
   public RuntimeFilterWritable(BitData.RuntimeFilterBDef runtimeFilterBDef, DrillBuf... data) {
+    this(runtimeFilterBDef, false, data);
+  }
+
+  public RuntimeFilterWritable(BitData.RuntimeFilterBDef runtimeFilterBDef, boolean local, DrillBuf... data) {
     this.runtimeFilterBDef = runtimeFilterBDef;
+    this.local = local;
     this.data = data;
     this.identifier = "majorFragmentId:" + runtimeFilterBDef.getMajorFragmentId()
       + ",minorFragmentId:" + runtimeFilterBDef.getMinorFragmentId()
@@ -59,6 +67,15 @@ public class RuntimeFilterWritable implements AutoCloseables.Closeable{
     this.data = data;
   }
 
+  /**
+   * @return true if the RuntimeFilter was produced by a HashJoin of the fragment consuming it,
+   * so it holds all the join keys of the build side. A RuntimeFilter routed by the Foreman is
+   * aggregated as the build side fragments report it and may still miss keys.
+   */
+  public boolean isLocal() {
+    return local;
+  }
+
 
   public List<BloomFilter> unwrap() {
     List<Integer> sizeInBytes = runtimeFilterBDef.getBloomFilterSizeInBytesList();
@@ -82,6 +99,8 @@ public class RuntimeFilterWritable implements AutoCloseables.Closeable{
       BloomFilter otherOne = otherFilters.get(i);
       thisOne.or(otherOne);
     }
+    // a superset of a complete filter is complete as well
+    local |= runtimeFilterWritable.local;
     for (BloomFilter bloomFilter : otherFilters) {
       bloomFilter.getContent().clear();
     }
@@ -100,7 +119,7 @@ public class RuntimeFilterWritable implements AutoCloseables.Closeable{
       cloned[i] = duplicateOne;
       i++;
     }
-    return new RuntimeFilterWritable(runtimeFilterBDef, cloned);
+    return new RuntimeFilterWritable(runtimeFilterBDef, local, cloned);
   }
 
   public String toString() {
@@ -416,6 +416,7 @@ public class Foreman implements Runnable {
     if (textPlan != null) {
       queryManager.setPlanText(textPlan.value);
     }
+    queryManager.setPlanningPhaseTimes(queryContext.getPlanningPhaseTimes());
     queryRM.visitPhysicalPlan(work);
     queryRM.setCost(plan.totalCost());
     queryManager.setTotalCost(plan.totalCost());
@@ -84,6 +84,7 @@ public class QueryManager implements AutoCloseable {
 
   // the following mutable variables are used to capture ongoing query status
   private String planText;
+  private String planningPhasesJson;
   private long startTime = System.currentTimeMillis();
   private long endTime;
   private long planningEndTime;
@@ -374,6 +375,10 @@ public class QueryManager implements AutoCloseable {
       profileBuilder.setPlan(planText);
     }
 
+    if (planningPhasesJson != null) {
+      profileBuilder.setPlanningPhasesJson(planningPhasesJson);
+    }
+
     final String queryText = foreman.getQueryText();
     if (queryText != null) {
       profileBuilder.setQuery(queryText);
@@ -427,6 +432,17 @@ public class QueryManager implements AutoCloseable {
     this.planText = planText;
   }
 
+  void setPlanningPhaseTimes(final Map<String, Long> planningPhaseTimes) {
+    if (planningPhaseTimes.isEmpty()) {
+      return;
+    }
+    try {
+      planningPhasesJson = foreman.getQueryContext().getLpPersistence().getMapper().writeValueAsString(planningPhaseTimes);
+    } catch (JsonProcessingException e) {
+      throw new DrillRuntimeException("Error while trying to convert planning phase times to json string", e);
+    }
+  }
+
   void markStartTime() {
     startTime = System.currentTimeMillis();
   }
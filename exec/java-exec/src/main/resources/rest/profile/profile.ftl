@@ -325,6 +325,43 @@ table.sortable thead .sorting_desc { background-image: url("/static/img/black-de
     </div>
   </#if>
 
+  <#assign planningPhases = model.getPlanningPhases()>
+  <#if (planningPhases?keys?size > 0)>
+    <div class="page-header"></div>
+    <h3>Planning Phases</h3>
+    <div class="panel-group" id="planning-phases-accordion">
+      <div class="panel panel-default">
+        <div class="panel-heading">
+          <h4 class="panel-title">
+            <a data-toggle="collapse" href="#planning-phases-overview">
+              Overview
+            </a>
+          </h4>
+        </div>
+        <div id="planning-phases-overview" class="panel-collapse collapse in">
+          <div class="panel-body">
+            <table class="table table-bordered">
+              <thead>
+                <tr>
+                  <th>Phase</th>
+                  <th>Time (ms)</th>
+                </tr>
+              </thead>
+              <tbody>
+                <#list planningPhases?keys as phase>
+                  <tr>
+                    <td>${phase}</td>
+                    <td>${planningPhases[phase]?c}</td>
+                  </tr>
+                </#list>
+              </tbody>
+            </table>
+          </div>
+        </div>
+      </div>
+    </div>
+  </#if>
+
   <div class="page-header"></div>
   <h3>Fragment Profiles</h3>
 
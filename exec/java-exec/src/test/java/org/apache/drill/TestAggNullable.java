@@ -73,4 +73,25 @@ public class TestAggNullable extends BaseTestQuery {
         expectedRecordCount, actualRecordCount), expectedRecordCount, actualRecordCount);
   }
 
+  @Test  // StreamingAgg with and without run detection
+  public void testStreamAggRunDetection() throws Exception {
+    String query = "select count(*) grps, sum(cnt) cnt, sum(mn) mn from (select l_orderkey, count(*) cnt, " +
+        "min(l_linenumber) mn from cp.`tpch/lineitem.parquet` group by l_orderkey)";
+
+    enableAggr(false, true);
+    try {
+      for (boolean runDetection : new boolean[] {false, true}) {
+        test("alter session set `exec.streamagg.run_detection` = %s", runDetection);
+        testBuilder()
+            .sqlQuery(query)
+            .unOrdered()
+            .baselineColumns("grps", "cnt", "mn")
+            .baselineValues(15000L, 60175L, 15000L) // the first line number of every order is 1
+            .go();
+      }
+    } finally {
+      test("alter session reset `exec.streamagg.run_detection`");
+    }
+  }
+
 }
@@ -18,6 +18,9 @@
 package org.apache.drill.exec.compile;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
 
 import org.apache.drill.test.BaseTestQuery;
 import org.apache.drill.exec.compile.ClassTransformer.ClassSet;
@@ -103,6 +106,22 @@ public class TestClassTransformation extends BaseTestQuery {
     logger.debug("Optimized code is {}% smaller than debug code.", (int)((sizeWithDebug - sizeWithoutDebug)/(double)sizeWithDebug*100));
   }
 
+  @Test
+  public void testAsyncCompilation() throws Exception {
+    final CodeCompiler compiler = getDrillbitContext().getCompiler();
+    final List<Future<ExampleInner>> futures = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      CodeGenerator<ExampleInner> cg = newCodeGenerator(ExampleInner.class, ExampleTemplateWithInner.class);
+      cg.preferPlainJava(i % 2 == 0);
+      futures.add(compiler.createInstanceAsync(cg));
+    }
+    for (Future<ExampleInner> future : futures) {
+      ExampleInner t = future.get();
+      t.doOutside();
+      t.doInsideOutside();
+    }
+  }
+
   /**
    * Do a test of a three level class to ensure that nested code generators works correctly.
    * @throws Exception
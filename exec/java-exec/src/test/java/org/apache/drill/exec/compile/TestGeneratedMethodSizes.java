@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.compile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Map;
+
+import org.apache.drill.exec.ExecTest;
+import org.junit.Test;
+
+public class TestGeneratedMethodSizes extends ExecTest {
+
+  @Test
+  public void testMethodSizes() throws Exception {
+    final Map<String, Integer> sizes = GeneratedMethodSizes.getMethodSizes(getClassBytes(ExampleTemplate.class));
+
+    // aload_0, invokespecial, return
+    assertEquals(Integer.valueOf(5), sizes.get("<init>()V"));
+    for (Map.Entry<String, Integer> entry : sizes.entrySet()) {
+      assertTrue(entry.getKey(), entry.getValue() > 0 && entry.getValue() < GeneratedMethodSizes.HUGE_METHOD_LIMIT);
+    }
+  }
+
+  private static byte[] getClassBytes(Class<?> clazz) throws Exception {
+    try (InputStream in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[4096];
+      int length;
+      while ((length = in.read(buffer)) > 0) {
+        out.write(buffer, 0, length);
+      }
+      return out.toByteArray();
+    }
+  }
+}
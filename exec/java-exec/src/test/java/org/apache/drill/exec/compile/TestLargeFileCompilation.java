@@ -191,6 +191,17 @@ public class TestLargeFileCompilation extends BaseTestQuery {
     testNoResult(ITERATION_COUNT, LARGE_QUERY_SELECT_LIST);
   }
 
+  @Test
+  public void testProjectWithSmallMethodSizeBudget() throws Exception {
+    try {
+      testNoResult("alter session set `%s`='JDK'", ClassCompilerSelector.JAVA_COMPILER_OPTION);
+      setSessionOption(ExecConstants.CODE_GEN_METHOD_SIZE_BUDGET, 10);
+      testNoResult(ITERATION_COUNT, LARGE_QUERY_SELECT_LIST);
+    } finally {
+      resetSessionOption(ExecConstants.CODE_GEN_METHOD_SIZE_BUDGET);
+    }
+  }
+
   @Test
   public void testHashJoin() throws Exception {
     String tableName = "wide_table_hash_join";
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.expr;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.compile.CodeCompiler;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.test.BaseTestQuery;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Checks that the constant sub-expressions folded before code generation give the same results as the generated code.
+ * The planner's constant reduction is disabled, so that the constants reach the operators.
+ */
+@Category(OperatorTest.class)
+public class TestConstantExpressionFolding extends BaseTestQuery {
+
+  private static final String DISABLE_CONSTANT_FOLDING =
+      String.format("alter session set `%s` = false", ExecConstants.CONSTANT_FOLDING_KEY);
+  private static final String ENABLE_CONSTANT_FOLDING =
+      String.format("alter session set `%s` = true", ExecConstants.CONSTANT_FOLDING_KEY);
+
+  @BeforeClass
+  public static void disablePlannerConstantFolding() {
+    alterSession(PlannerSettings.CONSTANT_FOLDING.getOptionName(), false);
+  }
+
+  @AfterClass
+  public static void resetOptions() {
+    resetSessionOption(PlannerSettings.CONSTANT_FOLDING.getOptionName());
+    resetSessionOption(ExecConstants.CONSTANT_FOLDING_KEY);
+  }
+
+  @Test
+  public void testProjectConstants() throws Exception {
+    final String query = "select employee_id, upper(concat('a', 'b')) || first_name a, " +
+        "cast(hire_date as timestamp) < date_sub(now(), 7) b, salary * (1 + 10 / 100) c, " +
+        "case when 2 > 1 then position_id else 0 end d, cast(null as int) + employee_id e, " +
+        "extract(year from date '2018-05-01') - 2000 f " +
+        "from cp.`employee.json`";
+    testBuilder()
+        .sqlQuery(query)
+        .unOrdered()
+        .optionSettingQueriesForTestQuery(ENABLE_CONSTANT_FOLDING)
+        .optionSettingQueriesForBaseline(DISABLE_CONSTANT_FOLDING)
+        .sqlBaselineQuery(query)
+        .go();
+  }
+
+  @Test
+  public void testFilterConstants() throws Exception {
+    final String query = "select employee_id, first_name from cp.`employee.json` " +
+        "where (1 + 1 = 2 and salary > 20000) or (char_length('abc') < 2 and position_id = 3) " +
+        "or (cast(null as boolean) and department_id = 1) or first_name = lower('SHERI')";
+    testBuilder()
+        .sqlQuery(query)
+        .unOrdered()
+        .optionSettingQueriesForTestQuery(ENABLE_CONSTANT_FOLDING)
+        .optionSettingQueriesForBaseline(DISABLE_CONSTANT_FOLDING)
+        .sqlBaselineQuery(query)
+        .go();
+  }
+
+  @Test
+  public void testQueryDependentFunctionsNotFolded() throws Exception {
+    // now() differs from a run to another: folded, it would change the generated code and miss the code cache
+    final String query = "select employee_id from cp.`employee.json` " +
+        "where cast(hire_date as timestamp) < date_sub(now(), 7) and first_name = lower('SHERI')";
+    test(ENABLE_CONSTANT_FOLDING);
+    test(query);
+    final CodeCompiler compiler = getDrillbitContext().getCompiler();
+    final int cacheMissCount = compiler.getCacheMissCount();
+    Thread.sleep(10);
+    test(query);
+    assertEquals(cacheMissCount, compiler.getCacheMissCount());
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.expr.fn.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.expression.ValueExpressions;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.expr.ValueVectorReadExpression;
+import org.apache.drill.exec.record.BatchSchema;
+import org.apache.drill.exec.record.VectorContainer;
+import org.apache.drill.test.SubOperatorTest;
+import org.apache.drill.test.rowSet.RowSet.SingleRowSet;
+import org.apache.drill.test.rowSet.RowSetBuilder;
+import org.apache.drill.test.rowSet.schema.SchemaBuilder;
+import org.junit.Test;
+
+import io.netty.buffer.DrillBuf;
+
+public class TestBatchHasher extends SubOperatorTest {
+
+  private static final Object[][] ROWS = {
+      {1, "abc", 1.5, 10L, (byte) 1},
+      {-5, null, -0.0, null, (byte) 2},
+      {Integer.MAX_VALUE, "", Double.MAX_VALUE, Long.MIN_VALUE, (byte) 3},
+      {0, "a longer value, hashed over more than 32 bytes", 0.0, 7L, (byte) 4}
+  };
+
+  @Test
+  public void testSameHashesAsHashFunctions() throws Exception {
+    final BatchSchema schema = new SchemaBuilder()
+        .add("a", MinorType.INT)
+        .addNullable("b", MinorType.VARCHAR)
+        .add("c", MinorType.FLOAT8)
+        .addNullable("d", MinorType.BIGINT)
+        .add("e", MinorType.TINYINT)
+        .build();
+    final RowSetBuilder builder = new RowSetBuilder(fixture.allocator(), schema);
+    for (Object[] row : ROWS) {
+      builder.addRow(row);
+    }
+    final SingleRowSet rowSet = builder.build();
+    final DrillBuf buffer = fixture.allocator().buffer(256);
+    try {
+      final VectorContainer container = rowSet.container();
+      final BatchHasher hasher = BatchHasher.create(read(container, "a"), read(container, "b"),
+          read(container, "c"), read(container, "d"));
+      assertNotNull(hasher);
+
+      final int[] hashes32 = hasher.hash32(container);
+      for (int i = 0; i < ROWS.length; i++) {
+        int hash = HashHelper.hash32((double) (Integer) ROWS[i][0], 0);
+        if (ROWS[i][1] != null) {
+          hash = hashBytes32((String) ROWS[i][1], buffer, hash);
+        }
+        hash = HashHelper.hash32((Double) ROWS[i][2], hash);
+        if (ROWS[i][3] != null) {
+          hash = HashHelper.hash32((double) (Long) ROWS[i][3], hash);
+        }
+        assertEquals("row " + i, hash, hashes32[i]);
+      }
+
+      final long[] hashes64 = hasher.hash64(container, 1);
+      for (int i = 0; i < ROWS.length; i++) {
+        final String value = (String) ROWS[i][1];
+        long hash = 0;
+        if (value != null) {
+          final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+          buffer.setBytes(0, bytes);
+          hash = HashHelper.hash64(0, bytes.length, buffer, 0);
+        }
+        assertEquals("row " + i, hash, hashes64[i]);
+      }
+
+      // keys needing the generated code
+      assertNull(BatchHasher.create(read(container, "a"), read(container, "e")));
+      assertNull(BatchHasher.create(read(container, "a"), ValueExpressions.getInt(1)));
+    } finally {
+      buffer.release();
+      rowSet.clear();
+    }
+  }
+
+  private static LogicalExpression read(VectorContainer container, String name) {
+    return new ValueVectorReadExpression(container.getValueVectorId(SchemaPath.getSimplePath(name)));
+  }
+
+  private static int hashBytes32(String value, DrillBuf buffer, int seed) {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    buffer.setBytes(0, bytes);
+    return HashHelper.hash32(0, bytes.length, buffer, seed);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.expr.fn.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.apache.drill.test.SubOperatorTest;
+import org.joda.time.format.DateTimeFormatter;
+import org.junit.Test;
+
+import io.netty.buffer.DrillBuf;
+
+public class TestCompiledPatterns extends SubOperatorTest {
+
+  @Test
+  public void testPatterns() {
+    final Pattern pattern = CompiledPatterns.getPattern("a+b");
+    assertSame(pattern, CompiledPatterns.getPattern("a+b"));
+    assertTrue(pattern.matcher("aab").matches());
+
+    final Pattern caseInsensitive = CompiledPatterns.getPattern("a+b", true);
+    assertNotSame(pattern, caseInsensitive);
+    assertTrue(caseInsensitive.matcher("AaB").matches());
+    assertEquals(Pattern.CASE_INSENSITIVE, caseInsensitive.flags());
+  }
+
+  @Test(expected = PatternSyntaxException.class)
+  public void testInvalidPattern() {
+    CompiledPatterns.getPattern("a(b");
+  }
+
+  @Test
+  public void testFormatters() {
+    assertSame(CompiledPatterns.getJodaFormatter("yyyy-MM-dd"), CompiledPatterns.getJodaFormatter("yyyy-MM-dd"));
+    assertEquals(CompiledPatterns.getJodaFormatter("yyyy-MM-dd").parseMillis("1970-01-02"),
+        CompiledPatterns.getSqlFormatter("yyyy-MM-DD").parseMillis("1970-01-02"));
+  }
+
+  @Test
+  public void testFormatterLookup() {
+    final CompiledPatterns.FormatterLookup lookup = new CompiledPatterns.FormatterLookup(false);
+    final DrillBuf buffer = fixture.allocator().buffer(64);
+    try {
+      final int end = write(buffer, "yyyy-MM-dd");
+      final DateTimeFormatter formatter = lookup.get(0, end, buffer);
+      assertSame(CompiledPatterns.getJodaFormatter("yyyy-MM-dd"), formatter);
+      // same bytes, elsewhere in the buffer
+      buffer.setBytes(32, "yyyy-MM-dd".getBytes(StandardCharsets.UTF_8));
+      assertSame(formatter, lookup.get(32, 32 + end, buffer));
+
+      final int otherEnd = write(buffer, "dd/MM/yyyy");
+      assertSame(CompiledPatterns.getJodaFormatter("dd/MM/yyyy"), lookup.get(0, otherEnd, buffer));
+    } finally {
+      buffer.release();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidFormat() {
+    final CompiledPatterns.FormatterLookup lookup = new CompiledPatterns.FormatterLookup(false);
+    final DrillBuf buffer = fixture.allocator().buffer(64);
+    try {
+      lookup.get(0, write(buffer, "yyyy-qq-dd"), buffer);
+    } finally {
+      buffer.release();
+    }
+  }
+
+  private static int write(DrillBuf buffer, String value) {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    buffer.setBytes(0, bytes);
+    return bytes.length;
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.expr.fn.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.drill.test.DrillTest;
+import org.junit.Test;
+
+public class TestHyperLogLog extends DrillTest {
+
+  private static long[] sketch(long from, long to) {
+    long[] words = new long[HyperLogLog.WORDS];
+    for (long value = from; value < to; value++) {
+      long hash = MurmurHash3.murmur3_64(value, 0);
+      int index = HyperLogLog.registerIndex(hash);
+      int word = HyperLogLog.wordIndex(index);
+      words[word] = HyperLogLog.update(words[word], index, HyperLogLog.rank(hash));
+    }
+    return words;
+  }
+
+  @Test
+  public void testEmpty() {
+    assertEquals(0, HyperLogLog.estimate(new long[HyperLogLog.WORDS]));
+  }
+
+  @Test
+  public void testSmallCardinality() {
+    assertEquals(10, HyperLogLog.estimate(sketch(0, 10)), 1);
+  }
+
+  @Test
+  public void testDuplicatesAreIgnored() {
+    long[] once = sketch(0, 1000);
+    long[] twice = sketch(0, 1000);
+    for (int i = 0; i < twice.length; i++) {
+      twice[i] = HyperLogLog.merge(twice[i], sketch(0, 1000)[i]);
+    }
+    assertEquals(HyperLogLog.estimate(once), HyperLogLog.estimate(twice));
+  }
+
+  @Test
+  public void testLargeCardinality() {
+    long estimate = HyperLogLog.estimate(sketch(0, 100_000));
+    assertEquals(100_000, estimate, 100_000 * 0.3);
+  }
+
+  @Test
+  public void testMerge() {
+    long[] left = sketch(0, 50_000);
+    long[] right = sketch(50_000, 100_000);
+    long[] merged = new long[HyperLogLog.WORDS];
+    for (int i = 0; i < merged.length; i++) {
+      merged[i] = HyperLogLog.merge(left[i], right[i]);
+    }
+    assertEquals(HyperLogLog.estimate(sketch(0, 100_000)), HyperLogLog.estimate(merged));
+  }
+}
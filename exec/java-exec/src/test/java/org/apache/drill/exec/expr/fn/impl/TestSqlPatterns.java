@@ -515,6 +515,122 @@ public class TestSqlPatterns {
     }
   }
 
+  @Test
+  public void testSqlPatternCaseInsensitiveLineTerminators() {
+    // like the regex ILIKE used to be evaluated with, the wildcards do not match line terminators
+    RegexpUtil.SqlPatternInfo patternInfo = new RegexpUtil.SqlPatternInfo(RegexpUtil.SqlPatternType.STARTS_WITH, "a.*", "a");
+    SqlPatternMatcher sqlPatternMatcher = SqlPatternFactory.getSqlPatternMatcher(patternInfo, true);
+    assertTrue(sqlPatternMatcher instanceof SqlPatternCaseInsensitiveMatcher);
+
+    setDrillBuf("a\nb");
+    assertEquals(0, sqlPatternMatcher.match(0, byteBuffer.limit(), drillBuf));
+
+    setDrillBuf("Ab");
+    assertEquals(1, sqlPatternMatcher.match(0, byteBuffer.limit(), drillBuf));
+
+    patternInfo = new RegexpUtil.SqlPatternInfo(RegexpUtil.SqlPatternType.ENDS_WITH, ".*b", "b");
+    sqlPatternMatcher = SqlPatternFactory.getSqlPatternMatcher(patternInfo, true);
+
+    setDrillBuf("a\rB");
+    assertEquals(0, sqlPatternMatcher.match(0, byteBuffer.limit(), drillBuf));
+
+    setDrillBuf("aB");
+    assertEquals(1, sqlPatternMatcher.match(0, byteBuffer.limit(), drillBuf));
+
+    patternInfo = new RegexpUtil.SqlPatternInfo(RegexpUtil.SqlPatternType.CONTAINS, ".*b.*", "b");
+    sqlPatternMatcher = SqlPatternFactory.getSqlPatternMatcher(patternInfo, true);
+
+    setDrillBuf("a\u2028B");
+    assertEquals(0, sqlPatternMatcher.match(0, byteBuffer.limit(), drillBuf));
+
+    setDrillBuf("aBc");
+    assertEquals(1, sqlPatternMatcher.match(0, byteBuffer.limit(), drillBuf));
+
+    // the terminator may be matched by the literal part of the pattern
+    patternInfo = new RegexpUtil.SqlPatternInfo(RegexpUtil.SqlPatternType.CONTAINS, ".*a\nb.*", "a\nb");
+    sqlPatternMatcher = SqlPatternFactory.getSqlPatternMatcher(patternInfo, true);
+
+    setDrillBuf("A\nB");
+    assertEquals(1, sqlPatternMatcher.match(0, byteBuffer.limit(), drillBuf));
+
+    setDrillBuf("\nA\nB");
+    assertEquals(0, sqlPatternMatcher.match(0, byteBuffer.limit(), drillBuf));
+  }
+
+  @Test
+  public void testSqlPatternCaseInsensitive() {
+    RegexpUtil.SqlPatternInfo patternInfo = new RegexpUtil.SqlPatternInfo(RegexpUtil.SqlPatternType.CONTAINS, "", "AbC");
+    SqlPatternMatcher sqlPatternMatcher = SqlPatternFactory.getSqlPatternMatcher(patternInfo, true);
+    assertTrue(sqlPatternMatcher instanceof SqlPatternCaseInsensitiveMatcher);
+
+    setDrillBuf("xxaBcxx");
+    assertEquals(1, sqlPatternMatcher.match(0, byteBuffer.limit(), drillBuf));
+
+    setDrillBuf("xxaBxx");
+    assertEquals(0, sqlPatternMatcher.match(0, byteBuffer.limit(), drillBuf));
+
+    patternInfo = new RegexpUtil.SqlPatternInfo(RegexpUtil.SqlPatternType.ENDS_WITH, "", "Def");
+    sqlPatternMatcher = SqlPatternFactory.getSqlPatternMatcher(patternInfo, true);
+
+    setDrillBuf("abcDEF");
+    assertEquals(1, sqlPatternMatcher.match(0, byteBuffer.limit(), drillBuf));
+
+    setDrillBuf("abcDEFg");
+    assertEquals(0, sqlPatternMatcher.match(0, byteBuffer.limit(), drillBuf));
+
+    // non ascii patterns are matched by java.util.regex
+    patternInfo = new RegexpUtil.SqlPatternInfo(RegexpUtil.SqlPatternType.COMPLEX, "À.*b", "");
+    sqlPatternMatcher = SqlPatternFactory.getSqlPatternMatcher(patternInfo, true);
+
+    setDrillBuf("Àaaaaab");
+    assertEquals(1, sqlPatternMatcher.match(0, byteBuffer.limit(), drillBuf));
+
+    setDrillBuf("Àaaaaac");
+    assertEquals(0, sqlPatternMatcher.match(0, byteBuffer.limit(), drillBuf));
+  }
+
+  @Test
+  public void testRegexDfa() {
+    final String[] patterns = {"a(b|cd)*e?", "[a-c]{2,3}x", "\\d+\\.\\d*", "\\w+@\\w+\\.(com|org)", "(?:ab|ba)+$", "^[^xy\\s]+",
+        "foo|bar|baz", ".*"};
+    final String[] inputs = {"", "abcdcde", "ae", "abx", "cccx", "12.", "1.5", "a@b.com", "a b@c.org", "abba", "abb",
+        "zzz", "xzz", "foo", "obarx", "ba\n", "À"};
+
+    for (String pattern : patterns) {
+      for (int caseInsensitive = 0; caseInsensitive < 2; caseInsensitive++) {
+        final java.util.regex.Pattern javaPattern = java.util.regex.Pattern.compile(pattern,
+            caseInsensitive == 1 ? java.util.regex.Pattern.CASE_INSENSITIVE : 0);
+        final RegexDfa matchDfa = RegexDfa.compile(pattern, caseInsensitive == 1, false);
+        final RegexDfa findDfa = RegexDfa.compile(pattern, caseInsensitive == 1, true);
+
+        for (String input : inputs) {
+          for (String in : new String[] {input, input.toUpperCase()}) {
+            setDrillBuf(in);
+            final String message = "pattern=[" + pattern + "], input=[" + in + "]";
+            final int matches = matchDfa.match(0, byteBuffer.limit(), drillBuf);
+            if (matches != RegexDfa.NOT_SUPPORTED) {
+              assertEquals(message, javaPattern.matcher(in).matches() ? 1 : 0, matches);
+            }
+            if (findDfa != null) {
+              final int found = findDfa.match(0, byteBuffer.limit(), drillBuf);
+              if (found != RegexDfa.NOT_SUPPORTED) {
+                assertEquals(message, javaPattern.matcher(in).find() ? 1 : 0, found);
+              }
+            }
+          }
+        }
+      }
+    }
+
+    // not supported constructs
+    assertEquals(null, RegexDfa.compile("(a)\\1", false, false));
+    assertEquals(null, RegexDfa.compile("a(?=b)", false, false));
+    assertEquals(null, RegexDfa.compile("a*+", false, false));
+
+    // non ascii input
+    setDrillBuf("aÀ");
+    assertEquals(RegexDfa.NOT_SUPPORTED, RegexDfa.compile("a.", false, false).match(0, byteBuffer.limit(), drillBuf));
+  }
 
   @After
   public void cleanup() {
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.expr.vectorized;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.test.BaseTestQuery;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Checks that the expressions evaluated a column at a time return the same as the generated code.
+ */
+@Category(OperatorTest.class)
+public class TestVectorizedEvaluation extends BaseTestQuery {
+
+  private static final String DISABLE_VECTORIZED_EVALUATION =
+      String.format("alter session set `%s` = false", ExecConstants.VECTORIZED_EVALUATION_KEY);
+
+  @Test
+  public void testRequiredColumns() throws Exception {
+    final String query = "select l_orderkey + l_linenumber * 2 a, l_extendedprice * (1 - l_discount) b, " +
+        "cast(l_partkey as bigint) - l_suppkey c, l_tax / l_discount d, l_quantity < l_discount e " +
+        "from cp.`tpch/lineitem.parquet` " +
+        "where l_discount >= 0.05 and (l_linenumber <> 1 or not l_quantity > 10)";
+    testBuilder()
+        .sqlQuery(query)
+        .unOrdered()
+        .optionSettingQueriesForBaseline(DISABLE_VECTORIZED_EVALUATION)
+        .sqlBaselineQuery(query)
+        .go();
+  }
+
+  @Test
+  public void testNullableColumns() throws Exception {
+    final String query = "select employee_id * 3 - position_id a, salary + 1.5 b, " +
+        "department_id is null c, employee_id > department_id or salary < 20000 d " +
+        "from cp.`employee.json` " +
+        "where position_id <= 3 or department_id is not null and salary > 30000";
+    testBuilder()
+        .sqlQuery(query)
+        .unOrdered()
+        .optionSettingQueriesForBaseline(DISABLE_VECTORIZED_EVALUATION)
+        .sqlBaselineQuery(query)
+        .go();
+  }
+
+  @Test
+  public void testVarCharComparisonsAndIsNull() throws Exception {
+    final String query = "select first_name, 'Sheri' = first_name a, last_name < 'M' b, " +
+        "management_role is null c, birth_date is not null d " +
+        "from cp.`employee.json` " +
+        "where education_level <> 'Graduate Degree' and first_name >= 'D' or gender is null";
+    testBuilder()
+        .sqlQuery(query)
+        .unOrdered()
+        .optionSettingQueriesForBaseline(DISABLE_VECTORIZED_EVALUATION)
+        .sqlBaselineQuery(query)
+        .go();
+  }
+
+  @Test
+  public void testCopiedColumns() throws Exception {
+    // the columns projected twice are copied, the project then has no generated code
+    final String query = "select first_name, last_name, first_name f2, employee_id, employee_id e2, salary s " +
+        "from cp.`employee.json`";
+    testBuilder()
+        .sqlQuery(query)
+        .unOrdered()
+        .optionSettingQueriesForBaseline(DISABLE_VECTORIZED_EVALUATION)
+        .sqlBaselineQuery(query)
+        .go();
+  }
+}
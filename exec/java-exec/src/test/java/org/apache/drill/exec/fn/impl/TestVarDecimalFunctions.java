@@ -133,6 +133,44 @@ public class TestVarDecimalFunctions extends BaseTestQuery {
     test(query);
   }
 
+  @Test
+  public void testDecimalLongArithmetic() throws Exception {
+    // results with precision up to 18 are computed on unscaled longs
+    String query =
+        "select\n" +
+            "cast('999999999999999.99' as DECIMAL(17, 2)) + cast('999999999999999.99' as DECIMAL(17, 2)) as s1,\n" +
+            "cast('-999999999999999.99' as DECIMAL(17, 2)) - cast('0.01' as DECIMAL(17, 2)) as s2,\n" +
+            "cast('12.5' as DECIMAL(5, 1)) - cast('0.125' as DECIMAL(5, 3)) as s3,\n" +
+            "cast('9999999.99' as DECIMAL(9, 2)) * cast('-9999999.99' as DECIMAL(9, 2)) as s4,\n" +
+            "cast('999999999.99' as DECIMAL(11, 2)) < cast('999999999.991' as DECIMAL(12, 3)) as s5,\n" +
+            "cast(cast('-123456789012345678' as DECIMAL(18, 0)) as bigint) as s6,\n" +
+            "cast(cast('2.5' as DECIMAL(2, 1)) as int) as s7";
+    testBuilder()
+        .sqlQuery(query)
+        .ordered()
+        .baselineColumns("s1", "s2", "s3", "s4", "s5", "s6", "s7")
+        .baselineValues(new BigDecimal("1999999999999999.98"), new BigDecimal("-1000000000000000.00"),
+            new BigDecimal("12.375"), new BigDecimal("-99999999800000.0001"), true, -123456789012345678L, 3)
+        .go();
+  }
+
+  @Test
+  public void testDecimalSumAvgLongOverflow() throws Exception {
+    // the running sum overflows a long and continues on BigDecimal
+    String query =
+        "select sum(a) as s, avg(a) as a from (\n" +
+            "select cast(c as DECIMAL(18, 0)) as a from (values\n" +
+            "('999999999999999999'), ('999999999999999999'), ('999999999999999999'), ('999999999999999999'),\n" +
+            "('999999999999999999'), ('999999999999999999'), ('999999999999999999'), ('999999999999999999'),\n" +
+            "('999999999999999999'), ('999999999999999999'), ('-9')) t(c))";
+    testBuilder()
+        .sqlQuery(query)
+        .ordered()
+        .baselineColumns("s", "a")
+        .baselineValues(new BigDecimal("9999999999999999981"), new BigDecimal("909090909090909089.181818"))
+        .go();
+  }
+
   @Test
   public void testDecimalDivide() throws Exception {
     String query =
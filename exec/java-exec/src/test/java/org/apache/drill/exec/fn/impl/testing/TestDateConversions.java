@@ -62,6 +62,12 @@ public class TestDateConversions extends BaseTestQuery {
         + "{\"time1\" : \"2010-05-0317:33:41\",\n \"time2\" : \"0102197005:33:41am\",\n"
         + "  \"time3\" : \"64/2010413305pm\"\n}");
     }
+
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(dirTestWatcher.getRootDir(), "joda_postgres_date_formats.json")))) {
+      writer.write("{\"date\" : \"1970-01-02\", \"joda\" : \"yyyy-MM-dd\", \"postgres\" : \"yyyy-MM-DD\"}\n"
+        + "{\"date\" : \"02/01/1970\", \"joda\" : \"dd/MM/yyyy\", \"postgres\" : \"DD/MM/yyyy\"}\n"
+        + "{\"date\" : \"1970-01-02\", \"joda\" : \"yyyy-MM-dd\", \"postgres\" : \"yyyy-MM-DD\"}");
+    }
   }
 
   @Test
@@ -93,6 +99,20 @@ public class TestDateConversions extends BaseTestQuery {
       .go();
   }
 
+  @Test
+  public void testDateFormatPerRow() throws Exception {
+    testBuilder()
+      .sqlQuery("SELECT to_date(`date`, joda) as col1, sql_to_date(`date`, postgres) as col2, "
+        + "to_char(to_date(`date`, joda), joda) = `date` as col3 "
+        + "from dfs.`joda_postgres_date_formats.json`")
+      .unOrdered()
+      .baselineColumns("col1", "col2", "col3")
+      .baselineValues(LocalDate.of(1970, 1, 2), LocalDate.of(1970, 1, 2), true)
+      .baselineValues(LocalDate.of(1970, 1, 2), LocalDate.of(1970, 1, 2), true)
+      .baselineValues(LocalDate.of(1970, 1, 2), LocalDate.of(1970, 1, 2), true)
+      .go();
+  }
+
   @Test
   public void testJodaTime() throws Exception {
     mockUsDateFormatSymbols();
@@ -52,6 +52,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 @Category(OperatorTest.class)
@@ -156,6 +158,84 @@ public class TopNBatchTest extends PopUnitTestBase {
     }
   }
 
+  /**
+   * Threshold of a full priority queue, rows sorting after the last row of the TopN are dropped.
+   * @throws Exception
+   */
+  @Test
+  public void priorityQueueThresholdTest() throws Exception {
+    DrillConfig drillConfig = DrillConfig.create(new Properties());
+    DrillbitContext drillbitContext = mockDrillbitContext();
+    when(drillbitContext.getFunctionImplementationRegistry()).thenReturn(new FunctionImplementationRegistry(drillConfig));
+
+    FieldReference expr = FieldReference.getWithQuotedRef("colA");
+    Order.Ordering ordering = new Order.Ordering(Order.Ordering.ORDER_ASC, expr, Order.Ordering.NULLS_LAST);
+
+    MaterializedField colA = MaterializedField.create("colA", Types.optional(TypeProtos.MinorType.INT));
+    BatchSchema batchSchema = new BatchSchema(BatchSchema.SelectionVectorMode.NONE, Lists.newArrayList(colA));
+    FragmentContextImpl context = new FragmentContextImpl(drillbitContext,
+      BitControl.PlanFragment.getDefaultInstance(), null,
+      drillbitContext.getFunctionImplementationRegistry());
+
+    try (RootAllocator allocator = new RootAllocator(100_000_000)) {
+      VectorContainer container = new RowSetBuilder(allocator, batchSchema)
+        .build()
+        .container();
+      ExpandableHyperContainer hyperContainer = new ExpandableHyperContainer(container);
+      PriorityQueue queue = TopNBatch.createNewPriorityQueue(
+        TopNBatch.createMainMappingSet(), TopNBatch.createLeftMappingSet(),
+        TopNBatch.createRightMappingSet(),
+        Lists.newArrayList(ordering), hyperContainer, false,
+        false, 3, allocator,
+        batchSchema.getSelectionVectorMode(), context);
+      RowSet dropped = null;
+      RowSet kept = null;
+
+      try {
+        TopNThreshold threshold = new TopNThreshold(ordering);
+        threshold.bind(batchSchema);
+
+        queue.add(new RecordBatchData(new RowSetBuilder(allocator, batchSchema)
+          .addRow(40)
+          .addRow((Object) null)
+          .build()
+          .container(), allocator));
+        assertFalse(queue.isFull());
+
+        queue.add(new RecordBatchData(new RowSetBuilder(allocator, batchSchema)
+          .addRow(20)
+          .addRow(30)
+          .addRow(10)
+          .build()
+          .container(), allocator));
+        assertTrue(queue.isFull());
+        threshold.update(queue.getHyperBatch(), queue.getSv4().get(0));
+        assertTrue(threshold.isSet());
+
+        // TopN is 10, 20, 30: ties with the last row may still qualify
+        dropped = new RowSetBuilder(allocator, batchSchema)
+          .addRow(31)
+          .addRow((Object) null)
+          .build();
+        kept = new RowSetBuilder(allocator, batchSchema)
+          .addRow(50)
+          .addRow(30)
+          .build();
+        assertFalse(threshold.mayQualifyAny(dropped.container(), null, dropped.rowCount()));
+        assertTrue(threshold.mayQualifyAny(kept.container(), null, kept.rowCount()));
+      } finally {
+        if (dropped != null) {
+          dropped.clear();
+        }
+        if (kept != null) {
+          kept.clear();
+        }
+        queue.cleanup();
+        hyperContainer.clear();
+      }
+    }
+  }
+
   /**
    * End to end test of the TopN operator.
    * @throws Throwable
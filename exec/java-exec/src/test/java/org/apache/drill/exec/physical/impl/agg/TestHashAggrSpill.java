@@ -115,6 +115,9 @@ public class TestHashAggrSpill extends DrillTest {
     assertEquals(spillCycle, opCycle);
     long op_spilled_partitions = hag0.getMetric(HashAggTemplate.Metric.SPILLED_PARTITIONS.ordinal());
     assertTrue(op_spilled_partitions >= fromSpilledPartitions && op_spilled_partitions <= toSpilledPartitions);
+    // the mock keys are evenly spread, so re-partitioning a spilled partition must split it
+    long opSkew = hag0.getMetric(HashAggTemplate.Metric.SPILL_SKEW_PERCENT.ordinal());
+    assertTrue(opSkew < 90);
   }
 
   /**
@@ -159,4 +162,39 @@ public class TestHashAggrSpill extends DrillTest {
     testSpill(34_000_000, 4, 5, 2, true /* do fallback */, true, null,
       1_200_000, 0 /* no spill due to fallback to pre-1.11 */, 0, 0);
   }
+
+  /**
+   * Test the 1st phase returning its groups after each incoming batch when the reduction is poor: each key appears
+   * twice, so the 1st phase reduces 2 rows into a group, below the forced minimum reduction. The sample is kept small
+   * so that every 1st phase fragment decides after its first incoming rows.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testPartialAggrWithPoorReduction() throws Exception {
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+      .configProperty(ExecConstants.SYS_STORE_PROVIDER_LOCAL_ENABLE_WRITE, false)
+      .sessionOption(PlannerSettings.FORCE_2PHASE_AGGR_KEY, true)
+      .sessionOption(ExecConstants.HASHAGG_PARTIAL_MIN_REDUCTION_KEY, 1000.0)
+      .sessionOption(ExecConstants.HASHAGG_PARTIAL_SAMPLE_ROWS_KEY, 100)
+      .maxParallelization(2)
+      .saveProfiles();
+    String sql = "SELECT l_orderkey, l_linenumber, COUNT(*) c FROM " +
+      "(SELECT l_orderkey, l_linenumber FROM cp.`tpch/lineitem.parquet` UNION ALL " +
+      "SELECT l_orderkey, l_linenumber FROM cp.`tpch/lineitem.parquet`) GROUP BY l_orderkey, l_linenumber";
+
+    try (ClusterFixture cluster = builder.build();
+         ClientFixture client = cluster.clientFixture()) {
+      assertEquals(60_175L, client.queryBuilder().sql("SELECT COUNT(*) FROM (" + sql + ") WHERE c = 2").singletonLong());
+
+      QueryBuilder.QuerySummary summary = client.queryBuilder().sql(sql).run();
+      assertEquals(60_175L, summary.recordCount());
+      ProfileParser profile = client.parseProfile(summary.queryIdString());
+      long partialFlushes = 0;
+      for (ProfileParser.OperatorProfile op : profile.getOpsOfType(UserBitShared.CoreOperatorType.HASH_AGGREGATE_VALUE)) {
+        partialFlushes += op.getMetric(HashAggTemplate.Metric.PARTIAL_FLUSHES.ordinal());
+      }
+      assertTrue(partialFlushes > 0);
+    }
+  }
 }
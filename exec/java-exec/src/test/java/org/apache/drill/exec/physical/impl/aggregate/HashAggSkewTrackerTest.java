@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.aggregate;
+
+import org.apache.drill.common.exceptions.UserException;
+import org.apache.drill.exec.ops.OperatorStats;
+import org.apache.drill.exec.physical.impl.common.SpilledState;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.proto.UserBitShared.CoreOperatorType;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HashAggSkewTrackerTest {
+  private static final int NUM_PARTITIONS = 4;
+
+  @Test
+  public void testSkewCountsGroupsNotRows() {
+    final HashAggSkewTracker tracker = new HashAggSkewTracker(NUM_PARTITIONS);
+
+    // a single heavy key is one group, however many rows it has
+    tracker.addGroup(0);
+    for (int part = 0; part < NUM_PARTITIONS; part++) {
+      for (int group = 0; group < 10; group++) {
+        tracker.addGroup(part);
+      }
+    }
+
+    Assert.assertEquals(26, tracker.checkSpilledPartition(0, true));
+    Assert.assertFalse(tracker.isSkewDetected());
+  }
+
+  @Test
+  public void testFirstCycleIsNotSkewed() {
+    final HashAggSkewTracker tracker = new HashAggSkewTracker(NUM_PARTITIONS);
+    tracker.addGroup(1);
+
+    Assert.assertEquals(100, tracker.checkSpilledPartition(1, false));
+    Assert.assertFalse(tracker.isSkewDetected());
+    Assert.assertEquals(100, tracker.getMaxSkewPercent());
+  }
+
+  @Test
+  public void testSkewIsResetEachCycle() {
+    final HashAggSkewTracker tracker = new HashAggSkewTracker(NUM_PARTITIONS);
+    addSkewedGroups(tracker);
+
+    tracker.checkSpilledPartition(0, true);
+    Assert.assertTrue(tracker.isSkewDetected());
+
+    tracker.startCycle();
+    Assert.assertFalse(tracker.isSkewDetected());
+    tracker.reset();
+    Assert.assertEquals(0, tracker.checkSpilledPartition(0, true));
+  }
+
+  /**
+   * A partition that is skewed in every spill cycle fails the query once the cycles go too deep, pointing at
+   * aggregating by sorting instead.
+   */
+  @Test
+  public void testPersistentSkewFails() {
+    final HashAggSkewTracker tracker = new HashAggSkewTracker(NUM_PARTITIONS);
+
+    try {
+      runCycles(tracker, 20, 20);
+      Assert.fail("A persistent skew must fail the query");
+    } catch (UserException e) {
+      Assert.assertTrue(e.getMessage().contains(PlannerSettings.HASHAGG.getOptionName()));
+    }
+  }
+
+  /**
+   * A skew found in one cycle only does not limit the spill depth.
+   */
+  @Test
+  public void testTransientSkewDoesNotFail() {
+    final HashAggSkewTracker tracker = new HashAggSkewTracker(NUM_PARTITIONS);
+
+    runCycles(tracker, 20, 1);
+  }
+
+  private static void addSkewedGroups(HashAggSkewTracker tracker) {
+    for (int group = 0; group < 95; group++) {
+      tracker.addGroup(0);
+    }
+    for (int group = 0; group < 5; group++) {
+      tracker.addGroup(1);
+    }
+  }
+
+  /**
+   * Reads back a spilled partition per cycle, the way the Hash Aggregate does, and re-spills partition 0.
+   * @param cycles the number of spill cycles
+   * @param skewedCycles the number of (leading) cycles in which partition 0 gets almost all the groups
+   */
+  private static void runCycles(HashAggSkewTracker tracker, int cycles, int skewedCycles) {
+    final SpilledState<HashAggTemplate.HashAggSpilledPartition> spilledState = new SpilledState<>();
+    spilledState.initialize(NUM_PARTITIONS);
+    final OperatorStats stats = new OperatorStats(0, CoreOperatorType.HASH_AGGREGATE_VALUE, 1, null);
+    final SpilledState.Updater updater = new SpilledState.Updater() {
+      @Override
+      public void cleanup() {
+      }
+
+      @Override
+      public String getFailureMessage() {
+        return tracker.getFailureMessage();
+      }
+
+      @Override
+      public long getMemLimit() {
+        return 0;
+      }
+
+      @Override
+      public boolean hasPartitionLimit() {
+        return tracker.isSkewDetected();
+      }
+    };
+
+    for (int cycle = 0; cycle < cycles; cycle++) {
+      tracker.reset();
+      if (cycle <= skewedCycles) {
+        addSkewedGroups(tracker);
+      } else {
+        for (int part = 0; part < NUM_PARTITIONS; part++) {
+          tracker.addGroup(part);
+        }
+      }
+      tracker.checkSpilledPartition(0, !spilledState.isFirstCycle());
+      spilledState.addPartition(new HashAggTemplate.HashAggSpilledPartition(cycle, 0, 0, 1, "spill"));
+
+      final int prevCycle = spilledState.getCycle();
+      spilledState.updateCycle(stats, spilledState.getNextSpilledPartition(), updater);
+      if (spilledState.getCycle() != prevCycle) {
+        tracker.startCycle();
+      }
+    }
+  }
+}
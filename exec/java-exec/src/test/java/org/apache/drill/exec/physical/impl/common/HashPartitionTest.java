@@ -27,6 +27,7 @@ import org.apache.drill.common.logical.data.JoinCondition;
 import org.apache.drill.common.logical.data.NamedExpression;
 import org.apache.drill.common.types.TypeProtos;
 import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.compile.CodeCompiler;
 import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.ops.FragmentContext;
@@ -240,6 +241,62 @@ public class HashPartitionTest {
     });
   }
 
+  @Test
+  public void compileHashTableAsyncTest() throws Exception {
+    new HashPartitionFixture().run(new HashPartitionTestCase() {
+      private RowSet buildRowSet;
+      private RowSet probeRowSet;
+
+      @Override
+      public CloseableRecordBatch createBuildBatch(BatchSchema schema, FragmentContext context) {
+        buildRowSet = new RowSetBuilder(context.getAllocator(), schema)
+          .addRow(1, "green")
+          .build();
+        return new MockRecordBatch.Builder().
+          sendData(buildRowSet).
+          build(context);
+      }
+
+      @Override
+      public void createResultBuildBatch(BatchSchema schema, FragmentContext context) {
+      }
+
+      @Override
+      public CloseableRecordBatch createProbeBatch(BatchSchema schema, FragmentContext context) {
+        probeRowSet = new RowSetBuilder(context.getAllocator(), schema)
+          .addRow(.5, "green")
+          .build();
+        return new MockRecordBatch.Builder().
+          sendData(probeRowSet).
+          build(context);
+      }
+
+      @Override
+      public void run(SpillSet spillSet,
+                      BatchSchema buildSchema,
+                      BatchSchema probeSchema,
+                      RecordBatch buildBatch,
+                      RecordBatch probeBatch,
+                      ChainedHashTable baseHashTable,
+                      FragmentContext context,
+                      OperatorContext operatorContext) throws Exception {
+
+        final CodeCompiler compiler = context.getCompiler();
+        compiler.flushCache();
+        baseHashTable.compileHashTableAsync(null).get();
+        final int cacheMissCount = compiler.getCacheMissCount();
+
+        // the hash table class compiled on the pool is found in the code cache
+        final HashTable hashTable = baseHashTable.createAndSetupHashTable(null);
+        Assert.assertEquals(cacheMissCount, compiler.getCacheMissCount());
+
+        hashTable.clear();
+        buildRowSet.clear();
+        probeRowSet.clear();
+      }
+    });
+  }
+
   public class HashPartitionFixture {
     public void run(HashPartitionTestCase testCase) throws Exception {
       try (OperatorFixture operatorFixture = new OperatorFixture.Builder(HashPartitionTest.this.dirTestWatcher).build()) {
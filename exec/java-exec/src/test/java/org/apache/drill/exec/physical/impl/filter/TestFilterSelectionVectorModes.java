@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.filter;
+
+import io.netty.buffer.DrillBuf;
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.common.expression.FieldReference;
+import org.apache.drill.common.logical.data.Order;
+import org.apache.drill.exec.physical.config.Filter;
+import org.apache.drill.exec.physical.impl.BaseTestOpBatchEmitOutcome;
+import org.apache.drill.exec.physical.impl.MockRecordBatch;
+import org.apache.drill.exec.physical.impl.TopN.TopNThreshold;
+import org.apache.drill.exec.record.ExpandableHyperContainer;
+import org.apache.drill.exec.record.VectorContainer;
+import org.apache.drill.exec.record.selection.SelectionVector4;
+import org.apache.drill.test.rowSet.HyperRowSetImpl;
+import org.apache.drill.test.rowSet.RowSet;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@Category(OperatorTest.class)
+public class TestFilterSelectionVectorModes extends BaseTestOpBatchEmitOutcome {
+
+  /**
+   * A Filter below a TopN over an SV4 incoming must report the unsupported selection vector mode
+   * instead of applying the TopN threshold to an SV2 that was never created.
+   */
+  @Test
+  public void testFourByteIncomingWithThreshold() throws Exception {
+    final VectorContainer batch = operatorFixture.rowSetBuilder(inputSchema)
+      .addRow(1, 10, "item1")
+      .addRow(2, 20, "item2")
+      .build()
+      .container();
+    final ExpandableHyperContainer hyperContainer = new ExpandableHyperContainer(batch);
+    hyperContainer.setRecordCount(2);
+
+    final DrillBuf drillBuf = operatorFixture.allocator().buffer(4 * 2);
+    final SelectionVector4 sv4 = new SelectionVector4(drillBuf, 2, Character.MAX_VALUE);
+    sv4.set(0, 0, 1);
+    sv4.set(1, 0, 0);
+    sv4.setCount(2);
+    final RowSet hyperRowSet = new HyperRowSetImpl(hyperContainer, sv4);
+
+    final MockRecordBatch mockInputBatch = new MockRecordBatch.Builder()
+      .sendData(hyperRowSet)
+      .withOperatorContext(opContext)
+      .build(operatorFixture.getFragmentContext());
+
+    final Filter filterConf = new Filter(null, parseExpr("id_left=1"), 1.0f);
+    final FilterRecordBatch filterRecordBatch = new FilterRecordBatch(filterConf, mockInputBatch,
+      operatorFixture.getFragmentContext());
+    final TopNThreshold threshold = new TopNThreshold(new Order.Ordering(Order.Ordering.ORDER_ASC,
+      FieldReference.getWithQuotedRef("id_left"), Order.Ordering.NULLS_LAST));
+    threshold.bind(hyperRowSet.batchSchema());
+    filterRecordBatch.setTopNThreshold(threshold);
+
+    try {
+      filterRecordBatch.next();
+      fail("Filter should reject an SV4 incoming");
+    } catch (UnsupportedOperationException e) {
+      assertTrue(e.getMessage().contains("FOUR_BYTE"));
+    } finally {
+      filterRecordBatch.close();
+      hyperRowSet.clear();
+    }
+  }
+}
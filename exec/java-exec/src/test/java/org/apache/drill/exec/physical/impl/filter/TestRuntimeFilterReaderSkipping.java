@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.common.exceptions.ExecutionSetupException;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.exception.SchemaChangeException;
+import org.apache.drill.exec.expr.fn.impl.HashHelper;
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.ops.OperatorContext;
+import org.apache.drill.exec.physical.config.RuntimeFilterPOP;
+import org.apache.drill.exec.physical.impl.OutputMutator;
+import org.apache.drill.exec.physical.impl.ScanBatch;
+import org.apache.drill.exec.proto.BitData;
+import org.apache.drill.exec.record.MaterializedField;
+import org.apache.drill.exec.record.RecordBatch.IterOutcome;
+import org.apache.drill.exec.store.AbstractRecordReader;
+import org.apache.drill.exec.store.RecordReader;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.work.filter.BloomFilter;
+import org.apache.drill.exec.work.filter.RuntimeFilterWritable;
+import org.apache.drill.test.OperatorFixture.MockFragmentContext;
+import org.apache.drill.test.PhysicalOpUnitTestBase.MockPhysicalOperator;
+import org.apache.drill.test.SubOperatorTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.drill.shaded.guava.com.google.common.collect.ImmutableMap;
+
+import io.netty.buffer.DrillBuf;
+
+/**
+ * Tests skipping the readers of a scan whose partition values cannot pass a runtime filter.
+ */
+@Category(OperatorTest.class)
+public class TestRuntimeFilterReaderSkipping extends SubOperatorTest {
+
+  private static final int ROWS_PER_READER = 10;
+
+  @Test
+  public void testSkippedReadersAreClosed() throws Exception {
+    List<PartitionReader> readers = readers(4);
+    ScanBatch scan = newScan(fixture.getFragmentContext(), readers, "d3", "d1", "d2", "d1");
+    scan.setReaderFilter(implicitValues -> "d1".equals(implicitValues.get("dir0")));
+    try {
+      int rowCount = 0;
+      for (IterOutcome outcome = scan.next(); outcome != IterOutcome.NONE; outcome = scan.next()) {
+        rowCount += scan.getRecordCount();
+      }
+      // the first reader provides the schema, so it is read even though the filter rejects it
+      assertTrue(readers.get(0).setUp);
+      assertTrue(readers.get(1).setUp);
+      assertFalse(readers.get(2).setUp);
+      assertTrue(readers.get(3).setUp);
+      assertEquals(3 * ROWS_PER_READER, rowCount);
+    } finally {
+      scan.close();
+    }
+    for (PartitionReader reader : readers) {
+      assertTrue(reader.closed);
+    }
+  }
+
+  @Test
+  public void testLocalRuntimeFilterSkipsReaders() throws Exception {
+    MockFragmentContext context = newFragmentContext();
+    try {
+      receiveRuntimeFilter(context, true);
+      ScanBatch scan = newScan(context, readers(1), "d1");
+      RuntimeFilterRecordBatch filter = new RuntimeFilterRecordBatch(new RuntimeFilterPOP(null), scan, context);
+      try {
+        assertTrue(filter.mayContainMatches(ImmutableMap.of("dir0", "d1")));
+        assertFalse(filter.mayContainMatches(ImmutableMap.of("dir0", "d2")));
+        // columns not filtered by the runtime filter do not decide
+        assertTrue(filter.mayContainMatches(ImmutableMap.of("dir1", "d2")));
+      } finally {
+        filter.close();
+        scan.close();
+      }
+    } finally {
+      closeFragmentContext(context);
+    }
+  }
+
+  @Test
+  public void testRoutedRuntimeFilterDoesNotSkipReaders() throws Exception {
+    MockFragmentContext context = newFragmentContext();
+    try {
+      // a runtime filter routed by the Foreman may not have all the build side keys yet
+      receiveRuntimeFilter(context, false);
+      ScanBatch scan = newScan(context, readers(1), "d1");
+      RuntimeFilterRecordBatch filter = new RuntimeFilterRecordBatch(new RuntimeFilterPOP(null), scan, context);
+      try {
+        assertTrue(filter.mayContainMatches(ImmutableMap.of("dir0", "d1")));
+        assertTrue(filter.mayContainMatches(ImmutableMap.of("dir0", "d2")));
+      } finally {
+        filter.close();
+        scan.close();
+      }
+    } finally {
+      closeFragmentContext(context);
+    }
+  }
+
+  /**
+   * Sends the fragment a runtime filter holding only the {@code dir0} value {@code d1}
+   * and waits until it is aggregated.
+   */
+  private static void receiveRuntimeFilter(MockFragmentContext context, boolean local) throws Exception {
+    BloomFilter bloomFilter = new BloomFilter(BloomFilter.optimalNumOfBytes(10, 0.01), fixture.allocator());
+    bloomFilter.insert(hash("d1"));
+    BitData.RuntimeFilterBDef runtimeFilterBDef = BitData.RuntimeFilterBDef.newBuilder()
+        .addProbeFields("dir0")
+        .addBloomFilterSizeInBytes(bloomFilter.getContent().capacity())
+        .setHjOpId(1)
+        .build();
+    context.addRuntimeFilter(new RuntimeFilterWritable(runtimeFilterBDef, local, bloomFilter.getContent()));
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (!context.getRuntimeFilterSink().containOne()) {
+      assertTrue("Runtime filter was not aggregated", System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  /**
+   * Hashes a value the way the build side hashes a VARCHAR join key.
+   */
+  private static long hash(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    DrillBuf buffer = fixture.allocator().buffer(bytes.length);
+    try {
+      buffer.setBytes(0, bytes);
+      return HashHelper.hash64(0, bytes.length, buffer, 0);
+    } finally {
+      buffer.release();
+    }
+  }
+
+  private static MockFragmentContext newFragmentContext() {
+    MockFragmentContext context = (MockFragmentContext) fixture.getFragmentContext();
+    return new MockFragmentContext(context.getConfig(), fixture.getOptionManager(), fixture.allocator(), null, null);
+  }
+
+  private static void closeFragmentContext(MockFragmentContext context) throws Exception {
+    context.getRuntimeFilterSink().close();
+    context.close();
+  }
+
+  private static ScanBatch newScan(FragmentContext context,
+      List<? extends RecordReader> readers, String... dirs) throws Exception {
+    List<Map<String, String>> implicitColumns = new ArrayList<>();
+    for (String dir : dirs) {
+      implicitColumns.add(ImmutableMap.of("dir0", dir));
+    }
+    OperatorContext operatorContext = context.newOperatorContext(new MockPhysicalOperator());
+    return new ScanBatch(context, operatorContext, new ArrayList<RecordReader>(readers), implicitColumns);
+  }
+
+  private static List<PartitionReader> readers(int count) {
+    List<PartitionReader> readers = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      readers.add(new PartitionReader());
+    }
+    return readers;
+  }
+
+  /**
+   * Reads a single batch of an INT column and records whether it was set up and closed.
+   */
+  private static class PartitionReader extends AbstractRecordReader {
+    private IntVector vector;
+    private boolean done;
+    private boolean setUp;
+    private boolean closed;
+
+    @Override
+    public void setup(OperatorContext context, OutputMutator output) throws ExecutionSetupException {
+      setUp = true;
+      try {
+        vector = output.addField(MaterializedField.create("a", Types.required(MinorType.INT)), IntVector.class);
+      } catch (SchemaChangeException e) {
+        throw new ExecutionSetupException(e);
+      }
+    }
+
+    @Override
+    public int next() {
+      if (done) {
+        return 0;
+      }
+      done = true;
+      for (int i = 0; i < ROWS_PER_READER; i++) {
+        vector.getMutator().setSafe(i, i);
+      }
+      vector.getMutator().setValueCount(ROWS_PER_READER);
+      return ROWS_PER_READER;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
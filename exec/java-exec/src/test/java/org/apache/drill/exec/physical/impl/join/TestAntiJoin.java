@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.join;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.categories.SlowTest;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.test.BaseTestQuery;
+import org.apache.drill.test.ClientFixture;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({SlowTest.class, OperatorTest.class})
+public class TestAntiJoin extends BaseTestQuery {
+  private static final String NOT_EXISTS_QUERY = "select %s from cp.`employee.json` e where not exists " +
+      "(select 1 from cp.`department.json` d where d.department_id = e.department_id and d.department_id < 5)";
+
+  @Test
+  public void testNotExistsToAntiJoin() throws Exception {
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+            .setOptionDefault(PlannerSettings.ANTIJOIN.getOptionName(), true);
+
+    try (ClusterFixture cluster = builder.build();
+         ClientFixture client = cluster.clientFixture()) {
+      String queryPlan = client.queryBuilder().sql(String.format(NOT_EXISTS_QUERY, "employee_id")).explainText();
+      assertTrue(queryPlan.contains("anti-join: =[true]"));
+    }
+  }
+
+  @Test
+  public void testNotExistsWithAntiJoinDisabled() throws Exception {
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+            .setOptionDefault(PlannerSettings.ANTIJOIN.getOptionName(), false);
+
+    try (ClusterFixture cluster = builder.build();
+         ClientFixture client = cluster.clientFixture()) {
+      String queryPlan = client.queryBuilder().sql(String.format(NOT_EXISTS_QUERY, "employee_id")).explainText();
+      assertFalse(queryPlan.contains("anti-join: =[true]"));
+    }
+  }
+
+  @Test
+  public void testAntiJoinResult() throws Exception {
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher);
+
+    try (ClusterFixture cluster = builder.build();
+         ClientFixture client = cluster.clientFixture()) {
+      String sql = String.format(NOT_EXISTS_QUERY, "count(*)");
+      client.alterSession(PlannerSettings.ANTIJOIN.getOptionName(), false);
+      long expected = client.queryBuilder().sql(sql).singletonLong();
+      client.alterSession(PlannerSettings.ANTIJOIN.getOptionName(), true);
+      assertEquals(expected, client.queryBuilder().sql(sql).singletonLong());
+      assertTrue(expected > 0);
+    }
+  }
+}
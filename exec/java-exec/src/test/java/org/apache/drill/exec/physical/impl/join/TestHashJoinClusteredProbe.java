@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.join;
+
+import static org.junit.Assert.assertTrue;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.proto.UserBitShared;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.ProfileParser;
+import org.apache.drill.test.QueryBuilder.QuerySummary;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Checks that clustering the probe side by partition (see
+ * {@link ExecConstants#HASHJOIN_CLUSTER_PROBE_KEY}) returns exactly the rows
+ * of the unclustered probe.
+ */
+@Category(OperatorTest.class)
+public class TestHashJoinClusteredProbe extends ClusterTest {
+
+  private static final String CLUSTERED = "alter session set `" + ExecConstants.HASHJOIN_CLUSTER_PROBE_KEY + "` = true";
+  private static final String UNCLUSTERED = "alter session set `" + ExecConstants.HASHJOIN_CLUSTER_PROBE_KEY + "` = false";
+
+  // both sides keep some rows the other side does not match
+  private static final String OUTER_JOIN_QUERY =
+      "SELECT o.o_orderkey, o.o_custkey, o.o_totalprice, l.l_orderkey, l.l_linenumber, l.l_partkey " +
+          "FROM (SELECT * FROM cp.`tpch/orders.parquet` WHERE o_orderkey < 40000) o " +
+          "%s JOIN (SELECT * FROM cp.`tpch/lineitem.parquet` WHERE l_orderkey > 20000) l " +
+          "ON o.o_orderkey = l.l_orderkey";
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    startCluster(ClusterFixture.builder(dirTestWatcher)
+        .sessionOption(PlannerSettings.MERGEJOIN.getOptionName(), false)
+        .sessionOption(ExecConstants.HASHJOIN_NUM_PARTITIONS_KEY, 8)
+        .saveProfiles());
+  }
+
+  @After
+  public void tearDown() {
+    client.resetSession(ExecConstants.HASHJOIN_CLUSTER_PROBE_KEY);
+    client.resetSession(ExecConstants.HASHJOIN_NUM_ROWS_IN_BATCH_KEY);
+    client.resetSession(ExecConstants.HASHJOIN_MAX_BATCHES_IN_MEMORY_KEY);
+  }
+
+  @Test
+  public void testInnerJoin() throws Exception {
+    compareWithUnclustered(
+        "SELECT l.l_orderkey, l.l_linenumber, l.l_partkey, o.o_custkey, o.o_totalprice " +
+            "FROM cp.`tpch/lineitem.parquet` l JOIN cp.`tpch/orders.parquet` o ON l.l_orderkey = o.o_orderkey");
+  }
+
+  @Test
+  public void testLeftJoin() throws Exception {
+    compareWithUnclustered(String.format(OUTER_JOIN_QUERY, "LEFT"));
+  }
+
+  @Test
+  public void testRightJoin() throws Exception {
+    compareWithUnclustered(String.format(OUTER_JOIN_QUERY, "RIGHT"));
+  }
+
+  @Test
+  public void testFullJoin() throws Exception {
+    compareWithUnclustered(String.format(OUTER_JOIN_QUERY, "FULL"));
+  }
+
+  @Test
+  public void testSpilledFullJoin() throws Exception {
+    client.alterSession(ExecConstants.HASHJOIN_NUM_ROWS_IN_BATCH_KEY, 64);
+    client.alterSession(ExecConstants.HASHJOIN_MAX_BATCHES_IN_MEMORY_KEY, 8);
+    String query = String.format(OUTER_JOIN_QUERY, "FULL");
+    compareWithUnclustered(query);
+
+    // the clustered probe must have been run on spilled partitions, too
+    client.alterSession(ExecConstants.HASHJOIN_CLUSTER_PROBE_KEY, true);
+    QuerySummary summary = client.queryBuilder().sql(query).run();
+    ProfileParser profile = client.parseProfile(summary.queryIdString());
+    long maxCycle = 0;
+    for (ProfileParser.OperatorProfile op : profile.getOpsOfType(UserBitShared.CoreOperatorType.HASH_JOIN_VALUE)) {
+      maxCycle = Math.max(maxCycle, op.getMetric(HashJoinBatch.Metric.SPILL_CYCLE.ordinal()));
+    }
+    assertTrue("Expected the hash join to spill, spill cycle was " + maxCycle, maxCycle > 0);
+  }
+
+  private void compareWithUnclustered(String query) throws Exception {
+    client.testBuilder()
+        .sqlQuery(query)
+        .optionSettingQueriesForTestQuery(CLUSTERED)
+        .unOrdered()
+        .sqlBaselineQuery(query)
+        .optionSettingQueriesForBaseline(UNCLUSTERED)
+        .go();
+  }
+}
@@ -21,17 +21,25 @@ import org.apache.drill.shaded.guava.com.google.common.collect.Lists;
 import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.drill.categories.OperatorTest;
 import org.apache.drill.categories.SlowTest;
+import org.apache.drill.exec.expr.fn.impl.HashHelper;
 import org.apache.drill.exec.physical.config.HashJoinPOP;
 import org.apache.drill.exec.work.filter.BloomFilter;
 import org.apache.drill.exec.work.filter.BloomFilterDef;
 import org.apache.drill.exec.work.filter.RuntimeFilterDef;
+import org.apache.drill.exec.work.filter.RuntimeFilterSink;
+import org.apache.drill.exec.work.filter.RuntimeFilterWritable;
 import org.apache.drill.test.PhysicalOpUnitTestBase;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import io.netty.buffer.DrillBuf;
+
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.Assert.assertTrue;
+
 @Category({SlowTest.class, OperatorTest.class})
 public class TestHashJoinJPPD extends PhysicalOpUnitTestBase {
 
@@ -99,4 +107,58 @@ public class TestHashJoinJPPD extends PhysicalOpUnitTestBase {
       .go();
   }
 
+  /**
+   * The join key of the build side is not its first column, the bloom filter must
+   * still hold the hashes of the build side keys.
+   */
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testBloomFilterOfBuildKeyAfterOtherColumns() throws Exception {
+    List<BloomFilterDef> bloomFilterDefs = new ArrayList<>();
+    int numBytes = BloomFilter.optimalNumOfBytes(10, 0.01);
+    bloomFilterDefs.add(new BloomFilterDef(numBytes, true, "lft"));
+    RuntimeFilterDef runtimeFilterDef = new RuntimeFilterDef(true, false, bloomFilterDefs, false);
+    HashJoinPOP joinConf = new HashJoinPOP(null, null,
+      Lists.newArrayList(joinCond("lft", "EQUALS", "rgt")), JoinRelType.INNER, runtimeFilterDef);
+    operatorFixture.getOptionManager().setLocalOption("exec.hashjoin.enable.runtime_filter", true);
+    List<String> leftTable = Lists.newArrayList("[{\"lft\": \"k0\", \"a\" : \"a string\"}]",
+      "[{\"lft\": \"k1\", \"a\" : \"a different string\"},{\"lft\": \"k2\", \"a\" : \"yet another\"}]");
+    List<String> rightTable = Lists.newArrayList("[{\"b\" : \"a string\", \"rgt\": \"k0\"}]",
+      "[{\"b\" : \"a different string\", \"rgt\": \"k1\"}]");
+    legacyOpTestBuilder()
+      .physicalOperator(joinConf)
+      .inputDataStreamsJson(Lists.newArrayList(leftTable, rightTable))
+      .baselineColumns("lft", "a", "b", "rgt")
+      .expectedTotalRows(2)
+      .go();
+
+    RuntimeFilterSink runtimeFilterSink = fragContext.getRuntimeFilterSink();
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (!runtimeFilterSink.containOne()) {
+      assertTrue("Runtime filter was not received", System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+    RuntimeFilterWritable runtimeFilter = runtimeFilterSink.fetchLatestDuplicatedAggregatedOne();
+    try {
+      BloomFilter bloomFilter = runtimeFilter.unwrap().get(0);
+      assertTrue(bloomFilter.find(hash("k0")));
+      assertTrue(bloomFilter.find(hash("k1")));
+    } finally {
+      runtimeFilter.close();
+    }
+  }
+
+  /**
+   * Hashes a value the way the build side hashes a VARCHAR join key.
+   */
+  private long hash(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    DrillBuf buffer = fragContext.getAllocator().buffer(bytes.length);
+    try {
+      buffer.setBytes(0, bytes);
+      return HashHelper.hash64(0, bytes.length, buffer, 0);
+    } finally {
+      buffer.release();
+    }
+  }
 }
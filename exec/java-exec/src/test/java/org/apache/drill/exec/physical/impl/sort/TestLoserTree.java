@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.sort;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.test.DrillTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(OperatorTest.class)
+public class TestLoserTree extends DrillTest {
+
+  @Test
+  public void testMerge() {
+    final Random random = new Random(17);
+    for (int sourceCount : new int[] {1, 2, 3, 7, 8, 200}) {
+      final int[][] sources = new int[sourceCount][];
+      int total = 0;
+      for (int s = 0; s < sourceCount; s++) {
+        // some sources are empty
+        sources[s] = new int[random.nextInt(4) == 0 ? 0 : random.nextInt(50)];
+        for (int i = 0; i < sources[s].length; i++) {
+          sources[s][i] = random.nextInt(100);
+        }
+        Arrays.sort(sources[s]);
+        total += sources[s].length;
+      }
+
+      final int[] merged = merge(sources);
+      assertEquals(total, merged.length);
+      final int[] expected = new int[total];
+      int position = 0;
+      for (int[] source : sources) {
+        System.arraycopy(source, 0, expected, position, source.length);
+        position += source.length;
+      }
+      Arrays.sort(expected);
+      assertArrayEquals(expected, merged);
+    }
+  }
+
+  @Test
+  public void testTiesFollowSourceOrder() {
+    final int[][] sources = {{1, 1}, {0, 1}, {1}};
+    final LoserTree tree = new LoserTree(sources.length, (left, right) ->
+        Integer.compare(sources[left >>> 16][left & 0xFFFF], sources[right >>> 16][right & 0xFFFF]));
+    for (int s = 0; s < sources.length; s++) {
+      tree.set(s, s << 16);
+    }
+    tree.build();
+    final int[] order = new int[5];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = tree.getWinner();
+      final int next = (tree.getWinnerIndex() & 0xFFFF) + 1;
+      tree.replaceWinner(next < sources[tree.getWinner()].length ? (tree.getWinner() << 16) + next : LoserTree.EXHAUSTED);
+    }
+    assertTrue(tree.isEmpty());
+    assertArrayEquals(new int[] {1, 0, 0, 1, 2}, order);
+  }
+
+  private static int[] merge(int[][] sources) {
+    final LoserTree tree = new LoserTree(sources.length, (left, right) ->
+        Integer.compare(sources[left >>> 16][left & 0xFFFF], sources[right >>> 16][right & 0xFFFF]));
+    int total = 0;
+    for (int s = 0; s < sources.length; s++) {
+      tree.set(s, sources[s].length == 0 ? LoserTree.EXHAUSTED : s << 16);
+      total += sources[s].length;
+    }
+    tree.build();
+    final int[] merged = new int[total];
+    int position = 0;
+    while (!tree.isEmpty()) {
+      final int source = tree.getWinner();
+      final int index = tree.getWinnerIndex() & 0xFFFF;
+      merged[position++] = sources[source][index];
+      tree.replaceWinner(index + 1 < sources[source].length ? (source << 16) + index + 1 : LoserTree.EXHAUSTED);
+    }
+    return merged;
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.sort;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.calcite.rel.RelFieldCollation.Direction;
+import org.apache.calcite.rel.RelFieldCollation.NullDirection;
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.logical.data.Order.Ordering;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.record.BatchSchema;
+import org.apache.drill.test.SubOperatorTest;
+import org.apache.drill.test.rowSet.RowSet.SingleRowSet;
+import org.apache.drill.test.rowSet.RowSetBuilder;
+import org.apache.drill.test.rowSet.schema.SchemaBuilder;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(OperatorTest.class)
+public class TestSortKeyPrefix extends SubOperatorTest {
+
+  @Test
+  public void testDoubleOrder() {
+    final double[] values = {Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -1.5, -Double.MIN_VALUE, -0.0, 0.0,
+        Double.MIN_VALUE, 1.0, 1.5, Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN};
+    for (double left : values) {
+      for (double right : values) {
+        assertEquals(left + " vs " + right, expected(left, right),
+            Long.signum(Long.compareUnsigned(SortKeyPrefix.encodeDouble(left), SortKeyPrefix.encodeDouble(right))));
+      }
+    }
+
+    final Random random = new Random(11);
+    for (int i = 0; i < 10000; i++) {
+      final double left = Double.longBitsToDouble(random.nextLong());
+      final double right = random.nextBoolean() ? Double.longBitsToDouble(random.nextLong()) : random.nextGaussian();
+      assertEquals(left + " vs " + right, expected(left, right),
+          Long.signum(Long.compareUnsigned(SortKeyPrefix.encodeDouble(left), SortKeyPrefix.encodeDouble(right))));
+    }
+  }
+
+  /**
+   * Order of the sort comparator: NaN is the largest value and -0.0 equals 0.0.
+   */
+  private static int expected(double left, double right) {
+    if (Double.isNaN(left) || Double.isNaN(right)) {
+      return Boolean.compare(Double.isNaN(left), Double.isNaN(right));
+    }
+    return left < right ? -1 : left == right ? 0 : 1;
+  }
+
+  @Test
+  public void testNullOrdering() {
+    final BatchSchema schema = new SchemaBuilder()
+        .addNullable("a", MinorType.INT)
+        .build();
+    final SingleRowSet rows = fixture.rowSetBuilder(schema)
+        .addSingleCol(7)
+        .addSingleCol(null)
+        .addSingleCol(-5)
+        .addSingleCol(0)
+        .build();
+    try {
+      // rows in sort order, row 1 holds the null
+      assertEquals(Arrays.asList(1, 2, 3, 0), sortedRows(rows, Direction.ASCENDING, NullDirection.FIRST));
+      assertEquals(Arrays.asList(2, 3, 0, 1), sortedRows(rows, Direction.ASCENDING, NullDirection.LAST));
+      assertEquals(Arrays.asList(1, 0, 3, 2), sortedRows(rows, Direction.DESCENDING, NullDirection.FIRST));
+      assertEquals(Arrays.asList(0, 3, 2, 1), sortedRows(rows, Direction.DESCENDING, NullDirection.LAST));
+      // nulls sort high by default: last if ascending, first if descending
+      assertEquals(Arrays.asList(2, 3, 0, 1), sortedRows(rows, Direction.ASCENDING, NullDirection.UNSPECIFIED));
+      assertEquals(Arrays.asList(1, 0, 3, 2), sortedRows(rows, Direction.DESCENDING, NullDirection.UNSPECIFIED));
+    } finally {
+      rows.clear();
+    }
+  }
+
+  @Test
+  public void testDirection() {
+    final BatchSchema schema = new SchemaBuilder()
+        .add("a", MinorType.BIGINT)
+        .build();
+    final long[] values = {Long.MIN_VALUE, -2, 0, 2, Long.MAX_VALUE};
+    final RowSetBuilder builder = fixture.rowSetBuilder(schema);
+    for (long value : values) {
+      builder.addSingleCol(value);
+    }
+    final SingleRowSet rows = builder.build();
+    try {
+      final long[] ascending = prefixes(rows, Direction.ASCENDING, NullDirection.UNSPECIFIED);
+      final long[] descending = prefixes(rows, Direction.DESCENDING, NullDirection.UNSPECIFIED);
+      for (int i = 0; i < values.length; i++) {
+        for (int j = 0; j < values.length; j++) {
+          final int expected = Long.compare(values[i], values[j]);
+          assertEquals(values[i] + " vs " + values[j], expected, Long.signum(Long.compare(ascending[i], ascending[j])));
+          assertEquals(values[i] + " vs " + values[j], -expected, Long.signum(Long.compare(descending[i], descending[j])));
+        }
+      }
+    } finally {
+      rows.clear();
+    }
+  }
+
+  @Test
+  public void testVarCharPrefix() {
+    final BatchSchema schema = new SchemaBuilder()
+        .add("a", MinorType.VARCHAR)
+        .build();
+    final String[] values = {"", "a", "ab", "abcdefgh", "abcdefghZ", "abcdefghij", "abcdefi", "b", "\u00e9", "\u00e9t\u00e9"};
+    final RowSetBuilder builder = fixture.rowSetBuilder(schema);
+    for (String value : values) {
+      builder.addSingleCol(value);
+    }
+    final SingleRowSet rows = builder.build();
+    try {
+      final long[] prefixes = prefixes(rows, Direction.ASCENDING, NullDirection.UNSPECIFIED);
+      for (int i = 0; i < values.length; i++) {
+        for (int j = 0; j < values.length; j++) {
+          final byte[] left = values[i].getBytes(StandardCharsets.UTF_8);
+          final byte[] right = values[j].getBytes(StandardCharsets.UTF_8);
+          final int prefixOrder = Long.signum(Long.compare(prefixes[i], prefixes[j]));
+          final String message = values[i] + " vs " + values[j];
+          final int expected = Integer.signum(compareUnsigned(left, right));
+          final int commonPrefixLength = commonPrefixLength(left, right);
+          if (commonPrefixLength >= 8) {
+            // only the first 8 bytes are encoded
+            assertEquals(message, 0, prefixOrder);
+          } else if (commonPrefixLength == 7) {
+            // the lowest bit of the 8th byte is lost
+            assertTrue(message, prefixOrder == 0 || prefixOrder == expected);
+          } else {
+            // strings are compared as unsigned bytes
+            assertEquals(message, expected, prefixOrder);
+          }
+        }
+      }
+    } finally {
+      rows.clear();
+    }
+  }
+
+  /**
+   * @return indexes of the rows ordered by the prefix of their key
+   */
+  private static List<Integer> sortedRows(SingleRowSet rows, Direction direction, NullDirection nullDirection) {
+    final long[] prefixes = prefixes(rows, direction, nullDirection);
+    final List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < prefixes.length; i++) {
+      order.add(i);
+    }
+    order.sort((left, right) -> Long.compare(prefixes[left], prefixes[right]));
+    for (int i = 1; i < order.size(); i++) {
+      assertTrue(prefixes[order.get(i - 1)] < prefixes[order.get(i)]);
+    }
+    return order;
+  }
+
+  private static long[] prefixes(SingleRowSet rows, Direction direction, NullDirection nullDirection) {
+    final SortKeyPrefix prefix = SortKeyPrefix.create(
+        new Ordering(direction, SchemaPath.getSimplePath("a"), nullDirection), rows.container());
+    assertNotNull(prefix);
+    prefix.bind(rows.container());
+    final long[] prefixes = new long[rows.rowCount()];
+    for (int i = 0; i < prefixes.length; i++) {
+      prefixes[i] = prefix.getPrefix(0, i);
+    }
+    return prefixes;
+  }
+
+  private static int commonPrefixLength(byte[] left, byte[] right) {
+    int length = 0;
+    while (length < left.length && length < right.length && left[length] == right[length]) {
+      length++;
+    }
+    return length;
+  }
+
+  private static int compareUnsigned(byte[] left, byte[] right) {
+    final int length = commonPrefixLength(left, right);
+    if (length < left.length && length < right.length) {
+      return Integer.compare(left[length] & 0xFF, right[length] & 0xFF);
+    }
+    return Integer.compare(left.length, right.length);
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.window;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.apache.drill.exec.physical.impl.window.SlidingFrame.Kind;
+import org.apache.drill.test.DrillTest;
+import org.junit.Test;
+
+public class TestSlidingFrame extends DrillTest {
+
+  private static final int ROWS = 1000;
+
+  @Test
+  public void testLongFrames() {
+    final Random random = new Random(42);
+    final Long[] values = new Long[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      values[i] = random.nextInt(10) == 0 ? null : (long) random.nextInt(100) - 50;
+    }
+    for (Kind kind : Kind.values()) {
+      for (int numPreceding : new int[] {0, 1, 3, 20, 2 * ROWS}) {
+        final SlidingFrame frame = new SlidingFrame(kind, false, numPreceding);
+        frame.reset();
+        for (int i = 0; i < ROWS; i++) {
+          if (values[i] == null) {
+            frame.addNull();
+          } else {
+            frame.add(values[i]);
+          }
+          final Double expected = aggregate(kind, values, Math.max(0, i - numPreceding), i);
+          final String message = kind + " " + numPreceding + " PRECEDING at row " + i;
+          assertEquals(message, expected == null, frame.isNull());
+          if (expected != null) {
+            assertEquals(message, expected, frame.getDouble(), 1e-9);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testDoubleFrames() {
+    final Random random = new Random(7);
+    final Double[] values = new Double[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      values[i] = random.nextInt(10) == 0 ? null : (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(12));
+    }
+    for (Kind kind : Kind.values()) {
+      for (int numPreceding : new int[] {0, 2, 50}) {
+        final SlidingFrame frame = new SlidingFrame(kind, true, numPreceding);
+        frame.reset();
+        for (int i = 0; i < ROWS; i++) {
+          if (values[i] == null) {
+            frame.addNull();
+          } else {
+            frame.add(values[i]);
+          }
+          final Double expected = aggregate(kind, values, Math.max(0, i - numPreceding), i);
+          final String message = kind + " " + numPreceding + " PRECEDING at row " + i;
+          assertEquals(message, expected == null, frame.isNull());
+          if (expected != null) {
+            assertEquals(message, expected, frame.getDouble(), Math.abs(expected) * 1e-12 + 1e-9);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testNonFiniteValuesLeaveTheFrame() {
+    final SlidingFrame frame = new SlidingFrame(Kind.SUM, true, 1);
+    frame.reset();
+    frame.add(Double.NaN);
+    assertEquals(Double.NaN, frame.getDouble(), 0);
+    frame.add(Double.POSITIVE_INFINITY);
+    assertEquals(Double.NaN, frame.getDouble(), 0);
+    frame.add(1.5);
+    assertEquals(Double.POSITIVE_INFINITY, frame.getDouble(), 0);
+    frame.add(2.5);
+    assertEquals(4.0, frame.getDouble(), 0);
+  }
+
+  @Test
+  public void testResetStartsNewPartition() {
+    final SlidingFrame frame = new SlidingFrame(Kind.MAX, false, 5);
+    frame.reset();
+    frame.add(100);
+    frame.add(3);
+    frame.reset();
+    assertTrue(frame.isNull());
+    frame.add(7);
+    assertEquals(7, frame.getLong());
+  }
+
+  private static Double aggregate(Kind kind, Number[] values, int from, int to) {
+    double sum = 0;
+    long count = 0;
+    Double min = null;
+    Double max = null;
+    for (int i = from; i <= to; i++) {
+      if (values[i] == null) {
+        continue;
+      }
+      final double value = values[i].doubleValue();
+      sum += value;
+      count++;
+      min = min == null ? value : Math.min(min, value);
+      max = max == null ? value : Math.max(max, value);
+    }
+    switch (kind) {
+      case SUM:
+        return count == 0 ? null : sum;
+      case SUM0:
+        return sum;
+      case COUNT:
+        return (double) count;
+      case AVG:
+        return count == 0 ? null : sum / count;
+      case MIN:
+        return min;
+      default:
+        return max;
+    }
+  }
+}
@@ -185,6 +185,44 @@ public class TestWindowFrame extends BaseTestQuery {
     runTest("b3.p2", 3);
   }
 
+  @Test
+  public void testSlidingRowsFrame() throws Exception {
+    final String query = "SELECT position_id, employee_id, " +
+        "SUM(salary) OVER w AS `sum`, COUNT(salary) OVER w AS `count`, " +
+        "MIN(employee_id) OVER w AS `min`, MAX(employee_id) OVER w AS `max` " +
+        "FROM cp.`employee.json` WHERE position_id < 5 " +
+        "WINDOW w AS (PARTITION BY position_id ORDER BY employee_id ROWS BETWEEN 2 PRECEDING AND CURRENT ROW)";
+    final String baseline = "SELECT position_id, employee_id, " +
+        "salary + COALESCE(LAG(salary, 1) OVER w, 0) + COALESCE(LAG(salary, 2) OVER w, 0) AS `sum`, " +
+        "CAST(1 + CASE WHEN LAG(salary, 1) OVER w IS NULL THEN 0 ELSE 1 END " +
+        "+ CASE WHEN LAG(salary, 2) OVER w IS NULL THEN 0 ELSE 1 END AS BIGINT) AS `count`, " +
+        "COALESCE(LAG(employee_id, 2) OVER w, LAG(employee_id, 1) OVER w, employee_id) AS `min`, " +
+        "employee_id AS `max` " +
+        "FROM cp.`employee.json` WHERE position_id < 5 " +
+        "WINDOW w AS (PARTITION BY position_id ORDER BY employee_id)";
+    testBuilder()
+        .sqlQuery(query)
+        .unOrdered()
+        .sqlBaselineQuery(baseline)
+        .go();
+  }
+
+  @Test
+  public void testZeroPrecedingRowsFrame() throws Exception {
+    // the frame holds the current row alone
+    final String query = "SELECT position_id, employee_id, " +
+        "SUM(salary) OVER w AS `sum`, COUNT(salary) OVER w AS `count`, MAX(employee_id) OVER w AS `max` " +
+        "FROM cp.`employee.json` WHERE position_id < 5 " +
+        "WINDOW w AS (PARTITION BY position_id ORDER BY employee_id ROWS BETWEEN 0 PRECEDING AND CURRENT ROW)";
+    final String baseline = "SELECT position_id, employee_id, salary AS `sum`, CAST(1 AS BIGINT) AS `count`, " +
+        "employee_id AS `max` FROM cp.`employee.json` WHERE position_id < 5";
+    testBuilder()
+        .sqlQuery(query)
+        .unOrdered()
+        .sqlBaselineQuery(baseline)
+        .go();
+  }
+
   /**
    * 4 batches with 4 partitions. After processing 1st batch, when innerNext() is called again, framer can process
    * current batch without the need to call next(incoming).
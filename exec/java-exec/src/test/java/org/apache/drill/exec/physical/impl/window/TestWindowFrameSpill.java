@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.window;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.proto.UserBitShared;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.ProfileParser;
+import org.apache.drill.test.QueryBuilder.QuerySummary;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Runs window queries with a memory limit low enough to spill every batch that can be spilled.
+ */
+public class TestWindowFrameSpill extends ClusterTest {
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    // make sure memory sorter outputs 20 rows per batch
+    startCluster(ClusterFixture.builder(dirTestWatcher)
+        .configProperty(ExecConstants.EXTERNAL_SORT_MSORT_MAX_BATCHSIZE, 20)
+        .sessionOption(ExecConstants.WINDOW_MAX_MEMORY, 1)
+        .saveProfiles());
+    dirTestWatcher.copyResourceToRoot(Paths.get("window"));
+  }
+
+  /**
+   * b3.p2 has 3 batches and its second partition starts in the first batch and ends in the last one, so the
+   * middle batch has to be spilled and read back to aggregate the whole partition.
+   */
+  @Test
+  public void testSpilledPartition() throws Exception {
+    final String query = String.format(getFile("window/q1.sql"), "b3.p2", "(partition by position_id)");
+    client.testBuilder()
+      .sqlQuery(query)
+      .ordered()
+      .csvBaselineFile("window/b3.p2.pby.tsv")
+      .baselineColumns("count", "sum")
+      .go();
+
+    final QuerySummary summary = client.queryBuilder().sql(query).run();
+    final List<ProfileParser.OperatorProfile> ops = client.parseProfile(summary.queryIdString())
+      .getOpsOfType(UserBitShared.CoreOperatorType.WINDOW_VALUE);
+    assertFalse(ops.isEmpty());
+    final ProfileParser.OperatorProfile window = ops.get(0);
+    assertTrue(window.getMetric(WindowFrameRecordBatch.Metric.SPILL_COUNT.ordinal()) > 0);
+    assertTrue(window.getMetric(WindowFrameRecordBatch.Metric.SPILLED_BATCHES.ordinal()) > 0);
+    assertTrue(window.getMetric(WindowFrameRecordBatch.Metric.RELOADED_BATCHES.ordinal()) > 0);
+  }
+
+  @Test
+  public void testSpilledPartitionWithOrderBy() throws Exception {
+    client.testBuilder()
+      .sqlQuery(getFile("window/q2.sql"), "b3.p2", "(partition by position_id order by sub)")
+      .ordered()
+      .csvBaselineFile("window/b3.p2.pby.oby.tsv")
+      .baselineColumns("count", "sum", "row_number", "rank", "dense_rank", "cume_dist", "percent_rank")
+      .go();
+  }
+
+  @Test
+  public void testSpilledUnboundedFollowing() throws Exception {
+    client.testBuilder()
+      .sqlQuery(getFile("window/q3.sql"))
+      .ordered()
+      .sqlBaselineQuery(getFile("window/q4.sql"))
+      .go();
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner;
+
+import org.apache.drill.PlanTestBase;
+import org.apache.drill.categories.PlannerTest;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(PlannerTest.class)
+public class TestCommonSubexpressionElimination extends PlanTestBase {
+
+  private static final String QUERY = "select upper(first_name) u, employee_id from cp.`employee.json` " +
+      "where upper(first_name) like 'J%' and employee_id > 10";
+
+  @Test
+  public void testSharedCallOfFilterAndProject() throws Exception {
+    testPlanMatchingPatterns(QUERY,
+        new String[] {"(?i)\\$cse0=\\[upper\\(", "Project\\(u=\\[\\$\\d+\\]"},
+        new String[] {});
+
+    testBuilder()
+        .sqlQuery(QUERY)
+        .unOrdered()
+        .optionSettingQueriesForBaseline(String.format("alter session set `%s` = false",
+            PlannerSettings.COMMON_SUBEXPRESSION_ELIMINATION.getOptionName()))
+        .sqlBaselineQuery(QUERY)
+        .go();
+  }
+
+  @Test
+  public void testGuardedCallNotShared() throws Exception {
+    // to_date() fails for the names that the first condition filters out, it must not be evaluated for all the rows
+    final String query = "select to_date(first_name, 'yyyy-MM-dd') d from cp.`employee.json` " +
+        "where first_name like '2%' and to_date(first_name, 'yyyy-MM-dd') > date '2000-01-01'";
+    testPlanMatchingPatterns(query, new String[] {}, new String[] {"\\$cse"});
+
+    testBuilder()
+        .sqlQuery(query)
+        .expectsEmptyResultSet()
+        .go();
+  }
+
+  @Test
+  public void testCallUnderCaseNotShared() throws Exception {
+    testPlanMatchingPatterns("select upper(first_name) u from cp.`employee.json` " +
+            "where case when employee_id > 10 then upper(first_name) like 'J%' else false end",
+        new String[] {}, new String[] {"\\$cse"});
+  }
+
+  @Test
+  public void testNoSharedCall() throws Exception {
+    testPlanMatchingPatterns("select lower(first_name) l from cp.`employee.json` where upper(first_name) like 'J%'",
+        new String[] {}, new String[] {"\\$cse"});
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.planner.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.apache.drill.categories.SqlTest;
+import org.apache.drill.exec.metrics.DrillMetrics;
+import org.apache.drill.exec.planner.PlannerPhase;
+import org.apache.drill.exec.planner.PlannerType;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.ProfileParser;
+import org.apache.drill.test.QueryBuilder.QuerySummary;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.codahale.metrics.Timer;
+
+@Category(SqlTest.class)
+public class TestJoinPlanningLimits extends ClusterTest {
+
+  private static final String JOIN_QUERY =
+      "SELECT count(*) AS cnt " +
+          "FROM cp.`tpch/nation.parquet` n1 " +
+          "JOIN cp.`tpch/region.parquet` r ON n1.n_regionkey = r.r_regionkey " +
+          "JOIN cp.`tpch/nation.parquet` n2 ON n1.n_nationkey = n2.n_nationkey " +
+          "JOIN cp.`tpch/nation.parquet` n3 ON n2.n_nationkey = n3.n_nationkey";
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    startCluster(ClusterFixture.builder(dirTestWatcher).saveProfiles());
+  }
+
+  @After
+  public void tearDown() {
+    client.resetSession(PlannerSettings.HEP_OPT.getOptionName());
+    client.resetSession(PlannerSettings.EXHAUSTIVE_JOIN_SEARCH_THRESHOLD.getOptionName());
+    client.resetSession(PlannerSettings.PHASE_TIME_BUDGET.getOptionName());
+  }
+
+  @Test
+  public void testHeuristicJoinPlanningAboveThreshold() throws Exception {
+    client.alterSession(PlannerSettings.HEP_OPT.getOptionName(), false);
+    client.alterSession(PlannerSettings.EXHAUSTIVE_JOIN_SEARCH_THRESHOLD.getOptionName(), 1);
+
+    client.testBuilder()
+        .sqlQuery(JOIN_QUERY)
+        .unOrdered()
+        .baselineColumns("cnt")
+        .baselineValues(25L)
+        .go();
+  }
+
+  @Test
+  public void testPhaseTimeBudgetKeepsCheapestPlan() throws Exception {
+    client.alterSession(PlannerSettings.HEP_OPT.getOptionName(), false);
+    client.alterSession(PlannerSettings.PHASE_TIME_BUDGET.getOptionName(), 1);
+
+    client.testBuilder()
+        .sqlQuery(JOIN_QUERY)
+        .unOrdered()
+        .baselineColumns("cnt")
+        .baselineValues(25L)
+        .go();
+  }
+
+  @Test
+  public void testPhaseTimeMetrics() throws Exception {
+    client.alterSession(PlannerSettings.HEP_OPT.getOptionName(), false);
+    client.runSqlSilently(JOIN_QUERY);
+
+    // the phase times are kept as metrics, out of the plan text of the profile
+    final Timer timer = DrillMetrics.getRegistry().getTimers()
+        .get("drill.planner.phase." + PlannerType.VOLCANO.name() + "." + PlannerPhase.LOGICAL_PRUNE_AND_JOIN.name());
+    assertNotNull(timer);
+    assertTrue(timer.getCount() > 0);
+  }
+
+  @Test
+  public void testPhaseTimesInProfile() throws Exception {
+    client.alterSession(PlannerSettings.HEP_OPT.getOptionName(), false);
+    final QuerySummary summary = client.queryBuilder().sql(JOIN_QUERY).run();
+    assertEquals(1, summary.recordCount());
+
+    // the profile holds the time of each phase the query was planned with, out of its plan text
+    final ProfileParser profile = client.parseProfile(summary.queryIdString());
+    final Map<String, Long> phases = profile.getPlanningPhases();
+    assertTrue(phases.toString(),
+        phases.containsKey(PlannerType.VOLCANO.name() + ":" + PlannerPhase.LOGICAL_PRUNE_AND_JOIN.description));
+    assertFalse(profile.getPlan().contains(PlannerPhase.LOGICAL_PRUNE_AND_JOIN.description));
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.drill.PlanTestBase;
+import org.apache.drill.categories.SqlTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.planner.common.DrillStatsTable;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(SqlTest.class)
+public class TestAnalyze extends PlanTestBase {
+  private static final int EMPLOYEE_ROWS = 1155;
+
+  @BeforeClass
+  public static void setupTables() throws Exception {
+    alterSession(ExecConstants.OUTPUT_FORMAT_OPTION, "json");
+    test("CREATE TABLE dfs.tmp.employee_stats AS SELECT * FROM cp.`employee.json`");
+    test("CREATE TABLE dfs.tmp.`employee_part/d1` AS SELECT * FROM cp.`employee.json` WHERE employee_id < 600");
+    test("CREATE TABLE dfs.tmp.`employee_part/d2` AS SELECT * FROM cp.`employee.json` WHERE employee_id >= 600");
+    test("CREATE TABLE dfs.tmp.employee_sample AS SELECT * FROM cp.`employee.json`");
+    resetSessionOption(ExecConstants.OUTPUT_FORMAT_OPTION);
+    test("ANALYZE TABLE dfs.tmp.employee_stats COMPUTE STATISTICS (employee_id, gender)");
+    test("ANALYZE TABLE dfs.tmp.employee_part COMPUTE STATISTICS (employee_id)");
+    test("ANALYZE TABLE dfs.tmp.employee_sample COMPUTE STATISTICS (gender) SAMPLE 50 PERCENT");
+  }
+
+  @AfterClass
+  public static void resetOptions() throws Exception {
+    resetSessionOption(PlannerSettings.ENABLE_STATS.getOptionName());
+  }
+
+  @Test
+  public void testScanRowCount() throws Exception {
+    final String query = "SELECT employee_id FROM dfs.tmp.employee_stats";
+    alterSession(PlannerSettings.ENABLE_STATS.getOptionName(), true);
+    assertEquals(EMPLOYEE_ROWS, getRowCount(query, "Scan"), 0);
+
+    // without statistics the row count is estimated from the size of the files
+    alterSession(PlannerSettings.ENABLE_STATS.getOptionName(), false);
+    assertNotEquals(EMPLOYEE_ROWS, getRowCount(query, "Scan"), 0);
+  }
+
+  @Test
+  public void testFilterSelectivity() throws Exception {
+    alterSession(PlannerSettings.ENABLE_STATS.getOptionName(), true);
+    // gender has two distinct values
+    final double rowCount = getRowCount("SELECT employee_id FROM dfs.tmp.employee_stats WHERE gender = 'F'", "Filter");
+    assertTrue("row count " + rowCount, rowCount > EMPLOYEE_ROWS * 0.4 && rowCount < EMPLOYEE_ROWS * 0.6);
+  }
+
+  @Test
+  public void testSampledFilterSelectivity() throws Exception {
+    alterSession(PlannerSettings.ENABLE_STATS.getOptionName(), true);
+    // both genders repeat in the sample, so the table has no more than the two sampled ones
+    final double rowCount = getRowCount("SELECT employee_id FROM dfs.tmp.employee_sample WHERE gender = 'F'", "Filter");
+    assertTrue("row count " + rowCount, rowCount > EMPLOYEE_ROWS * 0.4 && rowCount < EMPLOYEE_ROWS * 0.6);
+  }
+
+  @Test
+  public void testSampledNdv() throws Exception {
+    final ObjectMapper mapper = new ObjectMapper();
+    final String record = "{\"rowcount\": 1000, \"sample_fraction\": 0.1, " +
+        "\"nonnullcount$repeating\": 1000, \"ndv$repeating\": 10, \"singletons$repeating\": 0, " +
+        "\"nonnullcount$unique\": 1000, \"ndv$unique\": 1000, \"singletons$unique\": 1000, " +
+        "\"nonnullcount$mixed\": 1000, \"ndv$mixed\": 500, \"singletons$mixed\": 250, " +
+        "\"nonnullcount$legacy\": 1000, \"ndv$legacy\": 10}";
+    final DrillStatsTable stats = DrillStatsTable.fromRecord(mapper.readTree(record));
+
+    assertEquals(10_000, stats.getRowCount(), 0);
+    assertEquals(10, stats.getColumn("repeating").getNdv(), 0);
+    assertEquals(10_000, stats.getColumn("unique").getNdv(), 0);
+    final double mixed = stats.getColumn("mixed").getNdv();
+    assertTrue("ndv " + mixed, mixed > 500 && mixed < 5_000);
+    // statistics written without the singleton count scale the distinct values like the rows
+    assertEquals(100, stats.getColumn("legacy").getNdv(), 0);
+  }
+
+  @Test
+  public void testNewVersionIsUnique() {
+    assertNotEquals(DrillStatsTable.newVersion(), DrillStatsTable.newVersion());
+  }
+
+  @Test
+  public void testPrunedScanRowCount() throws Exception {
+    alterSession(PlannerSettings.ENABLE_STATS.getOptionName(), true);
+    assertEquals(EMPLOYEE_ROWS, getRowCount("SELECT employee_id FROM dfs.tmp.employee_part", "Scan"), 0);
+
+    // the scan of one of the two directories reads about half of the table
+    final double rowCount = getRowCount("SELECT employee_id FROM dfs.tmp.employee_part WHERE dir0 = 'd1'", "Scan");
+    assertTrue("row count " + rowCount, rowCount > EMPLOYEE_ROWS * 0.3 && rowCount < EMPLOYEE_ROWS * 0.7);
+  }
+
+  @Test
+  public void testReanalyze() throws Exception {
+    alterSession(PlannerSettings.ENABLE_STATS.getOptionName(), true);
+    final File statsDir = new File(new File(dirTestWatcher.getDfsTestTmpDir(), "employee_stats"), DrillStatsTable.STATS_DIRECTORY);
+
+    // a run which did not complete leaves an empty directory, the previous statistics are still used
+    final File failedRun = new File(statsDir, "9999999999999");
+    assertTrue(failedRun.mkdirs());
+    final String query = "SELECT employee_id FROM dfs.tmp.employee_stats";
+    assertEquals(EMPLOYEE_ROWS, getRowCount(query, "Scan"), 0);
+
+    // a new run drops the statistics before the last complete run, and keeps the later incomplete ones
+    test("ANALYZE TABLE dfs.tmp.employee_stats COMPUTE STATISTICS (employee_id, gender)");
+    test("ANALYZE TABLE dfs.tmp.employee_stats COMPUTE STATISTICS (employee_id, gender)");
+    assertEquals(3, statsDir.listFiles(File::isDirectory).length);
+    assertTrue(failedRun.isDirectory());
+    assertEquals(EMPLOYEE_ROWS, getRowCount(query, "Scan"), 0);
+  }
+
+  /**
+   * @return row count estimate of the first operator with the given name in the plan of the query
+   */
+  private static double getRowCount(String query, String operator) throws Exception {
+    final String plan = getPlanInString("EXPLAIN PLAN INCLUDING ALL ATTRIBUTES FOR " + query, OPTIQ_FORMAT);
+    final Matcher matcher = Pattern.compile(operator + "\\(.*rowcount = ([0-9.E]+)").matcher(plan);
+    assertTrue(plan, matcher.find());
+    return Double.parseDouble(matcher.group(1));
+  }
+}
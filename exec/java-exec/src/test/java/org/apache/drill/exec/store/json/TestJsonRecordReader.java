@@ -27,6 +27,11 @@ import org.junit.Test;
 import org.junit.Assert;
 import org.junit.experimental.categories.Category;
 
+import org.apache.drill.shaded.guava.com.google.common.base.Strings;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
 import java.nio.file.Paths;
 
 import static org.junit.Assert.assertEquals;
@@ -75,6 +80,50 @@ public class TestJsonRecordReader extends BaseTestQuery {
     test(sql);
   }
 
+  @Test
+  public void testProjectionPushdown() throws Exception {
+    try {
+      alterSession(ExecConstants.JSON_READER_PROJECTION_PUSHDOWN, true);
+      testBuilder()
+          .sqlQuery("select t.`integer` as i, t.x.y as y from cp.`jsoninput/input2.json` t")
+          .unOrdered()
+          .baselineColumns("i", "y")
+          .baselineValues(2010L, "kevin")
+          .baselineValues(-2002L, null)
+          .baselineValues(2001L, "bill")
+          .baselineValues(6005L, "mike")
+          .go();
+    } finally {
+      resetSessionOption(ExecConstants.JSON_READER_PROJECTION_PUSHDOWN);
+    }
+  }
+
+  @Test
+  public void testProjectionPushdownSkipsFields() throws Exception {
+    final String big = Strings.repeat("x", 20_000);
+    final File file = new File(dirTestWatcher.getRootDir(), "projection_pushdown.json");
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+      for (int i = 0; i < 100; i++) {
+        writer.write(String.format("{\"id\": %d, \"m\": {\"name\": \"n%d\", \"other\": {\"l\": [1, {\"deep\": \"%s\"}]}}, "
+            + "\"big\": \"%s\", \"nested\": {\"a\": [[1], {\"b\": {\"c\": %d}}]}}\n", i, i, big, big, i));
+      }
+    }
+    final String query = "select t.id, t.m.name as name from dfs.`projection_pushdown.json` t where t.id in (0, 42, 99)";
+    try {
+      alterSession(ExecConstants.JSON_READER_PROJECTION_PUSHDOWN, true);
+      testBuilder()
+          .sqlQuery(query)
+          .unOrdered()
+          .baselineColumns("id", "name")
+          .baselineValues(0L, "n0")
+          .baselineValues(42L, "n42")
+          .baselineValues(99L, "n99")
+          .go();
+    } finally {
+      resetSessionOption(ExecConstants.JSON_READER_PROJECTION_PUSHDOWN);
+    }
+  }
+
   @Test
   public void testEnableAllTextMode() throws Exception {
     testNoResult("alter session set `store.json.all_text_mode`= true");
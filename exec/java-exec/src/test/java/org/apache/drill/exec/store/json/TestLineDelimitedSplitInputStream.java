@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.json;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.drill.exec.store.easy.json.reader.LineDelimitedSplitInputStream;
+import org.apache.drill.test.DrillTest;
+import org.apache.hadoop.fs.Seekable;
+import org.junit.Test;
+
+import org.apache.drill.shaded.guava.com.google.common.base.Charsets;
+
+public class TestLineDelimitedSplitInputStream extends DrillTest {
+
+  private static final String DATA = "{\"a\": 1}\n{\"a\": 22}\n\n{\"a\": 333}\n{\"a\": 4444}";
+
+  private static class SeekableBytes extends ByteArrayInputStream implements Seekable {
+
+    SeekableBytes(byte[] buf) {
+      super(buf);
+    }
+
+    @Override
+    public void seek(long pos) {
+      this.pos = (int) pos;
+    }
+
+    @Override
+    public long getPos() {
+      return pos;
+    }
+
+    @Override
+    public boolean seekToNewSource(long targetPos) {
+      return false;
+    }
+  }
+
+  private static String readSplits(String data, int splitSize, boolean singleBytes) throws IOException {
+    byte[] bytes = data.getBytes(Charsets.UTF_8);
+    StringBuilder result = new StringBuilder();
+    for (int start = 0; start < bytes.length; start += splitSize) {
+      int length = Math.min(splitSize, bytes.length - start);
+      try (InputStream in = new LineDelimitedSplitInputStream(new SeekableBytes(bytes), start, length)) {
+        if (singleBytes) {
+          int b;
+          while ((b = in.read()) != -1) {
+            result.append((char) b);
+          }
+        } else {
+          byte[] buf = new byte[3];
+          int n;
+          while ((n = in.read(buf, 0, buf.length)) != -1) {
+            result.append(new String(buf, 0, n, Charsets.UTF_8));
+          }
+        }
+      }
+    }
+    return result.toString();
+  }
+
+  @Test
+  public void testWholeFile() throws Exception {
+    assertEquals(DATA, readSplits(DATA, DATA.length(), false));
+  }
+
+  @Test
+  public void testEveryLineReadOnce() throws Exception {
+    for (int splitSize = 1; splitSize <= DATA.length(); splitSize++) {
+      assertEquals("split size " + splitSize, DATA, readSplits(DATA, splitSize, false));
+      assertEquals("split size " + splitSize, DATA, readSplits(DATA, splitSize, true));
+    }
+  }
+
+  @Test
+  public void testSplitStartingAtLineStart() throws Exception {
+    byte[] bytes = DATA.getBytes(Charsets.UTF_8);
+    int secondLine = DATA.indexOf('\n') + 1;
+    try (InputStream in = new LineDelimitedSplitInputStream(new SeekableBytes(bytes), secondLine, 1)) {
+      byte[] buf = new byte[bytes.length];
+      int n = in.read(buf, 0, buf.length);
+      assertEquals("{\"a\": 22}\n", new String(buf, 0, n, Charsets.UTF_8));
+      assertEquals(-1, in.read());
+    }
+  }
+
+  @Test
+  public void testSplitEndBeyondIntRange() throws Exception {
+    byte[] bytes = DATA.getBytes(Charsets.UTF_8);
+    // more than 2 GB, then more than 4 GB of the split left after the bytes read
+    for (long length : new long[] {3L << 30, (4L << 30) + 1}) {
+      try (InputStream in = new LineDelimitedSplitInputStream(new SeekableBytes(bytes), 0, length)) {
+        byte[] buf = new byte[bytes.length];
+        int n = in.read(buf, 0, buf.length);
+        assertEquals("split length " + length, DATA, new String(buf, 0, n, Charsets.UTF_8));
+      }
+    }
+  }
+
+  @Test
+  public void testEmptySplit() throws Exception {
+    try (InputStream in = new LineDelimitedSplitInputStream(new SeekableBytes(new byte[0]), 0, 0)) {
+      assertEquals(-1, in.read());
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.vector.complex.fn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.memory.RootAllocator;
+import org.apache.drill.exec.ops.BufferManager;
+import org.apache.drill.exec.ops.BufferManagerImpl;
+import org.apache.drill.exec.store.TestOutputMutator;
+import org.apache.drill.exec.store.easy.json.JsonProcessor.ReadState;
+import org.apache.drill.exec.vector.complex.MapVector;
+import org.apache.drill.exec.vector.complex.impl.VectorContainerWriter;
+import org.apache.drill.exec.vector.complex.reader.FieldReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.drill.shaded.guava.com.google.common.base.Strings;
+
+public class TestJsonReaderProjectionPushdown {
+  private static final String BIG = Strings.repeat("0123456789", 10_000);
+
+  private BufferAllocator allocator;
+  private VectorContainerWriter writer;
+  private BufferManager bufferManager;
+
+  @Before
+  public void setUp() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    writer = new VectorContainerWriter(new TestOutputMutator(allocator));
+    bufferManager = new BufferManagerImpl(allocator);
+  }
+
+  @After
+  public void cleanUp() throws Exception {
+    writer.close();
+    bufferManager.close();
+    allocator.close();
+  }
+
+  @Test
+  public void testSkipUnprojectedFields() throws Exception {
+    final StringBuilder json = new StringBuilder();
+    for (int i = 0; i < 3; i++) {
+      // projected fields first, then unprojected nested and large fields which can be skipped
+      json.append("{\"a\": ").append(i)
+          .append(", \"b\": {\"c\": \"c").append(i).append("\", \"d\": {\"e\": [1, {\"f\": \"").append(BIG).append("\"}]}}")
+          .append(", \"big\": \"").append(BIG).append("\"")
+          .append(", \"nested\": {\"g\": [[1, 2], {\"h\": {\"i\": null}}]}}\n");
+    }
+    // a projected field after unprojected ones, the record is read up to it
+    json.append("{\"big\": \"").append(BIG).append("\", \"nested\": {\"g\": []}, \"b\": {\"d\": 1, \"c\": \"c3\"}, \"a\": 3}\n");
+
+    final JsonReader reader = newReader(true);
+    reader.setSource(json.toString());
+    assertEquals(4, readAll(reader));
+
+    final FieldReader mapReader = writer.getMapVector().getReader();
+    for (int i = 0; i < 4; i++) {
+      mapReader.setPosition(i);
+      assertEquals(i, mapReader.reader("a").readLong().longValue());
+      assertEquals("c" + i, mapReader.reader("b").reader("c").readText().toString());
+    }
+    assertNull(writer.getMapVector().getChild("big"));
+    assertNull(writer.getMapVector().getChild("nested"));
+    assertNull(writer.getMapVector().getChild("b", MapVector.class).getChild("d"));
+    // the rest of b and of the record are skipped in the first three records, the last one ends with its projected field a
+    assertEquals(6, reader.getSkippedMapCount());
+  }
+
+  @Test
+  public void testNoSkipWithoutPushdown() throws Exception {
+    final JsonReader reader = newReader(false);
+    reader.setSource("{\"a\": 1, \"b\": {\"c\": \"x\", \"d\": 2}, \"big\": \"" + BIG + "\"}");
+    assertEquals(1, readAll(reader));
+
+    final FieldReader mapReader = writer.getMapVector().getReader();
+    mapReader.setPosition(0);
+    assertEquals(1, mapReader.reader("a").readLong().longValue());
+    assertEquals("x", mapReader.reader("b").reader("c").readText().toString());
+    assertEquals(0, reader.getSkippedMapCount());
+  }
+
+  private JsonReader newReader(boolean projectionPushdown) {
+    return new JsonReader.Builder(bufferManager.getManagedBuffer(1024))
+        .schemaPathColumns(Arrays.asList(SchemaPath.getSimplePath("a"), SchemaPath.getCompoundPath("b", "c")))
+        .projectionPushdown(projectionPushdown)
+        .build();
+  }
+
+  private int readAll(JsonReader reader) throws Exception {
+    writer.allocate();
+    writer.reset();
+    int count = 0;
+    while (true) {
+      writer.setPosition(count);
+      if (reader.write(writer) != ReadState.WRITE_SUCCEED) {
+        break;
+      }
+      count++;
+    }
+    writer.setValueCount(count);
+    return count;
+  }
+}
@@ -20,10 +20,12 @@ package org.apache.drill.test;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -284,6 +286,23 @@ public class ProfileParser {
     return profile.getString("plan");
   }
 
+  /**
+   * @return time (ms) spent in each planning phase, in the order the phases ran
+   */
+  public Map<String, Long> getPlanningPhases() {
+    Map<String, Long> phases = new LinkedHashMap<>();
+    if (!profile.containsKey("planningPhasesJson")) {
+      return phases;
+    }
+    try (JsonReader reader = Json.createReader(new StringReader(profile.getString("planningPhasesJson")))) {
+      JsonObject json = reader.readObject();
+      for (String phase : json.keySet()) {
+        phases.put(phase, json.getJsonNumber(phase).longValue());
+      }
+    }
+    return phases;
+  }
+
   public List<String> getPlans() {
     return plans;
   }
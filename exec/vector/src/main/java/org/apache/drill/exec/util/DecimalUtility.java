@@ -40,6 +40,27 @@ public class DecimalUtility {
   public final static int DIGITS_BASE = 1000000000;
   public final static int INTEGER_SIZE = Integer.SIZE / 8;
 
+  /**
+   * Maximum precision of the VarDecimal values computed on their unscaled longs by the methods below.
+   */
+  public final static int MAX_LONG_PRECISION = 18;
+
+  /**
+   * Returned by the long arithmetic methods below when the result cannot be computed exactly on a long or does
+   * not fit the precision: the caller then falls back to {@link BigDecimal}. It is never a valid result, as the
+   * absolute value of those is less than 10^{@link #MAX_LONG_PRECISION}.
+   */
+  public final static long LONG_OVERFLOW = Long.MIN_VALUE;
+
+  private final static long[] LONG_POWERS_OF_TEN = new long[MAX_LONG_PRECISION + 1];
+
+  static {
+    LONG_POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < LONG_POWERS_OF_TEN.length; i++) {
+      LONG_POWERS_OF_TEN[i] = LONG_POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
   private static final Logger logger = LoggerFactory.getLogger(DecimalUtility.class);
 
   /**
@@ -302,6 +323,156 @@ public class DecimalUtility {
     return BigDecimal.valueOf(input, scale);
   }
 
+  /**
+   * Returns true when the unscaled value of a VarDecimal, stored in the given number of bytes, can be read as a
+   * long by {@link #getLongFromDrillBuf(DrillBuf, int, int)}.
+   */
+  public static boolean fitsLong(int length) {
+    return length > 0 && length <= Long.BYTES;
+  }
+
+  /**
+   * Reads the unscaled value of a VarDecimal, stored in the format of {@link BigInteger#toByteArray()} in at most
+   * 8 bytes, without creating a {@link BigDecimal}.
+   */
+  public static long getLongFromDrillBuf(DrillBuf data, int start, int length) {
+    long value = data.getByte(start); // sign extended
+    for (int i = 1; i < length; i++) {
+      value = (value << 8) | (data.getByte(start + i) & 0xFF);
+    }
+    return value;
+  }
+
+  /**
+   * Returns the number of bytes of the unscaled value in the format of {@link BigInteger#toByteArray()}, which is
+   * the minimal one: the values are compared (and hashed) as bytes, so they must be the ones of the
+   * {@link BigDecimal} path.
+   */
+  public static int getLongByteLength(long value) {
+    return (Long.SIZE - Long.numberOfLeadingZeros(value < 0 ? ~value : value)) / Byte.SIZE + 1;
+  }
+
+  /**
+   * Writes the unscaled value in the format of {@link BigInteger#toByteArray()}.
+   *
+   * @return the number of bytes written, see {@link #getLongByteLength(long)}
+   */
+  public static int setLongToDrillBuf(DrillBuf data, int start, long value) {
+    final int length = getLongByteLength(value);
+    for (int i = length - 1; i >= 0; i--) {
+      data.setByte(start + i, (int) value);
+      value >>= 8;
+    }
+    return length;
+  }
+
+  /**
+   * Multiplies the unscaled value by 10^n.
+   *
+   * @return the result, or {@link #LONG_OVERFLOW} when it does not fit a long
+   */
+  public static long rescaleLong(long value, int n) {
+    if (n == 0 || value == 0) {
+      return value;
+    }
+    if (n < 0 || n > MAX_LONG_PRECISION || value == LONG_OVERFLOW) {
+      return LONG_OVERFLOW;
+    }
+    final long power = LONG_POWERS_OF_TEN[n];
+    if (Math.abs(value) > Long.MAX_VALUE / power) {
+      return LONG_OVERFLOW;
+    }
+    return value * power;
+  }
+
+  /**
+   * Returns the value if its absolute value has at most {@code precision} digits, as checked by
+   * {@link #checkValueOverflow(BigDecimal, int, int)}, else {@link #LONG_OVERFLOW}.
+   */
+  private static long checkLongPrecision(long value, int precision) {
+    if (value == LONG_OVERFLOW || precision > MAX_LONG_PRECISION || Math.abs(value) >= LONG_POWERS_OF_TEN[precision]) {
+      return LONG_OVERFLOW;
+    }
+    return value;
+  }
+
+  /**
+   * Adds (or subtracts) the unscaled values of two VarDecimals into the unscaled value of the result, with the
+   * given scale and precision. Only the exact results are computed: the result scale must not be less than the
+   * ones of the operands.
+   *
+   * @return the unscaled result, or {@link #LONG_OVERFLOW} when it must be computed with {@link BigDecimal}
+   */
+  public static long addLongs(long left, int leftScale, long right, int rightScale, boolean subtract,
+      int scale, int precision) {
+    final long l = rescaleLong(left, scale - leftScale);
+    long r = rescaleLong(right, scale - rightScale);
+    if (l == LONG_OVERFLOW || r == LONG_OVERFLOW) {
+      return LONG_OVERFLOW;
+    }
+    if (subtract) {
+      r = -r;
+    }
+    final long result = l + r;
+    if (((l ^ result) & (r ^ result)) < 0) {
+      return LONG_OVERFLOW;
+    }
+    return checkLongPrecision(result, precision);
+  }
+
+  /**
+   * Multiplies the unscaled values of two VarDecimals into the unscaled value of the result, with the given scale
+   * and precision. Only the exact results are computed: the result scale must not be less than the sum of the ones
+   * of the operands.
+   *
+   * @return the unscaled result, or {@link #LONG_OVERFLOW} when it must be computed with {@link BigDecimal}
+   */
+  public static long multiplyLongs(long left, int leftScale, long right, int rightScale, int scale, int precision) {
+    if (left == LONG_OVERFLOW || right == LONG_OVERFLOW) {
+      return LONG_OVERFLOW;
+    }
+    final long product = left * right;
+    if (((Math.abs(left) | Math.abs(right)) >>> 31 != 0) && right != 0 && product / right != left) {
+      return LONG_OVERFLOW;
+    }
+    return checkLongPrecision(rescaleLong(product, scale - leftScale - rightScale), precision);
+  }
+
+  /**
+   * Converts an integer to the unscaled value of a VarDecimal with the given scale and precision.
+   *
+   * @return the unscaled value, or {@link #LONG_OVERFLOW} when the integer overflows the precision
+   */
+  public static long longToUnscaled(long value, int precision, int scale) {
+    final int integerDigits = precision - scale;
+    if (integerDigits < 1 || integerDigits > MAX_LONG_PRECISION || value == LONG_OVERFLOW
+        || Math.abs(value) >= LONG_POWERS_OF_TEN[integerDigits]) {
+      return LONG_OVERFLOW;
+    }
+    return checkLongPrecision(rescaleLong(value, scale), precision);
+  }
+
+  /**
+   * Rounds the unscaled value of a VarDecimal with the given scale to an integer, half up.
+   *
+   * @return the rounded value, or {@link #LONG_OVERFLOW} when the scale is too large
+   */
+  public static long unscaledToLong(long value, int scale) {
+    if (scale == 0) {
+      return value;
+    }
+    if (scale < 0 || scale > MAX_LONG_PRECISION || value == LONG_OVERFLOW) {
+      return LONG_OVERFLOW;
+    }
+    final long power = LONG_POWERS_OF_TEN[scale];
+    final long quotient = value / power;
+    final long remainder = value % power;
+    if (Math.abs(remainder) >= power - Math.abs(remainder)) {
+      return value < 0 ? quotient - 1 : quotient + 1;
+    }
+    return quotient;
+  }
+
   /**
    * Compares two VarDecimal values, still stored in their respective Drill buffers
    *
@@ -318,6 +489,19 @@ public class DecimalUtility {
    * scales (e.g., 2.00 and 2), are considered equal.
    */
   public static int compareVarLenBytes(DrillBuf left, int leftStart, int leftEnd, int leftScale, DrillBuf right, int rightStart, int rightEnd, int rightScale, boolean absCompare) {
+    if (fitsLong(leftEnd - leftStart) && fitsLong(rightEnd - rightStart)) {
+      // the values of up to 8 bytes are compared as longs, when they can be brought to the same scale
+      final int scale = Math.max(leftScale, rightScale);
+      long l = rescaleLong(getLongFromDrillBuf(left, leftStart, leftEnd - leftStart), scale - leftScale);
+      long r = rescaleLong(getLongFromDrillBuf(right, rightStart, rightEnd - rightStart), scale - rightScale);
+      if (l != LONG_OVERFLOW && r != LONG_OVERFLOW) {
+        if (absCompare) {
+          l = Math.abs(l);
+          r = Math.abs(r);
+        }
+        return Long.compare(l, r);
+      }
+    }
     byte[] rightBytes = new byte[rightEnd - rightStart];
     right.getBytes(rightStart, rightBytes, 0, rightEnd - rightStart);
 
@@ -1814,6 +1814,8 @@ public final class SchemaUserBitShared
                     output.writeString(21, message.getQueueName(), false);
                 if(message.hasQueryId())
                     output.writeString(22, message.getQueryId(), false);
+                if(message.hasPlanningPhasesJson())
+                    output.writeString(23, message.getPlanningPhasesJson(), false);
             }
             public boolean isInitialized(org.apache.drill.exec.proto.UserBitShared.QueryProfile message)
             {
@@ -1922,6 +1924,9 @@ public final class SchemaUserBitShared
                         case 22:
                             builder.setQueryId(input.readString());
                             break;
+                        case 23:
+                            builder.setPlanningPhasesJson(input.readString());
+                            break;
                         default:
                             input.handleUnknownField(number, this);
                     }
@@ -1984,6 +1989,7 @@ public final class SchemaUserBitShared
                 case 20: return "totalCost";
                 case 21: return "queueName";
                 case 22: return "queryId";
+                case 23: return "planningPhasesJson";
                 default: return null;
             }
         }
@@ -2017,6 +2023,7 @@ public final class SchemaUserBitShared
             fieldMap.put("totalCost", 20);
             fieldMap.put("queueName", 21);
             fieldMap.put("queryId", 22);
+            fieldMap.put("planningPhasesJson", 23);
         }
     }
 